@@ -0,0 +1,120 @@
+package com.github.ozayduman.specificationbuilder.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.ozayduman.specificationbuilder.SpecificationMappings.SpecificationBuilder;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.PageRequestBuilder;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.SortDTO;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.Employee;
+import com.github.ozayduman.specificationbuilder.entity.Employee_;
+import com.github.ozayduman.specificationbuilder.entity.Phone_;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared payloads, bindings and JPA bootstrap used by the benchmarks.
+ */
+@UtilityClass
+public class BenchmarkFixtures {
+
+    public EntityManagerFactory createEntityManagerFactory() {
+        final var dataSource = new DriverManagerDataSource("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        final var factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.github.ozayduman.specificationbuilder.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+                "hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+
+    public ObjectMapper createObjectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Creates operations the way they arrive from JSON: strings for dates and integers for ids,
+     * so that operand conversion is part of the measured work.
+     */
+    public PageRequestDTO createPageRequest(int operationCount, int inListSize, int joinDepth) {
+        final List<AbstractOperation> operations = new ArrayList<>(operationCount);
+        for (int i = 0; i < operationCount; i++) {
+            switch (i % 4) {
+                case 0:
+                    operations.add(new SingleValueOperation("name", Operator.LIKE, "name" + i));
+                    break;
+                case 1:
+                    operations.add(new RangeValueOperation("birthDate", Operator.BT, new RangeDTO("1990-01-01", "2000-01-01")));
+                    break;
+                case 2:
+                    final Object[] ids = new Object[inListSize];
+                    for (int id = 0; id < inListSize; id++) {
+                        ids[id] = id;
+                    }
+                    operations.add(new MultiValueOperation("id", Operator.IN, ids));
+                    break;
+                default:
+                    operations.add(joinDepth > 0
+                            ? new SingleValueOperation("phoneNumber", Operator.LIKE, "555" + i)
+                            : new SingleValueOperation("surname", Operator.NOT_LIKE, "surname" + i));
+            }
+        }
+        final var pageRequestDTO = new PageRequestDTO();
+        pageRequestDTO.setOperations(operations);
+        pageRequestDTO.setPage(3);
+        pageRequestDTO.setSize(25);
+        pageRequestDTO.setSortFields(new SortDTO[]{
+                new SortDTO("name", SortDTO.Direction.ASC),
+                new SortDTO("birthDate", SortDTO.Direction.DESC)});
+        return pageRequestDTO;
+    }
+
+    public SpecificationSchema<Employee> createSchema() {
+        return SpecificationSchema.<Employee>builder()
+                .bind("id", Employee_.id)
+                .bind("name", Employee_.name)
+                .bind("surname", Employee_.surname)
+                .bind("birthDate", Employee_.birthDate)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build();
+    }
+
+    public Specification<Employee> buildSpecification(PageRequestDTO pageRequestDTO) {
+        return SpecificationBuilder.<Employee>of(pageRequestDTO)
+                .bind("id", Employee_.id)
+                .bind("name", Employee_.name)
+                .bind("surname", Employee_.surname)
+                .bind("birthDate", Employee_.birthDate)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build();
+    }
+
+    public PageRequest buildPageRequest(PageRequestDTO pageRequestDTO) {
+        return PageRequestBuilder.of(pageRequestDTO)
+                .bindSort("name", Employee_.name)
+                .bindSort("birthDate", Employee_.birthDate)
+                .build();
+    }
+}
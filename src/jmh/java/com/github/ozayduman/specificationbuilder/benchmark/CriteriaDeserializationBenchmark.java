@@ -0,0 +1,42 @@
+package com.github.ozayduman.specificationbuilder.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson deserialization of {@code PageRequestDTO} payloads carrying polymorphic operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CriteriaDeserializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int operationCount;
+
+    @Param({"10", "1000", "20000"})
+    private int inListSize;
+
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        final ObjectMapper objectMapper = BenchmarkFixtures.createObjectMapper();
+        payload = objectMapper.writeValueAsBytes(BenchmarkFixtures.createPageRequest(operationCount, inListSize, 1));
+        reader = objectMapper.readerFor(PageRequestDTO.class);
+    }
+
+    @Benchmark
+    public PageRequestDTO deserialize() throws IOException {
+        return reader.readValue(payload);
+    }
+}
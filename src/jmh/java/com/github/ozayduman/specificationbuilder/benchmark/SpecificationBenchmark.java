@@ -0,0 +1,150 @@
+package com.github.ozayduman.specificationbuilder.benchmark;
+
+import com.github.ozayduman.specificationbuilder.InLists;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.entity.Employee;
+import com.github.ozayduman.specificationbuilder.entity.Employee_;
+import com.github.ozayduman.specificationbuilder.entity.Phone_;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.Query;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the server-side hot path: building a {@code Specification}, creating its predicates against
+ * Hibernate's {@code CriteriaBuilder}, rendering the criteria query to JPQL and SQL, and building the page request.
+ * Run with {@code -prof gc} (the default {@code jmh.args}) to report allocations per operation.
+ * {@link #toPredicateByHand()} creates the predicates of the normalized criteria directly, with operands prepared up front,
+ * so that it allocates only the JPA objects and is the lower bound of {@link #toPredicate()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+    private static final LocalDate LOW = LocalDate.of(1990, 1, 1);
+    private static final LocalDate HIGH = LocalDate.of(2000, 1, 1);
+
+    @Param({"1", "10", "50"})
+    private int operationCount;
+
+    @Param({"10", "1000"})
+    private int inListSize;
+
+    @Param({"0", "1"})
+    private int joinDepth;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private CriteriaBuilder criteriaBuilder;
+    private PageRequestDTO pageRequestDTO;
+    private SpecificationSchema<Employee> schema;
+    private Specification<Employee> specification;
+    private String[] namePatterns;
+    private String[] phonePatterns;
+    private Long[] ids;
+
+    @Setup
+    public void setUp() {
+        entityManagerFactory = BenchmarkFixtures.createEntityManagerFactory();
+        entityManager = entityManagerFactory.createEntityManager();
+        criteriaBuilder = entityManager.getCriteriaBuilder();
+        pageRequestDTO = BenchmarkFixtures.createPageRequest(operationCount, inListSize, joinDepth);
+        schema = BenchmarkFixtures.createSchema();
+        specification = schema.toSpecification(pageRequestDTO);
+        namePatterns = IntStream.iterate(0, i -> i < operationCount, i -> i + 4).mapToObj(i -> "%name" + i + "%").toArray(String[]::new);
+        phonePatterns = IntStream.iterate(3, i -> i < operationCount, i -> i + 4)
+                .mapToObj(i -> joinDepth > 0 ? "%555" + i + "%" : "%surname" + i + "%").toArray(String[]::new);
+        ids = new Long[InLists.bucketSize(inListSize)];
+        Arrays.setAll(ids, i -> (long) Math.min(i, inListSize - 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Specification<Employee> build() {
+        return BenchmarkFixtures.buildSpecification(pageRequestDTO);
+    }
+
+    @Benchmark
+    public Specification<Employee> buildFromSchema() {
+        return schema.toSpecification(pageRequestDTO);
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        final CriteriaQuery<Employee> query = criteriaBuilder.createQuery(Employee.class);
+        return specification.toPredicate(query.from(Employee.class), query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public Predicate toPredicateByHand() {
+        final CriteriaQuery<Employee> query = criteriaBuilder.createQuery(Employee.class);
+        final Root<Employee> root = query.from(Employee.class);
+        final List<Predicate> predicates = new ArrayList<>(operationCount);
+        for (String pattern : namePatterns) {
+            predicates.add(criteriaBuilder.like(root.get(Employee_.name), pattern));
+        }
+        if (operationCount > 1) {
+            predicates.add(criteriaBuilder.between(root.get(Employee_.birthDate), LOW, HIGH));
+        }
+        if (operationCount > 2) {
+            predicates.add(root.get(Employee_.id).in((Object[]) ids));
+        }
+        if (phonePatterns.length > 0) {
+            final Path<String> path = joinDepth > 0 ? root.join(Employee_.phones).get(Phone_.number) : root.get(Employee_.surname);
+            for (String pattern : phonePatterns) {
+                predicates.add(joinDepth > 0 ? criteriaBuilder.like(path, pattern) : criteriaBuilder.notLike(path, pattern));
+            }
+        }
+        return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+    }
+
+    @Benchmark
+    public String renderJpql() {
+        return createQuery().getQueryString();
+    }
+
+    @Benchmark
+    public String[] renderSql() {
+        final var jpql = createQuery().getQueryString();
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getQueryPlanCache()
+                .getHQLQueryPlan(jpql, false, Collections.emptyMap())
+                .getSqlStrings();
+    }
+
+    @Benchmark
+    public PageRequest buildPageRequest() {
+        return BenchmarkFixtures.buildPageRequest(pageRequestDTO);
+    }
+
+    private Query<?> createQuery() {
+        final CriteriaQuery<Employee> query = criteriaBuilder.createQuery(Employee.class);
+        final var root = query.from(Employee.class);
+        query.where(specification.toPredicate(root, query, criteriaBuilder));
+        return entityManager.createQuery(query).unwrap(Query.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.ozayduman.specificationbuilder.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.ozayduman.specificationbuilder.binary.BinaryCodec;
+import com.github.ozayduman.specificationbuilder.binary.ContentCodec;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.PageResultDTO;
+import com.github.ozayduman.specificationbuilder.dto.SliceResultDTO;
+import com.github.ozayduman.specificationbuilder.json.CriteriaReader;
+import org.openjdk.jmh.annotations.*;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON model with the binary encoding of {@link BinaryCodec}: encoding and decoding of page requests
+ * (including the schema-aware {@link CriteriaReader}) and of page results of projected rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"1", "10"})
+    private int operationCount;
+
+    @Param({"10", "1000", "50000"})
+    private int inListSize;
+
+    private EntityManagerFactory entityManagerFactory;
+    private ObjectMapper objectMapper;
+    private ObjectReader requestReader;
+    private ObjectReader resultReader;
+    private CriteriaReader criteriaReader;
+    private BinaryCodec codec;
+    private ContentCodec<Object> contentCodec;
+    private PageRequestDTO pageRequestDTO;
+    private PageResultDTO pageResultDTO;
+    private byte[] jsonRequest;
+    private byte[] binaryRequest;
+    private byte[] jsonResult;
+    private byte[] binaryResult;
+
+    @Setup
+    public void setUp() throws IOException {
+        entityManagerFactory = BenchmarkFixtures.createEntityManagerFactory();
+        objectMapper = BenchmarkFixtures.createObjectMapper();
+        requestReader = objectMapper.readerFor(PageRequestDTO.class);
+        resultReader = objectMapper.readerFor(PageResultDTO.class);
+        final var schema = BenchmarkFixtures.createSchema();
+        criteriaReader = CriteriaReader.of(schema);
+        codec = BinaryCodec.of(schema);
+        contentCodec = ContentCodec.tagged();
+        pageRequestDTO = BenchmarkFixtures.createPageRequest(operationCount, inListSize, 1);
+        pageResultDTO = createPageResult(100);
+        jsonRequest = objectMapper.writeValueAsBytes(pageRequestDTO);
+        binaryRequest = codec.encode(pageRequestDTO);
+        jsonResult = objectMapper.writeValueAsBytes(pageResultDTO);
+        binaryResult = BinaryCodec.encodeResult(pageResultDTO, contentCodec);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    private static PageResultDTO createPageResult(int rowCount) {
+        final List<Object[]> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new Object[]{(long) i, "name" + i, "surname" + i, LocalDate.of(1990, 1, 1).plusDays(i)});
+        }
+        final var pageResultDTO = new PageResultDTO();
+        pageResultDTO.setContent(rows);
+        pageResultDTO.setSize(rowCount);
+        pageResultDTO.setTotalElements(10_000L);
+        pageResultDTO.setTotalPages(10_000 / rowCount);
+        return pageResultDTO;
+    }
+
+    @Benchmark
+    public byte[] jsonEncodeRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(pageRequestDTO);
+    }
+
+    @Benchmark
+    public PageRequestDTO jsonDecodeRequest() throws IOException {
+        return requestReader.readValue(jsonRequest);
+    }
+
+    @Benchmark
+    public PageRequestDTO streamingDecodeRequest() throws IOException {
+        return criteriaReader.readPageRequest(new ByteArrayInputStream(jsonRequest));
+    }
+
+    @Benchmark
+    public byte[] binaryEncodeRequest() {
+        return codec.encode(pageRequestDTO);
+    }
+
+    @Benchmark
+    public CriteriaDTO binaryDecodeRequest() {
+        return codec.decode(binaryRequest);
+    }
+
+    @Benchmark
+    public byte[] jsonEncodeResult() throws IOException {
+        return objectMapper.writeValueAsBytes(pageResultDTO);
+    }
+
+    @Benchmark
+    public PageResultDTO jsonDecodeResult() throws IOException {
+        return resultReader.readValue(jsonResult);
+    }
+
+    @Benchmark
+    public byte[] binaryEncodeResult() {
+        return BinaryCodec.encodeResult(pageResultDTO, contentCodec);
+    }
+
+    @Benchmark
+    public SliceResultDTO binaryDecodeResult() {
+        return BinaryCodec.decodeResult(binaryResult, contentCodec);
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.cache.CountCache;
+
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Holds the {@code bind} and {@code bindJoin} DSL shared by {@link SpecificationMappings.SpecificationBuilder}
+ * and {@link SpecificationSchema.SchemaBuilder}. Every bound dto property is recorded as a {@link BindingDefinition}
+ * which is compiled into a {@link SpecificationSchema} by the concrete builder.
+ *
+ * @param <T> the root entity type supplied to this builder.
+ * @param <S> the concrete builder type returned from the fluent methods.
+ */
+public abstract class BindingBuilder<T, S extends BindingBuilder<T, S>> {
+    private final Map<String, BindingDefinition> definitions = new LinkedHashMap<>();
+    private boolean parameterized;
+    private InListStrategy inListStrategy = InListStrategy.chunked();
+    private CountCache countCache;
+    private CollectionStrategy collectionStrategy = CollectionStrategy.JOIN;
+    private ConjunctOrder conjunctOrder;
+
+    /**
+     * Makes every operand to be bound through a named {@code ParameterExpression} instead of being passed as a literal,
+     * so that the generated SQL text only depends on the shape of the criteria but not on its values.
+     * Parameter values are bound by {@link CriteriaSpecification#bind(javax.persistence.Query)}, which is done
+     * automatically by repositories based on {@link com.github.ozayduman.specificationbuilder.support.SpecificationJpaRepository}.
+     *
+     * @return currently (this) running builder
+     */
+    public S parameterized() {
+        this.parameterized = true;
+        return self();
+    }
+
+    /**
+     * @param entityProperty represents the matching the server entity property
+     * @param <Z>            the type of the represented entity property
+     * @return currently (this) running builder
+     */
+    public <Z extends Comparable<?>> S bind(SingularAttribute<T, Z> entityProperty) {
+        bind(entityProperty.getName(), entityProperty);
+        return self();
+    }
+
+    /**
+     * @param dtoProperty    represents the client property name
+     * @param entityProperty represents the matching the server entity property
+     * @param <Z>            the type of the represented entity property
+     * @return currently (this) running builder
+     */
+    public <Z extends Comparable<?>> S bind(String dtoProperty, SingularAttribute<T, Z> entityProperty) {
+        mapJoin(dtoProperty, entityProperty);
+        return self();
+    }
+
+    /**
+     * @param pluralAttribute represents the root entity
+     * @param entityProperty  represents the matching the server entity property
+     * @param <A>             the type of the represented entity property
+     * @param <B>             represents the entity (sub entity) contained by the root entity
+     * @param <Z>             the type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, Z extends Comparable<?>> S bindJoin(PluralAttribute<A, ?, B> pluralAttribute,
+                                                      SingularAttribute<B, Z> entityProperty) {
+        mapJoin(entityProperty.getName(), entityProperty, pluralAttribute);
+        return self();
+    }
+
+    /**
+     * @param singularAttribute represents the root entity
+     * @param entityProperty  represents the matching the server entity property
+     * @param <A>             the type of the represented entity property
+     * @param <B>             represents the entity (sub entity) contained by the root entity
+     * @param <Z>             the type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, Z extends Comparable<?>> S bindJoin(SingularAttribute<A, B> singularAttribute,
+                                                      SingularAttribute<B, Z> entityProperty) {
+        mapJoin(entityProperty.getName(), entityProperty, singularAttribute);
+        return self();
+    }
+
+    /**
+     * @param dtoProperty     represents the client property name
+     * @param pluralAttribute represents the root entity
+     * @param entityProperty  represents the matching the server entity property
+     * @param <A>             the type of the represented entity property
+     * @param <B>             represents the entity (sub entity) contained by the root entity
+     * @param <Z>             the type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, Z extends Comparable<?>> S bindJoin(String dtoProperty,
+                                                      PluralAttribute<A, ?, B> pluralAttribute,
+                                                      SingularAttribute<B, Z> entityProperty) {
+        mapJoin(dtoProperty, entityProperty, pluralAttribute);
+        return self();
+    }
+
+    /**
+     * @param dtoProperty represents the client property name
+     * @param singularAttribute0 represents the root entity
+     * @param entityProperty represents the matching the server entity property
+     * @param <A>             the type of the represented entity property
+     * @param <B>             represents the entity (sub entity) contained by the root entity
+     * @param <Z>             the type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, Z extends Comparable<?>> S bindJoin(String dtoProperty,
+                                                      SingularAttribute<A, B> singularAttribute0,
+                                                      SingularAttribute<B, Z> entityProperty) {
+        mapJoin(dtoProperty, entityProperty, singularAttribute0);
+        return self();
+    }
+
+
+    /**
+     * @param pluralAttribute0 represents the root entity
+     * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
+     * @param entityProperty   represents the matching the server entity property
+     * @param <A>              the type of the represented entity property
+     * @param <B>              represents the entity (sub entity) contained by the root entity
+     * @param <C>              represents the entity under type {@code B}
+     * @param <Z>              the type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, C, Z extends Comparable<?>> S bindJoin(PluralAttribute<A, ?, B> pluralAttribute0,
+                                                         PluralAttribute<B, ?, C> pluralAttribute1,
+                                                         SingularAttribute<C, Z> entityProperty) {
+        mapJoin(entityProperty.getName(), entityProperty, pluralAttribute0, pluralAttribute1);
+        return self();
+    }
+
+    /**
+     * @param dtoProperty      represents the client property name
+     * @param pluralAttribute0 represents the root entity
+     * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
+     * @param entityProperty   represents the matching the server entity property
+     * @param <A>              the type of the represented entity property
+     * @param <B>              represents the entity (sub entity) contained by the root entity
+     * @param <C>              represents the entity under type {@code B}
+     * @param <Z>              the type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, C, Z extends Comparable<?>> S bindJoin(String dtoProperty,
+                                                         PluralAttribute<A, ?, B> pluralAttribute0,
+                                                         PluralAttribute<B, ?, C> pluralAttribute1,
+                                                         SingularAttribute<C, Z> entityProperty) {
+        mapJoin(dtoProperty, entityProperty, pluralAttribute0, pluralAttribute1);
+        return self();
+    }
+
+    /**
+     * @param pluralAttribute0 represents the root entity
+     * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
+     * @param pluralAttribute2 represents the sub entity under {@code #pluralAttribute1}
+     * @param entityProperty   represents the matching the server entity property
+     * @param <A>              the type of the represented entity property
+     * @param <B>              represents the entity (sub entity) contained by the root entity
+     * @param <C>              represents the entity under type {@code B}
+     * @param <D>              represents the entity under type {@code C}
+     * @param <Z>              the type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, C, D, Z extends Comparable<?>> S bindJoin(PluralAttribute<A, ?, B> pluralAttribute0,
+                                                            PluralAttribute<B, ?, C> pluralAttribute1,
+                                                            PluralAttribute<C, ?, D> pluralAttribute2,
+                                                            SingularAttribute<D, Z> entityProperty) {
+        mapJoin(entityProperty.getName(), entityProperty, pluralAttribute0, pluralAttribute1, pluralAttribute2);
+        return self();
+    }
+
+    /**
+     * @param dtoProperty      represents the client property name
+     * @param pluralAttribute0 represents the root entity
+     * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
+     * @param pluralAttribute2 represents the sub entity under {@code #pluralAttribute1}
+     * @param entityProperty   represents the matching the server entity property
+     * @param <A>              the type of the represented entity property
+     * @param <B>              represents the entity (sub entity) contained by the root entity
+     * @param <C>              represents the entity under type {@code B}
+     * @param <D>              represents the entity under type {@code C}
+     * @param <Z>              the type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, C, D, Z extends Comparable<?>> S bindJoin(String dtoProperty,
+                                                            PluralAttribute<A, ?, B> pluralAttribute0,
+                                                            PluralAttribute<B, ?, C> pluralAttribute1,
+                                                            PluralAttribute<C, ?, D> pluralAttribute2,
+                                                            SingularAttribute<D, Z> entityProperty) {
+        mapJoin(dtoProperty, entityProperty, pluralAttribute0, pluralAttribute1, pluralAttribute2);
+        return self();
+    }
+
+    /**
+     * @param pluralAttribute0 represents the root entity
+     * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
+     * @param pluralAttribute2 represents the sub entity under {@code #pluralAttribute1}
+     * @param pluralAttribute3 represents the sub entity under {@code #pluralAttribute2}
+     * @param entityProperty   represents the matching the server entity property
+     * @param <A>              the type of the represented entity property
+     * @param <B>              represents the entity (sub entity) contained by the root entity
+     * @param <C>              represents the entity under type {@code B}
+     * @param <D>              represents the entity under type {@code C}
+     * @param <E>              represents the entity under type {@code D}
+     * @param <Z>              The type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, C, D, E, Z extends Comparable<?>> S bindJoin(PluralAttribute<A, ?, B> pluralAttribute0,
+                                                               PluralAttribute<B, ?, C> pluralAttribute1,
+                                                               PluralAttribute<C, ?, D> pluralAttribute2,
+                                                               PluralAttribute<D, ?, E> pluralAttribute3,
+                                                               SingularAttribute<E, Z> entityProperty) {
+        mapJoin(entityProperty.getName(), entityProperty, pluralAttribute0, pluralAttribute1, pluralAttribute2, pluralAttribute3);
+        return self();
+    }
+
+    /**
+     * @param dtoProperty      represents the client property name
+     * @param pluralAttribute0 represents the root entity
+     * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
+     * @param pluralAttribute2 represents the sub entity under {@code #pluralAttribute1}
+     * @param pluralAttribute3 represents the sub entity under {@code #pluralAttribute2}
+     * @param entityProperty   represents the matching the server entity property
+     * @param <A>              the type of the represented entity property
+     * @param <B>              represents the entity (sub entity) contained by the root entity
+     * @param <C>              represents the entity under type {@code B}
+     * @param <D>              represents the entity under type {@code C}
+     * @param <E>              represents the entity under type {@code D}
+     * @param <Z>              The type of the represented last leaf entity property
+     * @return currently (this) running builder
+     */
+    public <A, B, C, D, E, Z extends Comparable<?>> S bindJoin(String dtoProperty,
+                                                               PluralAttribute<A, ?, B> pluralAttribute0,
+                                                               PluralAttribute<B, ?, C> pluralAttribute1,
+                                                               PluralAttribute<C, ?, D> pluralAttribute2,
+                                                               PluralAttribute<D, ?, E> pluralAttribute3,
+                                                               SingularAttribute<E, Z> entityProperty) {
+        mapJoin(dtoProperty, entityProperty, pluralAttribute0, pluralAttribute1, pluralAttribute2, pluralAttribute3);
+        return self();
+    }
+
+    /**
+     * @param dtoProperty       represents the client property name
+     * @param singularAttribute represents the matching the server entity property
+     * @param joinAttributes    holds the entities between the root entity and the last entity in the hierarchy
+     */
+    private void mapJoin(String dtoProperty, SingularAttribute<?, ? extends Comparable<?>> singularAttribute, Attribute<?, ?>... joinAttributes) {
+        definitions.put(dtoProperty, new BindingDefinition(dtoProperty, singularAttribute, joinAttributes));
+    }
+
+    /**
+     * @return bound dto properties in the order they were bound
+     */
+    Map<String, BindingDefinition> getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * @param inListStrategy decides how {@code IN} and {@code NOT_IN} operations are rendered, {@link InListStrategy#chunked()} by default
+     * @return currently (this) running builder
+     */
+    public S inListStrategy(InListStrategy inListStrategy) {
+        this.inListStrategy = Objects.requireNonNull(inListStrategy, "an in list strategy must be supplied");
+        return self();
+    }
+
+    /**
+     * Caches the total number of elements of the pages read by the specifications of this schema,
+     * so that paging through the same criteria doesn't execute the count query for every page.
+     * Counts are cached by {@link com.github.ozayduman.specificationbuilder.support.SpecificationJpaRepository}.
+     *
+     * @param countCache e.g. {@link CountCache#of(java.time.Duration, int)}
+     * @return currently (this) running builder
+     */
+    public S countCache(CountCache countCache) {
+        this.countCache = Objects.requireNonNull(countCache, "a count cache must be supplied");
+        return self();
+    }
+
+    /**
+     * @param collectionStrategy decides how predicates on properties reached through a collection are rendered,
+     *                           {@link CollectionStrategy#JOIN} by default
+     * @return currently (this) running builder
+     */
+    public S collectionStrategy(CollectionStrategy collectionStrategy) {
+        this.collectionStrategy = Objects.requireNonNull(collectionStrategy, "a collection strategy must be supplied");
+        return self();
+    }
+
+    /**
+     * Overrides the collection strategy of the builder for the given, already bound, dto property
+     *
+     * @param dtoProperty        represents the client property name
+     * @param collectionStrategy decides how predicates on {@code dtoProperty} are rendered if it is reached through a collection
+     * @return currently (this) running builder
+     */
+    public S collectionStrategy(String dtoProperty, CollectionStrategy collectionStrategy) {
+        final var definition = definitions.get(dtoProperty);
+        if (definition == null) {
+            throw new IllegalArgumentException(String.format("DTO property %s must be bound before its collection strategy", dtoProperty));
+        }
+        definition.collectionStrategy = Objects.requireNonNull(collectionStrategy, "a collection strategy must be supplied");
+        return self();
+    }
+
+    /**
+     * @return default collection strategy of the bindings
+     */
+    CollectionStrategy getCollectionStrategy() {
+        return collectionStrategy;
+    }
+
+    /**
+     * Reorders the conjuncts of every {@code AND} (and {@code NOT}) group instead of keeping the order of the client
+     *
+     * @param conjunctOrder e.g. {@link ConjunctOrder#byOperator()} or a
+     *                      {@link com.github.ozayduman.specificationbuilder.statistics.StatisticsCollector}
+     * @return currently (this) running builder
+     */
+    public S conjunctOrder(ConjunctOrder conjunctOrder) {
+        this.conjunctOrder = Objects.requireNonNull(conjunctOrder, "a conjunct order must be supplied");
+        return self();
+    }
+
+    /**
+     * @return conjunct order or {@code null} if conjuncts keep the order of the client
+     */
+    ConjunctOrder getConjunctOrder() {
+        return conjunctOrder;
+    }
+
+    /**
+     * @return count cache or {@code null} if counts are not cached
+     */
+    CountCache getCountCache() {
+        return countCache;
+    }
+
+    /**
+     * @return strategy deciding how {@code IN} and {@code NOT_IN} operations are rendered
+     */
+    InListStrategy getInListStrategy() {
+        return inListStrategy;
+    }
+
+    /**
+     * @return true if operands are bound through parameters
+     */
+    boolean isParameterized() {
+        return parameterized;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected final S self() {
+        return (S) this;
+    }
+
+    /**
+     * Represents a single {@code bind} or {@code bindJoin} call before it is compiled into a {@link SpecificationSchema}
+     */
+    static class BindingDefinition {
+        final String dtoProperty;
+        final SingularAttribute<?, ? extends Comparable<?>> attribute;
+        final Attribute<?, ?>[] joinAttributes;
+        CollectionStrategy collectionStrategy;
+
+        private BindingDefinition(String dtoProperty, SingularAttribute<?, ? extends Comparable<?>> attribute, Attribute<?, ?>[] joinAttributes) {
+            this.dtoProperty = dtoProperty;
+            this.attribute = attribute;
+            this.joinAttributes = joinAttributes;
+        }
+    }
+}
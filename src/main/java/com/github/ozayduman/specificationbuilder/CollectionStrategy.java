@@ -0,0 +1,49 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+/**
+ * Decides how predicates on entity properties reached through a collection (a {@code PluralAttribute} on the join path)
+ * are rendered.
+ */
+public enum CollectionStrategy {
+    /**
+     * The collection is inner joined to the root entity, hence a root row is repeated for every matching element
+     */
+    JOIN,
+    /**
+     * Predicates are rendered in a correlated {@code EXISTS} subquery, so the number of root rows doesn't change.
+     * All the predicates on the same collection are rendered in the same subquery, hence they apply to the same element.
+     */
+    EXISTS
+}
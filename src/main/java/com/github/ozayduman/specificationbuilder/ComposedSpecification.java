@@ -0,0 +1,132 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.function.LongSupplier;
+
+/**
+ * Combines a {@link CriteriaSpecification} with another {@code Specification} by {@code AND} or {@code OR}
+ * without losing the parameter binding and staging of its parts.
+ *
+ * @param <T> the root entity type supplied to this specification.
+ */
+final class ComposedSpecification<T> implements CriteriaSpecification<T> {
+    private final Specification<T> lhs;
+    private final Specification<T> rhs;
+    private final boolean conjunction;
+
+    ComposedSpecification(Specification<T> lhs, Specification<T> rhs, boolean conjunction) {
+        this.lhs = lhs;
+        this.rhs = rhs;
+        this.conjunction = conjunction;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        final Predicate left = lhs.toPredicate(root, query, criteriaBuilder);
+        final Predicate right = rhs == null ? null : rhs.toPredicate(root, query, criteriaBuilder);
+        if (left == null || right == null) {
+            return left == null ? right : left;
+        }
+        return conjunction ? criteriaBuilder.and(left, right) : criteriaBuilder.or(left, right);
+    }
+
+    @Override
+    public <Q extends Query> Q bind(Q query) {
+        if (lhs instanceof CriteriaSpecification) {
+            ((CriteriaSpecification<T>) lhs).bind(query);
+        }
+        if (rhs instanceof CriteriaSpecification) {
+            ((CriteriaSpecification<T>) rhs).bind(query);
+        }
+        return query;
+    }
+
+    @Override
+    public long count(Class<T> domainClass, LongSupplier counter) {
+        return counter.getAsLong();
+    }
+
+    @Override
+    public boolean isUnsatisfiable() {
+        final boolean left = isUnsatisfiable(lhs);
+        if (rhs == null) {
+            return left;
+        }
+        return conjunction ? left || isUnsatisfiable(rhs) : left && isUnsatisfiable(rhs);
+    }
+
+    private static boolean isUnsatisfiable(Specification<?> specification) {
+        return specification instanceof CriteriaSpecification && ((CriteriaSpecification<?>) specification).isUnsatisfiable();
+    }
+
+    @Override
+    public void prepare(EntityManager entityManager) {
+        if (lhs instanceof CriteriaSpecification) {
+            ((CriteriaSpecification<T>) lhs).prepare(entityManager);
+        }
+        if (rhs instanceof CriteriaSpecification) {
+            ((CriteriaSpecification<T>) rhs).prepare(entityManager);
+        }
+    }
+
+    @Override
+    public boolean isStaging() {
+        return isStaging(lhs) || isStaging(rhs);
+    }
+
+    private static boolean isStaging(Specification<?> specification) {
+        return specification instanceof CriteriaSpecification && ((CriteriaSpecification<?>) specification).isStaging();
+    }
+
+    @Override
+    public void release(EntityManager entityManager) {
+        try {
+            if (lhs instanceof CriteriaSpecification) {
+                ((CriteriaSpecification<T>) lhs).release(entityManager);
+            }
+        } finally {
+            if (rhs instanceof CriteriaSpecification) {
+                ((CriteriaSpecification<T>) rhs).release(entityManager);
+            }
+        }
+    }
+}
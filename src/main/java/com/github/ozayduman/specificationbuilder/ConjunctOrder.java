@@ -0,0 +1,137 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides the order of the conjuncts of a query, so that cheap and selective predicates are evaluated first by engines
+ * evaluating the filters in order. Conjuncts are ordered by their rank {@code cost / (1 - selectivity)}, which minimizes
+ * the expected evaluation cost of a short-circuit {@code AND}; conjuncts of equal rank keep the order of the client.
+ * <p>{@link #byOperator()} estimates the selectivity by the operator only, whereas
+ * {@link com.github.ozayduman.specificationbuilder.statistics.StatisticsCollector} uses sampled statistics of the bound attributes.</p>
+ *
+ * @see BindingBuilder#conjunctOrder(ConjunctOrder)
+ */
+@FunctionalInterface
+public interface ConjunctOrder {
+
+    /**
+     * @param binding      compiled binding of the dto property of the conjunct
+     * @param operator     represents {@link Operator}
+     * @param operandCount number of the operands of the conjunct
+     * @return rank of the conjunct, conjuncts of lower ranks are evaluated first
+     */
+    double rank(Binding binding, Operator operator, int operandCount);
+
+    /**
+     * @return {@code ConjunctOrder} estimating the selectivity by the operator only
+     */
+    static ConjunctOrder byOperator() {
+        return (binding, operator, operandCount) -> rank(selectivity(operator, operandCount), cost(operator, operandCount));
+    }
+
+    /**
+     * @param selectivity estimated fraction of the rows matching the conjunct
+     * @param cost        relative cost of evaluating the conjunct for a row
+     * @return {@code cost / (1 - selectivity)}
+     */
+    static double rank(double selectivity, double cost) {
+        return selectivity >= 1 ? Double.POSITIVE_INFINITY : cost / (1 - Math.max(0, selectivity));
+    }
+
+    /**
+     * Textbook default selectivities used when nothing is known about the values of an attribute
+     *
+     * @param operator     represents {@link Operator}
+     * @param operandCount number of the operands of the conjunct
+     * @return estimated fraction of the rows matching the conjunct
+     */
+    static double selectivity(Operator operator, int operandCount) {
+        return switch (operator) {
+            case EQ -> 0.005;
+            case NOT_EQ -> 0.995;
+            case IN -> Math.min(0.5, 0.005 * operandCount);
+            case NOT_IN -> 1 - Math.min(0.5, 0.005 * operandCount);
+            case GT, GE, LT, LE -> 1.0 / 3;
+            case BT -> 0.25;
+            case LIKE -> 0.1;
+            case NOT_LIKE -> 0.9;
+            case NULL -> 0.1;
+            case NOT_NULL -> 0.9;
+            case TRUE, FALSE -> 0.5;
+        };
+    }
+
+    /**
+     * @param operator     represents {@link Operator}
+     * @param operandCount number of the operands of the conjunct
+     * @return relative cost of evaluating the conjunct for a row, pattern matching and long lists being the most expensive
+     */
+    static double cost(Operator operator, int operandCount) {
+        return switch (operator) {
+            case IN -> 1 + operandCount / 64.0;
+            case NOT_IN -> 2 + operandCount / 64.0;
+            case LIKE, NOT_LIKE -> 10;
+            default -> 1;
+        };
+    }
+
+    /**
+     * @param operations conjuncts in the order of the client
+     * @param schema     the schema binding the properties of the {@code operations}
+     * @return {@code operations} stably sorted by their rank, unbound properties keep their relative order in front
+     */
+    default List<AbstractOperation> sort(List<AbstractOperation> operations, SpecificationSchema<?> schema) {
+        if (operations.size() < 2) {
+            return operations;
+        }
+        final Map<AbstractOperation, Double> ranks = new IdentityHashMap<>();
+        for (AbstractOperation operation : operations) {
+            final var binding = schema.getBinding(operation.getProperty());
+            ranks.put(operation, binding == null || operation.getOperator() == null ? Double.NEGATIVE_INFINITY
+                    : rank(binding, operation.getOperator(), operation.getOperandCount()));
+        }
+        final List<AbstractOperation> sorted = new ArrayList<>(operations);
+        sorted.sort(Comparator.comparingDouble(ranks::get));
+        return sorted;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO.Type;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The normalized boolean tree of the operations and groups of a {@code CriteriaDTO}. The root is an {@code AND} group
+ * of the top-level operations and groups. Redundant nesting is flattened while normalizing:
+ * <ul>
+ *     <li>empty groups are dropped</li>
+ *     <li>{@code AND} groups nested in {@code AND} or {@code NOT} groups and {@code OR} groups nested in {@code OR} groups are inlined</li>
+ *     <li>{@code AND} and {@code OR} groups of a single member are replaced by the member</li>
+ *     <li>double negations are removed</li>
+ * </ul>
+ * Operations are positioned by {@link #getAllOperations()}: the operations of a group precede the operations of its groups.
+ */
+public final class CriteriaGroup {
+    private static final CriteriaGroup UNSATISFIABLE = new CriteriaGroup(Type.AND, new ArrayList<>(), new ArrayList<>(), true);
+    private final Type type;
+    private final List<AbstractOperation> operations;
+    private final List<CriteriaGroup> groups;
+    private final boolean unsatisfiable;
+
+    private CriteriaGroup(Type type, List<AbstractOperation> operations, List<CriteriaGroup> groups) {
+        this(type, operations, groups, false);
+    }
+
+    private CriteriaGroup(Type type, List<AbstractOperation> operations, List<CriteriaGroup> groups, boolean unsatisfiable) {
+        this.type = type;
+        this.operations = Collections.unmodifiableList(operations);
+        this.groups = Collections.unmodifiableList(groups);
+        this.unsatisfiable = unsatisfiable;
+    }
+
+    /**
+     * @param type       how the members are combined
+     * @param operations operations of the group
+     * @param groups     nested groups of the group
+     * @return a group of the given members, which are not normalized
+     */
+    static CriteriaGroup of(Type type, List<AbstractOperation> operations, List<CriteriaGroup> groups) {
+        return new CriteriaGroup(type, operations, groups);
+    }
+
+    /**
+     * @return a group matching nothing, it has no member
+     */
+    static CriteriaGroup unsatisfiable() {
+        return UNSATISFIABLE;
+    }
+
+    /**
+     * @param criteriaDTO or {@link com.github.ozayduman.specificationbuilder.dto.PageRequestDTO} is a DTO from client-side holding criteria information
+     * @return the normalized {@code AND} group of the operations and groups of {@code criteriaDTO}
+     */
+    public static CriteriaGroup of(CriteriaDTO criteriaDTO) {
+        if (criteriaDTO == null) {
+            return new CriteriaGroup(Type.AND, new ArrayList<>(), new ArrayList<>());
+        }
+        return normalize(Type.AND, criteriaDTO.getOperations(), criteriaDTO.getGroups());
+    }
+
+    private static CriteriaGroup normalize(Type type, List<AbstractOperation> operations, List<CriteriaGroupDTO> groupDTOs) {
+        final List<AbstractOperation> members = new ArrayList<>();
+        final List<CriteriaGroup> groups = new ArrayList<>();
+        if (operations != null) {
+            operations.forEach(operation -> members.add(Objects.requireNonNull(operation, "an operation can not be null")));
+        }
+        if (groupDTOs != null) {
+            for (CriteriaGroupDTO groupDTO : groupDTOs) {
+                Objects.requireNonNull(groupDTO, "a group can not be null");
+                Objects.requireNonNull(groupDTO.getType(), "group type can not be null");
+                add(type, normalize(groupDTO.getType(), groupDTO.getOperations(), groupDTO.getGroups()), members, groups);
+            }
+        }
+        return new CriteriaGroup(type, members, groups);
+    }
+
+    /**
+     * Adds {@code group} to the members of a group of type {@code type}, inlining it if it is redundant
+     */
+    private static void add(Type type, CriteriaGroup group, List<AbstractOperation> operations, List<CriteriaGroup> groups) {
+        if (group.isEmpty()) {
+            return;
+        }
+        if (group.type == Type.NOT && group.operations.isEmpty() && group.groups.size() == 1 && group.groups.get(0).type == Type.NOT) {
+            final var negated = group.groups.get(0);
+            add(type, new CriteriaGroup(Type.AND, negated.operations, negated.groups), operations, groups);
+        } else if (group.type != Type.NOT && (group.isConjunctive() == (type != Type.OR) || group.size() == 1)) {
+            operations.addAll(group.operations);
+            groups.addAll(group.groups);
+        } else {
+            groups.add(group);
+        }
+    }
+
+    /**
+     * @return how the members of this group are combined
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return true if the members of this group are combined by {@code AND}, which is the case for {@code AND} and {@code NOT} groups
+     */
+    public boolean isConjunctive() {
+        return type != Type.OR;
+    }
+
+    /**
+     * @return operations of this group
+     */
+    public List<AbstractOperation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return nested groups of this group
+     */
+    public List<CriteriaGroup> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @return true if this group provably matches nothing, see {@link CriteriaNormalizer}
+     */
+    public boolean isUnsatisfiable() {
+        return unsatisfiable;
+    }
+
+    /**
+     * @return true if this group has no member
+     */
+    public boolean isEmpty() {
+        return operations.isEmpty() && groups.isEmpty();
+    }
+
+    /**
+     * @return number of the members of this group
+     */
+    public int size() {
+        return operations.size() + groups.size();
+    }
+
+    /**
+     * @return operations of this group and its nested groups ordered by their positions
+     */
+    public List<AbstractOperation> getAllOperations() {
+        if (groups.isEmpty()) {
+            return operations;
+        }
+        final List<AbstractOperation> allOperations = new ArrayList<>(operations);
+        groups.forEach(group -> allOperations.addAll(group.getAllOperations()));
+        return allOperations;
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO.Type;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveMultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveRangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Rewrites a {@link CriteriaGroup} into an equivalent group having fewer operations, operands are converted by the bindings of the schema:
+ * <ul>
+ *     <li>in {@code AND} groups, the operations on the same property are merged: {@code EQ} and {@code IN} operands are intersected,
+ *     {@code NOT_EQ} and {@code NOT_IN} operands are united, bounds are tightened and duplicates are removed</li>
+ *     <li>in {@code OR} groups, the {@code EQ} and {@code IN} operations on the same property are folded into a single {@code IN}</li>
+ *     <li>an {@code AND} group having a contradiction (e.g. {@code age > 40 and age < 30}) or an unsatisfiable member is unsatisfiable,
+ *     unsatisfiable members of {@code OR} groups are dropped</li>
+ * </ul>
+ * {@code NOT} groups are left as they are, since a contradiction is unknown rather than false when the property is null.
+ * Bounds ({@code GT}, {@code GE}, {@code LT}, {@code LE} and {@code BT}) are only merged on numeric, temporal and boolean properties,
+ * whose order is the same in Java and in the database, bounds on other properties (e.g. strings under a collation, enums mapped
+ * as strings) are kept as they are. Their {@code EQ}, {@code IN}, {@code NOT_EQ} and {@code NOT_IN} operands are still merged.
+ * The only operation on a property holding its operands encoded (e.g. {@link PrimitiveMultiValueOperation}) is kept as it is.
+ * Criteria having an operation on an unbound property or an operator inapplicable to its property are left as they are,
+ * so that they are reported while the predicate is created.
+ */
+public final class CriteriaNormalizer {
+
+    private CriteriaNormalizer() {
+    }
+
+    /**
+     * @param criteria the group to normalize
+     * @param schema   bindings of the properties of the operations
+     * @return an equivalent group, {@link CriteriaGroup#isUnsatisfiable()} if it provably matches nothing
+     */
+    public static CriteriaGroup normalize(CriteriaGroup criteria, SpecificationSchema<?> schema) {
+        Objects.requireNonNull(criteria, "criteria can not be null");
+        Objects.requireNonNull(schema, "schema can not be null");
+        for (AbstractOperation operation : criteria.getAllOperations()) {
+            final var binding = schema.getBinding(operation.getProperty());
+            if (binding == null || !binding.supports(operation.getOperator())) {
+                return criteria;
+            }
+        }
+        return normalizeGroup(criteria, schema);
+    }
+
+    private static CriteriaGroup normalizeGroup(CriteriaGroup group, SpecificationSchema<?> schema) {
+        if (group.getType() == Type.NOT || group.isUnsatisfiable()) {
+            return group;
+        }
+        final List<CriteriaGroup> groups = new ArrayList<>();
+        for (CriteriaGroup nested : group.getGroups()) {
+            final var normalized = normalizeGroup(nested, schema);
+            if (!normalized.isUnsatisfiable()) {
+                groups.add(normalized);
+            } else if (group.isConjunctive()) {
+                return CriteriaGroup.unsatisfiable();
+            }
+        }
+        if (group.isConjunctive()) {
+            final var operations = conjunctionOf(group.getOperations(), schema);
+            return operations == null ? CriteriaGroup.unsatisfiable() : CriteriaGroup.of(group.getType(), operations, groups);
+        }
+        final var operations = disjunctionOf(group.getOperations(), schema);
+        return operations.isEmpty() && groups.isEmpty() ? CriteriaGroup.unsatisfiable() : CriteriaGroup.of(group.getType(), operations, groups);
+    }
+
+    /**
+     * @return the merged operations, or null if they can not be satisfied together
+     */
+    private static List<AbstractOperation> conjunctionOf(List<AbstractOperation> operations, SpecificationSchema<?> schema) {
+        final Map<String, Restriction> restrictions = new LinkedHashMap<>();
+        for (AbstractOperation operation : operations) {
+            restrictions.computeIfAbsent(operation.getProperty(), property -> new Restriction(schema.getBinding(property))).add(operation);
+        }
+        final List<AbstractOperation> merged = new ArrayList<>();
+        for (Restriction restriction : restrictions.values()) {
+            if (!restriction.appendTo(merged)) {
+                return null;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @return the operations where {@code EQ} and {@code IN} operations are folded per property, operations matching nothing are dropped
+     */
+    private static List<AbstractOperation> disjunctionOf(List<AbstractOperation> operations, SpecificationSchema<?> schema) {
+        final Map<String, NavigableSet<Object>> values = new LinkedHashMap<>();
+        final Set<String> lists = new HashSet<>();
+        final Map<String, Integer> counts = new HashMap<>();
+        for (AbstractOperation operation : operations) {
+            if (operation.getOperator() == Operator.EQ || operation.getOperator() == Operator.IN) {
+                counts.merge(operation.getProperty(), 1, Integer::sum);
+            }
+        }
+        for (AbstractOperation operation : operations) {
+            if (operation.getOperator() == Operator.IN) {
+                lists.add(operation.getProperty());
+            }
+            if (counts.getOrDefault(operation.getProperty(), 0) == 1 && isPrimitive(operation)) {
+                continue;
+            }
+            if (operation.getOperator() == Operator.EQ || operation.getOperator() == Operator.IN) {
+                final var binding = schema.getBinding(operation.getProperty());
+                final var union = values.computeIfAbsent(operation.getProperty(), property -> new TreeSet<>(CriteriaNormalizer::compare));
+                for (Comparable<?> operand : operation.getOperands()) {
+                    final var value = binding.convert(operand);
+                    if (value != null) {
+                        union.add(value);
+                    }
+                }
+            }
+        }
+        final List<AbstractOperation> folded = new ArrayList<>();
+        final Set<String> appended = new HashSet<>();
+        for (AbstractOperation operation : operations) {
+            final var union = values.get(operation.getProperty());
+            if (isPrimitive(operation) && union == null && operation.getOperator() == Operator.IN && operation.getOperandCount() == 0) {
+                continue;
+            }
+            if (union == null || operation.getOperator() != Operator.EQ && operation.getOperator() != Operator.IN) {
+                folded.add(operation);
+            } else if (appended.add(operation.getProperty()) && !union.isEmpty()) {
+                folded.add(inOperation(operation.getProperty(), union, lists.contains(operation.getProperty())));
+            }
+        }
+        return folded;
+    }
+
+    /**
+     * @param list true if {@code values} come from an {@code IN} list, which is kept as a list so that the shape of the criteria doesn't depend on its length
+     */
+    private static AbstractOperation inOperation(String property, Set<Object> values, boolean list) {
+        return values.size() == 1 && !list
+                ? new SingleValueOperation(property, Operator.EQ, values.iterator().next())
+                : new MultiValueOperation(property, Operator.IN, values.toArray());
+    }
+
+    /**
+     * @return true if the operands of {@code operation} are held encoded, such operations are kept as they are when they are
+     * the only ones on their property, so that their operands are not boxed
+     */
+    private static boolean isPrimitive(AbstractOperation operation) {
+        return operation instanceof PrimitiveMultiValueOperation || operation instanceof PrimitiveRangeValueOperation;
+    }
+
+    /**
+     * @return true if operands of {@code javaType} compare in Java as they do in the database
+     */
+    private static boolean isOrdered(Class<?> javaType) {
+        return javaType.isPrimitive() && javaType != char.class
+                || javaType == Boolean.class
+                || Number.class.isAssignableFrom(javaType)
+                || Temporal.class.isAssignableFrom(javaType)
+                || Date.class.isAssignableFrom(javaType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object value, Object other) {
+        return ((Comparable<Object>) value).compareTo(other);
+    }
+
+    /**
+     * The conjunction of the operations on a single property
+     */
+    private static final class Restriction {
+        private final Binding binding;
+        private final boolean ordered;
+        private final List<AbstractOperation> bounds = new ArrayList<>();
+        private NavigableSet<Object> values;
+        private boolean list = true;
+        private final NavigableSet<Object> excluded = new TreeSet<>(CriteriaNormalizer::compare);
+        private Object lower;
+        private boolean lowerInclusive;
+        private Object upper;
+        private boolean upperInclusive;
+        private boolean isNull;
+        private boolean notNull;
+        private boolean contradiction;
+        private final Set<Object> likes = new LinkedHashSet<>();
+        private final Set<Object> notLikes = new LinkedHashSet<>();
+        private AbstractOperation primitive;
+        private boolean merged;
+
+        private Restriction(Binding binding) {
+            this.binding = binding;
+            this.ordered = isOrdered(binding.getJavaType());
+        }
+
+        private void add(AbstractOperation operation) {
+            if (!merged && isPrimitive(operation) && primitive == null) {
+                primitive = operation;
+                return;
+            }
+            if (primitive != null) {
+                final var deferred = primitive;
+                primitive = null;
+                merged = true;
+                add(deferred);
+            }
+            merged = true;
+            if (!ordered && isBound(operation.getOperator())) {
+                bounds.add(operation);
+                return;
+            }
+            final Comparable<?>[] operands = operation.getOperands();
+            final Object[] values = new Object[operands.length];
+            for (int i = 0; i < operands.length; i++) {
+                values[i] = binding.convert(operands[i]);
+            }
+            switch (operation.getOperator()) {
+                case EQ -> restrictTo(false, values);
+                case IN -> restrictTo(true, values);
+                case TRUE -> restrictTo(false, Boolean.TRUE);
+                case FALSE -> restrictTo(false, Boolean.FALSE);
+                case NOT_EQ, NOT_IN -> exclude(values);
+                case GT -> lower(values[0], false);
+                case GE -> lower(values[0], true);
+                case LT -> upper(values[0], false);
+                case LE -> upper(values[0], true);
+                case BT -> {
+                    lower(values[0], true);
+                    upper(values[1], true);
+                }
+                case NULL -> isNull = true;
+                case NOT_NULL -> notNull = true;
+                case LIKE -> {
+                    if ("".equals(values[0])) {
+                        notNull = true;
+                    } else {
+                        likes.add(values[0]);
+                    }
+                }
+                case NOT_LIKE -> {
+                    if ("".equals(values[0])) {
+                        contradiction = true;
+                    } else {
+                        notLikes.add(values[0]);
+                    }
+                }
+            }
+        }
+
+        private static boolean isBound(Operator operator) {
+            return switch (operator) {
+                case GT, GE, LT, LE, BT -> true;
+                default -> false;
+            };
+        }
+
+        private void restrictTo(boolean list, Object... operands) {
+            this.list &= list;
+            final NavigableSet<Object> restricted = new TreeSet<>(CriteriaNormalizer::compare);
+            for (Object operand : operands) {
+                if (operand != null && (values == null || values.contains(operand))) {
+                    restricted.add(operand);
+                }
+            }
+            values = restricted;
+        }
+
+        private void exclude(Object... operands) {
+            for (Object operand : operands) {
+                if (operand == null) {
+                    contradiction = true;
+                } else {
+                    excluded.add(operand);
+                }
+            }
+        }
+
+        private void lower(Object bound, boolean inclusive) {
+            final int comparison = lower == null ? 1 : compare(bound, lower);
+            if (comparison > 0 || comparison == 0 && !inclusive) {
+                lower = bound;
+                lowerInclusive = inclusive;
+            }
+        }
+
+        private void upper(Object bound, boolean inclusive) {
+            final int comparison = upper == null ? -1 : compare(bound, upper);
+            if (comparison < 0 || comparison == 0 && !inclusive) {
+                upper = bound;
+                upperInclusive = inclusive;
+            }
+        }
+
+        private boolean isWithinBounds(Object value) {
+            if (lower != null) {
+                final int comparison = compare(value, lower);
+                if (comparison < 0 || comparison == 0 && !lowerInclusive) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                final int comparison = compare(value, upper);
+                return comparison < 0 || comparison == 0 && upperInclusive;
+            }
+            return true;
+        }
+
+        /**
+         * @param operations where the merged operations are appended to
+         * @return false if the operations can not be satisfied together
+         */
+        private boolean appendTo(List<AbstractOperation> operations) {
+            final String property = binding.getDtoProperty();
+            if (primitive != null) {
+                return appendPrimitiveTo(operations);
+            }
+            if (contradiction) {
+                return false;
+            }
+            if (isNull) {
+                if (values != null || lower != null || upper != null || !excluded.isEmpty() || notNull || !likes.isEmpty() || !notLikes.isEmpty()
+                        || !bounds.isEmpty()) {
+                    return false;
+                }
+                operations.add(new NoValueOperation(property, Operator.NULL));
+                return true;
+            }
+            if (values == null && lower != null && upper != null && compare(lower, upper) == 0) {
+                restrictTo(false, lower);
+            }
+            if (values != null) {
+                values.removeIf(value -> !isWithinBounds(value) || excluded.contains(value));
+                if (values.isEmpty()) {
+                    return false;
+                }
+                final var value = values.first();
+                if (values.size() == 1 && !list && value instanceof Boolean && binding.supports(Operator.TRUE)) {
+                    operations.add(new NoValueOperation(property, (Boolean) value ? Operator.TRUE : Operator.FALSE));
+                } else {
+                    operations.add(inOperation(property, values, list));
+                }
+                operations.addAll(bounds);
+            } else {
+                if (lower != null && upper != null) {
+                    final int comparison = compare(lower, upper);
+                    if (comparison > 0 || comparison == 0 && !(lowerInclusive && upperInclusive)) {
+                        return false;
+                    }
+                }
+                if (lower != null && upper != null && lowerInclusive && upperInclusive) {
+                    operations.add(new RangeValueOperation(property, Operator.BT, new RangeDTO(lower, upper)));
+                } else {
+                    if (lower != null) {
+                        operations.add(new SingleValueOperation(property, lowerInclusive ? Operator.GE : Operator.GT, lower));
+                    }
+                    if (upper != null) {
+                        operations.add(new SingleValueOperation(property, upperInclusive ? Operator.LE : Operator.LT, upper));
+                    }
+                }
+                excluded.removeIf(value -> !isWithinBounds(value));
+                if (excluded.size() == 1) {
+                    operations.add(new SingleValueOperation(property, Operator.NOT_EQ, excluded.first()));
+                } else if (!excluded.isEmpty()) {
+                    operations.add(new MultiValueOperation(property, Operator.NOT_IN, excluded.toArray()));
+                }
+                operations.addAll(bounds);
+                if (notNull && lower == null && upper == null && excluded.isEmpty() && bounds.isEmpty() && likes.isEmpty() && notLikes.isEmpty()) {
+                    operations.add(new NoValueOperation(property, Operator.NOT_NULL));
+                }
+            }
+            likes.forEach(value -> operations.add(new SingleValueOperation(property, Operator.LIKE, value)));
+            notLikes.forEach(value -> operations.add(new SingleValueOperation(property, Operator.NOT_LIKE, value)));
+            return true;
+        }
+
+        /**
+         * Keeps the only operation on the property as it is if it can be satisfied, an empty {@code NOT_IN} list excludes nothing
+         */
+        private boolean appendPrimitiveTo(List<AbstractOperation> operations) {
+            if (primitive instanceof PrimitiveRangeValueOperation) {
+                if (((PrimitiveRangeValueOperation) primitive).isEmpty()) {
+                    return false;
+                }
+            } else if (primitive.getOperandCount() == 0) {
+                return primitive.getOperator() != Operator.IN;
+            }
+            operations.add(primitive);
+            return true;
+        }
+    }
+}
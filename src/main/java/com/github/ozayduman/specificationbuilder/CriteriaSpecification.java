@@ -0,0 +1,142 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@code Specification} created from a {@code CriteriaDTO}. Besides creating the predicate it knows the values
+ * of the parameters it creates when its {@link SpecificationSchema} is {@link BindingBuilder#parameterized() parameterized},
+ * hence they have to be bound on the query the predicate is used by. Similarly large {@code IN} lists may be staged
+ * according to the {@link InListStrategy} of the schema, which happens between {@link #prepare(EntityManager)} and
+ * {@link #release(EntityManager)}. Repositories based on {@link com.github.ozayduman.specificationbuilder.support.SpecificationJpaRepository}
+ * do all of these automatically.
+ * <p>Note that {@link #and(Specification)} and {@link #or(Specification)} keep these abilities, whereas combining it
+ * as the argument of another {@code Specification} (e.g. {@code Specification#where}) returns a plain {@code Specification}.</p>
+ *
+ * @param <T> the root entity type supplied to this specification.
+ */
+public interface CriteriaSpecification<T> extends Specification<T> {
+
+    /**
+     * Binds the values of the parameters created by this specification. It does nothing if there is none.
+     *
+     * @param query the query created from the predicate of this specification
+     * @param <Q>   the type of the query
+     * @return the given {@code query}
+     */
+    <Q extends Query> Q bind(Q query);
+
+    /**
+     * Stages the operands of large {@code IN} lists, it must be called before the queries using this specification
+     * are created and it does nothing if the {@link InListStrategy} of the schema never stages.
+     *
+     * @param entityManager the {@code EntityManager} the queries are executed on
+     */
+    void prepare(EntityManager entityManager);
+
+    /**
+     * @return true if {@link #prepare(EntityManager)} stages operands, which writes to the database and hence
+     * requires a read-write transaction
+     */
+    default boolean isStaging() {
+        return false;
+    }
+
+    /**
+     * Deletes the operands staged by {@link #prepare(EntityManager)}
+     *
+     * @param entityManager the {@code EntityManager} the queries are executed on
+     */
+    void release(EntityManager entityManager);
+
+    /**
+     * Returns the total number of elements matching this specification from the count cache of its schema if any
+     *
+     * @param domainClass the root entity type of the count query
+     * @param counter     executes the count query when the count is not cached
+     * @return the number of elements matching this specification
+     */
+    long count(Class<T> domainClass, LongSupplier counter);
+
+    /**
+     * @param domainClass the root entity type of the query
+     * @return canonical key of the criteria of this specification, or {@code null} if its results can not be cached
+     * @see com.github.ozayduman.specificationbuilder.cache.ResultCache
+     */
+    default Object cacheKey(Class<T> domainClass) {
+        return null;
+    }
+
+    /**
+     * @param domainClass the root entity type of the query
+     * @return {@code domainClass} followed by the entity types on the bound join paths, whose changes invalidate cached results
+     */
+    default Class<?>[] getEntityTypes(Class<T> domainClass) {
+        return new Class<?>[]{domainClass};
+    }
+
+    /**
+     * @return true if the criteria of this specification provably match nothing, hence the query can be skipped
+     * @see CriteriaNormalizer
+     */
+    default boolean isUnsatisfiable() {
+        return false;
+    }
+
+    /**
+     * ANDs the given {@code Specification} to this one, keeping the parameter binding and staging of both
+     *
+     * @param other can be {@literal null}
+     * @return the conjunction of the specifications
+     */
+    @Override
+    default CriteriaSpecification<T> and(Specification<T> other) {
+        return new ComposedSpecification<>(this, other, true);
+    }
+
+    /**
+     * ORs the given {@code Specification} to this one, keeping the parameter binding and staging of both
+     *
+     * @param other can be {@literal null}
+     * @return the disjunction of the specifications
+     */
+    @Override
+    default CriteriaSpecification<T> or(Specification<T> other) {
+        return new ComposedSpecification<>(this, other, false);
+    }
+}
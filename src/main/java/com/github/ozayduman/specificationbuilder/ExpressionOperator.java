@@ -0,0 +1,187 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.Collection;
+
+/**
+ * A functional interface represents Query Operators whose operands are supplied as {@code Expression}s
+ * (typically {@code ParameterExpression}s) instead of values. It is the counterpart of {@link SpecificationOperator}
+ * used when a {@link SpecificationSchema} is {@code parameterized}, so that the generated SQL text does not vary with the operand values.
+ */
+@FunctionalInterface
+public interface ExpressionOperator {
+
+    /**
+     * @param from Represents {@code javax.persistence.Criteria.Root} or {@code javax.persistence.Criteria.Join}
+     * @param cb Represents {@code CriteriaBuilder}
+     * @param attribute Represents entity as a {@code SingularAttribute}
+     * @param operands Represents operation's operand expressions, {@code in} operators get a single collection valued expression
+     * @return {@code Predicate}
+     */
+    Predicate apply(From<?,?> from, CriteriaBuilder cb, SingularAttribute attribute, Expression[] operands);
+
+    /**
+     * Represents equality function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator eq(){
+        return (from, cb, attribute, operands) -> cb.equal(from.get(attribute), operands[0]);
+    }
+
+    /**
+     * Represents not equal function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator notEq(){
+        return (from, cb, attribute, operands) -> cb.notEqual(from.get(attribute), operands[0]);
+    }
+
+    /**
+     * Represents between function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator bt(){
+        return (from, cb, attribute, operands) -> cb.between(from.get(attribute), operands[0], operands[1]);
+    }
+
+    /**
+     * Represents greater than function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator gt(){
+        return (from, cb, attribute, operands) -> cb.greaterThan(from.get(attribute), operands[0]);
+    }
+
+    /**
+     * Represents greater than or equal to function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator ge(){
+        return (from, cb, attribute, operands) -> cb.greaterThanOrEqualTo(from.get(attribute), operands[0]);
+    }
+
+    /**
+     * Represents less than function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator lt(){
+        return (from, cb, attribute, operands) -> cb.lessThan(from.get(attribute), operands[0]);
+    }
+
+    /**
+     * Represents less than or equal to function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator le(){
+        return (from, cb, attribute, operands) -> cb.lessThanOrEqualTo(from.get(attribute), operands[0]);
+    }
+
+    /**
+     * Represents in function, the single operand is expected to be a collection valued expression
+     * @return {@link ExpressionOperator}
+     */
+    @SuppressWarnings("unchecked")
+    static ExpressionOperator in(){
+        return (from, cb, attribute, operands) -> from.get(attribute).in((Expression<Collection<?>>) operands[0]);
+    }
+
+    /**
+     * Represents not in function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator notIn(){
+        return not(in());
+    }
+
+    /**
+     * Represents null function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator isNull(){
+        return (from, cb, attribute, operands) -> cb.isNull(from.get(attribute));
+    }
+
+    /**
+     * Represents not null function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator isNotNull(){
+        return (from, cb, attribute, operands) -> cb.isNotNull(from.get(attribute));
+    }
+
+    /**
+     * Represents is true function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator isTrue(){
+        return (from, cb, attribute, operands) -> cb.isTrue(from.get(attribute));
+    }
+
+    /**
+     * Represents is false function
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator isFalse(){
+        return (from, cb, attribute, operands) -> cb.isFalse(from.get(attribute));
+    }
+
+    /**
+     * Represents like function, the operand is expected to be bound with its {@code %} wildcards
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator like(){
+        return (from, cb, attribute, operands) -> cb.like(from.get(attribute), operands[0]);
+    }
+
+    /**
+     * Represents not like function, the operand is expected to be bound with its {@code %} wildcards
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator notLike(){
+        return (from, cb, attribute, operands) -> cb.notLike(from.get(attribute), operands[0]);
+    }
+
+    /** Represents a Higher Order Function that inverts a given {@code ExpressionOperator}
+     * @param operator is an Expression operator
+     * @return {@link ExpressionOperator}
+     */
+    static ExpressionOperator not(ExpressionOperator operator){
+        return (from, cb, attribute, operands) -> cb.not(operator.apply(from, cb, attribute, operands));
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.Subgraph;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.FetchParent;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Declares the associations to be loaded together with the content of a page, so that mapping the entities
+ * to DTOs does not load them one by one (1+N queries). Paths of singular associations are loaded by the content query
+ * through an entity graph. Paths containing a collection are not fetched by the content query, because fetching a collection
+ * while paging makes Hibernate paginate in memory, instead every such path is loaded by one more query fetching it for the
+ * entities of the page. Count queries are never affected.
+ * <p>Like a schema a fetch plan is immutable and thread-safe:</p>
+ * <pre>
+ * {@code private static final FetchPlan<Employee> FETCH_PLAN = FetchPlan.<Employee>builder()
+ *                 .fetch(Employee_.socialSecurity)
+ *                 .fetch(Employee_.phones)
+ *                 .build();
+ *
+ *        Page<Employee> page = employeeRepository.findAll(specification, FETCH_PLAN, pageRequest);}
+ * </pre>
+ *
+ * @param <T> the root entity type
+ * @see com.github.ozayduman.specificationbuilder.support.CriteriaSpecificationExecutor
+ */
+public final class FetchPlan<T> {
+    /**
+     * Name of the hint of the entity graph whose attributes are loaded eagerly in addition to the mapped ones
+     */
+    public static final String LOAD_GRAPH_HINT = "javax.persistence.loadgraph";
+    /**
+     * Name of the Hibernate hint keeping {@code DISTINCT} of an entity query in memory instead of sending it to the database
+     */
+    public static final String PASS_DISTINCT_THROUGH_HINT = "hibernate.query.passDistinctThrough";
+    private final List<String[]> graphPaths;
+    private final List<String[]> collectionPaths;
+
+    private FetchPlan(List<Attribute<?, ?>[]> paths) {
+        final List<String[]> graph = new ArrayList<>();
+        final List<String[]> collections = new ArrayList<>();
+        for (Attribute<?, ?>[] path : paths) {
+            final String[] names = new String[path.length];
+            var plural = false;
+            for (int i = 0; i < path.length; i++) {
+                names[i] = path[i].getName();
+                plural |= path[i] instanceof PluralAttribute;
+            }
+            (plural ? collections : graph).add(names);
+        }
+        this.graphPaths = List.copyOf(graph);
+        this.collectionPaths = List.copyOf(collections);
+    }
+
+    /**
+     * Creates a {@code Builder} to declare the fetched associations
+     *
+     * @param <T> the root entity type
+     * @return a new {@code Builder}
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Makes {@code query} load the singular associations of this plan through an entity graph
+     *
+     * @param query         the content query, it must not be a count query
+     * @param entityManager represents the {@code EntityManager} the query is created by
+     * @param domainClass   the root entity type
+     * @param <Q>           the type of the query
+     * @return the given {@code query}
+     */
+    public <Q extends TypedQuery<? extends T>> Q applyTo(Q query, EntityManager entityManager, Class<T> domainClass) {
+        if (graphPaths.isEmpty()) {
+            return query;
+        }
+        final EntityGraph<T> entityGraph = entityManager.createEntityGraph(domainClass);
+        final Map<String, Subgraph<?>> subgraphs = new HashMap<>();
+        for (String[] path : graphPaths) {
+            var key = path[0];
+            if (path.length == 1) {
+                entityGraph.addAttributeNodes(key);
+                continue;
+            }
+            Subgraph<?> subgraph = subgraphs.computeIfAbsent(key, entityGraph::addSubgraph);
+            for (int i = 1; i < path.length - 1; i++) {
+                final Subgraph<?> parent = subgraph;
+                final var name = path[i];
+                key = key + '.' + name;
+                subgraph = subgraphs.computeIfAbsent(key, k -> parent.addSubgraph(name));
+            }
+            subgraph.addAttributeNodes(path[path.length - 1]);
+        }
+        query.setHint(LOAD_GRAPH_HINT, entityGraph);
+        return query;
+    }
+
+    /**
+     * Loads the collections of this plan for the given managed {@code entities} by one query per collection path.
+     * Duplicated roots are removed in memory only, and the entities are matched by {@code IN} lists of
+     * {@link InListStrategy#DEFAULT_CHUNK_SIZE} entities at most joined by {@code OR}.
+     *
+     * @param entityManager represents the {@code EntityManager} the entities are managed by
+     * @param domainClass   the root entity type
+     * @param entities      the content of a page
+     */
+    public void fetchCollections(EntityManager entityManager, Class<T> domainClass, List<? extends T> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        for (String[] path : collectionPaths) {
+            final CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(domainClass);
+            final Root<T> root = criteriaQuery.from(domainClass);
+            FetchParent<?, ?> fetch = root;
+            for (String name : path) {
+                fetch = fetch.fetch(name, JoinType.LEFT);
+            }
+            final List<Predicate> chunks = new ArrayList<>();
+            for (int from = 0; from < entities.size(); from += InListStrategy.DEFAULT_CHUNK_SIZE) {
+                chunks.add(root.in(entities.subList(from, Math.min(from + InListStrategy.DEFAULT_CHUNK_SIZE, entities.size()))));
+            }
+            criteriaQuery.select(root).distinct(true)
+                    .where(chunks.size() == 1 ? chunks.get(0) : criteriaBuilder.or(chunks.toArray(Predicate[]::new)));
+            entityManager.createQuery(criteriaQuery)
+                    .setHint(PASS_DISTINCT_THROUGH_HINT, false)
+                    .getResultList();
+        }
+    }
+
+    /**
+     * Builder collecting the association paths of a {@link FetchPlan}
+     *
+     * @param <T> the root entity type
+     */
+    public static final class Builder<T> {
+        private final List<Attribute<?, ?>[]> paths = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @param attribute represents an association of the root entity
+         * @return currently (this) running builder
+         */
+        public Builder<T> fetch(Attribute<T, ?> attribute) {
+            return path(attribute);
+        }
+
+        /**
+         * @param singularAttribute represents an association of the root entity
+         * @param attribute         represents an association of the associated entity
+         * @param <A>               represents the associated entity
+         * @return currently (this) running builder
+         */
+        public <A> Builder<T> fetch(SingularAttribute<T, A> singularAttribute, Attribute<A, ?> attribute) {
+            return path(singularAttribute, attribute);
+        }
+
+        /**
+         * @param pluralAttribute represents a collection of the root entity
+         * @param attribute       represents an association of the contained entity
+         * @param <A>             represents the contained entity
+         * @return currently (this) running builder
+         */
+        public <A> Builder<T> fetch(PluralAttribute<T, ?, A> pluralAttribute, Attribute<A, ?> attribute) {
+            return path(pluralAttribute, attribute);
+        }
+
+        private Builder<T> path(Attribute<?, ?>... attributes) {
+            for (Attribute<?, ?> attribute : attributes) {
+                Objects.requireNonNull(attribute, "an attribute must be supplied");
+                if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC) {
+                    throw new IllegalArgumentException(String.format("%s is not an association", attribute.getName()));
+                }
+            }
+            paths.add(attributes);
+            return this;
+        }
+
+        /**
+         * builds a {@code FetchPlan} from this {@code Builder}
+         *
+         * @return {@code FetchPlan}
+         */
+        public FetchPlan<T> build() {
+            return new FetchPlan<>(paths);
+        }
+    }
+}
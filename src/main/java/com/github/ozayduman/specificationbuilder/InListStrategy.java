@@ -0,0 +1,121 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+/**
+ * Decides how {@code IN} and {@code NOT_IN} operations are rendered depending on the number of their operands.
+ * <ul>
+ *     <li>lists up to {@code chunkSize} values are rendered as a single {@code IN} list</li>
+ *     <li>larger lists are split into {@code chunkSize} sized {@code IN} lists combined by {@code OR}
+ *     ({@code AND} for {@code NOT_IN}), e.g. to stay below Oracle's limit of 1000 expressions</li>
+ *     <li>lists larger than {@code stagingThreshold} values are inserted into the staging table by batched JDBC
+ *     statements and matched by a subquery, see {@link com.github.ozayduman.specificationbuilder.staging.StagedValue}</li>
+ * </ul>
+ * Staging requires the specification to be prepared on the {@code EntityManager} before its queries are executed,
+ * see {@link CriteriaSpecification#prepare(javax.persistence.EntityManager)}. An unprepared specification falls back to chunking.
+ */
+public final class InListStrategy {
+    /**
+     * Default maximum number of values in a single {@code IN} list
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final InListStrategy DEFAULT = new InListStrategy(DEFAULT_CHUNK_SIZE, Integer.MAX_VALUE);
+
+    private final int chunkSize;
+    private final int stagingThreshold;
+
+    private InListStrategy(int chunkSize, int stagingThreshold) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(String.format("chunk size %d must be positive", chunkSize));
+        }
+        if (stagingThreshold < 0) {
+            throw new IllegalArgumentException(String.format("staging threshold %d must not be negative", stagingThreshold));
+        }
+        this.chunkSize = chunkSize;
+        this.stagingThreshold = stagingThreshold;
+    }
+
+    /**
+     * @return a strategy that splits lists into chunks of {@link #DEFAULT_CHUNK_SIZE} values and never stages them
+     */
+    public static InListStrategy chunked() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param chunkSize maximum number of values in a single {@code IN} list
+     * @return a strategy that splits lists into chunks of {@code chunkSize} values and never stages them
+     */
+    public static InListStrategy chunked(int chunkSize) {
+        return new InListStrategy(chunkSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param stagingThreshold lists larger than this are staged
+     * @return a strategy that stages lists larger than {@code stagingThreshold} and chunks smaller ones by {@link #DEFAULT_CHUNK_SIZE}
+     */
+    public static InListStrategy staged(int stagingThreshold) {
+        return new InListStrategy(DEFAULT_CHUNK_SIZE, stagingThreshold);
+    }
+
+    /**
+     * @param chunkSize        maximum number of values in a single {@code IN} list
+     * @param stagingThreshold lists larger than this are staged
+     * @return a strategy that stages lists larger than {@code stagingThreshold} and chunks smaller ones by {@code chunkSize}
+     */
+    public static InListStrategy staged(int chunkSize, int stagingThreshold) {
+        return new InListStrategy(chunkSize, stagingThreshold);
+    }
+
+    /**
+     * @return maximum number of values in a single {@code IN} list
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return lists larger than this are staged
+     */
+    public int getStagingThreshold() {
+        return stagingThreshold;
+    }
+
+    /**
+     * @param size number of operands
+     * @return true if a list of {@code size} operands should be staged
+     */
+    public boolean isStaged(int size) {
+        return size > stagingThreshold;
+    }
+}
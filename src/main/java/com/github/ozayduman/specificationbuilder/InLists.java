@@ -0,0 +1,162 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import java.util.Arrays;
+
+/**
+ * Canonicalizes the operands of {@code IN} and {@code NOT_IN} operations, so that lists holding the same values
+ * produce the same statement and the number of distinct statements per property stays small.
+ * <ul>
+ *     <li>values are sorted and duplicates are removed, {@code [3,1,3,2]} and {@code [1,2,3]} become {@code [1,2,3]}</li>
+ *     <li>the list is padded by repeating its last value up to the next power of two, {@code [1,2,3]} becomes {@code [1,2,3,3]}.
+ *     Lists larger than {@link #MAX_POWER_OF_TWO_BUCKET} are padded to the next multiple of it instead,
+ *     so that padding never exceeds it</li>
+ * </ul>
+ * Lists containing {@code null} are left as they are, because {@code null} is never matched by {@code IN}.
+ */
+public final class InLists {
+    /**
+     * Largest bucket sized as a power of two
+     */
+    public static final int MAX_POWER_OF_TWO_BUCKET = 1024;
+
+    private InLists() {
+    }
+
+    /**
+     * @param values converted operands of the same type
+     * @return a new sorted, deduplicated and padded array or {@code values} itself if it is empty or contains {@code null}
+     */
+    public static Comparable<?>[] canonicalize(Comparable<?>[] values) {
+        final Comparable<?>[] distinct = distinct(values);
+        return distinct == values ? values : pad(distinct, distinct.length, bucketSize(distinct.length));
+    }
+
+    /**
+     * Splits the canonical form of {@code values} into chunks of {@code chunkSize} values at most, e.g. to stay below
+     * the maximum number of expressions allowed in an {@code IN} list. Only the last chunk is padded, up to its bucket
+     * but never beyond {@code chunkSize}.
+     *
+     * @param values    converted operands of the same type
+     * @param chunkSize maximum number of values in a chunk
+     * @return chunks of the canonical values, or chunks of {@code values} as they are if it contains {@code null}
+     */
+    public static Comparable<?>[][] chunk(Comparable<?>[] values, int chunkSize) {
+        return chunk(values, chunkSize, false);
+    }
+
+    /**
+     * Same as {@link #chunk(Comparable[], int)}, but sorts {@code values} in place and may return it as a chunk,
+     * for arrays created by the caller to be chunked
+     */
+    static Comparable<?>[][] chunkInPlace(Comparable<?>[] values, int chunkSize) {
+        return chunk(values, chunkSize, true);
+    }
+
+    private static Comparable<?>[][] chunk(Comparable<?>[] values, int chunkSize, boolean inPlace) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(String.format("chunk size %d must be positive", chunkSize));
+        }
+        final var canonical = values.length > 0 && !containsNull(values);
+        final Comparable<?>[] distinct = canonical ? sortDistinct(inPlace ? values : values.clone()) : values;
+        final var chunkCount = Math.max(1, (distinct.length + chunkSize - 1) / chunkSize);
+        final Comparable<?>[][] chunks = new Comparable<?>[chunkCount][];
+        for (int i = 0; i < chunkCount; i++) {
+            final var from = i * chunkSize;
+            final var size = Math.min(chunkSize, distinct.length - from);
+            final var bucket = canonical && i == chunkCount - 1 ? Math.min(bucketSize(size), chunkSize) : size;
+            final var slice = chunkCount == 1 && (canonical || inPlace) ? distinct : Arrays.copyOfRange(distinct, from, from + size);
+            chunks[i] = pad(slice, size, bucket);
+        }
+        return chunks;
+    }
+
+    /**
+     * @param values converted operands of the same type
+     * @return a new sorted array without duplicates or {@code values} itself if it is empty or contains {@code null}
+     */
+    public static Comparable<?>[] distinct(Comparable<?>[] values) {
+        if (values.length == 0 || containsNull(values)) {
+            return values;
+        }
+        return sortDistinct(values.clone());
+    }
+
+    private static boolean containsNull(Comparable<?>[] values) {
+        for (Comparable<?> value : values) {
+            if (value == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code values} sorted in place, or a shorter copy of it if it has duplicates
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<?>[] sortDistinct(Comparable[] values) {
+        Arrays.sort(values);
+        var size = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i].compareTo(values[size - 1]) != 0) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static Comparable<?>[] pad(Comparable<?>[] values, int size, int bucket) {
+        if (size == bucket) {
+            return values;
+        }
+        final Comparable<?>[] padded = Arrays.copyOf(values, bucket, Comparable[].class);
+        Arrays.fill(padded, size, bucket, values[size - 1]);
+        return padded;
+    }
+
+    /**
+     * @param size number of distinct values
+     * @return number of values after padding
+     */
+    public static int bucketSize(int size) {
+        if (size <= 1) {
+            return size;
+        }
+        if (size > MAX_POWER_OF_TWO_BUCKET) {
+            return (size + MAX_POWER_OF_TWO_BUCKET - 1) / MAX_POWER_OF_TWO_BUCKET * MAX_POWER_OF_TWO_BUCKET;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Represents a keyset (seek) page request. Instead of skipping {@code page * size} rows, the next page is
+ * selected by comparing the sort keys with the values of the last row of the previous page, which are carried
+ * by an opaque {@code cursor}. Hence the cost of a page does not depend on how deep it is.
+ * <p>Sort keys must be non-null singular attributes of the root entity and they must end with a unique
+ * tie-breaker (e.g. the id), which is appended by {@link PageRequestDTO.PageRequestBuilder#buildKeyset} if missing.</p>
+ * <p>Sample usage:</p>
+ * <pre>
+ * {@code var keyset = PageRequestBuilder.of(pageRequestDTO)
+ *                 .bindSort("employeeBirthDate", Employee_.birthDate)
+ *                 .buildKeyset(Employee_.id);
+ *
+ *        Slice<Employee> slice = employeeRepository.findSlice(keyset.toSpecification(specification), keyset.toPageable());
+ *        SliceResultDTO sliceResultDTO = SliceResultDTO.from(slice, EmployeeMapper.INSTANCE::toDTO, keyset);}
+ * </pre>
+ */
+public final class KeysetPageRequest {
+    /**
+     * Writes temporal values in their ISO form and reads decimals as {@code BigDecimal}, which {@link OperandConverters}
+     * converts back to the type of the sort key without loss
+     */
+    private static final ObjectMapper CURSOR_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private final List<SingularAttribute<?, ?>> attributes;
+    private final List<Sort.Direction> directions;
+    private final int size;
+    private final String signature;
+    private final Comparable<?>[] after;
+
+    private KeysetPageRequest(Map<SingularAttribute<?, ?>, Sort.Direction> keys, int size, String cursor) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("a keyset page request needs at least one sort key");
+        }
+        validate(keys.keySet());
+        this.attributes = List.copyOf(keys.keySet());
+        this.directions = List.copyOf(keys.values());
+        this.size = size;
+        this.signature = keys.entrySet().stream()
+                .map(key -> key.getKey().getName() + ":" + key.getValue())
+                .collect(Collectors.joining(","));
+        this.after = cursor == null || cursor.isEmpty() ? null : decode(cursor);
+    }
+
+    /**
+     * Rejects nullable keys, since a null can neither be compared nor carried by a cursor, and keys of other entities
+     * than the root, which is the declaring type of the tie-breaker, since keys are resolved by name on the root
+     */
+    private static void validate(Collection<SingularAttribute<?, ?>> keys) {
+        SingularAttribute<?, ?> tieBreaker = null;
+        for (SingularAttribute<?, ?> key : keys) {
+            tieBreaker = key;
+        }
+        final Class<?> root = tieBreaker.getDeclaringType().getJavaType();
+        for (SingularAttribute<?, ?> key : keys) {
+            if (key.isOptional()) {
+                throw new IllegalArgumentException(String.format("sort key %s is nullable, keyset sort keys must be non-null", key.getName()));
+            }
+            final Class<?> declaringType = key.getDeclaringType().getJavaType();
+            if (!declaringType.isAssignableFrom(root) && !root.isAssignableFrom(declaringType)) {
+                throw new IllegalArgumentException(String.format("sort key %s is declared by %s, not by the root entity %s",
+                        key.getName(), declaringType.getName(), root.getName()));
+            }
+        }
+    }
+
+    /**
+     * @param keys   sort keys in order ending with a unique tie-breaker, non-null singular attributes of the root entity
+     * @param size   page size
+     * @param cursor the cursor of the previous page or {@code null} for the first page
+     * @return {@code KeysetPageRequest}
+     * @throws IllegalArgumentException if a key is nullable or is not an attribute of the entity declaring the tie-breaker
+     */
+    public static KeysetPageRequest of(Map<SingularAttribute<?, ?>, Sort.Direction> keys, int size, String cursor) {
+        return new KeysetPageRequest(keys, size, cursor);
+    }
+
+    /**
+     * @return a page request for the first page of the remaining rows ordered by the sort keys
+     */
+    public PageRequest toPageable() {
+        final List<Sort.Order> orders = new ArrayList<>(attributes.size());
+        for (int i = 0; i < attributes.size(); i++) {
+            orders.add(new Sort.Order(directions.get(i), attributes.get(i).getName()));
+        }
+        return PageRequest.of(0, size, Sort.by(orders));
+    }
+
+    /**
+     * @param specification the specification created from the criteria of the request, can be {@literal null}
+     * @param <T>           the root entity type
+     * @return {@code specification} restricted to the rows after the cursor
+     */
+    public <T> Specification<T> toSpecification(Specification<T> specification) {
+        final Specification<T> seek = this::seek;
+        return specification == null ? seek : specification.and(seek);
+    }
+
+    /**
+     * @param slice the slice read by the {@link #toPageable()} of this request
+     * @return the cursor of the next page or {@code null} if there is not any
+     */
+    public String nextCursor(Slice<?> slice) {
+        if (!slice.hasNext() || slice.getContent().isEmpty()) {
+            return null;
+        }
+        final var last = slice.getContent().get(slice.getContent().size() - 1);
+        final List<Object> values = new ArrayList<>(attributes.size() + 1);
+        values.add(signature);
+        for (SingularAttribute<?, ?> attribute : attributes) {
+            values.add(read(last, attribute));
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(CURSOR_MAPPER.writeValueAsBytes(values));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("cursor could not be created", e);
+        }
+    }
+
+    /**
+     * Expands the row value comparison {@code (k1, k2, ...) > (v1, v2, ...)} into
+     * {@code k1 > v1 or (k1 = v1 and k2 > v2) or ...} so that every key can have its own direction.
+     * The redundant leading {@code k1 >= v1} lets the database seek into an index on the first key.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seek(Root<?> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (after == null) {
+            return null;
+        }
+        final Expression[] paths = new Expression[attributes.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = root.get(attributes.get(i).getName());
+        }
+        final Predicate[] disjuncts = new Predicate[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            final Predicate[] conjuncts = new Predicate[i + 1];
+            for (int j = 0; j < i; j++) {
+                conjuncts[j] = cb.equal(paths[j], after[j]);
+            }
+            conjuncts[i] = directions.get(i).isAscending()
+                    ? cb.greaterThan(paths[i], (Comparable) after[i])
+                    : cb.lessThan(paths[i], (Comparable) after[i]);
+            disjuncts[i] = cb.and(conjuncts);
+        }
+        final Predicate leading = directions.get(0).isAscending()
+                ? cb.greaterThanOrEqualTo(paths[0], (Comparable) after[0])
+                : cb.lessThanOrEqualTo(paths[0], (Comparable) after[0]);
+        return cb.and(leading, cb.or(disjuncts));
+    }
+
+    private Comparable<?>[] decode(String cursor) {
+        final List<?> values;
+        try {
+            values = CURSOR_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII)), List.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException(String.format("cursor %s is not valid", cursor), e);
+        }
+        if (values.size() != attributes.size() + 1 || !signature.equals(values.get(0))) {
+            throw new IllegalArgumentException(String.format("cursor %s does not belong to sort keys %s", cursor, signature));
+        }
+        final Comparable<?>[] decoded = new Comparable<?>[attributes.size()];
+        for (int i = 0; i < decoded.length; i++) {
+            final var value = values.get(i + 1);
+            if (value == null) {
+                throw new IllegalArgumentException(String.format("cursor %s holds null for sort key %s", cursor, attributes.get(i).getName()));
+            }
+            decoded[i] = (Comparable<?>) OperandConverters.convert(value, attributes.get(i).getJavaType());
+        }
+        return decoded;
+    }
+
+    private static Object read(Object entity, SingularAttribute<?, ?> attribute) {
+        final Member member = attribute.getJavaMember();
+        try {
+            if (member instanceof Field) {
+                final var field = (Field) member;
+                field.trySetAccessible();
+                return field.get(entity);
+            }
+            if (member instanceof Method) {
+                final var method = (Method) member;
+                method.trySetAccessible();
+                return method.invoke(entity);
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(String.format("sort key %s could not be read", attribute.getName()), e);
+        }
+        throw new IllegalStateException(String.format("sort key %s could not be read", attribute.getName()));
+    }
+
+    /**
+     * @return names of the sort keys in order
+     */
+    public List<String> getKeys() {
+        return Collections.unmodifiableList(attributes.stream().map(SingularAttribute::getName).collect(Collectors.toList()));
+    }
+
+    /**
+     * @return page size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return true if this request reads the first page
+     */
+    public boolean isFirst() {
+        return after == null;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of {@link OperandConverter}s keyed by (source class, target class).
+ * Converters are resolved once per pair and cached, so that converting an operand is an identity check
+ * or a single map lookup followed by a type-specialized conversion. Unknown pairs fall back to Jackson's
+ * {@code ObjectMapper#convertValue}.
+ */
+public final class OperandConverters {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final Map<Class<?>, Class<?>> WRAPPERS = Map.of(
+            boolean.class, Boolean.class, byte.class, Byte.class, char.class, Character.class,
+            short.class, Short.class, int.class, Integer.class, long.class, Long.class,
+            float.class, Float.class, double.class, Double.class);
+    private static final ClassValue<TargetConverter> TARGET_CONVERTERS = new ClassValue<>() {
+        @Override
+        protected TargetConverter computeValue(Class<?> targetType) {
+            return new TargetConverter(WRAPPERS.getOrDefault(targetType, targetType));
+        }
+    };
+
+    private OperandConverters() {
+    }
+
+    /**
+     * @param targetType java type of the entity property, primitive types are treated as their wrappers
+     * @return the cached {@code TargetConverter} for {@code targetType}
+     */
+    public static TargetConverter forType(Class<?> targetType) {
+        return TARGET_CONVERTERS.get(targetType);
+    }
+
+    /**
+     * Converts {@code value} to {@code targetType}
+     *
+     * @param value      client-side operand
+     * @param targetType java type of the entity property
+     * @return the converted operand
+     */
+    public static Object convert(Object value, Class<?> targetType) {
+        return forType(targetType).convert(value);
+    }
+
+    /**
+     * Registers a custom converter, it replaces the built-in one for the same pair.
+     * Registration is expected to happen at startup before converters are used.
+     *
+     * @param sourceType client-side operand type
+     * @param targetType java type of the entity property
+     * @param converter  converts {@code sourceType} values to {@code targetType}
+     * @param <S>        source type
+     * @param <R>        target type
+     */
+    public static <S, R> void register(Class<S> sourceType, Class<R> targetType, Function<? super S, ? extends R> converter) {
+        Objects.requireNonNull(converter, "converter can not be null");
+        forType(targetType).converters.put(sourceType, value -> converter.apply(sourceType.cast(value)));
+    }
+
+    /**
+     * Removes the converter registered for the pair, the built-in one is resolved again on the next conversion
+     *
+     * @param sourceType client-side operand type
+     * @param targetType java type of the entity property
+     */
+    public static void unregister(Class<?> sourceType, Class<?> targetType) {
+        forType(targetType).converters.remove(sourceType);
+    }
+
+    /**
+     * Holds converters from any source class to a single target class
+     */
+    public static final class TargetConverter {
+        private final Class<?> targetType;
+        private final Map<Class<?>, OperandConverter> converters = new ConcurrentHashMap<>();
+
+        private TargetConverter(Class<?> targetType) {
+            this.targetType = targetType;
+        }
+
+        /**
+         * @param value client-side operand
+         * @return {@code value} itself if it is already an instance of the target type, otherwise the converted operand
+         */
+        public Object convert(Object value) {
+            if (value == null || targetType.isInstance(value)) {
+                return value;
+            }
+            var converter = converters.get(value.getClass());
+            if (converter == null) {
+                converter = converters.computeIfAbsent(value.getClass(), sourceType -> resolve(sourceType, targetType));
+            }
+            return converter.convert(value);
+        }
+
+        /**
+         * @return the target class, primitive types are represented by their wrappers
+         */
+        public Class<?> getTargetType() {
+            return targetType;
+        }
+    }
+
+    private static OperandConverter resolve(Class<?> sourceType, Class<?> targetType) {
+        final OperandConverter converter;
+        if (targetType == String.class) {
+            converter = sourceType.isEnum() ? value -> ((Enum<?>) value).name() : Object::toString;
+        } else if (targetType.isEnum()) {
+            converter = enumConverter(sourceType, targetType);
+        } else if (sourceType == String.class) {
+            converter = fromString(targetType);
+        } else if (Number.class.isAssignableFrom(sourceType)) {
+            converter = fromNumber(targetType);
+        } else {
+            converter = null;
+        }
+        return converter != null ? converter : fallback(targetType);
+    }
+
+    private static OperandConverter fromString(Class<?> targetType) {
+        if (targetType == Long.class) {
+            return value -> Long.valueOf((String) value);
+        } else if (targetType == Integer.class) {
+            return value -> Integer.valueOf((String) value);
+        } else if (targetType == Short.class) {
+            return value -> Short.valueOf((String) value);
+        } else if (targetType == Byte.class) {
+            return value -> Byte.valueOf((String) value);
+        } else if (targetType == Double.class) {
+            return value -> Double.valueOf((String) value);
+        } else if (targetType == Float.class) {
+            return value -> Float.valueOf((String) value);
+        } else if (targetType == BigDecimal.class) {
+            return value -> new BigDecimal((String) value);
+        } else if (targetType == BigInteger.class) {
+            return value -> new BigInteger((String) value);
+        } else if (targetType == UUID.class) {
+            return value -> UUID.fromString((String) value);
+        } else if (targetType == Boolean.class) {
+            final var fallback = fallback(targetType);
+            return value -> "true".equals(value) ? Boolean.TRUE : "false".equals(value) ? Boolean.FALSE : fallback.convert(value);
+        } else if (targetType == LocalDate.class) {
+            return temporal(targetType, value -> LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE));
+        } else if (targetType == LocalDateTime.class) {
+            return temporal(targetType, value -> LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        } else if (targetType == LocalTime.class) {
+            return temporal(targetType, value -> LocalTime.parse(value, DateTimeFormatter.ISO_LOCAL_TIME));
+        } else if (targetType == OffsetDateTime.class) {
+            return temporal(targetType, value -> OffsetDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        } else if (targetType == ZonedDateTime.class) {
+            return temporal(targetType, value -> ZonedDateTime.parse(value, DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        } else if (targetType == Instant.class) {
+            return temporal(targetType, value -> DateTimeFormatter.ISO_INSTANT.parse(value, Instant::from));
+        }
+        return null;
+    }
+
+    /**
+     * @param targetType temporal type
+     * @param parser     parses ISO formatted values using a precompiled {@code DateTimeFormatter}
+     * @return converter that falls back to Jackson for values the strict ISO parser does not accept
+     */
+    private static OperandConverter temporal(Class<?> targetType, Function<String, Object> parser) {
+        final var fallback = fallback(targetType);
+        return value -> {
+            try {
+                return parser.apply((String) value);
+            } catch (DateTimeParseException e) {
+                return fallback.convert(value);
+            }
+        };
+    }
+
+    /**
+     * Integral targets are range-checked, fractions are truncated as Jackson does
+     */
+    private static OperandConverter fromNumber(Class<?> targetType) {
+        if (targetType == Long.class) {
+            return value -> longValueOf((Number) value, Long.MIN_VALUE, Long.MAX_VALUE, targetType);
+        } else if (targetType == Integer.class) {
+            return value -> (int) longValueOf((Number) value, Integer.MIN_VALUE, Integer.MAX_VALUE, targetType);
+        } else if (targetType == Short.class) {
+            return value -> (short) longValueOf((Number) value, Short.MIN_VALUE, Short.MAX_VALUE, targetType);
+        } else if (targetType == Byte.class) {
+            return value -> (byte) longValueOf((Number) value, Byte.MIN_VALUE, Byte.MAX_VALUE, targetType);
+        } else if (targetType == Double.class) {
+            return value -> ((Number) value).doubleValue();
+        } else if (targetType == Float.class) {
+            return value -> ((Number) value).floatValue();
+        } else if (targetType == BigDecimal.class) {
+            return value -> value instanceof BigInteger ? new BigDecimal((BigInteger) value)
+                    : value instanceof Double || value instanceof Float ? BigDecimal.valueOf(((Number) value).doubleValue())
+                    : BigDecimal.valueOf(((Number) value).longValue());
+        } else if (targetType == BigInteger.class) {
+            return value -> value instanceof BigDecimal ? ((BigDecimal) value).toBigInteger()
+                    : BigInteger.valueOf(((Number) value).longValue());
+        }
+        return null;
+    }
+
+    /**
+     * @return the integral part of {@code value}
+     * @throws IllegalArgumentException if it is not within [{@code min}, {@code max}]
+     */
+    private static long longValueOf(Number value, long min, long max, Class<?> targetType) {
+        final boolean inRange;
+        final long number;
+        if (value instanceof BigInteger || value instanceof BigDecimal) {
+            final var integral = value instanceof BigDecimal ? ((BigDecimal) value).toBigInteger() : (BigInteger) value;
+            inRange = integral.bitLength() < Long.SIZE;
+            number = inRange ? integral.longValue() : 0;
+        } else if (value instanceof Double || value instanceof Float) {
+            final double fraction = value.doubleValue();
+            inRange = fraction >= -0x1p63 && fraction < 0x1p63;
+            number = (long) fraction;
+        } else {
+            inRange = true;
+            number = value.longValue();
+        }
+        if (!inRange || number < min || number > max) {
+            throw new IllegalArgumentException(String.format("%s is out of range of %s", value, targetType.getName()));
+        }
+        return number;
+    }
+
+    /**
+     * Enum constants are looked up by name or by ordinal using lookup tables built once per enum type,
+     * values that are not found (e.g. aliases declared via Jackson annotations) are delegated to Jackson.
+     */
+    private static OperandConverter enumConverter(Class<?> sourceType, Class<?> targetType) {
+        final var constants = (Enum<?>[]) targetType.getEnumConstants();
+        final var fallback = fallback(targetType);
+        if (sourceType == String.class) {
+            final Map<String, Enum<?>> byName = new HashMap<>();
+            for (Enum<?> constant : constants) {
+                byName.put(constant.name(), constant);
+            }
+            return value -> {
+                final Object constant = byName.get(value);
+                return constant != null ? constant : fallback.convert(value);
+            };
+        } else if (sourceType == Integer.class || sourceType == Long.class || sourceType == Short.class) {
+            return value -> {
+                final long ordinal = ((Number) value).longValue();
+                return ordinal >= 0 && ordinal < constants.length ? constants[(int) ordinal] : fallback.convert(value);
+            };
+        }
+        return null;
+    }
+
+    private static OperandConverter fallback(Class<?> targetType) {
+        return value -> OBJECT_MAPPER.convertValue(value, targetType);
+    }
+}
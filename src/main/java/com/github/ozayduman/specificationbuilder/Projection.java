@@ -0,0 +1,259 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.JoinPath;
+
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Selects only the given entity properties instead of the whole entity, either into a DTO (e.g. a record) through its
+ * constructor or into a {@code Tuple} whose elements are aliased by their names. Columns are declared by the dto properties of
+ * a {@link SpecificationSchema}, and the joins created for the predicates of the same query are reused for them. Joins that are
+ * only needed by the projection are {@code LEFT} joins. Projected rows are not entities, hence they are neither hydrated nor
+ * tracked by the persistence context.
+ * <p>A projection is immutable and thread-safe, like the schema it is meant to be built once:</p>
+ * <pre>
+ * {@code private static final Projection<Employee, EmployeeRow> PROJECTION = SCHEMA.projection()
+ *                 .select("id", Employee_.id)
+ *                 .select("employeeName")
+ *                 .select("phoneNumber")
+ *                 .into(EmployeeRow.class);
+ *
+ *        Page<EmployeeRow> page = employeeRepository.findAll(SCHEMA.toSpecification(pageRequestDTO), PROJECTION, pageRequest);}
+ * </pre>
+ *
+ * @param <T> the root entity type
+ * @param <R> the type of the projected rows
+ * @see com.github.ozayduman.specificationbuilder.support.CriteriaSpecificationExecutor
+ */
+public final class Projection<T, R> {
+    private final Class<R> resultType;
+    private final String[] aliases;
+    private final JoinPath[] joinPaths;
+    private final String[] attributeNames;
+    private final boolean expanding;
+
+    private Projection(Class<R> resultType, List<Column> columns) {
+        this.resultType = resultType;
+        this.aliases = new String[columns.size()];
+        this.joinPaths = new JoinPath[columns.size()];
+        this.attributeNames = new String[columns.size()];
+        for (int i = 0; i < aliases.length; i++) {
+            final var column = columns.get(i);
+            aliases[i] = column.alias;
+            joinPaths[i] = column.joinPath;
+            attributeNames[i] = column.attribute.getName();
+        }
+        this.expanding = Arrays.stream(joinPaths).anyMatch(Projection::isPlural);
+    }
+
+    private static boolean isPlural(JoinPath joinPath) {
+        for (var node = joinPath; !node.isRoot(); node = node.getParent()) {
+            if (node.getAttribute() instanceof PluralAttribute) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the type of the projected rows, {@code Tuple} for tuple projections
+     */
+    public Class<R> getResultType() {
+        return resultType;
+    }
+
+    /**
+     * @return aliases of the selected columns in the order they are selected
+     */
+    public List<String> getAliases() {
+        return List.of(aliases);
+    }
+
+    /**
+     * @return true if a column is reached through a collection, hence there may be more rows than matching root entities
+     */
+    public boolean isExpanding() {
+        return expanding;
+    }
+
+    /**
+     * @param criteriaBuilder represents JPA criteriaBuilder
+     * @return a new query whose result type is the type of the projected rows
+     */
+    @SuppressWarnings("unchecked")
+    public CriteriaQuery<R> createQuery(CriteriaBuilder criteriaBuilder) {
+        return resultType == Tuple.class
+                ? (CriteriaQuery<R>) criteriaBuilder.createTupleQuery()
+                : criteriaBuilder.createQuery(resultType);
+    }
+
+    /**
+     * Creates the selection of this projection, it should be called after the predicate of the query is created
+     * so that the joins of the predicate are reused.
+     *
+     * @param root            represents JPA root entity
+     * @param criteriaBuilder represents JPA criteriaBuilder
+     * @return a tuple or a constructor selection of the projected columns
+     */
+    @SuppressWarnings("unchecked")
+    public Selection<R> toSelection(Root<T> root, CriteriaBuilder criteriaBuilder) {
+        final Selection<?>[] selections = new Selection<?>[aliases.length];
+        for (int i = 0; i < selections.length; i++) {
+            selections[i] = from(root, joinPaths[i]).get(attributeNames[i]).alias(aliases[i]);
+        }
+        return resultType == Tuple.class
+                ? (Selection<R>) criteriaBuilder.tuple(selections)
+                : criteriaBuilder.construct(resultType, selections);
+    }
+
+    /**
+     * Creates the joins of this projection that are not created by the predicate of the query,
+     * e.g. to count the projected rows.
+     *
+     * @param root represents JPA root entity
+     */
+    public void join(Root<T> root) {
+        for (JoinPath joinPath : joinPaths) {
+            from(root, joinPath);
+        }
+    }
+
+    /**
+     * Finds the join of {@code joinPath} among the joins created so far or creates a {@code LEFT} join
+     */
+    private static From<?, ?> from(Root<?> root, JoinPath joinPath) {
+        if (joinPath.isRoot()) {
+            return root;
+        }
+        final From<?, ?> parent = from(root, joinPath.getParent());
+        final var name = joinPath.getAttribute().getName();
+        for (Join<?, ?> join : parent.getJoins()) {
+            if (name.equals(join.getAttribute().getName())) {
+                return join;
+            }
+        }
+        return parent.join(name, JoinType.LEFT);
+    }
+
+    /**
+     * Builder collecting the columns of a {@link Projection}
+     *
+     * @param <T> the root entity type
+     */
+    public static final class Builder<T> {
+        private final SpecificationSchema<T> schema;
+        private final List<Column> columns = new ArrayList<>();
+
+        Builder(SpecificationSchema<T> schema) {
+            this.schema = schema;
+        }
+
+        /**
+         * Selects the entity property bound to {@code dtoProperty}, aliased by {@code dtoProperty}
+         *
+         * @param dtoProperty represents the client property name bound in the schema
+         * @return currently (this) running builder
+         */
+        public Builder<T> select(String dtoProperty) {
+            final var binding = schema.getBinding(dtoProperty);
+            Objects.requireNonNull(binding, () -> String.format("DTO property named : %s could not be found in eq map ", dtoProperty));
+            columns.add(new Column(dtoProperty, binding.getJoinPath(), binding.getAttribute()));
+            return this;
+        }
+
+        /**
+         * Selects a property of the root entity which does not need to be bound, e.g. its identifier
+         *
+         * @param alias          represents the alias of the column
+         * @param entityProperty represents the server entity property
+         * @return currently (this) running builder
+         */
+        public Builder<T> select(String alias, SingularAttribute<T, ?> entityProperty) {
+            Objects.requireNonNull(entityProperty, "an entity property must be supplied");
+            columns.add(new Column(alias, schema.getRootPath(), entityProperty));
+            return this;
+        }
+
+        /**
+         * @param resultType the DTO type having a public constructor whose parameters match the selected columns in order
+         * @param <R>        the DTO type
+         * @return {@code Projection} selecting the columns through the constructor of {@code resultType}
+         */
+        public <R> Projection<T, R> into(Class<R> resultType) {
+            Objects.requireNonNull(resultType, "a result type must be supplied");
+            final boolean constructible = Arrays.stream(resultType.getConstructors())
+                    .mapToInt(Constructor::getParameterCount)
+                    .anyMatch(count -> count == columns.size());
+            if (!constructible) {
+                throw new IllegalArgumentException(String.format("%s has no public constructor of %d parameters",
+                        resultType.getName(), columns.size()));
+            }
+            return new Projection<>(resultType, columns);
+        }
+
+        /**
+         * @return {@code Projection} selecting the columns into {@code Tuple}s whose elements are aliased
+         */
+        public Projection<T, Tuple> toTuple() {
+            return new Projection<>(Tuple.class, columns);
+        }
+    }
+
+    private static final class Column {
+        private final String alias;
+        private final JoinPath joinPath;
+        private final SingularAttribute<?, ?> attribute;
+
+        private Column(String alias, JoinPath joinPath, SingularAttribute<?, ?> attribute) {
+            this.alias = alias;
+            this.joinPath = joinPath;
+            this.attribute = attribute;
+        }
+    }
+}
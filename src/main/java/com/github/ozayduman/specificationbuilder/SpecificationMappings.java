@@ -32,19 +32,24 @@
 
 package com.github.ozayduman.specificationbuilder;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.JoinPath;
 import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
 import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
 import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
-import org.springframework.data.jpa.domain.Specification;
-
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveMultiValueOperation;
+import com.github.ozayduman.specificationbuilder.staging.InListStaging;
+import com.github.ozayduman.specificationbuilder.staging.StagedValue;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Parameter;
+import javax.persistence.Query;
 import javax.persistence.criteria.*;
-import javax.persistence.metamodel.Attribute;
-import javax.persistence.metamodel.Bindable;
-import javax.persistence.metamodel.PluralAttribute;
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.*;
+import java.util.function.LongSupplier;
 
 
 /**
@@ -53,150 +58,467 @@ import java.util.*;
  * @param <T> the root entity type supplied to this mappings.
  */
 public class SpecificationMappings<T> {
-    private final CriteriaDTO criteriaDTO;
-    private final Map<String, SingularAttribute<?, ? extends Comparable<?>>> dtoEntityMapping;
-    private final Map<String, Joinable> dtoJoinMappings;
-    private final JoinGraph joinGraph;
-
-    private SpecificationMappings(CriteriaDTO criteriaDTO, Map<String, SingularAttribute<?, ? extends Comparable<?>>> dtoEntityMapping, Map<String, Joinable> dtoJoinMappings) {
-        this.criteriaDTO = criteriaDTO;
-        this.dtoEntityMapping = dtoEntityMapping;
-        this.dtoJoinMappings = dtoJoinMappings;
-        this.joinGraph = new JoinGraph();
+    private static final Expression<?>[] NO_OPERANDS = new Expression<?>[0];
+    private final CriteriaGroup criteria;
+    private final List<AbstractOperation> operations;
+    private final Map<AbstractOperation, Integer> positions = new IdentityHashMap<>();
+    private final String[] parameterNames;
+    private final JoinType[] joinTypes;
+    private final SpecificationSchema<T> schema;
+    private final Map<String, Object> parameters = Collections.synchronizedMap(new HashMap<>());
+    private final Map<Integer, String> stagedBatches = Collections.synchronizedMap(new HashMap<>());
+
+    SpecificationMappings(CriteriaDTO criteriaDTO, SpecificationSchema<T> schema) {
+        this.criteria = CriteriaNormalizer.normalize(CriteriaGroup.of(criteriaDTO), schema);
+        this.operations = criteria.getAllOperations();
+        this.schema = schema;
+        this.parameterNames = new String[operations.size()];
+        for (int i = 0; i < operations.size(); i++) {
+            positions.put(operations.get(i), i);
+            final var binding = schema.getBinding(operations.get(i).getProperty());
+            parameterNames[i] = binding == null ? null : binding.getParameterName() + "_" + i;
+        }
+        this.joinTypes = criteria.getGroups().isEmpty() ? null : joinTypesOf(criteria, schema);
+    }
+
+    /**
+     * Joins needed only by the operations of nested groups are {@code LEFT} joins, otherwise an {@code OR} group
+     * would never match the root entities lacking the joined entity.
+     *
+     * @return join types indexed by the join paths of {@code schema}
+     */
+    private static JoinType[] joinTypesOf(CriteriaGroup criteria, SpecificationSchema<?> schema) {
+        final JoinType[] joinTypes = new JoinType[schema.getJoinPathCount()];
+        for (AbstractOperation operation : criteria.getAllOperations()) {
+            markJoins(joinTypes, schema.getBinding(operation.getProperty()), JoinType.LEFT);
+        }
+        for (AbstractOperation operation : criteria.getOperations()) {
+            markJoins(joinTypes, schema.getBinding(operation.getProperty()), JoinType.INNER);
+        }
+        return joinTypes;
+    }
+
+    private static void markJoins(JoinType[] joinTypes, Binding binding, JoinType joinType) {
+        if (binding == null) {
+            return;
+        }
+        var joinPath = binding.getExistsPath() == null ? binding.getJoinPath() : binding.getExistsPath().getParent();
+        for (; !joinPath.isRoot(); joinPath = joinPath.getParent()) {
+            joinTypes[joinPath.getIndex()] = joinType;
+        }
+    }
+
+    /**
+     * @return {@code CriteriaSpecification}
+     */
+    CriteriaSpecification<T> createSpecification() {
+        return new MappedSpecification();
+    }
+
+    private Predicate toPredicate(Root<T> root, CriteriaQuery<?> cQ, CriteriaBuilder cb) {
+        if (criteria.isUnsatisfiable()) {
+            return cb.disjunction();
+        }
+        final var joinGraph = new JoinGraph(schema, joinTypes);
+        final List<Predicate> predicates = createGroupPredicates(root, cQ, cb, joinGraph, criteria);
+        return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[0]));
     }
 
     /**
-     * @return {@code Specification}
+     * @return predicates of the members of {@code group}, which are to be combined according to the type of the group
      */
-    private Specification<T> createSpecification() {
-        return (Root<T> root, CriteriaQuery<?> cQ, CriteriaBuilder cb) -> {
-            List<Predicate> predicates = new ArrayList<>() {{
-                addAll(createOperationPredicates(root, cQ, cb, criteriaDTO));
-            }};
-            return predicates.isEmpty() ? cb.conjunction() : cb.and(predicates.toArray(new Predicate[predicates.size()]));
-        };
+    private List<Predicate> createGroupPredicates(Root<T> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder,
+                                                  JoinGraph joinGraph, CriteriaGroup group) {
+        final List<Predicate> predicates = createOperationPredicates(root, criteriaQuery, criteriaBuilder, joinGraph, group);
+        for (CriteriaGroup nested : group.getGroups()) {
+            final Predicate[] members = createGroupPredicates(root, criteriaQuery, criteriaBuilder, joinGraph, nested).toArray(new Predicate[0]);
+            switch (nested.getType()) {
+                case OR -> predicates.add(criteriaBuilder.or(members));
+                case NOT -> predicates.add(criteriaBuilder.not(criteriaBuilder.and(members)));
+                default -> predicates.add(criteriaBuilder.and(members));
+            }
+        }
+        return predicates;
     }
 
     private List<Predicate> createOperationPredicates(Root<T> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder,
-                                                      final CriteriaDTO criteriaDTO) {
-        List<Predicate> predicates = new ArrayList<>();
-        if (criteriaDTO != null && criteriaDTO.getOperations() != null) {
-            criteriaDTO.getOperations().forEach(operation -> {
-                Comparable<?>[] values = operation.getOperands();
-                var operator = operation.getOperator().getSpecificationOperator();
-                final var predicate = createOperandPredicate(root, criteriaBuilder, operator, operation.getProperty(), values);
-                predicates.add(predicate);
-            });
+                                                      JoinGraph joinGraph, final CriteriaGroup group) {
+        final var operations = group.isConjunctive() ? schema.orderConjuncts(group.getOperations()) : group.getOperations();
+        final List<Predicate> predicates = new ArrayList<>(operations.size() + group.getGroups().size());
+        Map<JoinPath, ExistsSubquery> subqueries = null;
+        for (AbstractOperation operation : operations) {
+            final int i = positions.get(operation);
+            final var binding = schema.getBinding(operation.getProperty());
+            final var existsPath = binding == null ? null : binding.getExistsPath();
+            if (existsPath == null) {
+                predicates.add(createOperandPredicate(root, criteriaQuery, criteriaBuilder, joinGraph, i, operation));
+                continue;
+            }
+            if (subqueries == null) {
+                subqueries = new HashMap<>();
+            }
+            var subquery = subqueries.get(existsPath);
+            if (subquery == null) {
+                subquery = new ExistsSubquery(root, criteriaQuery);
+                subqueries.put(existsPath, subquery);
+                predicates.add(criteriaBuilder.exists(subquery.subquery));
+            }
+            subquery.predicates.add(createOperandPredicate(subquery.root, criteriaQuery, criteriaBuilder, subquery.joinGraph, i, operation));
+        }
+        if (subqueries != null) {
+            for (ExistsSubquery subquery : subqueries.values()) {
+                subquery.complete(criteriaBuilder, group.isConjunctive());
+            }
         }
         return predicates;
     }
 
+    /**
+     * Correlated {@code EXISTS} subquery holding the predicates on the same collection in the same group, see {@link CollectionStrategy#EXISTS}
+     */
+    private final class ExistsSubquery {
+        private final Subquery<Integer> subquery;
+        private final Root<T> root;
+        private final JoinGraph joinGraph = new JoinGraph(schema, null);
+        private final List<Predicate> predicates = new ArrayList<>();
+
+        private ExistsSubquery(Root<T> root, CriteriaQuery<?> criteriaQuery) {
+            this.subquery = criteriaQuery.subquery(Integer.class);
+            this.root = subquery.correlate(root);
+        }
+
+        private void complete(CriteriaBuilder criteriaBuilder, boolean conjunctive) {
+            final Predicate[] members = predicates.toArray(new Predicate[0]);
+            subquery.select(criteriaBuilder.literal(1)).where(conjunctive ? members : new Predicate[]{criteriaBuilder.or(members)});
+        }
+    }
+
     /**
      * @param root            represents JPA root entity
+     * @param criteriaQuery   represents JPA criteriaQuery
      * @param criteriaBuilder represents jPA criteriaBuilder
-     * @param operator        represents {@link SpecificationOperator}
-     * @param dtoProperty     represents the property of DTO
-     * @param value           represents the corresponding value of {@code dtoProperty}
+     * @param joinGraph       represents the {@link JoinGraph} of the current query
+     * @param position        represents the position of the operation in the {@code CriteriaDTO}
+     * @param operation       represents the operation on a property of DTO
      * @return {@code Predicate}
      */
-    private Predicate createOperandPredicate(Root<T> root, CriteriaBuilder criteriaBuilder, SpecificationOperator operator, String dtoProperty, Comparable<?>... value) {
-        final SingularAttribute<?, ?> attribute = dtoEntityMapping.get(dtoProperty);
-        Objects.requireNonNull(attribute, () -> String.format("DTO property named : %s could not be found in eq map ", dtoProperty));
-        final var from = joinGraph.from(root, dtoJoinMappings.getOrDefault(dtoProperty, Joinable.non()).attributes());
-        final Comparable<?>[] convertedValues = getConvertedValue(attribute.getJavaType(), value);
-        return operator.apply(from, criteriaBuilder, attribute, convertedValues);
+    private Predicate createOperandPredicate(Root<T> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder, JoinGraph joinGraph, int position,
+                                             AbstractOperation operation) {
+        final Operator operator = operation.getOperator();
+        final String dtoProperty = operation.getProperty();
+        final Binding binding = schema.getBinding(dtoProperty);
+        if (binding == null) {
+            throw new NullPointerException(String.format("DTO property named : %s could not be found in eq map ", dtoProperty));
+        }
+        if (!binding.supports(operator)) {
+            throw new IllegalArgumentException(String.format("operator %s is not applicable to property %s", operator, dtoProperty));
+        }
+        final var from = joinGraph.from(root, binding.getJoinPath());
+        if (operator == Operator.IN || operator == Operator.NOT_IN) {
+            return createInPredicate(from, criteriaQuery, criteriaBuilder, binding, position, operation);
+        }
+        final Comparable<?>[] operands = operation.getOperands();
+        final Comparable<?>[] convertedValues = operation instanceof MultiValueOperation
+                ? getConvertedValue(binding, operands) : convertInPlace(binding, operands);
+        return createPredicate(from, criteriaBuilder, binding, parameterNames[position], operator, convertedValues);
+    }
+
+    private Predicate createPredicate(From<?, ?> from, CriteriaBuilder criteriaBuilder, Binding binding, String parameterName,
+                                      Operator operator, Comparable<?>[] convertedValues) {
+        if (schema.isParameterized()) {
+            final Expression<?>[] operands = createParameters(criteriaBuilder, binding, parameterName, operator, convertedValues);
+            return operator.getExpressionOperator().apply(from, criteriaBuilder, binding.getAttribute(), operands);
+        }
+        return operator.getSpecificationOperator().apply(from, criteriaBuilder, binding.getAttribute(), convertedValues);
+    }
+
+    /**
+     * Creates {@code IN} or {@code NOT_IN} predicate according to the {@link InListStrategy} of the schema.
+     * Staged lists are matched by a subquery on {@link StagedValue}, others are split into chunks
+     * combined by {@code OR} for {@code IN} and by {@code AND} for {@code NOT_IN}.
+     */
+    private Predicate createInPredicate(From<?, ?> from, CriteriaQuery<?> criteriaQuery, CriteriaBuilder criteriaBuilder, Binding binding,
+                                        int position, AbstractOperation operation) {
+        final var operator = operation.getOperator();
+        final var batchId = stagedBatches.isEmpty() ? null : stagedBatches.get(position);
+        if (batchId != null) {
+            final Subquery<Object> subquery = criteriaQuery.subquery(Object.class);
+            final Root<StagedValue> staged = subquery.from(StagedValue.class);
+            subquery.select(staged.get(InListStaging.valueAttributeOf(binding.getOperandType())))
+                    .where(criteriaBuilder.equal(staged.get("batchId"), batchId));
+            final Predicate predicate = from.get((SingularAttribute) binding.getAttribute()).in(subquery);
+            return operator == Operator.IN ? predicate : criteriaBuilder.not(predicate);
+        }
+        final Comparable<?>[][] chunks = InLists.chunkInPlace(getConvertedValue(binding, operation), schema.getInListStrategy().getChunkSize());
+        final var parameterName = parameterNames[position];
+        if (chunks.length == 1) {
+            return createPredicate(from, criteriaBuilder, binding, parameterName, operator, chunks[0]);
+        }
+        final Predicate[] predicates = new Predicate[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            predicates[i] = createPredicate(from, criteriaBuilder, binding, parameterName + "_" + i, operator, chunks[i]);
+        }
+        return operator == Operator.IN ? criteriaBuilder.or(predicates) : criteriaBuilder.and(predicates);
+    }
+
+    /**
+     * Members of a group are combined by the same operator, hence their order and duplicates don't change the result, so they are keyed as sets.
+     * Operands are converted, and {@code IN} lists are sorted and deduplicated to get a canonical key.
+     *
+     * @param domainClass the root entity type
+     * @return a key identifying the result of the criteria of this mappings
+     */
+    private List<Object> cacheKey(Class<?> domainClass) {
+        return List.of(domainClass, cacheKey(criteria));
+    }
+
+    private List<Object> cacheKey(CriteriaGroup group) {
+        if (group.isUnsatisfiable()) {
+            return List.of(Boolean.FALSE);
+        }
+        final Set<List<Object>> operations = new HashSet<>();
+        for (AbstractOperation operation : group.getOperations()) {
+            final var binding = schema.getBinding(operation.getProperty());
+            Objects.requireNonNull(binding, () -> String.format("DTO property named : %s could not be found in eq map ", operation.getProperty()));
+            final var operator = operation.getOperator();
+            final Comparable<?>[] values = operator == Operator.IN || operator == Operator.NOT_IN
+                    ? InLists.distinct(getConvertedValue(binding, operation))
+                    : getConvertedValue(binding, operation.getOperands());
+            operations.add(Arrays.asList(binding.getPath(), operator, Arrays.asList(values)));
+        }
+        final Set<List<Object>> groups = new HashSet<>();
+        group.getGroups().forEach(nested -> groups.add(cacheKey(nested)));
+        return List.of(group.getType(), operations, groups);
     }
 
     /**
-     * Deserializes then given {@code value} array back to real object using {@code javaType}
+     * Stages the operands of {@code IN} and {@code NOT_IN} operations that are large enough according to the {@link InListStrategy}
      *
-     * @param javaType real type of the object
-     * @param value    serialized value of the real object
-     * @return {@code Comparable<?>[]}
+     * @param entityManager represents the {@code EntityManager} the queries are executed on
      */
-    private Comparable<?>[] getConvertedValue(Class<?> javaType, Object... value) {
-        return Arrays.stream(value).map(val -> ObjectMapper_.INSTANCE.convert(val, javaType)).toArray(Comparable<?>[]::new);
+    private void stage(EntityManager entityManager) {
+        for (int i = 0; i < operations.size(); i++) {
+            final var operation = operations.get(i);
+            final var binding = schema.getBinding(operation.getProperty());
+            if (isStaged(operation, binding) && !stagedBatches.containsKey(i)) {
+                final Comparable<?>[] values = InLists.distinct(getConvertedValue(binding, operation));
+                if (!Arrays.asList(values).contains(null)) {
+                    stagedBatches.put(i, InListStaging.stage(entityManager, values));
+                }
+            }
+        }
     }
 
     /**
-     * Singleton type used to convert json to object and vise-versa
+     * @return true if any operand list is large enough to be staged according to the {@link InListStrategy}
      */
-    private enum ObjectMapper_ {
-        INSTANCE;
-        private final ObjectMapper objectMapper;
+    private boolean isStaging() {
+        for (AbstractOperation operation : operations) {
+            if (isStaged(operation, schema.getBinding(operation.getProperty()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isStaged(AbstractOperation operation, Binding binding) {
+        final var operator = operation.getOperator();
+        return (operator == Operator.IN || operator == Operator.NOT_IN) && binding != null
+                && schema.getInListStrategy().isStaged(operation.getOperandCount())
+                && InListStaging.isStageable(binding.getOperandType());
+    }
 
-        ObjectMapper_() {
-            objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
+    /**
+     * Deletes the staged operands
+     *
+     * @param entityManager represents the {@code EntityManager} the operands were staged on
+     */
+    private void release(EntityManager entityManager) {
+        synchronized (stagedBatches) {
+            stagedBatches.values().forEach(batchId -> InListStaging.release(entityManager, batchId));
+            stagedBatches.clear();
         }
+    }
 
-        /**
-         * @param fromValue  json object to be deserialized to the real object type
-         * @param toJavaType the real type to be converted
-         * @return
-         */
-        public Object convert(Object fromValue, Class<?> toJavaType) {
-            return objectMapper.convertValue(fromValue, toJavaType);
+    /**
+     * Creates a named {@code ParameterExpression} for each operand and records its value to be bound later.
+     * Names are derived from the dto property and the position of the operation, so they do not depend on the values.
+     *
+     * @param criteriaBuilder represents jPA criteriaBuilder
+     * @param binding         compiled binding of the dto property
+     * @param name            represents the name of the parameter derived from the dto property and the operation position
+     * @param operator        represents {@link Operator}
+     * @param values          converted operands
+     * @return operand expressions expected by {@link Operator#getExpressionOperator()}
+     */
+    private Expression<?>[] createParameters(CriteriaBuilder criteriaBuilder, Binding binding, String name,
+                                             Operator operator, Comparable<?>[] values) {
+        switch (operator) {
+            case NULL:
+            case NOT_NULL:
+            case TRUE:
+            case FALSE:
+                return NO_OPERANDS;
+            case IN:
+            case NOT_IN:
+                parameters.put(name, Arrays.asList(values));
+                return new Expression<?>[]{criteriaBuilder.parameter(Collection.class, name)};
+            case BT:
+                parameters.put(name + "_from", values[0]);
+                parameters.put(name + "_to", values[1]);
+                return new Expression<?>[]{
+                        criteriaBuilder.parameter(binding.getOperandType(), name + "_from"),
+                        criteriaBuilder.parameter(binding.getOperandType(), name + "_to")};
+            case LIKE:
+            case NOT_LIKE:
+                parameters.put(name, "%" + values[0] + "%");
+                return new Expression<?>[]{criteriaBuilder.parameter(String.class, name)};
+            default:
+                parameters.put(name, values[0]);
+                return new Expression<?>[]{criteriaBuilder.parameter(binding.getOperandType(), name)};
         }
     }
 
     /**
-     * Represents the JoinGraph
+     * Converts the operands of {@code operation} to the java type of the bound entity property. Operands held by a
+     * {@link PrimitiveMultiValueOperation} of that type are sorted and deduplicated before they are boxed, once.
+     *
+     * @param binding   compiled binding of the dto property
+     * @param operation operation holding the operands
+     * @return {@code Comparable<?>[]}
      */
-    public static class JoinGraph {
-        private final Map<Attribute<?, ?>, JoinNode> mapOfSets = new HashMap<>();
+    private Comparable<?>[] getConvertedValue(Binding binding, AbstractOperation operation) {
+        if (operation instanceof PrimitiveMultiValueOperation
+                && ((PrimitiveMultiValueOperation) operation).getType().getJavaType() == binding.getOperandType()) {
+            return ((PrimitiveMultiValueOperation) operation).distinct().getOperands();
+        }
+        return getConvertedValue(binding, operation.getOperands());
+    }
 
-        /**
-         * Serves Acts as a Join Cache role by reusing the Join instances among different Specification instances
-         *
-         * @param root
-         * @param joinAttributes represents the entities between the root entity and the last entity in the hierarchy of the {@code JoinGraph}
-         * @return if joinAttributes present then join {@code From}, otherwise root {@code Root}
-         */
-        private From<?, ?> from(Root<?> root, Optional<Attribute<?, ?>[]> joinAttributes) {
-            if (joinAttributes.isPresent()) {
-                From<?, ?> join = root;
-                Map<Attribute<?, ?>, JoinNode> currentMapOfSets = mapOfSets;
-                for (Attribute<?, ?> attribute : joinAttributes.get()) {
-                    From<?, ?> finalJoin = join;
-                    var joinNode = currentMapOfSets.computeIfAbsent(attribute, a -> JoinNode.of(attribute, finalJoin));
-                    join = joinNode.getJoin();
-                    currentMapOfSets = joinNode.joinNodes;
+    /**
+     * Converts the operands of a single value or range operation, whose {@code getOperands()} returns a new array each time, in place
+     *
+     * @param binding  compiled binding of the dto property
+     * @param operands operands to convert
+     * @return {@code operands}
+     */
+    private static Comparable<?>[] convertInPlace(Binding binding, Comparable<?>[] operands) {
+        for (int i = 0; i < operands.length; i++) {
+            operands[i] = binding.convert(operands[i]);
+        }
+        return operands;
+    }
+
+    /**
+     * Converts the given {@code value} array to the java type of the bound entity property
+     *
+     * @param binding compiled binding of the dto property
+     * @param value   serialized value of the real object
+     * @return {@code Comparable<?>[]}
+     */
+    private Comparable<?>[] getConvertedValue(Binding binding, Comparable<?>[] value) {
+        final Comparable<?>[] convertedValues = new Comparable<?>[value.length];
+        for (int i = 0; i < value.length; i++) {
+            convertedValues[i] = binding.convert(value[i]);
+        }
+        return convertedValues;
+    }
+
+    /**
+     * {@link CriteriaSpecification} backed by this mappings, parameters are recorded while creating the predicate
+     */
+    private final class MappedSpecification implements CriteriaSpecification<T> {
+
+        @Override
+        public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+            return SpecificationMappings.this.toPredicate(root, query, criteriaBuilder);
+        }
+
+        @Override
+        public <Q extends Query> Q bind(Q query) {
+            if (!parameters.isEmpty()) {
+                for (Parameter<?> parameter : query.getParameters()) {
+                    final var name = parameter.getName();
+                    if (name != null && parameters.containsKey(name)) {
+                        query.setParameter(name, parameters.get(name));
+                    }
                 }
-                return join;
-            } else {
-                return root;
             }
+            return query;
         }
 
-        /**
-         * Represents the {@code JoinGraph}'s nodes
-         */
-        static class JoinNode {
-            public final Attribute<?, ?> attribute;
-            public final From<Object, Object> join;
-            public final Map<Attribute<?, ?>, JoinNode> joinNodes = new HashMap<>();
-
-            private JoinNode(From<?, ?> from, Attribute<?, ?> attribute) {
-                this.attribute = attribute;
-                this.join = from.join(attribute.getName());
+        @Override
+        public long count(Class<T> domainClass, LongSupplier counter) {
+            final var countCache = schema.getCountCache();
+            if (countCache == null) {
+                return counter.getAsLong();
             }
+            return countCache.count(cacheKey(domainClass), schema.getEntityTypes(domainClass), counter);
+        }
+
+        @Override
+        public Object cacheKey(Class<T> domainClass) {
+            return SpecificationMappings.this.cacheKey(domainClass);
+        }
 
+        @Override
+        public Class<?>[] getEntityTypes(Class<T> domainClass) {
+            return schema.getEntityTypes(domainClass);
+        }
 
-            /**
-             * Static Factory Method to create {@code JoinNode}
-             *
-             * @param attribute represents the entity for this join
-             * @param from      represents the preceding join
-             * @return {@code JoinNode}
-             */
-            public static JoinNode of(Attribute<?, ?> attribute, From<?, ?> from) {
-                return new JoinNode(from, attribute);
-            }
+        @Override
+        public boolean isUnsatisfiable() {
+            return criteria.isUnsatisfiable();
+        }
+
+        @Override
+        public void prepare(EntityManager entityManager) {
+            stage(entityManager);
+        }
+
+        @Override
+        public boolean isStaging() {
+            return SpecificationMappings.this.isStaging();
+        }
+
+        @Override
+        public void release(EntityManager entityManager) {
+            SpecificationMappings.this.release(entityManager);
+        }
+    }
+
+    /**
+     * Represents the JoinGraph
+     */
+    public static class JoinGraph {
+        private final From<?, ?>[] joins;
+        private final JoinType[] joinTypes;
+
+        JoinGraph(SpecificationSchema<?> schema, JoinType[] joinTypes) {
+            this.joins = new From<?, ?>[schema.getJoinPathCount()];
+            this.joinTypes = joinTypes;
+        }
 
-            public From<?, ?> getJoin() {
-                return join;
+        /**
+         * Serves Acts as a Join Cache role by reusing the Join instances among the predicates of the same query
+         *
+         * @param root     represents JPA root entity
+         * @param joinPath represents the entities between the root entity and the last entity in the hierarchy of the {@code JoinGraph}
+         * @return if joinPath is not the root then join {@code From}, otherwise root {@code Root}
+         */
+        private From<?, ?> from(Root<?> root, JoinPath joinPath) {
+            if (joinPath.isRoot()) {
+                return root;
+            }
+            var join = joins[joinPath.getIndex()];
+            if (join == null) {
+                final var parent = from(root, joinPath.getParent());
+                join = joinTypes == null || joinTypes[joinPath.getIndex()] == null
+                        ? parent.join(joinPath.getAttribute().getName())
+                        : parent.join(joinPath.getAttribute().getName(), joinTypes[joinPath.getIndex()]);
+                joins[joinPath.getIndex()] = join;
             }
+            return join;
         }
     }
 
@@ -223,10 +545,8 @@ public class SpecificationMappings<T> {
      *                    Page<Employee> page = employeeRepository.findAll(specification, pageRequest);}
      *            </pre>
      */
-    public static class SpecificationBuilder<T> {
+    public static class SpecificationBuilder<T> extends BindingBuilder<T, SpecificationBuilder<T>> {
         private final CriteriaDTO criteriaDTO;
-        private final Map<String, SingularAttribute<?, ? extends Comparable<?>>> dtoEntityMapping = new HashMap<>();
-        private final Map<String, Joinable> dtoJoinMappings = new HashMap<>();
 
         private SpecificationBuilder(CriteriaDTO criteriaDTO) {
             this.criteriaDTO = criteriaDTO;
@@ -242,252 +562,18 @@ public class SpecificationMappings<T> {
          */
         public static <T> SpecificationBuilder<T> of(CriteriaDTO criteriaDTO) {
             Objects.requireNonNull(criteriaDTO, "a criteria DTO must not be supplied");
-            if (criteriaDTO.getOperations() != null) {
-                criteriaDTO.getOperations().forEach(AbstractOperation::validate);
-            }
+            CriteriaGroup.of(criteriaDTO).getAllOperations().forEach(AbstractOperation::validate);
             return new SpecificationBuilder<>(criteriaDTO);
         }
 
         /**
-         * @param entityProperty represents the matching the server entity property
-         * @param <Z>            the type of the represented entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <Z extends Comparable<?>> SpecificationBuilder<T> bind(SingularAttribute<T, Z> entityProperty) {
-            bind(entityProperty.getName(), entityProperty);
-            return this;
-        }
-
-        /**
-         * @param dtoProperty    represents the client property name
-         * @param entityProperty represents the matching the server entity property
-         * @param <Z>            the type of the represented entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <Z extends Comparable<?>> SpecificationBuilder<T> bind(String dtoProperty, SingularAttribute<T, Z> entityProperty) {
-            dtoEntityMapping.put(dtoProperty, entityProperty);
-            dtoJoinMappings.put(dtoProperty, Joinable.non());
-            return this;
-        }
-
-        /**
-         * @param pluralAttribute represents the root entity
-         * @param entityProperty  represents the matching the server entity property
-         * @param <A>             the type of the represented entity property
-         * @param <B>             represents the entity (sub entity) contained by the root entity
-         * @param <Z>             the type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, Z extends Comparable<?>> SpecificationBuilder<T> bindJoin(PluralAttribute<A, ?, B> pluralAttribute,
-                                                                                SingularAttribute<B, Z> entityProperty) {
-            mapJoin(entityProperty.getName(), entityProperty, pluralAttribute);
-            return this;
-        }
-
-        /**
-         * @param singularAttribute represents the root entity
-         * @param entityProperty  represents the matching the server entity property
-         * @param <A>             the type of the represented entity property
-         * @param <B>             represents the entity (sub entity) contained by the root entity
-         * @param <Z>             the type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, Z extends Comparable<?>> SpecificationBuilder<T> bindJoin(SingularAttribute<A, B> singularAttribute,
-                                                                                SingularAttribute<B, Z> entityProperty) {
-            mapJoin(entityProperty.getName(), entityProperty, singularAttribute);
-            return this;
-        }
-
-        /**
-         * @param dtoProperty     represents the client property name
-         * @param pluralAttribute represents the root entity
-         * @param entityProperty  represents the matching the server entity property
-         * @param <A>             the type of the represented entity property
-         * @param <B>             represents the entity (sub entity) contained by the root entity
-         * @param <Z>             the type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, Z extends Comparable<?>> SpecificationBuilder<T> bindJoin(String dtoProperty,
-                                                                                PluralAttribute<A, ?, B> pluralAttribute,
-                                                                                SingularAttribute<B, Z> entityProperty) {
-            mapJoin(dtoProperty, entityProperty, pluralAttribute);
-            return this;
-        }
-
-        /**
-         * @param dtoProperty represents the client property name
-         * @param singularAttribute0 represents the root entity
-         * @param entityProperty represents the matching the server entity property
-         * @param <A>             the type of the represented entity property
-         * @param <B>             represents the entity (sub entity) contained by the root entity
-         * @param <Z>             the type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, Z extends Comparable<?> > SpecificationBuilder<T> bindJoin(String dtoProperty,
-                                                                                    SingularAttribute<A, B> singularAttribute0,
-                                                                                    SingularAttribute<B, Z> entityProperty) {
-            mapJoin(dtoProperty, entityProperty, singularAttribute0);
-            return this;
-        }
-
-
-        /**
-         * @param pluralAttribute0 represents the root entity
-         * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
-         * @param entityProperty   represents the matching the server entity property
-         * @param <A>              the type of the represented entity property
-         * @param <B>              represents the entity (sub entity) contained by the root entity
-         * @param <C>              represents the entity under type {@code B}
-         * @param <Z>              the type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, C, Z extends Comparable<?>> SpecificationBuilder<T> bindJoin(PluralAttribute<A, ?, B> pluralAttribute0,
-                                                                                   PluralAttribute<B, ?, C> pluralAttribute1,
-                                                                                   SingularAttribute<C, Z> entityProperty) {
-            mapJoin(entityProperty.getName(), entityProperty, pluralAttribute0, pluralAttribute1);
-            return this;
-        }
-
-        /**
-         * @param dtoProperty      represents the client property name
-         * @param pluralAttribute0 represents the root entity
-         * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
-         * @param entityProperty   represents the matching the server entity property
-         * @param <A>              the type of the represented entity property
-         * @param <B>              represents the entity (sub entity) contained by the root entity
-         * @param <C>              represents the entity under type {@code B}
-         * @param <Z>              the type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, C, Z extends Comparable<?>> SpecificationBuilder<T> bindJoin(String dtoProperty,
-                                                                                   PluralAttribute<A, ?, B> pluralAttribute0,
-                                                                                   PluralAttribute<B, ?, C> pluralAttribute1,
-                                                                                   SingularAttribute<C, Z> entityProperty) {
-            mapJoin(dtoProperty, entityProperty, pluralAttribute0, pluralAttribute1);
-            return this;
-        }
-
-        /**
-         * @param pluralAttribute0 represents the root entity
-         * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
-         * @param pluralAttribute2 represents the sub entity under {@code #pluralAttribute1}
-         * @param entityProperty   represents the matching the server entity property
-         * @param <A>              the type of the represented entity property
-         * @param <B>              represents the entity (sub entity) contained by the root entity
-         * @param <C>              represents the entity under type {@code B}
-         * @param <D>              represents the entity under type {@code C}
-         * @param <Z>              the type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, C, D, Z extends Comparable<?>> SpecificationBuilder<T> bindJoin(PluralAttribute<A, ?, B> pluralAttribute0,
-                                                                                      PluralAttribute<B, ?, C> pluralAttribute1,
-                                                                                      PluralAttribute<C, ?, D> pluralAttribute2,
-                                                                                      SingularAttribute<D, Z> entityProperty) {
-            mapJoin(entityProperty.getName(), entityProperty, pluralAttribute0, pluralAttribute1, pluralAttribute2);
-            return this;
-        }
-
-        /**
-         * @param dtoProperty      represents the client property name
-         * @param pluralAttribute0 represents the root entity
-         * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
-         * @param pluralAttribute2 represents the sub entity under {@code #pluralAttribute1}
-         * @param entityProperty   represents the matching the server entity property
-         * @param <A>              the type of the represented entity property
-         * @param <B>              represents the entity (sub entity) contained by the root entity
-         * @param <C>              represents the entity under type {@code B}
-         * @param <D>              represents the entity under type {@code C}
-         * @param <Z>              the type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, C, D, Z extends Comparable<?>> SpecificationBuilder<T> bindJoin(String dtoProperty,
-                                                                                      PluralAttribute<A, ?, B> pluralAttribute0,
-                                                                                      PluralAttribute<B, ?, C> pluralAttribute1,
-                                                                                      PluralAttribute<C, ?, D> pluralAttribute2,
-                                                                                      SingularAttribute<D, Z> entityProperty) {
-            mapJoin(dtoProperty, entityProperty, pluralAttribute0, pluralAttribute1, pluralAttribute2);
-            return this;
-        }
-
-        /**
-         * @param pluralAttribute0 represents the root entity
-         * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
-         * @param pluralAttribute2 represents the sub entity under {@code #pluralAttribute1}
-         * @param pluralAttribute3 represents the sub entity under {@code #pluralAttribute2}
-         * @param entityProperty   represents the matching the server entity property
-         * @param <A>              the type of the represented entity property
-         * @param <B>              represents the entity (sub entity) contained by the root entity
-         * @param <C>              represents the entity under type {@code B}
-         * @param <D>              represents the entity under type {@code C}
-         * @param <E>              represents the entity under type {@code D}
-         * @param <Z>              The type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, C, D, E, Z extends Comparable<?>> SpecificationBuilder<T> bindJoin(PluralAttribute<A, ?, B> pluralAttribute0,
-                                                                                         PluralAttribute<B, ?, C> pluralAttribute1,
-                                                                                         PluralAttribute<C, ?, D> pluralAttribute2,
-                                                                                         PluralAttribute<D, ?, E> pluralAttribute3,
-                                                                                         SingularAttribute<E, Z> entityProperty) {
-            mapJoin(entityProperty.getName(), entityProperty, pluralAttribute0, pluralAttribute1, pluralAttribute2, pluralAttribute3);
-            return this;
-        }
-
-        /**
-         * @param dtoProperty      represents the client property name
-         * @param pluralAttribute0 represents the root entity
-         * @param pluralAttribute1 represents the sub entity under {@code #pluralAttribute0}
-         * @param pluralAttribute2 represents the sub entity under {@code #pluralAttribute1}
-         * @param pluralAttribute3 represents the sub entity under {@code #pluralAttribute2}
-         * @param entityProperty   represents the matching the server entity property
-         * @param <A>              the type of the represented entity property
-         * @param <B>              represents the entity (sub entity) contained by the root entity
-         * @param <C>              represents the entity under type {@code B}
-         * @param <D>              represents the entity under type {@code C}
-         * @param <E>              represents the entity under type {@code D}
-         * @param <Z>              The type of the represented last leaf entity property
-         * @return currently (this) running {@code SpecificationBuilder}
-         */
-        public <A, B, C, D, E, Z extends Comparable<?>> SpecificationBuilder<T> bindJoin(String dtoProperty,
-                                                                                         PluralAttribute<A, ?, B> pluralAttribute0,
-                                                                                         PluralAttribute<B, ?, C> pluralAttribute1,
-                                                                                         PluralAttribute<C, ?, D> pluralAttribute2,
-                                                                                         PluralAttribute<D, ?, E> pluralAttribute3,
-                                                                                         SingularAttribute<E, Z> entityProperty) {
-            mapJoin(dtoProperty, entityProperty, pluralAttribute0, pluralAttribute1, pluralAttribute2, pluralAttribute3);
-            return this;
-        }
-
-        /**
-         * @param singularAttribute represents the matching the server entity property
-         * @param joinAttributes    represents the entities between the root entity and the last entity in the hierarchy
-         */
-        private void mapJoin(SingularAttribute<?, ? extends Comparable<?>> singularAttribute, PluralAttribute<?, ?, ?>... joinAttributes) {
-            mapJoin(singularAttribute.getName(), singularAttribute, joinAttributes);
-        }
-
-
-        /**
-         * @param dtoProperty       represents the client property name
-         * @param singularAttribute represents the matching the server entity property
-         * @param joinAttributes    holds the entities between the root entity and the last entity in the hierarchy
-         */
-/*        private void mapJoin(String dtoProperty, SingularAttribute<?, ? extends Comparable<?>> singularAttribute, PluralAttribute<?, ?, ?>... joinAttributes) {
-            dtoEntityMapping.put(dtoProperty, singularAttribute);
-            dtoJoinMappings.put(dtoProperty, Joinable.join(joinAttributes));
-        }*/
-
-        private void mapJoin(String dtoProperty,  SingularAttribute<?, ? extends Comparable<?>> singularAttribute, Attribute<?, ?>... joinAttributes) {
-            dtoEntityMapping.put(dtoProperty, singularAttribute);
-            dtoJoinMappings.put(dtoProperty, Joinable.join(joinAttributes));
-        }
-
-        /**
-         * builds a {@code Specification} from this {@code SpecificationBuilder}
+         * builds a {@code Specification} from this {@code SpecificationBuilder}.
+         * Prefer {@link SpecificationSchema#toSpecification(CriteriaDTO)} when the same bindings are used by every request.
          *
          * @return {@code Specification}
          */
-        public Specification<T> build() {
-            final SpecificationMappings<T> specificationMapper = new SpecificationMappings<>(criteriaDTO, dtoEntityMapping, dtoJoinMappings);
+        public CriteriaSpecification<T> build() {
+            final SpecificationMappings<T> specificationMapper = new SpecificationMappings<>(criteriaDTO, new SpecificationSchema<>(this));
             return specificationMapper.createSpecification();
         }
     }
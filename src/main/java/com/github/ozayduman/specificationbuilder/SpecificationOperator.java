@@ -59,7 +59,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator eq(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.equal(from.get(attribute.getName()), values[0]);
+                cb.equal(from.get(attribute), values[0]);
     }
 
     /**
@@ -68,7 +68,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator notEq(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.notEqual(from.get(attribute.getName()), values[0]);
+                cb.notEqual(from.get(attribute), values[0]);
     }
 
     /**
@@ -77,7 +77,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator bt(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.between(from.get(attribute.getName()), values[0], values[1]);
+                cb.between(from.get(attribute), values[0], values[1]);
     }
 
     /**
@@ -86,7 +86,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator gt(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.greaterThan(from.get(attribute.getName()), values[0]);
+                cb.greaterThan(from.get(attribute), values[0]);
     }
 
     /**
@@ -95,7 +95,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator ge(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.greaterThanOrEqualTo(from.get(attribute.getName()), values[0]);
+                cb.greaterThanOrEqualTo(from.get(attribute), values[0]);
     }
 
     /**
@@ -104,7 +104,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator lt(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.lessThan(from.get(attribute.getName()), values[0]);
+                cb.lessThan(from.get(attribute), values[0]);
     }
 
     /**
@@ -113,7 +113,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator le(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.lessThanOrEqualTo(from.get(attribute.getName()), values[0]);
+                cb.lessThanOrEqualTo(from.get(attribute), values[0]);
     }
 
     /**
@@ -122,7 +122,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator in(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                from.get(attribute.getName()).in(values);
+                from.get(attribute).in((Object[]) values);
     }
 
     /**
@@ -139,7 +139,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator isNull(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.isNull(from.get(attribute.getName()));
+                cb.isNull(from.get(attribute));
     }
 
     /**
@@ -148,7 +148,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator isNotNull(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.isNotNull(from.get(attribute.getName()));
+                cb.isNotNull(from.get(attribute));
     }
 
     /**
@@ -157,7 +157,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator isTrue(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.isTrue(from.get(attribute.getName()));
+                cb.isTrue(from.get(attribute));
     }
 
     /**
@@ -166,7 +166,7 @@ public interface SpecificationOperator {
      */
     static SpecificationOperator isFalse(){
         return (From<?,?> from, CriteriaBuilder cb,SingularAttribute attribute, Comparable[] values) ->
-                cb.isFalse(from.get(attribute.getName()));
+                cb.isFalse(from.get(attribute));
     }
 
     /**
@@ -174,7 +174,7 @@ public interface SpecificationOperator {
      * @return {@link SpecificationOperator}
      */
     static SpecificationOperator like(){
-        return (from, cb, attribute, values) -> cb.like(from.get(attribute.getName()), String.format("%%%s%%", values[0]));
+        return (from, cb, attribute, values) -> cb.like(from.get(attribute), "%" + values[0] + "%");
     }
 
     /**
@@ -182,7 +182,7 @@ public interface SpecificationOperator {
      * @return {@link SpecificationOperator}
      */
     static SpecificationOperator notLike(){
-        return (from, cb, attribute, values) -> cb.notLike(from.get(attribute.getName()), String.format("%%%s%%", values[0]));
+        return (from, cb, attribute, values) -> cb.notLike(from.get(attribute), "%" + values[0] + "%");
     }
 
     /** Represents a Higher Order Function that inverts a given {@code SpecificationOperator}
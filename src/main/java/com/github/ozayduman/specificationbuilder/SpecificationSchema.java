@@ -0,0 +1,447 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.BindingBuilder.BindingDefinition;
+import com.github.ozayduman.specificationbuilder.cache.CountCache;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.github.ozayduman.specificationbuilder.dto.Operator.*;
+
+/**
+ * An immutable and thread-safe set of compiled dto entity bindings. A schema is meant to be built once
+ * (e.g. at startup) and shared by every request, so that creating a {@code Specification} per request
+ * only looks up compiled bindings instead of re-issuing every {@code bind} call.
+ * <p>Sample usage:</p>
+ * <pre>
+ * {@code private static final SpecificationSchema<Employee> SCHEMA = SpecificationSchema.<Employee>builder()
+ *                 .bind("employeeName", Employee_.name)
+ *                 .bind("employeeBirthDate", Employee_.birthDate)
+ *                 .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+ *                 .build();
+ *
+ *        Page<Employee> page = employeeRepository.findAll(SCHEMA.toSpecification(pageRequestDTO), pageRequest);}
+ * </pre>
+ *
+ * @param <T> the root entity type supplied to this schema.
+ */
+public final class SpecificationSchema<T> {
+    private final Map<String, Binding> bindings;
+    private final JoinPath rootPath;
+    private final int joinPathCount;
+    private final boolean parameterized;
+    private final InListStrategy inListStrategy;
+    private final CountCache countCache;
+    private final ConjunctOrder conjunctOrder;
+    private final Class<?>[] joinedTypes;
+
+    SpecificationSchema(BindingBuilder<T, ?> builder) {
+        final var root = new JoinPath(null, null, 0);
+        var counter = 1;
+        final Map<String, Binding> compiled = new LinkedHashMap<>();
+        final Set<Class<?>> joined = new LinkedHashSet<>();
+        for (BindingDefinition definition : builder.getDefinitions().values()) {
+            var joinPath = root;
+            for (Attribute<?, ?> attribute : definition.joinAttributes) {
+                var child = joinPath.children.get(attribute);
+                if (child == null) {
+                    child = new JoinPath(joinPath, attribute, counter++);
+                    joinPath.children.put(attribute, child);
+                    joined.add(attribute instanceof PluralAttribute
+                            ? ((PluralAttribute<?, ?, ?>) attribute).getElementType().getJavaType()
+                            : attribute.getJavaType());
+                }
+                joinPath = child;
+            }
+            final var collectionStrategy = definition.collectionStrategy != null
+                    ? definition.collectionStrategy : builder.getCollectionStrategy();
+            compiled.put(definition.dtoProperty, new Binding(definition.dtoProperty, definition.attribute, joinPath,
+                    collectionStrategy == CollectionStrategy.EXISTS ? collectionPathOf(joinPath) : null));
+        }
+        this.bindings = Collections.unmodifiableMap(compiled);
+        this.rootPath = root;
+        this.joinPathCount = counter;
+        this.parameterized = builder.isParameterized();
+        this.inListStrategy = builder.getInListStrategy();
+        this.countCache = builder.getCountCache();
+        this.conjunctOrder = builder.getConjunctOrder();
+        this.joinedTypes = joined.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * @return the first node on {@code joinPath} joining a collection or {@code null} if there is none
+     */
+    private static JoinPath collectionPathOf(JoinPath joinPath) {
+        JoinPath collectionPath = null;
+        for (var node = joinPath; !node.isRoot(); node = node.getParent()) {
+            if (node.getAttribute() instanceof PluralAttribute) {
+                collectionPath = node;
+            }
+        }
+        return collectionPath;
+    }
+
+    /**
+     * Creates a {@code SchemaBuilder} to bind dto properties to entity properties
+     *
+     * @param <T> the root entity type supplied to this schema.
+     * @return a new {@code SchemaBuilder}
+     */
+    public static <T> SchemaBuilder<T> builder() {
+        return new SchemaBuilder<>();
+    }
+
+    /**
+     * Validates the operations of the given {@code CriteriaDTO} and creates a {@code Specification} using this schema
+     *
+     * @param criteriaDTO or {@link PageRequestDTO} is a DTO from client-side holding criteria information
+     * @return {@code Specification}
+     */
+    public CriteriaSpecification<T> toSpecification(CriteriaDTO criteriaDTO) {
+        Objects.requireNonNull(criteriaDTO, "a criteria DTO must not be supplied");
+        CriteriaGroup.of(criteriaDTO).getAllOperations().forEach(AbstractOperation::validate);
+        return new SpecificationMappings<>(criteriaDTO, this).createSpecification();
+    }
+
+    /**
+     * Creates a {@code Projection.Builder} to select only some of the entity properties bound by this schema
+     *
+     * @return a new {@code Projection.Builder}
+     */
+    public Projection.Builder<T> projection() {
+        return new Projection.Builder<>(this);
+    }
+
+    /**
+     * @param dtoProperty represents the client property name
+     * @return the compiled {@link Binding} or {@code null} if {@code dtoProperty} is not bound
+     */
+    public Binding getBinding(String dtoProperty) {
+        return bindings.get(dtoProperty);
+    }
+
+    /**
+     * @return compiled bindings keyed by the client property name in the order they were bound
+     */
+    public Map<String, Binding> getBindings() {
+        return bindings;
+    }
+
+    /**
+     * @return root of the join path trie, it represents the root entity itself
+     */
+    public JoinPath getRootPath() {
+        return rootPath;
+    }
+
+    /**
+     * @return number of nodes in the join path trie including the root
+     */
+    public int getJoinPathCount() {
+        return joinPathCount;
+    }
+
+    /**
+     * @return true if operands are bound through named parameters instead of literals
+     * @see BindingBuilder#parameterized()
+     */
+    public boolean isParameterized() {
+        return parameterized;
+    }
+
+    /**
+     * @return strategy deciding how {@code IN} and {@code NOT_IN} operations are rendered
+     * @see BindingBuilder#inListStrategy(InListStrategy)
+     */
+    public InListStrategy getInListStrategy() {
+        return inListStrategy;
+    }
+
+    /**
+     * @return count cache or {@code null} if counts are not cached
+     * @see BindingBuilder#countCache(CountCache)
+     */
+    public CountCache getCountCache() {
+        return countCache;
+    }
+
+    /**
+     * @param operations the conjuncts of a group in the order of the client
+     * @return {@code operations} in the order they are rendered
+     * @see BindingBuilder#conjunctOrder(ConjunctOrder)
+     */
+    public List<AbstractOperation> orderConjuncts(List<AbstractOperation> operations) {
+        return conjunctOrder == null ? operations : conjunctOrder.sort(operations, this);
+    }
+
+    /**
+     * @param rootType represents the root entity type
+     * @return {@code rootType} followed by the entity types on the bound join paths, whose changes invalidate cached results
+     */
+    public Class<?>[] getEntityTypes(Class<?> rootType) {
+        final Class<?>[] entityTypes = new Class<?>[joinedTypes.length + 1];
+        entityTypes[0] = rootType;
+        System.arraycopy(joinedTypes, 0, entityTypes, 1, joinedTypes.length);
+        return entityTypes;
+    }
+
+    /**
+     * Represents a compiled binding between a client property and an entity property reached via {@code joinPath}
+     */
+    public static final class Binding {
+        private final String dtoProperty;
+        private final SingularAttribute<?, ? extends Comparable<?>> attribute;
+        private final JoinPath joinPath;
+        private final Class<?> javaType;
+        private final EnumSet<Operator> operators;
+        private final OperandConverters.TargetConverter converter;
+        private final String parameterName;
+        private final String path;
+        private final JoinPath existsPath;
+
+        private Binding(String dtoProperty, SingularAttribute<?, ? extends Comparable<?>> attribute, JoinPath joinPath, JoinPath existsPath) {
+            this.dtoProperty = dtoProperty;
+            this.parameterName = parameterNameOf(dtoProperty);
+            this.path = pathOf(joinPath, attribute);
+            this.attribute = attribute;
+            this.joinPath = joinPath;
+            this.existsPath = existsPath;
+            this.javaType = attribute.getJavaType();
+            this.operators = operatorsOf(javaType);
+            this.converter = OperandConverters.forType(javaType);
+        }
+
+        /**
+         * @param javaType type of the entity property
+         * @return operators that are applicable to an entity property of type {@code javaType}
+         */
+        private static EnumSet<Operator> operatorsOf(Class<?> javaType) {
+            final var operators = EnumSet.allOf(Operator.class);
+            if (javaType != Boolean.class && javaType != boolean.class) {
+                operators.removeAll(EnumSet.of(TRUE, FALSE));
+            }
+            if (javaType != String.class) {
+                operators.removeAll(EnumSet.of(LIKE, NOT_LIKE));
+            }
+            return operators;
+        }
+
+        /**
+         * @param dtoProperty represents the client property name
+         * @return {@code dtoProperty} whose characters that are not allowed in a named parameter are replaced by {@code _}
+         */
+        private static String parameterNameOf(String dtoProperty) {
+            final var name = new StringBuilder(dtoProperty.length() + 1);
+            if (dtoProperty.isEmpty() || !Character.isJavaIdentifierStart(dtoProperty.charAt(0))) {
+                name.append('_');
+            }
+            for (int i = 0; i < dtoProperty.length(); i++) {
+                final char c = dtoProperty.charAt(i);
+                name.append(Character.isJavaIdentifierPart(c) && c != '$' ? c : '_');
+            }
+            return name.toString();
+        }
+
+        /**
+         * @return dot separated names of the joined attributes followed by the name of the bound attribute
+         */
+        private static String pathOf(JoinPath joinPath, Attribute<?, ?> attribute) {
+            final var path = new StringBuilder(attribute.getName());
+            for (var node = joinPath; !node.isRoot(); node = node.getParent()) {
+                path.insert(0, '.').insert(0, node.getAttribute().getName());
+            }
+            return path.toString();
+        }
+
+        /**
+         * @param value client-side operand
+         * @return {@code value} converted to the java type of the bound entity property
+         */
+        public Comparable<?> convert(Object value) {
+            return (Comparable<?>) converter.convert(value);
+        }
+
+        /**
+         * @param operator represents {@link Operator}
+         * @return true if {@code operator} is applicable to the bound entity property
+         */
+        public boolean supports(Operator operator) {
+            return operators.contains(operator);
+        }
+
+        /**
+         * @return the client property name
+         */
+        public String getDtoProperty() {
+            return dtoProperty;
+        }
+
+        /**
+         * @return the matching server entity property
+         */
+        public SingularAttribute<?, ? extends Comparable<?>> getAttribute() {
+            return attribute;
+        }
+
+        /**
+         * @return the join path trie node the entity property is reached through
+         */
+        public JoinPath getJoinPath() {
+            return joinPath;
+        }
+
+        /**
+         * @return the node joining the collection whose predicates are rendered in a correlated {@code EXISTS} subquery,
+         * or {@code null} if predicates on this binding are rendered on the joins of the query
+         * @see CollectionStrategy#EXISTS
+         */
+        public JoinPath getExistsPath() {
+            return existsPath;
+        }
+
+        /**
+         * @return the java type of the entity property
+         */
+        public Class<?> getJavaType() {
+            return javaType;
+        }
+
+        /**
+         * @return type of the converted operands, primitive types are represented by their wrappers
+         */
+        public Class<?> getOperandType() {
+            return converter.getTargetType();
+        }
+
+        /**
+         * @return the bound entity property as a path from the root entity e.g. {@code phones.number}
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return prefix of the names of the parameters created for this binding in a parameterized schema
+         */
+        public String getParameterName() {
+            return parameterName;
+        }
+    }
+
+    /**
+     * Represents a node of the join path trie. Bindings sharing a join prefix share the same nodes,
+     * hence the same {@code Join} instance is reused among them while creating predicates.
+     */
+    public static final class JoinPath {
+        private final JoinPath parent;
+        private final Attribute<?, ?> attribute;
+        private final int index;
+        private final Map<Attribute<?, ?>, JoinPath> children = new HashMap<>();
+
+        private JoinPath(JoinPath parent, Attribute<?, ?> attribute, int index) {
+            this.parent = parent;
+            this.attribute = attribute;
+            this.index = index;
+        }
+
+        /**
+         * @return true if this node represents the root entity
+         */
+        public boolean isRoot() {
+            return parent == null;
+        }
+
+        /**
+         * @return the preceding node or {@code null} for the root
+         */
+        public JoinPath getParent() {
+            return parent;
+        }
+
+        /**
+         * @return the joined attribute or {@code null} for the root
+         */
+        public Attribute<?, ?> getAttribute() {
+            return attribute;
+        }
+
+        /**
+         * @return position of this node in the trie, unique within the owning {@link SpecificationSchema}
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return child nodes keyed by their joined attribute
+         */
+        public Map<Attribute<?, ?>, JoinPath> getChildren() {
+            return Collections.unmodifiableMap(children);
+        }
+    }
+
+    /**
+     * SchemaBuilder collects {@code bind} and {@code bindJoin} calls and compiles them into an immutable {@code SpecificationSchema}.
+     *
+     * @param <T> the root entity type supplied to this builder.
+     */
+    public static class SchemaBuilder<T> extends BindingBuilder<T, SchemaBuilder<T>> {
+        private SchemaBuilder() {
+        }
+
+        /**
+         * builds a {@code SpecificationSchema} from this {@code SchemaBuilder}
+         *
+         * @return {@code SpecificationSchema}
+         */
+        public SpecificationSchema<T> build() {
+            return new SpecificationSchema<>(this);
+        }
+    }
+}
@@ -0,0 +1,478 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.binary;
+
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.SortDTO;
+import com.github.ozayduman.specificationbuilder.dto.PageResultDTO;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import com.github.ozayduman.specificationbuilder.dto.SliceResultDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveMultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveRangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveType;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compact binary encoding of {@code CriteriaDTO}, {@code PageRequestDTO} and page results exchanged between services
+ * sharing the same {@code SpecificationSchema}. Properties are written as their indexes in the schema, operators as a byte,
+ * and operands in the native encoding of the operand type of their binding (varints for integers, epoch days for dates,
+ * ordinals for enums), so a list of ids takes one to a few bytes per id. Encoded criteria carry a fingerprint of the
+ * schema, and decoding criteria encoded by a different schema fails.
+ * <pre>
+ * {@code private static final BinaryCodec CODEC = BinaryCodec.of(SCHEMA);
+ *
+ *        byte[] bytes = CODEC.encode(pageRequestDTO);
+ *        PageRequestDTO decoded = (PageRequestDTO) CODEC.decode(bytes);}
+ * </pre>
+ */
+public final class BinaryCodec {
+    private static final int MAGIC = 0x53;
+    private static final int VERSION = 1;
+    private static final int CRITERIA = 0;
+    private static final int PAGE_REQUEST = 1;
+    private static final int SLICE_RESULT = 2;
+    private static final int PAGE_RESULT = 3;
+    private static final Operator[] OPERATORS = Operator.values();
+    private static final CriteriaGroupDTO.Type[] GROUP_TYPES = CriteriaGroupDTO.Type.values();
+    private static final SortDTO.Direction[] DIRECTIONS = SortDTO.Direction.values();
+    private final Binding[] bindings;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final int fingerprint;
+
+    private BinaryCodec(SpecificationSchema<?> schema) {
+        this.bindings = schema.getBindings().values().toArray(new Binding[0]);
+        int hash = 1;
+        for (int i = 0; i < bindings.length; i++) {
+            indexes.put(bindings[i].getDtoProperty(), i);
+            hash = 31 * hash + bindings[i].getDtoProperty().hashCode();
+            hash = 31 * hash + bindings[i].getOperandType().getName().hashCode();
+        }
+        this.fingerprint = hash;
+    }
+
+    /**
+     * @param schema bindings of the properties, which must be bound in the same order on both sides
+     * @return a new {@code BinaryCodec}
+     */
+    public static BinaryCodec of(SpecificationSchema<?> schema) {
+        Objects.requireNonNull(schema, "schema can not be null");
+        return new BinaryCodec(schema);
+    }
+
+    /**
+     * @param criteriaDTO or {@link PageRequestDTO} is a DTO from client-side holding criteria information
+     * @return the encoded criteria, operands are converted to the operand types of their bindings
+     */
+    public byte[] encode(CriteriaDTO criteriaDTO) {
+        Objects.requireNonNull(criteriaDTO, "a criteria DTO must not be supplied");
+        final var output = new BinaryOutput();
+        output.writeByte(MAGIC);
+        output.writeByte(VERSION);
+        final boolean pageRequest = criteriaDTO instanceof PageRequestDTO;
+        output.writeByte(pageRequest ? PAGE_REQUEST : CRITERIA);
+        output.writeVarInt(fingerprint);
+        if (pageRequest) {
+            writePageRequest(output, (PageRequestDTO) criteriaDTO);
+        }
+        output.writeValue(criteriaDTO.getExtras());
+        writeOperations(output, criteriaDTO.getOperations());
+        writeGroups(output, criteriaDTO.getGroups());
+        return output.toByteArray();
+    }
+
+    /**
+     * @param bytes encoded by {@link #encode(CriteriaDTO)}
+     * @return the decoded {@code CriteriaDTO}, which is a {@code PageRequestDTO} if a page request was encoded
+     */
+    public CriteriaDTO decode(byte[] bytes) {
+        final var input = new BinaryInput(bytes);
+        final int kind = readHeader(input);
+        if (kind != CRITERIA && kind != PAGE_REQUEST) {
+            throw new IllegalArgumentException(String.format("criteria expected but found kind %d", kind));
+        }
+        if (input.readVarInt() != fingerprint) {
+            throw new IllegalArgumentException("criteria was encoded by a different schema");
+        }
+        final var criteriaDTO = kind == PAGE_REQUEST ? readPageRequest(input) : new CriteriaDTO();
+        criteriaDTO.setExtras(extrasOf(input.readValue()));
+        criteriaDTO.setOperations(readOperations(input));
+        criteriaDTO.setGroups(readGroups(input));
+        return criteriaDTO;
+    }
+
+    /**
+     * @param result       a slice or a {@link PageResultDTO}
+     * @param contentCodec writes the content elements
+     * @param <R>          type of the content elements
+     * @return the encoded result
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> byte[] encodeResult(SliceResultDTO result, ContentCodec<R> contentCodec) {
+        Objects.requireNonNull(result, "result can not be null");
+        Objects.requireNonNull(contentCodec, "content codec can not be null");
+        final var output = new BinaryOutput();
+        output.writeByte(MAGIC);
+        output.writeByte(VERSION);
+        final boolean page = result instanceof PageResultDTO;
+        output.writeByte(page ? PAGE_RESULT : SLICE_RESULT);
+        output.writeVarInt(result.getCurrentPage());
+        output.writeVarInt(result.getSize());
+        output.writeBoolean(result.isHasNext());
+        output.writeString(result.getNextCursor());
+        if (page) {
+            output.writeVarLong(((PageResultDTO) result).getTotalElements());
+            output.writeVarInt(((PageResultDTO) result).getTotalPages());
+        }
+        final List<?> content = result.getContent();
+        output.writeUnsignedVarInt(content == null ? 0 : content.size() + 1);
+        if (content != null) {
+            content.forEach(element -> contentCodec.write((R) element, output));
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * @param bytes        encoded by {@link #encodeResult(SliceResultDTO, ContentCodec)}
+     * @param contentCodec reads the content elements
+     * @return the decoded {@code SliceResultDTO}, which is a {@code PageResultDTO} if a page was encoded
+     */
+    public static SliceResultDTO decodeResult(byte[] bytes, ContentCodec<?> contentCodec) {
+        Objects.requireNonNull(contentCodec, "content codec can not be null");
+        final var input = new BinaryInput(bytes);
+        final int kind = readHeader(input);
+        if (kind != SLICE_RESULT && kind != PAGE_RESULT) {
+            throw new IllegalArgumentException(String.format("result expected but found kind %d", kind));
+        }
+        final var result = kind == PAGE_RESULT ? new PageResultDTO() : new SliceResultDTO();
+        result.setCurrentPage(input.readVarInt());
+        result.setSize(input.readVarInt());
+        result.setHasNext(input.readBoolean());
+        result.setNextCursor(input.readString());
+        if (kind == PAGE_RESULT) {
+            ((PageResultDTO) result).setTotalElements(input.readVarLong());
+            ((PageResultDTO) result).setTotalPages(input.readVarInt());
+        }
+        final int size = input.readUnsignedVarInt() - 1;
+        if (size >= 0) {
+            final List<Object> content = new ArrayList<>(Math.min(size, bytes.length));
+            for (int i = 0; i < size; i++) {
+                content.add(contentCodec.read(input));
+            }
+            result.setContent(content);
+        }
+        return result;
+    }
+
+    private static int readHeader(BinaryInput input) {
+        if (input.readByte() != MAGIC) {
+            throw new IllegalArgumentException("not a binary encoded criteria or result");
+        }
+        final int version = input.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException(String.format("unsupported version %d", version));
+        }
+        return input.readByte();
+    }
+
+    private static void writePageRequest(BinaryOutput output, PageRequestDTO pageRequestDTO) {
+        output.writeVarInt(pageRequestDTO.getPage());
+        output.writeVarInt(pageRequestDTO.getSize());
+        output.writeBoolean(pageRequestDTO.isSlice());
+        output.writeString(pageRequestDTO.getCursor());
+        final SortDTO[] sortFields = pageRequestDTO.getSortFields();
+        output.writeUnsignedVarInt(sortFields == null ? 0 : sortFields.length + 1);
+        if (sortFields != null) {
+            for (SortDTO sortField : sortFields) {
+                output.writeString(sortField.getProperty());
+                output.writeByte(sortField.getDirection() == null ? 0 : sortField.getDirection().ordinal() + 1);
+            }
+        }
+    }
+
+    private static PageRequestDTO readPageRequest(BinaryInput input) {
+        final var pageRequestDTO = new PageRequestDTO();
+        pageRequestDTO.setPage(input.readVarInt());
+        pageRequestDTO.setSize(input.readVarInt());
+        pageRequestDTO.setSlice(input.readBoolean());
+        pageRequestDTO.setCursor(input.readString());
+        final int length = input.readUnsignedVarInt() - 1;
+        if (length >= 0) {
+            final SortDTO[] sortFields = new SortDTO[length];
+            for (int i = 0; i < length; i++) {
+                final var property = input.readString();
+                final int direction = input.readByte();
+                sortFields[i] = new SortDTO(property, direction == 0 ? null : elementOf(DIRECTIONS, direction - 1));
+            }
+            pageRequestDTO.setSortFields(sortFields);
+        }
+        return pageRequestDTO;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> extrasOf(Object extras) {
+        if (extras != null && !(extras instanceof Map)) {
+            throw new IllegalArgumentException("extras must be a map");
+        }
+        return (Map<String, Object>) extras;
+    }
+
+    private void writeGroups(BinaryOutput output, List<CriteriaGroupDTO> groups) {
+        output.writeUnsignedVarInt(groups == null ? 0 : groups.size() + 1);
+        if (groups != null) {
+            for (CriteriaGroupDTO group : groups) {
+                Objects.requireNonNull(group, "a group can not be null");
+                output.writeByte(group.getType() == null ? 0 : group.getType().ordinal() + 1);
+                writeOperations(output, group.getOperations());
+                writeGroups(output, group.getGroups());
+            }
+        }
+    }
+
+    private List<CriteriaGroupDTO> readGroups(BinaryInput input) {
+        final int length = input.readUnsignedVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        final List<CriteriaGroupDTO> groups = new ArrayList<>(Math.min(length, 16));
+        for (int i = 0; i < length; i++) {
+            final int type = input.readByte();
+            groups.add(new CriteriaGroupDTO(type == 0 ? null : elementOf(GROUP_TYPES, type - 1), readOperations(input), readGroups(input)));
+        }
+        return groups;
+    }
+
+    private void writeOperations(BinaryOutput output, List<AbstractOperation> operations) {
+        output.writeUnsignedVarInt(operations == null ? 0 : operations.size() + 1);
+        if (operations == null) {
+            return;
+        }
+        for (AbstractOperation operation : operations) {
+            Objects.requireNonNull(operation, "an operation can not be null");
+            final var index = indexes.get(operation.getProperty());
+            Objects.requireNonNull(index, () -> String.format("DTO property named : %s could not be found in eq map ", operation.getProperty()));
+            final var operator = Objects.requireNonNull(operation.getOperator(), "operator can not be null");
+            final var binding = bindings[index];
+            output.writeUnsignedVarInt(index);
+            output.writeByte(operator.ordinal());
+            switch (operator) {
+                case IN, NOT_IN -> {
+                    if (operation instanceof PrimitiveMultiValueOperation
+                            && ((PrimitiveMultiValueOperation) operation).getType() == PrimitiveType.of(binding.getOperandType())) {
+                        writeEncoded(output, (PrimitiveMultiValueOperation) operation);
+                    } else {
+                        writeOperands(output, binding, operation instanceof MultiValueOperation
+                                ? ((MultiValueOperation) operation).getValue() : operation.getOperands());
+                    }
+                }
+                case BT -> {
+                    final RangeDTO range = operation instanceof PrimitiveRangeValueOperation
+                            ? ((PrimitiveRangeValueOperation) operation).getValue() : ((RangeValueOperation) operation).getValue();
+                    output.writeBoolean(range != null);
+                    if (range != null) {
+                        writeOperand(output, binding, range.getLow());
+                        writeOperand(output, binding, range.getHigh());
+                    }
+                }
+                case NULL, NOT_NULL, TRUE, FALSE -> {
+                }
+                default -> writeOperand(output, binding, ((SingleValueOperation) operation).getValue());
+            }
+        }
+    }
+
+    private List<AbstractOperation> readOperations(BinaryInput input) {
+        final int length = input.readUnsignedVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        final List<AbstractOperation> operations = new ArrayList<>(Math.min(length, 16));
+        for (int i = 0; i < length; i++) {
+            final var binding = elementOf(bindings, input.readUnsignedVarInt());
+            final var operator = elementOf(OPERATORS, input.readByte());
+            final var property = binding.getDtoProperty();
+            switch (operator) {
+                case IN, NOT_IN -> {
+                    final Object values = readOperands(input, binding);
+                    operations.add(values instanceof long[]
+                            ? new PrimitiveMultiValueOperation(property, operator, PrimitiveType.of(binding.getOperandType()), (long[]) values)
+                            : new MultiValueOperation(property, operator, (Object[]) values));
+                }
+                case BT -> operations.add(rangeOperation(property, binding,
+                        input.readBoolean() ? new RangeDTO(readOperand(input, binding), readOperand(input, binding)) : null));
+                case NULL, NOT_NULL, TRUE, FALSE -> operations.add(new NoValueOperation(property, operator));
+                default -> operations.add(new SingleValueOperation(property, operator, readOperand(input, binding)));
+            }
+        }
+        return operations;
+    }
+
+    /**
+     * @return a {@link PrimitiveRangeValueOperation} if the operand type of {@code binding} has a {@link PrimitiveType} and both bounds are given
+     */
+    private static AbstractOperation rangeOperation(String property, Binding binding, RangeDTO range) {
+        final var type = PrimitiveType.of(binding.getOperandType());
+        if (type == null || range == null || range.getLow() == null || range.getHigh() == null) {
+            return new RangeValueOperation(property, Operator.BT, range);
+        }
+        return new PrimitiveRangeValueOperation(property, Operator.BT, type, type.unbox(range.getLow()), type.unbox(range.getHigh()));
+    }
+
+    private static void writeOperand(BinaryOutput output, Binding binding, Object value) {
+        final var converted = binding.convert(value);
+        output.writeBoolean(converted != null);
+        if (converted != null) {
+            output.writeTyped(converted, binding.getOperandType());
+        }
+    }
+
+    private static Object readOperand(BinaryInput input, Binding binding) {
+        return input.readBoolean() ? readTyped(input, binding) : null;
+    }
+
+    /**
+     * Writes the length, a bitmap of the {@literal null} operands if there is any, then the other operands without tags
+     */
+    private static void writeOperands(BinaryOutput output, Binding binding, Object[] values) {
+        if (values == null) {
+            output.writeUnsignedVarInt(0);
+            return;
+        }
+        final var converted = new Object[values.length];
+        boolean hasNull = false;
+        for (int i = 0; i < values.length; i++) {
+            converted[i] = binding.convert(values[i]);
+            hasNull |= converted[i] == null;
+        }
+        output.writeUnsignedVarInt(values.length + 1);
+        output.writeBoolean(hasNull);
+        if (hasNull) {
+            for (int i = 0; i < converted.length; i += 8) {
+                int bits = 0;
+                for (int j = i; j < Math.min(i + 8, converted.length); j++) {
+                    bits |= converted[j] == null ? 1 << (j - i) : 0;
+                }
+                output.writeByte(bits);
+            }
+        }
+        final var operandType = binding.getOperandType();
+        for (Object value : converted) {
+            if (value != null) {
+                output.writeTyped(value, operandType);
+            }
+        }
+    }
+
+    /**
+     * Writes the encoded operands as {@link #writeOperands} writes their boxed operands, without boxing them
+     */
+    private static void writeEncoded(BinaryOutput output, PrimitiveMultiValueOperation operation) {
+        final long[] encoded = operation.getEncoded();
+        output.writeUnsignedVarInt(encoded.length + 1);
+        output.writeBoolean(false);
+        for (long value : encoded) {
+            switch (operation.getType()) {
+                case INT -> output.writeVarInt((int) value);
+                case DOUBLE -> output.writeDouble(Double.longBitsToDouble(value));
+                default -> output.writeVarLong(value);
+            }
+        }
+    }
+
+    /**
+     * @return the operands in a {@code long[]} if there is no {@literal null} operand and the operand type of {@code binding}
+     * has a {@link PrimitiveType}, otherwise in an array of the operand type
+     */
+    private static Object readOperands(BinaryInput input, Binding binding) {
+        final int length = input.readUnsignedVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        final boolean hasNull = input.readBoolean();
+        byte[] nulls = null;
+        if (hasNull) {
+            nulls = new byte[(length + 7) / 8];
+            for (int i = 0; i < nulls.length; i++) {
+                nulls[i] = (byte) input.readByte();
+            }
+        } else {
+            input.ensureRemaining(length);
+            final var type = PrimitiveType.of(binding.getOperandType());
+            if (type != null) {
+                final long[] encoded = new long[length];
+                for (int i = 0; i < length; i++) {
+                    encoded[i] = switch (type) {
+                        case INT -> input.readVarInt();
+                        case DOUBLE -> Double.doubleToLongBits(input.readDouble());
+                        default -> input.readVarLong();
+                    };
+                }
+                return encoded;
+            }
+        }
+        final var values = (Object[]) Array.newInstance(binding.getOperandType(), length);
+        for (int i = 0; i < length; i++) {
+            if (nulls == null || (nulls[i >>> 3] & 1 << (i & 7)) == 0) {
+                values[i] = readTyped(input, binding);
+            }
+        }
+        return values;
+    }
+
+    private static Object readTyped(BinaryInput input, Binding binding) {
+        final var value = input.readTyped(binding.getOperandType());
+        return value instanceof String && binding.getOperandType() != String.class ? binding.convert(value) : value;
+    }
+
+    private static <E> E elementOf(E[] elements, int index) {
+        if (index < 0 || index >= elements.length) {
+            throw new IllegalArgumentException(String.format("index %d is out of range", index));
+        }
+        return elements[index];
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.binary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.github.ozayduman.specificationbuilder.binary.BinaryOutput.*;
+
+/**
+ * Reads the values written by {@link BinaryOutput} from a byte array, truncated or malformed input is reported by
+ * {@link IllegalArgumentException}.
+ */
+public final class BinaryInput {
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * @param buffer bytes written by {@link BinaryOutput}
+     */
+    public BinaryInput(byte[] buffer) {
+        this.buffer = Objects.requireNonNull(buffer, "buffer can not be null");
+    }
+
+    /**
+     * @return the next byte as an unsigned value
+     */
+    public int readByte() {
+        ensureRemaining(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * @return the next byte as a boolean
+     */
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    /**
+     * @return non-negative value written by {@link BinaryOutput#writeUnsignedVarInt(int)}
+     */
+    public int readUnsignedVarInt() {
+        final long value = readUnsignedVarLong();
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("varint %d is out of range", value));
+        }
+        return (int) value;
+    }
+
+    /**
+     * @return value written by {@link BinaryOutput#writeVarInt(int)}
+     */
+    public int readVarInt() {
+        final int value = (int) readUnsignedVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @return value written by {@link BinaryOutput#writeVarLong(long)}
+     */
+    public long readVarLong() {
+        final long value = readUnsignedVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readUnsignedVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    /**
+     * @return value written by {@link BinaryOutput#writeDouble(double)}
+     */
+    public double readDouble() {
+        return Double.longBitsToDouble(readFixedLong());
+    }
+
+    /**
+     * @return value written by {@link BinaryOutput#writeFloat(float)}
+     */
+    public float readFloat() {
+        ensureRemaining(4);
+        int bits = 0;
+        for (int i = 0; i < 4; i++) {
+            bits = bits << 8 | buffer[position++] & 0xFF;
+        }
+        return Float.intBitsToFloat(bits);
+    }
+
+    private long readFixedLong() {
+        ensureRemaining(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | buffer[position++] & 0xFF;
+        }
+        return value;
+    }
+
+    /**
+     * @return value written by {@link BinaryOutput#writeString(String)}, can be {@literal null}
+     */
+    public String readString() {
+        final int length = readUnsignedVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        ensureRemaining(length);
+        final var value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * @return value written by {@link BinaryOutput#writeBytes(byte[])}, can be {@literal null}
+     */
+    public byte[] readBytes() {
+        final int length = readUnsignedVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        ensureRemaining(length);
+        final var value = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return value;
+    }
+
+    /**
+     * @return value written by {@link BinaryOutput#writeValue(Object)}, enums are read as their names,
+     * rows as {@code Object[]}, lists as {@code List} and maps as {@code Map<String, Object>}
+     */
+    public Object readValue() {
+        final int tag = readByte();
+        switch (tag) {
+            case NULL -> {
+                return null;
+            }
+            case FALSE -> {
+                return Boolean.FALSE;
+            }
+            case TRUE -> {
+                return Boolean.TRUE;
+            }
+            case ROW -> {
+                final Object[] row = new Object[readLength()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = readValue();
+                }
+                return row;
+            }
+            case LIST -> {
+                final int length = readLength();
+                final List<Object> list = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    list.add(readValue());
+                }
+                return list;
+            }
+            case MAP -> {
+                final int length = readLength();
+                final Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < length; i++) {
+                    map.put(readString(), readValue());
+                }
+                return map;
+            }
+            default -> {
+                return readPayload(tag);
+            }
+        }
+    }
+
+    /**
+     * Reads a value written by {@code BinaryOutput#writeTyped}: enums are resolved by their ordinals, values without
+     * a native encoding are read as strings to be converted by the caller
+     */
+    Object readTyped(Class<?> type) {
+        final int tag = tagOf(type);
+        switch (tag) {
+            case TRUE -> {
+                return readBoolean();
+            }
+            case ENUM -> {
+                final Object[] constants = type.getEnumConstants();
+                final int ordinal = readUnsignedVarInt();
+                if (ordinal >= constants.length) {
+                    throw new IllegalArgumentException(String.format("ordinal %d is out of range of %s", ordinal, type.getName()));
+                }
+                return constants[ordinal];
+            }
+            case OTHER -> {
+                return readString();
+            }
+            default -> {
+                return readPayload(tag);
+            }
+        }
+    }
+
+    private Object readPayload(int tag) {
+        switch (tag) {
+            case INT -> {
+                return readVarInt();
+            }
+            case SHORT -> {
+                return (short) readVarInt();
+            }
+            case BYTE -> {
+                return (byte) readVarInt();
+            }
+            case LONG -> {
+                return readVarLong();
+            }
+            case DOUBLE -> {
+                return readDouble();
+            }
+            case FLOAT -> {
+                return readFloat();
+            }
+            case STRING -> {
+                return readString();
+            }
+            case BIG_DECIMAL -> {
+                final int scale = readVarInt();
+                return new BigDecimal(new BigInteger(readNonNullBytes()), scale);
+            }
+            case BIG_INTEGER -> {
+                return new BigInteger(readNonNullBytes());
+            }
+            case LOCAL_DATE -> {
+                return LocalDate.ofEpochDay(readVarLong());
+            }
+            case LOCAL_DATE_TIME -> {
+                final var date = LocalDate.ofEpochDay(readVarLong());
+                return LocalDateTime.of(date, LocalTime.ofNanoOfDay(readVarLong()));
+            }
+            case LOCAL_TIME -> {
+                return LocalTime.ofNanoOfDay(readVarLong());
+            }
+            case INSTANT -> {
+                final long seconds = readVarLong();
+                return Instant.ofEpochSecond(seconds, readVarInt());
+            }
+            case UUID_VALUE -> {
+                final long mostSignificantBits = readFixedLong();
+                return new UUID(mostSignificantBits, readFixedLong());
+            }
+            default -> throw new IllegalArgumentException(String.format("unknown tag %d", tag));
+        }
+    }
+
+    private byte[] readNonNullBytes() {
+        return Objects.requireNonNull(readBytes(), "bytes can not be null");
+    }
+
+    /**
+     * @return a length which is checked against the remaining bytes, each element taking at least one byte
+     */
+    int readLength() {
+        final int length = readUnsignedVarInt();
+        ensureRemaining(length);
+        return length;
+    }
+
+    /**
+     * @return true if there are bytes left to read
+     */
+    public boolean hasRemaining() {
+        return position < buffer.length;
+    }
+
+    /**
+     * @param length number of the bytes that must be left to read
+     */
+    void ensureRemaining(int length) {
+        if (length > buffer.length - position) {
+            throw new IllegalArgumentException("truncated binary input");
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.binary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Growable buffer the binary format is written to. Integers are written as varints, signed ones zigzag encoded,
+ * so that small values take a single byte.
+ */
+public final class BinaryOutput {
+    static final int NULL = 0;
+    static final int FALSE = 1;
+    static final int TRUE = 2;
+    static final int INT = 3;
+    static final int LONG = 4;
+    static final int SHORT = 5;
+    static final int BYTE = 6;
+    static final int DOUBLE = 7;
+    static final int FLOAT = 8;
+    static final int STRING = 9;
+    static final int BIG_DECIMAL = 10;
+    static final int BIG_INTEGER = 11;
+    static final int LOCAL_DATE = 12;
+    static final int LOCAL_DATE_TIME = 13;
+    static final int LOCAL_TIME = 14;
+    static final int INSTANT = 15;
+    static final int UUID_VALUE = 16;
+    static final int ROW = 17;
+    static final int LIST = 18;
+    static final int MAP = 19;
+    static final int ENUM = 20;
+    static final int OTHER = 21;
+    private static final Map<Class<?>, Integer> TAGS = Map.ofEntries(
+            Map.entry(Boolean.class, TRUE), Map.entry(Integer.class, INT), Map.entry(Long.class, LONG),
+            Map.entry(Short.class, SHORT), Map.entry(Byte.class, BYTE), Map.entry(Double.class, DOUBLE),
+            Map.entry(Float.class, FLOAT), Map.entry(String.class, STRING), Map.entry(BigDecimal.class, BIG_DECIMAL),
+            Map.entry(BigInteger.class, BIG_INTEGER), Map.entry(LocalDate.class, LOCAL_DATE),
+            Map.entry(LocalDateTime.class, LOCAL_DATE_TIME), Map.entry(LocalTime.class, LOCAL_TIME),
+            Map.entry(Instant.class, INSTANT), Map.entry(UUID.class, UUID_VALUE));
+    private byte[] buffer;
+    private int size;
+
+    /**
+     * Creates an empty output
+     */
+    public BinaryOutput() {
+        this.buffer = new byte[256];
+    }
+
+    /**
+     * @param type operand type, primitive types are represented by their wrappers
+     * @return the tag of the values of {@code type}, {@link #ENUM} or {@link #OTHER} if they have no native encoding
+     */
+    static int tagOf(Class<?> type) {
+        final Integer tag = TAGS.get(type);
+        if (tag != null) {
+            return tag;
+        }
+        return type.isEnum() ? ENUM : OTHER;
+    }
+
+    /**
+     * @param value lowest 8 bits are written
+     */
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * @param value written as a single byte
+     */
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * @param value non-negative value, e.g. a length
+     */
+    public void writeUnsignedVarInt(int value) {
+        writeUnsignedVarLong(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param value zigzag encoded value
+     */
+    public void writeVarInt(int value) {
+        writeUnsignedVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * @param value zigzag encoded value
+     */
+    public void writeVarLong(long value) {
+        writeUnsignedVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeUnsignedVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * @param value written as 8 bytes
+     */
+    public void writeDouble(double value) {
+        writeFixedLong(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * @param value written as 4 bytes
+     */
+    public void writeFloat(float value) {
+        final int bits = Float.floatToIntBits(value);
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (bits >>> shift);
+        }
+    }
+
+    private void writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * @param value can be {@literal null}, written as its UTF-8 length followed by its UTF-8 bytes
+     */
+    public void writeString(String value) {
+        writeBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param value can be {@literal null}, written as its length followed by its bytes
+     */
+    public void writeBytes(byte[] value) {
+        if (value == null) {
+            writeUnsignedVarInt(0);
+            return;
+        }
+        writeUnsignedVarInt(value.length + 1);
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, size, value.length);
+        size += value.length;
+    }
+
+    /**
+     * Writes {@code value} preceded by a tag of its type, so that it can be read by {@link BinaryInput#readValue()} without knowing its type.
+     * Enums are written by their names, {@code Object[]}, {@code List} and {@code Map} with {@code String} keys by their elements.
+     *
+     * @param value can be {@literal null}
+     */
+    public void writeValue(Object value) {
+        if (value == null) {
+            writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Enum) {
+            writeByte(STRING);
+            writeString(((Enum<?>) value).name());
+        } else if (value instanceof Object[]) {
+            writeByte(ROW);
+            writeElements(Arrays.asList((Object[]) value));
+        } else if (value instanceof List) {
+            writeByte(LIST);
+            writeElements((List<?>) value);
+        } else if (value instanceof Map) {
+            writeByte(MAP);
+            final Map<?, ?> map = (Map<?, ?>) value;
+            writeUnsignedVarInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+        } else {
+            final int tag = tagOf(value.getClass());
+            if (tag == ENUM || tag == OTHER) {
+                throw new IllegalArgumentException(String.format("values of type %s can not be written", value.getClass().getName()));
+            }
+            writeByte(tag);
+            writePayload(tag, value);
+        }
+    }
+
+    private void writeElements(List<?> elements) {
+        writeUnsignedVarInt(elements.size());
+        for (Object element : elements) {
+            writeValue(element);
+        }
+    }
+
+    /**
+     * Writes {@code value} of the known {@code type} without a tag: booleans as a byte, enums by their ordinals and
+     * values without a native encoding by their {@code toString()}
+     */
+    void writeTyped(Object value, Class<?> type) {
+        final int tag = tagOf(type);
+        switch (tag) {
+            case TRUE -> writeBoolean((Boolean) value);
+            case ENUM -> writeUnsignedVarInt(((Enum<?>) value).ordinal());
+            case OTHER -> writeString(value.toString());
+            default -> writePayload(tag, value);
+        }
+    }
+
+    private void writePayload(int tag, Object value) {
+        switch (tag) {
+            case INT, SHORT, BYTE -> writeVarInt(((Number) value).intValue());
+            case LONG -> writeVarLong((Long) value);
+            case DOUBLE -> writeDouble((Double) value);
+            case FLOAT -> writeFloat((Float) value);
+            case STRING -> writeString((String) value);
+            case BIG_DECIMAL -> {
+                writeVarInt(((BigDecimal) value).scale());
+                writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+            }
+            case BIG_INTEGER -> writeBytes(((BigInteger) value).toByteArray());
+            case LOCAL_DATE -> writeVarLong(((LocalDate) value).toEpochDay());
+            case LOCAL_DATE_TIME -> {
+                writeVarLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+                writeVarLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+            }
+            case LOCAL_TIME -> writeVarLong(((LocalTime) value).toNanoOfDay());
+            case INSTANT -> {
+                writeVarLong(((Instant) value).getEpochSecond());
+                writeVarInt(((Instant) value).getNano());
+            }
+            case UUID_VALUE -> {
+                writeFixedLong(((UUID) value).getMostSignificantBits());
+                writeFixedLong(((UUID) value).getLeastSignificantBits());
+            }
+            default -> throw new IllegalArgumentException(String.format("unknown tag %d", tag));
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+        }
+    }
+
+    /**
+     * @return number of the bytes written
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a copy of the bytes written
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+}
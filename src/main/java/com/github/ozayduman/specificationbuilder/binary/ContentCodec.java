@@ -0,0 +1,70 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.binary;
+
+/**
+ * Writes and reads the content elements of page results, see {@link BinaryCodec#encodeResult(com.github.ozayduman.specificationbuilder.dto.SliceResultDTO, ContentCodec)}
+ *
+ * @param <R> type of the content elements
+ */
+public interface ContentCodec<R> {
+
+    /**
+     * @param element content element to write
+     * @param output  where {@code element} is written to
+     */
+    void write(R element, BinaryOutput output);
+
+    /**
+     * @param input where the element is read from
+     * @return the content element
+     */
+    R read(BinaryInput input);
+
+    /**
+     * @return codec writing each element by {@link BinaryOutput#writeValue(Object)}, e.g. for projected rows of {@code Object[]}
+     */
+    static ContentCodec<Object> tagged() {
+        return new ContentCodec<>() {
+            @Override
+            public void write(Object element, BinaryOutput output) {
+                output.writeValue(element);
+            }
+
+            @Override
+            public Object read(BinaryInput input) {
+                return input.readValue();
+            }
+        };
+    }
+}
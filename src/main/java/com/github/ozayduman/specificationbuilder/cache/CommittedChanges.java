@@ -0,0 +1,104 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.github.ozayduman.specificationbuilder.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Dispatches the entities inserted, updated or deleted by committed transactions to the listeners registered for their types,
+ * see {@link EntityChangeIntegrator}. Unlike {@link EntityGenerations}, changes are dispatched only after they are committed.
+ * <p>Note that bulk JPQL or native statements bypass Hibernate events, hence they are not dispatched.</p>
+ */
+public final class CommittedChanges {
+    private static final Map<Class<?>, List<Listener>> LISTENERS = new ConcurrentHashMap<>();
+
+    private CommittedChanges() {
+    }
+
+    /**
+     * Listens to the committed changes of the entities of a type
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param entity  the inserted, updated or deleted entity
+         * @param deleted true if {@code entity} is deleted
+         */
+        void committed(Object entity, boolean deleted);
+    }
+
+    /**
+     * @param entityType represents entity type, changes of its subtypes are dispatched as well
+     * @param listener   listener to register
+     */
+    public static void register(Class<?> entityType, Listener listener) {
+        Objects.requireNonNull(entityType, "an entity type must be supplied");
+        Objects.requireNonNull(listener, "a listener must be supplied");
+        LISTENERS.computeIfAbsent(entityType, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * @param entityType represents entity type {@code listener} is registered for
+     * @param listener   listener to unregister
+     */
+    public static void unregister(Class<?> entityType, Listener listener) {
+        final var listeners = LISTENERS.get(entityType);
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Dispatches a committed change to the listeners of {@code entityType} and of all of its super types
+     *
+     * @param entityType type of the changed entity
+     * @param entity     the changed entity
+     * @param deleted    true if {@code entity} is deleted
+     */
+    static void dispatch(Class<?> entityType, Object entity, boolean deleted) {
+        if (LISTENERS.isEmpty()) {
+            return;
+        }
+        for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+            final var listeners = LISTENERS.get(type);
+            if (listeners != null) {
+                listeners.forEach(listener -> listener.committed(entity, deleted));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.cache;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the total number of elements of criteria queries, so that paging through the same criteria does not
+ * execute the count query for every page. Keys are built from the root entity type and the canonical form of the
+ * criteria operations (bound entity property, operator and converted operands).
+ * It can be plugged into a schema by {@code SpecificationSchema.builder().countCache(...)}.
+ */
+@FunctionalInterface
+public interface CountCache {
+
+    /**
+     * @param key         canonical key of the criteria
+     * @param entityTypes the root entity type and the entity types on the bound join paths
+     * @param counter     executes the count query on a cache miss
+     * @return the cached or counted number of elements
+     */
+    long count(Object key, Class<?>[] entityTypes, LongSupplier counter);
+
+    /**
+     * @param timeToLive  duration a count is valid after it is executed
+     * @param maximumSize maximum number of cached counts
+     * @return an in-memory {@code CountCache} backed by a {@link QueryCache}
+     */
+    static CountCache of(Duration timeToLive, int maximumSize) {
+        final QueryCache<Object, Long> cache = new QueryCache<>(timeToLive, maximumSize);
+        return (key, entityTypes, counter) -> cache.get(key, entityTypes, counter::getAsLong);
+    }
+}
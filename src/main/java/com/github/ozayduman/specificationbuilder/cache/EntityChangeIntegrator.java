@@ -0,0 +1,190 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.cache;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Registers a listener incrementing the {@link EntityGenerations} of changed entities. It is discovered by Hibernate
+ * through {@code META-INF/services/org.hibernate.integrator.spi.Integrator}.
+ * It also dispatches committed changes to {@link CommittedChanges}.
+ * <p>Generations are incremented after a change is committed. Changes flushed by a session are tracked as uncommitted
+ * until its transaction completes, so that the changing transaction neither reads stale results from shared caches
+ * nor caches results including its own uncommitted changes.</p>
+ */
+public class EntityChangeIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        final var listener = new EntityChangeListener();
+        final var registry = serviceRegistry.getService(EventListenerRegistry.class);
+        final var flushListener = new FlushListener();
+        registry.appendListeners(EventType.POST_INSERT, flushListener);
+        registry.appendListeners(EventType.POST_UPDATE, flushListener);
+        registry.appendListeners(EventType.POST_DELETE, flushListener);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        final var commitListener = new CommitListener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, commitListener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, commitListener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, commitListener);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    private static final class EntityChangeListener
+            implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            EntityGenerations.increment(event.getPersister().getMappedClass());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            EntityGenerations.increment(event.getPersister().getMappedClass());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            EntityGenerations.increment(event.getPersister().getMappedClass());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return true;
+        }
+    }
+
+    /**
+     * Tracks the types of flushed changes as uncommitted until the transaction of their session completes
+     */
+    private static final class FlushListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            flushed(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            flushed(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            flushed(event.getSession(), event.getPersister());
+        }
+
+        private static void flushed(EventSource session, EntityPersister persister) {
+            EntityGenerations.flushed(session, persister.getMappedClass(), release -> session.getActionQueue()
+                    .registerProcess((boolean success, SharedSessionContractImplementor completed) -> release.run()));
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+    }
+
+    private static final class CommitListener
+            implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            CommittedChanges.dispatch(event.getPersister().getMappedClass(), event.getEntity(), false);
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            CommittedChanges.dispatch(event.getPersister().getMappedClass(), event.getEntity(), false);
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            CommittedChanges.dispatch(event.getPersister().getMappedClass(), event.getEntity(), true);
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return true;
+        }
+    }
+}
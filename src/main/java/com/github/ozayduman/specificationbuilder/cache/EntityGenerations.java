@@ -0,0 +1,143 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Holds a generation counter per entity type which is incremented whenever an entity of that type (or of a subtype)
+ * is inserted, updated or deleted, see {@link EntityChangeIntegrator}. A cached result remains valid as long as
+ * the generations of the entity types it was read from are the same as when it was read.
+ * <p>Generations are incremented once a change is committed. Until then the types changed by the sessions of the current thread
+ * are tracked as uncommitted, and results read from them are neither taken from nor put into shared caches,
+ * since they may include changes other transactions don't see.</p>
+ * <p>Note that bulk JPQL or native statements bypass Hibernate events, hence they don't increment generations.</p>
+ */
+public final class EntityGenerations {
+    private static final Map<Class<?>, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Object, Set<Class<?>>>> UNCOMMITTED = ThreadLocal.withInitial(ConcurrentHashMap::new);
+
+    private EntityGenerations() {
+    }
+
+    /**
+     * @param entityType represents entity type
+     * @return current generation of {@code entityType}
+     */
+    public static long current(Class<?> entityType) {
+        final var generation = GENERATIONS.get(entityType);
+        return generation == null ? 0L : generation.get();
+    }
+
+    /**
+     * @param entityTypes represents entity types
+     * @return current generations of {@code entityTypes} in the same order
+     */
+    public static long[] snapshot(Class<?>[] entityTypes) {
+        final long[] generations = new long[entityTypes.length];
+        for (int i = 0; i < entityTypes.length; i++) {
+            generations[i] = current(entityTypes[i]);
+        }
+        return generations;
+    }
+
+    /**
+     * @param entityTypes represents entity types
+     * @param generations generations of {@code entityTypes} returned by {@link #snapshot(Class[])}
+     * @return true if none of the {@code entityTypes} has changed since {@code generations} were taken
+     */
+    public static boolean matches(Class<?>[] entityTypes, long[] generations) {
+        for (int i = 0; i < entityTypes.length; i++) {
+            if (current(entityTypes[i]) != generations[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Increments the generation of {@code entityType} and of all of its super types
+     *
+     * @param entityType type of the changed entity
+     */
+    public static void increment(Class<?> entityType) {
+        for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+            GENERATIONS.computeIfAbsent(type, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /**
+     * @param entityTypes represents entity types
+     * @return true if a session of the current thread has flushed a change of any of the {@code entityTypes} (or of a subtype)
+     * that is not committed or rolled back yet
+     */
+    public static boolean isUncommitted(Class<?>[] entityTypes) {
+        final var uncommitted = UNCOMMITTED.get();
+        if (uncommitted.isEmpty()) {
+            return false;
+        }
+        for (Set<Class<?>> types : uncommitted.values()) {
+            for (Class<?> entityType : entityTypes) {
+                if (types.contains(entityType)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tracks {@code entityType} and all of its super types as changed by {@code session} on the current thread
+     *
+     * @param session      the session that flushed the change
+     * @param entityType   type of the changed entity
+     * @param onCompletion registers the given action to be run once the transaction of {@code session} completes,
+     *                     it is called on the first change of {@code session}
+     */
+    static void flushed(Object session, Class<?> entityType, Consumer<Runnable> onCompletion) {
+        final var uncommitted = UNCOMMITTED.get();
+        var types = uncommitted.get(session);
+        if (types == null) {
+            types = ConcurrentHashMap.newKeySet();
+            uncommitted.put(session, types);
+            onCompletion.accept(() -> uncommitted.remove(session));
+        }
+        for (Class<?> type = entityType; type != null && type != Object.class; type = type.getSuperclass()) {
+            types.add(type);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread-safe cache whose entries expire after {@code timeToLive}, are evicted in least recently used order
+ * above {@code maximumSize} (or above {@code maximumWeight} when entries are weighed), and are invalidated when any
+ * of the entity types they were read from changes, see {@link EntityGenerations}. Values read from entity types having
+ * uncommitted changes of the current thread are loaded without being cached.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the cached values
+ */
+public final class QueryCache<K, V> {
+    private final long timeToLiveNanos;
+    private final long maximumWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    /**
+     * @param timeToLive  duration an entry is valid after it is loaded
+     * @param maximumSize maximum number of entries
+     */
+    public QueryCache(Duration timeToLive, int maximumSize) {
+        this(timeToLive, maximumSize, value -> 1L);
+    }
+
+    /**
+     * @param timeToLive    duration an entry is valid after it is loaded
+     * @param maximumWeight maximum total weight of the entries
+     * @param weigher       weight of a value, e.g. the number of rows it holds
+     */
+    public QueryCache(Duration timeToLive, long maximumWeight, ToLongFunction<? super V> weigher) {
+        Objects.requireNonNull(timeToLive, "a time to live must be supplied");
+        Objects.requireNonNull(weigher, "a weigher must be supplied");
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException(String.format("time to live %s must be positive", timeToLive));
+        }
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException(String.format("maximum size or weight %d must be positive", maximumWeight));
+        }
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the valid cached value of {@code key} or loads, caches and returns it. Generations of {@code entityTypes}
+     * are taken before loading, so that a change during loading invalidates the loaded value. The cache is bypassed if
+     * a session of the current thread has flushed uncommitted changes of any of {@code entityTypes}.
+     *
+     * @param key         represents the key of the value
+     * @param entityTypes entity types the value is read from
+     * @param loader      loads the value on a cache miss
+     * @return the cached or loaded value
+     */
+    public V get(K key, Class<?>[] entityTypes, Supplier<V> loader) {
+        if (EntityGenerations.isUncommitted(entityTypes)) {
+            return loader.get();
+        }
+        synchronized (entries) {
+            final var entry = entries.get(key);
+            if (entry != null) {
+                if (entry.isValid(System.nanoTime())) {
+                    return entry.value;
+                }
+                remove(key);
+            }
+        }
+        final long[] generations = EntityGenerations.snapshot(entityTypes);
+        final V value = loader.get();
+        final long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maximumWeight) {
+            return value;
+        }
+        synchronized (entries) {
+            remove(key);
+            entries.put(key, new Entry<>(value, valueWeight, System.nanoTime() + timeToLiveNanos, entityTypes, generations));
+            weight += valueWeight;
+            final var eldest = entries.entrySet().iterator();
+            while (weight > maximumWeight) {
+                weight -= eldest.next().getValue().weight;
+                eldest.remove();
+            }
+        }
+        return value;
+    }
+
+    private void remove(K key) {
+        final var entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * @return number of entries including the ones that are not valid anymore but not evicted yet
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+        private final long expiresAt;
+        private final Class<?>[] entityTypes;
+        private final long[] generations;
+
+        private Entry(V value, long weight, long expiresAt, Class<?>[] entityTypes, long[] generations) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+            this.entityTypes = entityTypes;
+            this.generations = generations;
+        }
+
+        private boolean isValid(long now) {
+            return now - expiresAt < 0 && EntityGenerations.matches(entityTypes, generations);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.github.ozayduman.specificationbuilder.cache;
+
+import com.github.ozayduman.specificationbuilder.CriteriaSpecification;
+import com.github.ozayduman.specificationbuilder.dto.SliceResultDTO;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Caches mapped result pages of criteria queries, so that a search repeated verbatim (e.g. the default filters of
+ * a dashboard) skips both the queries and the mapping. Keys are built from the canonical form of the criteria, as the keys of
+ * {@link CountCache}, and the page, size and sort of the page request. Pages are weighed by the number of their rows
+ * and invalidated when a change of the root entity type or any entity type on the bound join paths is committed, see {@link EntityGenerations}.
+ * A transaction that has flushed changes of these types reads its pages without caching them, since they include its uncommitted changes.
+ * <p>Cached pages are shared by the callers, hence they must not be modified.</p>
+ * <p>Sample usage:</p>
+ * <pre>
+ * {@code private static final ResultCache RESULTS = ResultCache.of(Duration.ofMinutes(5), 100_000);
+ *
+ *        var specification = SCHEMA.toSpecification(pageRequestDTO);
+ *        var result = RESULTS.get(specification, Employee.class, pageRequest,
+ *                 () -> PageResultDTO.from(employeeRepository.findAll(specification, pageRequest), EmployeeMapper.INSTANCE::toDTO));}
+ * </pre>
+ */
+public final class ResultCache {
+    private final QueryCache<Object, SliceResultDTO> cache;
+
+    private ResultCache(QueryCache<Object, SliceResultDTO> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @param timeToLive    duration a page is valid after it is read
+     * @param maximumWeight maximum total number of rows of the cached pages
+     * @return an in-memory {@code ResultCache} backed by a {@link QueryCache}
+     */
+    public static ResultCache of(Duration timeToLive, long maximumWeight) {
+        return new ResultCache(new QueryCache<>(timeToLive, maximumWeight,
+                result -> 1L + (result.getContent() == null ? 0 : result.getContent().size())));
+    }
+
+    /**
+     * Returns the valid cached page of the criteria of {@code specification} or reads, caches and returns it.
+     * Pages of specifications that can't be keyed (e.g. combined with a plain {@code Specification}) are not cached.
+     *
+     * @param specification the specification the page is read by
+     * @param domainClass   the root entity type
+     * @param pageable      the page request the page is read by
+     * @param loader        reads and maps the page on a cache miss
+     * @param <T>           the root entity type
+     * @param <R>           type of the mapped page
+     * @return the cached or read page
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R extends SliceResultDTO> R get(CriteriaSpecification<T> specification, Class<T> domainClass, Pageable pageable,
+                                               Supplier<R> loader) {
+        Objects.requireNonNull(specification, "a specification must be supplied");
+        Objects.requireNonNull(pageable, "a page request must be supplied");
+        final var criteriaKey = specification.cacheKey(domainClass);
+        if (criteriaKey == null) {
+            return loader.get();
+        }
+        final var key = pageable.isPaged()
+                ? List.of(criteriaKey, pageable.getOffset(), pageable.getPageSize(), pageable.getSort())
+                : List.of(criteriaKey, pageable.getSort());
+        return (R) cache.get(key, specification.getEntityTypes(domainClass), loader::get);
+    }
+
+    /**
+     * Removes all cached pages
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return number of cached pages including the ones that are not valid anymore but not evicted yet
+     */
+    public int size() {
+        return cache.size();
+    }
+}
@@ -43,7 +43,8 @@ import java.util.Map;
 /**
  * Represents dto type that holding filtering operations put by the query (search) screens
  * on the client-side and transferred to server-side.
- * This dto acts like a container role for {@code operations} dto.
+ * This dto acts like a container role for {@code operations} dto, which are combined by {@code AND}
+ * together with the nested boolean {@code groups}.
  */
 @Getter
 @Setter
@@ -51,4 +52,5 @@ import java.util.Map;
 public class CriteriaDTO {
     private Map<String, Object> extras;
     private List<AbstractOperation> operations;
+    private List<CriteriaGroupDTO> groups;
 }
@@ -0,0 +1,79 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.dto;
+
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Represents a nested boolean group of filtering operations, e.g. {@code status = A OR owner = me}.
+ * The {@code operations} and the nested {@code groups} of a group are combined by its {@code type}.
+ * <pre>
+ * {@code {"type": "OR", "operations": [{"property": "status", "operator": "EQ", "value": "A"},
+ *                                      {"property": "owner", "operator": "EQ", "value": "me"}]}}
+ * </pre>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CriteriaGroupDTO {
+    private Type type;
+    private List<AbstractOperation> operations;
+    private List<CriteriaGroupDTO> groups;
+
+    /**
+     * Represents how the members of a group are combined
+     */
+    public enum Type {
+        /**
+         * All the members must match
+         */
+        AND,
+        /**
+         * At least one of the members must match
+         */
+        OR,
+        /**
+         * Not all the members match, i.e. negation of {@code AND}
+         */
+        NOT
+    }
+}
@@ -32,79 +32,80 @@
 
 package com.github.ozayduman.specificationbuilder.dto;
 
+import com.github.ozayduman.specificationbuilder.ExpressionOperator;
 import com.github.ozayduman.specificationbuilder.SpecificationOperator;
 
-import static com.github.ozayduman.specificationbuilder.SpecificationOperator.*;
-
 /**
  * This enum represents the Operators that can be passed by client-side for dynamic query generations.
- * This type has a direct reference to {@code specificationOperator} to simply finding corresponding function.
+ * This type has a direct reference to {@code specificationOperator} and {@code expressionOperator} to simply finding corresponding function.
  */
 public enum Operator {
     /**
      * Represents equal operator
      */
-    EQ(eq()),
+    EQ(SpecificationOperator.eq(), ExpressionOperator.eq()),
     /**
      * Represents not equal operator
      */
-    NOT_EQ(notEq()),
+    NOT_EQ(SpecificationOperator.notEq(), ExpressionOperator.notEq()),
     /**
      * Represents greater than operator
      */
-    GT(gt()),
+    GT(SpecificationOperator.gt(), ExpressionOperator.gt()),
     /**
      * Represents greater than or equal to operator
      */
-    GE(ge()),
+    GE(SpecificationOperator.ge(), ExpressionOperator.ge()),
     /**
      * Represents less than operator
      */
-    LT(lt()),
+    LT(SpecificationOperator.lt(), ExpressionOperator.lt()),
     /**
      * Represents less than or equal to operator
      */
-    LE(le()),
+    LE(SpecificationOperator.le(), ExpressionOperator.le()),
     /**
      * Represents between operator
      */
-    BT(bt()),
+    BT(SpecificationOperator.bt(), ExpressionOperator.bt()),
     /**
      * Represents in operator
      */
-    IN(in()),
+    IN(SpecificationOperator.in(), ExpressionOperator.in()),
     /**
      * Represents not in operator
      */
-    NOT_IN(notIn()),
+    NOT_IN(SpecificationOperator.notIn(), ExpressionOperator.notIn()),
     /**
      * Represents is null operator
      */
-    NULL(isNull()),
+    NULL(SpecificationOperator.isNull(), ExpressionOperator.isNull()),
     /**
      * Represents is not null operator
      */
-    NOT_NULL(isNotNull()),
+    NOT_NULL(SpecificationOperator.isNotNull(), ExpressionOperator.isNotNull()),
     /**
      * Represents is true operator
      */
-    TRUE(isTrue()),
+    TRUE(SpecificationOperator.isTrue(), ExpressionOperator.isTrue()),
     /**
      * Represents is false operator
      */
-    FALSE(isFalse()),
+    FALSE(SpecificationOperator.isFalse(), ExpressionOperator.isFalse()),
     /**
      * Represents is like operator
      */
-    LIKE(like()),
+    LIKE(SpecificationOperator.like(), ExpressionOperator.like()),
     /**
      * Represents is not like operator
      */
-    NOT_LIKE(notLike());
+    NOT_LIKE(SpecificationOperator.notLike(), ExpressionOperator.notLike());
     private SpecificationOperator specificationOperator;
+    private ExpressionOperator expressionOperator;
 
-    Operator(SpecificationOperator specificationOperator) {
+    Operator(SpecificationOperator specificationOperator, ExpressionOperator expressionOperator) {
         this.specificationOperator = specificationOperator;
+        this.expressionOperator = expressionOperator;
     }
 
     /**
@@ -113,4 +114,11 @@ public enum Operator {
     public SpecificationOperator getSpecificationOperator() {
         return specificationOperator;
     }
+
+    /**
+     * @return gets the corresponding {@link ExpressionOperator}
+     */
+    public ExpressionOperator getExpressionOperator() {
+        return expressionOperator;
+    }
 }
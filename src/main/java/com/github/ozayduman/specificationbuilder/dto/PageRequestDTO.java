@@ -32,6 +32,7 @@
 
 package com.github.ozayduman.specificationbuilder.dto;
 
+import com.github.ozayduman.specificationbuilder.KeysetPageRequest;
 import lombok.*;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -39,6 +40,7 @@ import org.springframework.data.domain.Sort;
 import javax.persistence.metamodel.SingularAttribute;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
@@ -49,6 +51,9 @@ import static java.util.stream.Collectors.toList;
  * To request query results page by page, client should pass this {@code PageRequestDTO} type.
  * <p> This type holds current {@code page}, page {@code size} and also sort fields {@code sortFields} </p>
  * <p> Note that default page size is 20 and if needed client can override this value by putting desired value in {@code size} property </p>
+ * <p> To read pages by keyset (seek) pagination, client should pass the {@code cursor} of the previous page result instead of {@code page} </p>
+ * <p> Clients not interested in the total number of elements (e.g. infinite scrolling) should set {@code slice},
+ * so that no count query is executed, see {@link SliceResultDTO} </p>
  */
 @Getter
 @Setter
@@ -58,6 +63,24 @@ public class PageRequestDTO extends CriteriaDTO {
     private static final int DEFAULT_PAGE_SIZE = 20;
     private SortDTO[] sortFields;
     private int page, size;
+    private String cursor;
+    private boolean slice;
+
+    /**
+     * @param sortFields sort fields from client-side
+     * @param page       current page
+     * @param size       page size
+     */
+    public PageRequestDTO(SortDTO[] sortFields, int page, int size) {
+        this(sortFields, page, size, null, false);
+    }
+
+    /**
+     * @return page size or the default page size if it is not supplied
+     */
+    public int pageSize() {
+        return size > 1 ? size : DEFAULT_PAGE_SIZE;
+    }
 
     /**
      * @param sort to apply ordering
@@ -65,7 +88,7 @@ public class PageRequestDTO extends CriteriaDTO {
      */
     private PageRequest createPageRequest(Sort sort){
         return PageRequest.of(page,
-                size > 1 ? size : DEFAULT_PAGE_SIZE,
+                pageSize(),
                 sortFields == null? Sort.unsorted() : sort);
     }
 
@@ -178,6 +201,29 @@ public class PageRequestDTO extends CriteriaDTO {
             return pageRequestDTO.createPageRequest(orders);
         }
 
+        /**
+         * Creates a keyset (seek) page request from the sort fields and the {@code cursor} of the {@code pageRequestDTO},
+         * {@code page} is ignored.
+         *
+         * @param tieBreaker unique entity property appended to the sort keys in ascending order if it is not sorted by the client
+         * @return {@code KeysetPageRequest}
+         * @throws IllegalArgumentException if a sort key is nullable or is not an attribute of the root entity declaring {@code tieBreaker}
+         */
+        public KeysetPageRequest buildKeyset(SingularAttribute<?, ? extends Comparable<?>> tieBreaker) {
+            Objects.requireNonNull(tieBreaker, "a tie-breaker must be supplied");
+            final Map<SingularAttribute<?, ?>, Sort.Direction> keys = new LinkedHashMap<>();
+            if (pageRequestDTO.getSortFields() != null) {
+                for (SortDTO sortDTO : pageRequestDTO.getSortFields()) {
+                    final var attribute = dtoEntityMapping.get(sortDTO.getProperty());
+                    Objects.requireNonNull(attribute,
+                            () -> String.format("%s property must be bound via bindSort method!", sortDTO.getProperty()));
+                    keys.putIfAbsent(attribute, sortDTO.getDirection().toSortDirection());
+                }
+            }
+            keys.putIfAbsent(tieBreaker, Sort.Direction.ASC);
+            return KeysetPageRequest.of(keys, pageRequestDTO.pageSize(), pageRequestDTO.getCursor());
+        }
+
         /**
          * @return {@code Sort} by matching client-side and server-side sorting properties
          */
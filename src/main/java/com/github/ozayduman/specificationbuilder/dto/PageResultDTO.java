@@ -33,14 +33,13 @@
 package com.github.ozayduman.specificationbuilder.dto;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.data.domain.Page;
 
-import java.util.List;
 import java.util.function.Function;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  *  This DTO type is used to return query result pages from server to client.
  *  By using {@code from} method, client and server can use different property names for dto and entities, e.g.
@@ -57,16 +56,16 @@ import static java.util.stream.Collectors.toList;
  *             return dto;
  *         });
  * </pre>
+ * Use {@link SliceResultDTO} when the total number of elements is not needed.
  */
 @Data
 @NoArgsConstructor
-public class PageResultDTO {
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class PageResultDTO extends SliceResultDTO {
 
-    private List<?> content;
     private long totalElements;
-    private int currentPage;
     private int totalPages;
-    private int size;
 
     /**
      * Creates {@code PageResultDTO} by converting Entity objects to DTO objects
@@ -77,13 +76,8 @@ public class PageResultDTO {
      * @return {@code PageResultDTO}
      */
     public static<T, R>  PageResultDTO from(Page<T> page, Function<T, R> mapperFunction){
-        List<R> resultDTOList = page.getContent().stream()
-                .map(mapperFunction)
-                .collect(toList());
         PageResultDTO pageResultDTO = new PageResultDTO();
-        pageResultDTO.setContent(resultDTOList);
-        pageResultDTO.setCurrentPage(page.getNumber());
-        pageResultDTO.setSize(page.getSize());
+        pageResultDTO.fill(page, mapperFunction);
         pageResultDTO.setTotalElements(page.getTotalElements());
         pageResultDTO.setTotalPages(page.getTotalPages());
         return pageResultDTO;
@@ -0,0 +1,115 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.dto;
+
+import com.github.ozayduman.specificationbuilder.KeysetPageRequest;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ *  This DTO type is used to return query result slices from server to client without counting the total number of elements,
+ *  e.g. for infinite scrolling clients requesting by {@link PageRequestDTO#isSlice()}.
+ *  <pre>
+ *   Slice<Employee> slice = employeeRepository.findAll(specification, pageRequest, !pageRequestDTO.isSlice());
+ *   SliceResultDTO sliceResultDTO = SliceResultDTO.from(slice, EmployeeMapper.INSTANCE::toDTO);
+ *  </pre>
+ *  Slices read by keyset pagination also carry the {@code nextCursor} to request the next slice.
+ */
+@Data
+@NoArgsConstructor
+public class SliceResultDTO {
+
+    private List<?> content;
+    private int currentPage;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    /**
+     * Creates {@code SliceResultDTO} by converting Entity objects to DTO objects.
+     * If the given {@code slice} is a {@code Page}, a {@link PageResultDTO} including the totals is created.
+     * @param slice query result containing entity type
+     * @param mapperFunction maps Entity type to DTO type
+     * @param <T> represents Entity type
+     * @param <R> represents DTO type
+     * @return {@code SliceResultDTO}
+     */
+    public static<T, R> SliceResultDTO from(Slice<T> slice, Function<T, R> mapperFunction){
+        if (slice instanceof Page) {
+            return PageResultDTO.from((Page<T>) slice, mapperFunction);
+        }
+        final SliceResultDTO sliceResultDTO = new SliceResultDTO();
+        sliceResultDTO.fill(slice, mapperFunction);
+        return sliceResultDTO;
+    }
+
+    /**
+     * Creates {@code SliceResultDTO} of a keyset slice by converting Entity objects to DTO objects
+     * @param slice query result read by the {@code keyset} page request
+     * @param mapperFunction maps Entity type to DTO type
+     * @param keyset the page request {@code slice} is read by
+     * @param <T> represents Entity type
+     * @param <R> represents DTO type
+     * @return {@code SliceResultDTO}
+     */
+    public static<T, R> SliceResultDTO from(Slice<T> slice, Function<T, R> mapperFunction, KeysetPageRequest keyset){
+        final SliceResultDTO sliceResultDTO = new SliceResultDTO();
+        sliceResultDTO.fill(slice, mapperFunction);
+        sliceResultDTO.setNextCursor(keyset.nextCursor(slice));
+        return sliceResultDTO;
+    }
+
+    /**
+     * Fills the properties shared by slices and pages
+     * @param slice query result containing entity type
+     * @param mapperFunction maps Entity type to DTO type
+     * @param <T> represents Entity type
+     * @param <R> represents DTO type
+     */
+    <T, R> void fill(Slice<T> slice, Function<T, R> mapperFunction){
+        List<R> resultDTOList = slice.getContent().stream()
+                .map(mapperFunction)
+                .collect(toList());
+        setContent(resultDTOList);
+        setCurrentPage(slice.getNumber());
+        setSize(slice.getSize());
+        setHasNext(slice.hasNext());
+    }
+}
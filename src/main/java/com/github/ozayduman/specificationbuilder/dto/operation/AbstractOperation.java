@@ -31,6 +31,7 @@
  */
 
 package com.github.ozayduman.specificationbuilder.dto.operation;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.github.ozayduman.specificationbuilder.dto.Operator;
@@ -101,5 +102,14 @@ public abstract class AbstractOperation {
     /**
      * @return value as {@code #Comparable<?>[]}
      */
+    @JsonIgnore
     public abstract Comparable<?>[] getOperands();
+
+    /**
+     * @return number of the operands, without creating them
+     */
+    @JsonIgnore
+    public int getOperandCount() {
+        return getOperands().length;
+    }
 }
@@ -38,6 +38,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Objects;
 
@@ -77,6 +78,14 @@ public class MultiValueOperation extends AbstractOperation {
 
     @Override
     public Comparable<?>[] getOperands() {
-        return (Comparable<?>[]) value;
+        if (value instanceof Comparable<?>[]) {
+            return (Comparable<?>[]) value;
+        }
+        return Arrays.copyOf(value, value.length, Comparable[].class);
+    }
+
+    @Override
+    public int getOperandCount() {
+        return value.length;
     }
 }
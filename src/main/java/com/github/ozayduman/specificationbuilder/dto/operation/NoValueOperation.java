@@ -46,6 +46,7 @@ import static com.github.ozayduman.specificationbuilder.dto.Operator.*;
 @NoArgsConstructor
 @ToString
 public class NoValueOperation extends AbstractOperation {
+    private static final Comparable<?>[] NO_OPERANDS = new Comparable<?>[0];
 
     /**
      * @param property name of the Operation property
@@ -62,6 +63,6 @@ public class NoValueOperation extends AbstractOperation {
 
     @Override
     public Comparable<?>[] getOperands() {
-        return new Comparable[0];
+        return NO_OPERANDS;
     }
 }
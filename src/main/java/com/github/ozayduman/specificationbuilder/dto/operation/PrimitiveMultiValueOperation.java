@@ -0,0 +1,144 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.dto.operation;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import lombok.ToString;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+
+import static com.github.ozayduman.specificationbuilder.dto.Operator.IN;
+import static com.github.ozayduman.specificationbuilder.dto.Operator.NOT_IN;
+
+/**
+ * {@link MultiValueOperation} holding its operands encoded by a {@link PrimitiveType} instead of boxed,
+ * large numeric or date lists take a {@code long} per operand and are sorted without boxing.
+ * It is serialized as a {@code MultiValueOperation}.
+ */
+@ToString
+public class PrimitiveMultiValueOperation extends AbstractOperation {
+    private final PrimitiveType type;
+    private final long[] encoded;
+
+    /**
+     * @param property name of the Operation property
+     * @param operator {@code Operator}
+     * @param type     encoding of the operands
+     * @param encoded  operands that operator works on, encoded by {@code type}
+     */
+    public PrimitiveMultiValueOperation(String property, Operator operator, PrimitiveType type, long[] encoded) {
+        super(property, operator);
+        this.type = type;
+        this.encoded = encoded;
+    }
+
+    /**
+     * @return encoding of the operands
+     */
+    @JsonIgnore
+    public PrimitiveType getType() {
+        return type;
+    }
+
+    /**
+     * @return operands encoded by {@link #getType()}
+     */
+    @JsonIgnore
+    public long[] getEncoded() {
+        return encoded;
+    }
+
+    /**
+     * @return boxed operands in an array of {@link PrimitiveType#getJavaType()}
+     */
+    public Object[] getValue() {
+        final var values = (Object[]) Array.newInstance(type.getJavaType(), encoded.length);
+        for (int i = 0; i < encoded.length; i++) {
+            values[i] = type.box(encoded[i]);
+        }
+        return values;
+    }
+
+    /**
+     * @return an operation having the operands sorted and deduplicated, or this operation if they already are
+     */
+    public PrimitiveMultiValueOperation distinct() {
+        int i = 1;
+        while (i < encoded.length && type.compare(encoded[i - 1], encoded[i]) < 0) {
+            i++;
+        }
+        if (i >= encoded.length) {
+            return this;
+        }
+        final long[] sorted = encoded.clone();
+        type.sort(sorted);
+        int size = 1;
+        for (int j = 1; j < sorted.length; j++) {
+            if (sorted[j] != sorted[size - 1]) {
+                sorted[size++] = sorted[j];
+            }
+        }
+        return new PrimitiveMultiValueOperation(getProperty(), getOperator(), type,
+                size == sorted.length ? sorted : Arrays.copyOf(sorted, size));
+    }
+
+    @Override
+    public void validate() {
+        super.validate();
+        Objects.requireNonNull(type, () -> "type can not be null!");
+        Objects.requireNonNull(encoded, () -> "value can not be null!");
+    }
+
+    @Override
+    protected EnumSet<Operator> allowedOperators() {
+        return EnumSet.of(IN, NOT_IN);
+    }
+
+    @Override
+    public Comparable<?>[] getOperands() {
+        final Comparable<?>[] operands = new Comparable<?>[encoded.length];
+        for (int i = 0; i < encoded.length; i++) {
+            operands[i] = type.box(encoded[i]);
+        }
+        return operands;
+    }
+
+    @Override
+    public int getOperandCount() {
+        return encoded.length;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.dto.operation;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import lombok.ToString;
+
+import java.util.EnumSet;
+import java.util.Objects;
+
+import static com.github.ozayduman.specificationbuilder.dto.Operator.BT;
+
+/**
+ * {@link RangeValueOperation} holding its bounds encoded by a {@link PrimitiveType} instead of a {@code RangeDTO} of boxed bounds.
+ * It is serialized as a {@code RangeValueOperation}.
+ */
+@ToString
+public class PrimitiveRangeValueOperation extends AbstractOperation {
+    private final PrimitiveType type;
+    private final long low;
+    private final long high;
+
+    /**
+     * @param property name of the Operation property
+     * @param operator {@code Operator}
+     * @param type     encoding of the bounds
+     * @param low      lower bound encoded by {@code type}
+     * @param high     upper bound encoded by {@code type}
+     */
+    public PrimitiveRangeValueOperation(String property, Operator operator, PrimitiveType type, long low, long high) {
+        super(property, operator);
+        this.type = type;
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * @return encoding of the bounds
+     */
+    @JsonIgnore
+    public PrimitiveType getType() {
+        return type;
+    }
+
+    /**
+     * @return lower bound encoded by {@link #getType()}
+     */
+    @JsonIgnore
+    public long getEncodedLow() {
+        return low;
+    }
+
+    /**
+     * @return upper bound encoded by {@link #getType()}
+     */
+    @JsonIgnore
+    public long getEncodedHigh() {
+        return high;
+    }
+
+    /**
+     * @return {@code RangeDTO} of the boxed bounds
+     */
+    public RangeDTO getValue() {
+        return new RangeDTO(type.box(low), type.box(high));
+    }
+
+    /**
+     * @return true if the lower bound is greater than the upper bound, i.e. the range is empty
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return type.compare(low, high) > 0;
+    }
+
+    @Override
+    public void validate() {
+        super.validate();
+        Objects.requireNonNull(type, () -> "type can not be null!");
+    }
+
+    @Override
+    protected EnumSet<Operator> allowedOperators() {
+        return EnumSet.of(BT);
+    }
+
+    @Override
+    public Comparable<?>[] getOperands() {
+        return new Comparable[]{type.box(low), type.box(high)};
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.dto.operation;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Encodes operands of numeric and temporal types as {@code long} values, so that they can be held without boxing,
+ * see {@link PrimitiveMultiValueOperation} and {@link PrimitiveRangeValueOperation}.
+ */
+public enum PrimitiveType {
+    /**
+     * {@code Integer} operands, held as their value
+     */
+    INT(Integer.class),
+    /**
+     * {@code Long} operands, held as their value
+     */
+    LONG(Long.class),
+    /**
+     * {@code Double} operands, held as their bits by {@link Double#doubleToLongBits(double)}
+     */
+    DOUBLE(Double.class),
+    /**
+     * {@code LocalDate} operands, held as their epoch day
+     */
+    EPOCH_DAY(LocalDate.class),
+    /**
+     * {@code Instant} operands, held as their epoch millisecond, i.e. truncated to milliseconds
+     */
+    EPOCH_MILLI(Instant.class);
+
+    private final Class<?> javaType;
+
+    PrimitiveType(Class<?> javaType) {
+        this.javaType = javaType;
+    }
+
+    /**
+     * @return the type of the boxed operands
+     */
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    /**
+     * {@link #EPOCH_MILLI} is never returned, since it truncates sub-millisecond precision.
+     *
+     * @param javaType operand type of a property
+     * @return the type encoding {@code javaType} without loss, or {@literal null} if there is none
+     */
+    public static PrimitiveType of(Class<?> javaType) {
+        for (PrimitiveType type : values()) {
+            if (type != EPOCH_MILLI && type.javaType == javaType) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param encoded operand encoded by this type
+     * @return the boxed operand
+     */
+    public Comparable<?> box(long encoded) {
+        return switch (this) {
+            case INT -> Integer.valueOf((int) encoded);
+            case LONG -> Long.valueOf(encoded);
+            case DOUBLE -> Double.valueOf(Double.longBitsToDouble(encoded));
+            case EPOCH_DAY -> LocalDate.ofEpochDay(encoded);
+            case EPOCH_MILLI -> Instant.ofEpochMilli(encoded);
+        };
+    }
+
+    /**
+     * @param value boxed operand of {@link #getJavaType()}
+     * @return the operand encoded by this type
+     */
+    public long unbox(Object value) {
+        return switch (this) {
+            case INT, LONG -> ((Number) value).longValue();
+            case DOUBLE -> Double.doubleToLongBits(((Number) value).doubleValue());
+            case EPOCH_DAY -> ((LocalDate) value).toEpochDay();
+            case EPOCH_MILLI -> ((Instant) value).toEpochMilli();
+        };
+    }
+
+    /**
+     * @return the comparison of the boxed operands of {@code encoded} and {@code other}
+     */
+    public int compare(long encoded, long other) {
+        return this == DOUBLE
+                ? Double.compare(Double.longBitsToDouble(encoded), Double.longBitsToDouble(other))
+                : Long.compare(encoded, other);
+    }
+
+    /**
+     * Sorts encoded operands in the order of their boxed operands. The bits of negative doubles are flipped
+     * so that they are ordered as {@code long} values, which is its own inverse.
+     */
+    void sort(long[] encoded) {
+        if (this == DOUBLE) {
+            flipNegatives(encoded);
+            Arrays.sort(encoded);
+            flipNegatives(encoded);
+        } else {
+            Arrays.sort(encoded);
+        }
+    }
+
+    private static void flipNegatives(long[] encoded) {
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] ^= (encoded[i] >> 63) & Long.MAX_VALUE;
+        }
+    }
+}
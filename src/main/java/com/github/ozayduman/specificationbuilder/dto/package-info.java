@@ -31,6 +31,6 @@
  */
 
 /**
- * This package contains core dto (data transfer object) types like {@link com.github.ozayduman.specificationbuilder.dto.PageRequestDTO}, {@link com.github.ozayduman.specificationbuilder.dto.PageResultDTO} and also {@link com.github.ozayduman.specificationbuilder.dto.operation} sub package.
+ * This package contains core dto (data transfer object) types like {@link com.github.ozayduman.specificationbuilder.dto.PageRequestDTO}, {@link com.github.ozayduman.specificationbuilder.dto.PageResultDTO}, {@link com.github.ozayduman.specificationbuilder.dto.SliceResultDTO} and also {@link com.github.ozayduman.specificationbuilder.dto.operation} sub package.
  */
 package com.github.ozayduman.specificationbuilder.dto;
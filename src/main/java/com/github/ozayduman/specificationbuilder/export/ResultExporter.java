@@ -0,0 +1,182 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.export;
+
+import com.github.ozayduman.specificationbuilder.CriteriaSpecification;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Streams the entities matching a {@code Specification} to a {@link RowWriter} in a single query using a forward-only
+ * JDBC cursor, instead of re-running the query page by page with growing offsets. Every entity is detached after it is
+ * written and the persistence context is cleared periodically, so that memory usage does not depend on the number of rows.
+ * <p>It must be called within a transaction (a read-only one is enough), because the cursor is read while
+ * the connection is open. Note that clearing the persistence context also detaches entities loaded by the caller
+ * in the same transaction. Some drivers need a special fetch size to stream, e.g. {@code Integer.MIN_VALUE} for MySQL.</p>
+ * <p>Sample usage:</p>
+ * <pre>
+ * {@code long count = ResultExporter.of(entityManager, Employee.class)
+ *                 .fetchSize(1000)
+ *                 .export(specification, pageRequest.getSort(), EmployeeMapper.INSTANCE::toDTO,
+ *                         RowWriters.ndjson(outputStream, objectMapper));}
+ * </pre>
+ *
+ * @param <T> the root entity type
+ */
+public final class ResultExporter<T> {
+    /**
+     * Default number of rows fetched from the database per round trip
+     */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+    private final EntityManager entityManager;
+    private final Class<T> domainClass;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private int clearInterval = DEFAULT_FETCH_SIZE;
+
+    private ResultExporter(EntityManager entityManager, Class<T> domainClass) {
+        this.entityManager = Objects.requireNonNull(entityManager, "an entity manager must be supplied");
+        this.domainClass = Objects.requireNonNull(domainClass, "a domain class must be supplied");
+    }
+
+    /**
+     * @param entityManager represents the {@code EntityManager} the query is executed on
+     * @param domainClass   the root entity type
+     * @param <T>           the root entity type
+     * @return a new {@code ResultExporter}
+     */
+    public static <T> ResultExporter<T> of(EntityManager entityManager, Class<T> domainClass) {
+        return new ResultExporter<>(entityManager, domainClass);
+    }
+
+    /**
+     * @param fetchSize number of rows fetched from the database per round trip, {@link #DEFAULT_FETCH_SIZE} by default
+     * @return this {@code ResultExporter}
+     */
+    public ResultExporter<T> fetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException(String.format("fetch size %d must be positive", fetchSize));
+        }
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * @param clearInterval number of rows after which the persistence context is cleared, {@link #DEFAULT_FETCH_SIZE} by default
+     * @return this {@code ResultExporter}
+     */
+    public ResultExporter<T> clearInterval(int clearInterval) {
+        if (clearInterval < 1) {
+            throw new IllegalArgumentException(String.format("clear interval %d must be positive", clearInterval));
+        }
+        this.clearInterval = clearInterval;
+        return this;
+    }
+
+    /**
+     * @param specification restricts the exported entities, can be {@literal null}
+     * @param sort          order of the exported rows, e.g. {@code PageRequestBuilder.of(pageRequestDTO)...build().getSort()}
+     * @param mapper        maps an entity to a row, it is called while the entity is still managed
+     * @param rowWriter     writes the rows, it is flushed but not closed
+     * @param <R>           type of the rows
+     * @return number of exported rows
+     */
+    public <R> long export(Specification<T> specification, Sort sort, Function<? super T, ? extends R> mapper, RowWriter<? super R> rowWriter) {
+        final CriteriaSpecification<T> criteriaSpecification =
+                specification instanceof CriteriaSpecification ? (CriteriaSpecification<T>) specification : null;
+        if (criteriaSpecification != null) {
+            criteriaSpecification.prepare(entityManager);
+        }
+        try {
+            final TypedQuery<T> query = createQuery(specification, sort);
+            if (criteriaSpecification != null) {
+                criteriaSpecification.bind(query);
+            }
+            return export(query, mapper, rowWriter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (criteriaSpecification != null) {
+                criteriaSpecification.release(entityManager);
+            }
+        }
+    }
+
+    private <R> long export(TypedQuery<T> query, Function<? super T, ? extends R> mapper, RowWriter<? super R> rowWriter) throws IOException {
+        long count = 0;
+        try (ScrollableResults results = query.unwrap(org.hibernate.query.Query.class)
+                .setReadOnly(true)
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                final T entity = domainClass.cast(results.get(0));
+                rowWriter.write(mapper.apply(entity));
+                entityManager.detach(entity);
+                if (++count % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        rowWriter.flush();
+        return count;
+    }
+
+    private TypedQuery<T> createQuery(Specification<T> specification, Sort sort) {
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(domainClass);
+        final Root<T> root = criteriaQuery.from(domainClass);
+        if (specification != null) {
+            final Predicate predicate = specification.toPredicate(root, criteriaQuery, criteriaBuilder);
+            if (predicate != null) {
+                criteriaQuery.where(predicate);
+            }
+        }
+        criteriaQuery.select(root);
+        if (sort != null && sort.isSorted()) {
+            criteriaQuery.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return entityManager.createQuery(criteriaQuery);
+    }
+}
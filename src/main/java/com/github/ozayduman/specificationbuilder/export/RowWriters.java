@@ -0,0 +1,150 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.ozayduman.specificationbuilder.OperandConverters;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Creates {@link RowWriter}s for the supported export formats. Writers buffer their output
+ * and never close the given {@code OutputStream}.
+ */
+public final class RowWriters {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private RowWriters() {
+    }
+
+    /**
+     * Creates a writer of newline delimited JSON, each row is serialized as a single line JSON document
+     *
+     * @param outputStream represents the target of the export
+     * @param objectMapper serializes the rows
+     * @param <R>          type of the rows
+     * @return NDJSON {@code RowWriter}
+     */
+    public static <R> RowWriter<R> ndjson(OutputStream outputStream, ObjectMapper objectMapper) {
+        Objects.requireNonNull(outputStream, "an output stream must be supplied");
+        final ObjectWriter objectWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        final Writer writer = writer(outputStream);
+        return new RowWriter<>() {
+            @Override
+            public void write(R row) throws IOException {
+                objectWriter.writeValue(writer, row);
+                writer.write('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    /**
+     * Creates a writer of RFC 4180 comma separated values, the {@code header} is written before the first row.
+     * Values are written by their string form, e.g. ISO-8601 for dates, and {@code null} as an empty field.
+     *
+     * @param outputStream represents the target of the export
+     * @param header       column names, nothing is written if empty
+     * @return CSV {@code RowWriter} of rows given as column values
+     */
+    public static RowWriter<Object[]> csv(OutputStream outputStream, String... header) {
+        Objects.requireNonNull(outputStream, "an output stream must be supplied");
+        final Writer writer = writer(outputStream);
+        return new RowWriter<>() {
+            private boolean headerWritten = header.length == 0;
+
+            @Override
+            public void write(Object[] row) throws IOException {
+                if (!headerWritten) {
+                    writeRecord(writer, header);
+                    headerWritten = true;
+                }
+                writeRecord(writer, row);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (!headerWritten) {
+                    writeRecord(writer, header);
+                    headerWritten = true;
+                }
+                writer.flush();
+            }
+        };
+    }
+
+    private static void writeRecord(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeField(writer, (String) OperandConverters.convert(values[i], String.class));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        var quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            final char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static Writer writer(OutputStream outputStream) {
+        return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
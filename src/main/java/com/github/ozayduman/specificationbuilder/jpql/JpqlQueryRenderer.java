@@ -0,0 +1,462 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.jpql;
+
+import com.github.ozayduman.specificationbuilder.CriteriaGroup;
+import com.github.ozayduman.specificationbuilder.CriteriaNormalizer;
+import com.github.ozayduman.specificationbuilder.InLists;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.JoinPath;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders a {@code CriteriaDTO} straight to deterministic JPQL text with named parameters, as an alternative to
+ * building the query through the JPA Criteria API on every request.
+ * <p>{@code IN} and {@code NOT_IN} lists are split into chunks according to the {@code InListStrategy} of the schema,
+ * which are combined by {@code OR} and {@code AND} respectively, lists are never staged by this renderer.</p>
+ * <p>The JPQL text is cached per criteria shape (properties, operators, number of chunks, join paths and sort orders, ignoring values),
+ * so every request having the same shape produces identical query text and only its parameter values differ.
+ * The text is cached rather than a parsed query, since a {@code TypedQuery} belongs to its {@code EntityManager}:
+ * Hibernate caches the compiled plan of a query by its text, hence requests of a known shape skip both rendering and
+ * parsing, and identical SQL lets the statement cache of the JDBC driver and the plan cache of the database hit.</p>
+ * <p>Sample usage:</p>
+ * <pre>
+ * {@code private static final JpqlQueryRenderer<Employee> RENDERER = JpqlQueryRenderer.of(Employee.class, SCHEMA);
+ *
+ *        Page<Employee> page = RENDERER.findAll(entityManager, pageRequestDTO, pageRequest);}
+ * </pre>
+ *
+ * @param <T> the root entity type supplied to this renderer.
+ */
+public final class JpqlQueryRenderer<T> {
+    private static final int MAX_CACHED_SHAPES = 1024;
+    private static final String ROOT_ALIAS = "e";
+    private static final char SEPARATOR = '\u0000';
+
+    private final Class<T> entityClass;
+    private final String entityName;
+    private final SpecificationSchema<T> schema;
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    private JpqlQueryRenderer(Class<T> entityClass, SpecificationSchema<T> schema) {
+        this.entityClass = entityClass;
+        this.entityName = entityNameOf(entityClass);
+        this.schema = schema;
+    }
+
+    /**
+     * Static Factory method that creates {@code JpqlQueryRenderer}
+     *
+     * @param entityClass root entity type
+     * @param schema      compiled bindings of the dto properties
+     * @param <T>         the root entity type supplied to this renderer.
+     * @return a new {@code JpqlQueryRenderer}
+     */
+    public static <T> JpqlQueryRenderer<T> of(Class<T> entityClass, SpecificationSchema<T> schema) {
+        Objects.requireNonNull(entityClass, "entity class can not be null");
+        Objects.requireNonNull(schema, "schema can not be null");
+        return new JpqlQueryRenderer<>(entityClass, schema);
+    }
+
+    /**
+     * Renders the given {@code criteriaDTO} or reuses the cached JPQL text of its shape and binds its values
+     *
+     * @param criteriaDTO or {@link com.github.ozayduman.specificationbuilder.dto.PageRequestDTO} is a DTO from client-side holding criteria information
+     * @param sort        sort orders whose properties are dto properties bound by the schema, except through a collection,
+     *                    or property names of the root entity
+     * @return {@code RenderedQuery}
+     */
+    public RenderedQuery render(CriteriaDTO criteriaDTO, Sort sort) {
+        Objects.requireNonNull(criteriaDTO, "a criteria DTO must not be supplied");
+        final var raw = CriteriaGroup.of(criteriaDTO);
+        raw.getAllOperations().forEach(this::bindingOf);
+        final var criteria = CriteriaNormalizer.normalize(raw, schema);
+        final List<AbstractOperation> operations = criteria.getAllOperations();
+        final Binding[] bindings = new Binding[operations.size()];
+        final Comparable<?>[][][] inLists = new Comparable<?>[bindings.length][][];
+        for (int i = 0; i < bindings.length; i++) {
+            bindings[i] = bindingOf(operations.get(i));
+            inLists[i] = inListOf(operations.get(i), bindings[i]);
+        }
+        final var shape = new StringBuilder();
+        appendShape(shape, criteria);
+        for (Comparable<?>[][] chunks : inLists) {
+            if (chunks != null) {
+                shape.append(SEPARATOR).append(chunks.length);
+            }
+        }
+        for (Sort.Order order : sort) {
+            shape.append(SEPARATOR).append(order.getProperty()).append(SEPARATOR).append(order.getDirection())
+                    .append(order.isIgnoreCase()).append(order.getNullHandling());
+        }
+        final var key = shape.toString();
+        var template = templates.get(key);
+        if (template == null) {
+            template = createTemplate(criteria, operations, bindings, inLists, sort);
+            if (templates.size() < MAX_CACHED_SHAPES) {
+                templates.putIfAbsent(key, template);
+            }
+        }
+        return new RenderedQuery(template.query, template.countQuery, bindParameters(operations, bindings, inLists), criteria.isUnsatisfiable());
+    }
+
+    /**
+     * Executes the rendered query page by page
+     *
+     * @param entityManager used to create the queries
+     * @param criteriaDTO   or {@link com.github.ozayduman.specificationbuilder.dto.PageRequestDTO} is a DTO from client-side holding criteria information
+     * @param pageable      requested page and sort orders
+     * @return {@code Page}
+     */
+    public Page<T> findAll(EntityManager entityManager, CriteriaDTO criteriaDTO, Pageable pageable) {
+        final var renderedQuery = render(criteriaDTO, pageable.getSort());
+        if (renderedQuery.isUnsatisfiable()) {
+            return Page.empty(pageable);
+        }
+        final TypedQuery<T> query = renderedQuery.bind(entityManager.createQuery(renderedQuery.getQuery(), entityClass));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+                () -> renderedQuery.bind(entityManager.createQuery(renderedQuery.getCountQuery(), Long.class)).getSingleResult());
+    }
+
+    /**
+     * @return number of criteria shapes whose JPQL text is cached
+     */
+    public int getCachedShapeCount() {
+        return templates.size();
+    }
+
+    private Binding bindingOf(AbstractOperation operation) {
+        operation.validate();
+        final var binding = schema.getBinding(operation.getProperty());
+        Objects.requireNonNull(binding, () -> String.format("DTO property named : %s could not be found in eq map ", operation.getProperty()));
+        if (!binding.supports(operation.getOperator())) {
+            throw new IllegalArgumentException(String.format("operator %s is not applicable to property %s", operation.getOperator(), operation.getProperty()));
+        }
+        return binding;
+    }
+
+    /**
+     * @return the converted operands of an {@code IN} or {@code NOT_IN} operation split into chunks according to
+     * the {@link com.github.ozayduman.specificationbuilder.InListStrategy} of the schema, or null for other operations
+     */
+    private Comparable<?>[][] inListOf(AbstractOperation operation, Binding binding) {
+        if (operation.getOperator() != Operator.IN && operation.getOperator() != Operator.NOT_IN) {
+            return null;
+        }
+        final var operands = operation.getOperands();
+        final Comparable<?>[] values = new Comparable<?>[operands.length];
+        for (int j = 0; j < operands.length; j++) {
+            values[j] = binding.convert(operands[j]);
+        }
+        return InLists.chunk(values, schema.getInListStrategy().getChunkSize());
+    }
+
+    private static void appendShape(StringBuilder shape, CriteriaGroup group) {
+        shape.append(group.isUnsatisfiable() ? "!" : "").append(group.getType().ordinal()).append('(');
+        for (AbstractOperation operation : group.getOperations()) {
+            shape.append(operation.getProperty()).append(SEPARATOR).append(operation.getOperator().ordinal()).append(SEPARATOR);
+        }
+        group.getGroups().forEach(nested -> appendShape(shape, nested));
+        shape.append(')');
+    }
+
+    private Template createTemplate(CriteriaGroup criteria, List<AbstractOperation> operations, Binding[] bindings,
+                                    Comparable<?>[][][] inLists, Sort sort) {
+        final var from = new StringBuilder("from ").append(entityName).append(' ').append(ROOT_ALIAS);
+        final SortedMap<Integer, JoinPath> joinPaths = new TreeMap<>();
+        final Set<JoinPath> innerJoinPaths = new HashSet<>();
+        final Set<AbstractOperation> topLevel = Collections.newSetFromMap(new IdentityHashMap<>());
+        topLevel.addAll(criteria.getOperations());
+        for (int i = 0; i < bindings.length; i++) {
+            final var existsPath = bindings[i].getExistsPath();
+            final var inner = criteria.getGroups().isEmpty() || topLevel.contains(operations.get(i));
+            var joinPath = existsPath == null ? bindings[i].getJoinPath() : existsPath.getParent();
+            for (; !joinPath.isRoot(); joinPath = joinPath.getParent()) {
+                joinPaths.put(joinPath.getIndex(), joinPath);
+                if (inner) {
+                    innerJoinPaths.add(joinPath);
+                }
+            }
+        }
+        final List<String> orderPaths = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            orderPaths.add(orderPathOf(order.getProperty(), joinPaths));
+        }
+        for (JoinPath joinPath : joinPaths.values()) {
+            appendJoin(from.append(innerJoinPaths.contains(joinPath) ? " join " : " left join "), joinPath, null);
+        }
+        final Map<AbstractOperation, Integer> positions = new IdentityHashMap<>();
+        final String[] predicates = new String[bindings.length];
+        var parameter = 0;
+        for (int i = 0; i < bindings.length; i++) {
+            positions.put(operations.get(i), i);
+            final var predicate = new StringBuilder();
+            final var path = aliasOf(bindings[i].getJoinPath(), bindings[i].getExistsPath()) + '.' + bindings[i].getAttribute().getName();
+            final var chunkCount = inLists[i] == null ? 1 : inLists[i].length;
+            parameter = appendPredicate(predicate, path, operations.get(i).getOperator(), chunkCount, parameter);
+            predicates[i] = predicate.toString();
+        }
+        final var where = new StringBuilder();
+        if (criteria.isUnsatisfiable()) {
+            where.append(" where 1 = 0");
+        } else if (!criteria.isEmpty()) {
+            appendGroup(where.append(" where "), criteria, positions, bindings, predicates);
+        }
+        final var orderBy = new StringBuilder();
+        var index = 0;
+        for (Sort.Order order : sort) {
+            orderBy.append(orderBy.length() == 0 ? " order by " : ", ");
+            appendOrder(orderBy, orderPaths.get(index++), order);
+        }
+        return new Template("select " + ROOT_ALIAS + ' ' + from + where + orderBy,
+                "select count(" + ROOT_ALIAS + ") " + from + where);
+    }
+
+    /**
+     * Appends the members of {@code group} combined by its type, predicates on the same collection rendered in one {@code EXISTS} subquery
+     */
+    private void appendGroup(StringBuilder where, CriteriaGroup group, Map<AbstractOperation, Integer> positions,
+                             Binding[] bindings, String[] predicates) {
+        final var separator = group.isConjunctive() ? " and " : " or ";
+        final Set<JoinPath> existsPaths = new HashSet<>();
+        final var operations = group.isConjunctive() ? schema.orderConjuncts(group.getOperations()) : group.getOperations();
+        var first = true;
+        for (AbstractOperation operation : operations) {
+            final int position = positions.get(operation);
+            final var existsPath = bindings[position].getExistsPath();
+            if (existsPath != null && !existsPaths.add(existsPath)) {
+                continue;
+            }
+            where.append(first ? "" : separator);
+            first = false;
+            if (existsPath == null) {
+                where.append(predicates[position]);
+            } else {
+                appendExists(where, existsPath, group, positions, bindings, predicates);
+            }
+        }
+        for (CriteriaGroup nested : group.getGroups()) {
+            where.append(first ? "" : separator).append(nested.getType() == CriteriaGroupDTO.Type.NOT ? "not (" : "(");
+            first = false;
+            appendGroup(where, nested, positions, bindings, predicates);
+            where.append(')');
+        }
+    }
+
+    /**
+     * Appends the correlated {@code EXISTS} subquery of the predicates of {@code group} on the collection joined by {@code existsPath}
+     */
+    private void appendExists(StringBuilder where, JoinPath existsPath, CriteriaGroup group, Map<AbstractOperation, Integer> positions,
+                                     Binding[] bindings, String[] predicates) {
+        final SortedMap<Integer, JoinPath> joinPaths = new TreeMap<>();
+        final List<String> members = new ArrayList<>();
+        final var operations = group.isConjunctive() ? schema.orderConjuncts(group.getOperations()) : group.getOperations();
+        for (AbstractOperation operation : operations) {
+            final int position = positions.get(operation);
+            if (bindings[position].getExistsPath() == existsPath) {
+                for (var joinPath = bindings[position].getJoinPath(); joinPath != existsPath; joinPath = joinPath.getParent()) {
+                    joinPaths.put(joinPath.getIndex(), joinPath);
+                }
+                members.add(predicates[position]);
+            }
+        }
+        where.append("exists (select ").append(aliasOf(existsPath, existsPath)).append(" from ");
+        appendJoin(where, existsPath, existsPath);
+        for (JoinPath joinPath : joinPaths.values()) {
+            appendJoin(where.append(" join "), joinPath, existsPath);
+        }
+        where.append(" where ").append(String.join(group.isConjunctive() ? " and " : " or ", members)).append(')');
+    }
+
+    private static void appendJoin(StringBuilder from, JoinPath joinPath, JoinPath existsPath) {
+        from.append(aliasOf(joinPath.getParent(), existsPath)).append('.').append(joinPath.getAttribute().getName()).append(' ').append(aliasOf(joinPath, existsPath));
+    }
+
+    /**
+     * @param chunkCount number of chunks of an {@code IN} or {@code NOT_IN} list, which are combined by {@code OR} and {@code AND} respectively
+     * @return the next free parameter number
+     */
+    private static int appendPredicate(StringBuilder where, String path, Operator operator, int chunkCount, int parameter) {
+        if (chunkCount > 1) {
+            where.append('(');
+            for (int i = 0; i < chunkCount; i++) {
+                where.append(i == 0 ? "" : operator == Operator.IN ? " or " : " and ");
+                parameter = appendPredicate(where, path, operator, 1, parameter);
+            }
+            where.append(')');
+            return parameter;
+        }
+        where.append(path);
+        switch (operator) {
+            case EQ -> where.append(" = :p").append(parameter++);
+            case NOT_EQ -> where.append(" <> :p").append(parameter++);
+            case GT -> where.append(" > :p").append(parameter++);
+            case GE -> where.append(" >= :p").append(parameter++);
+            case LT -> where.append(" < :p").append(parameter++);
+            case LE -> where.append(" <= :p").append(parameter++);
+            case BT -> where.append(" between :p").append(parameter++).append(" and :p").append(parameter++);
+            case IN -> where.append(" in :p").append(parameter++);
+            case NOT_IN -> where.append(" not in :p").append(parameter++);
+            case NULL -> where.append(" is null");
+            case NOT_NULL -> where.append(" is not null");
+            case TRUE -> where.append(" = true");
+            case FALSE -> where.append(" = false");
+            case LIKE -> where.append(" like :p").append(parameter++);
+            case NOT_LIKE -> where.append(" not like :p").append(parameter++);
+        }
+        return parameter;
+    }
+
+    /**
+     * Resolves a sort property: a dto property bound by the schema is sorted by its entity property, whose join path is
+     * added to {@code joinPaths} unless it goes through a collection, any other property must be a property of the root entity
+     */
+    private String orderPathOf(String property, SortedMap<Integer, JoinPath> joinPaths) {
+        final var binding = schema.getBinding(property);
+        if (binding == null) {
+            for (int i = 0; i < property.length(); i++) {
+                if (!Character.isJavaIdentifierPart(property.charAt(i))) {
+                    throw new IllegalArgumentException(String.format("illegal sort property %s", property));
+                }
+            }
+            if (ReflectionUtils.findField(entityClass, property) == null && BeanUtils.getPropertyDescriptor(entityClass, property) == null) {
+                throw new IllegalArgumentException(String.format("sort property %s is neither a bound dto property nor a property of %s",
+                        property, entityName));
+            }
+            return ROOT_ALIAS + '.' + property;
+        }
+        for (var joinPath = binding.getJoinPath(); !joinPath.isRoot(); joinPath = joinPath.getParent()) {
+            if (joinPath.getAttribute().isCollection()) {
+                throw new IllegalArgumentException(String.format("sort property %s is bound through the collection %s",
+                        property, joinPath.getAttribute().getName()));
+            }
+        }
+        for (var joinPath = binding.getJoinPath(); !joinPath.isRoot(); joinPath = joinPath.getParent()) {
+            joinPaths.put(joinPath.getIndex(), joinPath);
+        }
+        return aliasOf(binding.getJoinPath(), null) + '.' + binding.getAttribute().getName();
+    }
+
+    private static void appendOrder(StringBuilder orderBy, String path, Sort.Order order) {
+        orderBy.append(order.isIgnoreCase() ? "lower(" + path + ')' : path)
+                .append(order.isAscending() ? " asc" : " desc");
+        switch (order.getNullHandling()) {
+            case NULLS_FIRST -> orderBy.append(" nulls first");
+            case NULLS_LAST -> orderBy.append(" nulls last");
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Binds values in the same order {@link #appendPredicate} numbers the parameters
+     */
+    private static Map<String, Object> bindParameters(List<AbstractOperation> operations, Binding[] bindings, Comparable<?>[][][] inLists) {
+        final Map<String, Object> parameters = new HashMap<>();
+        var parameter = 0;
+        for (int i = 0; i < bindings.length; i++) {
+            final var binding = bindings[i];
+            final var operation = operations.get(i);
+            final var operands = operation.getOperands();
+            switch (operation.getOperator()) {
+                case NULL, NOT_NULL, TRUE, FALSE -> {
+                }
+                case IN, NOT_IN -> {
+                    for (Comparable<?>[] chunk : inLists[i]) {
+                        parameters.put("p" + parameter++, Arrays.asList(chunk));
+                    }
+                }
+                case BT -> {
+                    parameters.put("p" + parameter++, binding.convert(operands[0]));
+                    parameters.put("p" + parameter++, binding.convert(operands[1]));
+                }
+                case LIKE, NOT_LIKE -> parameters.put("p" + parameter++, String.format("%%%s%%", operands[0]));
+                default -> parameters.put("p" + parameter++, binding.convert(operands[0]));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * @return alias of {@code joinPath}, nodes within the {@code EXISTS} subquery of {@code existsPath} are aliased distinctly
+     */
+    private static String aliasOf(JoinPath joinPath, JoinPath existsPath) {
+        if (joinPath.isRoot()) {
+            return ROOT_ALIAS;
+        }
+        for (var node = joinPath; existsPath != null && !node.isRoot(); node = node.getParent()) {
+            if (node == existsPath) {
+                return "s" + joinPath.getIndex();
+            }
+        }
+        return "j" + joinPath.getIndex();
+    }
+
+    private static String entityNameOf(Class<?> entityClass) {
+        final var entity = entityClass.getAnnotation(Entity.class);
+        return entity != null && !entity.name().isEmpty() ? entity.name() : entityClass.getSimpleName();
+    }
+
+    /**
+     * Holds the JPQL text rendered for a criteria shape
+     */
+    private static final class Template {
+        private final String query;
+        private final String countQuery;
+
+        private Template(String query, String countQuery) {
+            this.query = query;
+            this.countQuery = countQuery;
+        }
+    }
+}
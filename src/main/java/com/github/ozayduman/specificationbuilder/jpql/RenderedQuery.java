@@ -0,0 +1,94 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.jpql;
+
+import javax.persistence.Query;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Holds the JPQL text of a criteria shape together with the values of its named parameters for a single request.
+ */
+public final class RenderedQuery {
+    private final String query;
+    private final String countQuery;
+    private final Map<String, Object> parameters;
+    private final boolean unsatisfiable;
+
+    RenderedQuery(String query, String countQuery, Map<String, Object> parameters, boolean unsatisfiable) {
+        this.query = query;
+        this.countQuery = countQuery;
+        this.parameters = Collections.unmodifiableMap(parameters);
+        this.unsatisfiable = unsatisfiable;
+    }
+
+    /**
+     * @return JPQL text selecting the root entity, identical for every request having the same shape
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return JPQL text counting the root entity, identical for every request having the same shape
+     */
+    public String getCountQuery() {
+        return countQuery;
+    }
+
+    /**
+     * @return values of the named parameters keyed by parameter name
+     */
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return true if the criteria provably match nothing, hence the queries need not be executed
+     */
+    public boolean isUnsatisfiable() {
+        return unsatisfiable;
+    }
+
+    /**
+     * Binds the named parameters of this request to the given {@code query}
+     *
+     * @param query created from {@link #getQuery()} or {@link #getCountQuery()}
+     * @param <Q>   type of the query
+     * @return the given {@code query}
+     */
+    public <Q extends Query> Q bind(Q query) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -0,0 +1,504 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.SortDTO;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveMultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveRangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveType;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Parses {@code CriteriaDTO} and {@code PageRequestDTO} JSON in a single streaming pass using the bindings of a schema.
+ * Unlike the polymorphic deserialization of {@link AbstractOperation}, an operation is not buffered to find its operator,
+ * its operands are read straight into the type of the bound entity property (e.g. {@code Long}, {@code LocalDate}, enum)
+ * and unknown properties or inapplicable operators are rejected as soon as they are read.
+ * Operands preceding the {@code property} or {@code operator} of their operation are buffered until both are known.
+ * <pre>
+ * {@code private static final CriteriaReader READER = CriteriaReader.of(SCHEMA);
+ *
+ *        PageRequestDTO pageRequestDTO = READER.readPageRequest(request.getInputStream());}
+ * </pre>
+ */
+public final class CriteriaReader {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final TypeReference<Map<String, Object>> EXTRAS_TYPE = new TypeReference<>() {
+    };
+    private static final int INITIAL_CAPACITY = 16;
+    private final SpecificationSchema<?> schema;
+
+    private CriteriaReader(SpecificationSchema<?> schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * @param schema bindings of the properties that can be sent by the client-side
+     * @return a new {@code CriteriaReader}
+     */
+    public static CriteriaReader of(SpecificationSchema<?> schema) {
+        Objects.requireNonNull(schema, "schema can not be null");
+        return new CriteriaReader(schema);
+    }
+
+    /**
+     * @param inputStream JSON of a {@code CriteriaDTO}
+     * @return {@code CriteriaDTO}
+     * @throws IOException if the JSON is malformed or refers to an unbound property
+     */
+    public CriteriaDTO readCriteria(InputStream inputStream) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            parser.nextToken();
+            return readCriteria(parser);
+        }
+    }
+
+    /**
+     * @param inputStream JSON of a {@code PageRequestDTO}
+     * @return {@code PageRequestDTO}
+     * @throws IOException if the JSON is malformed or refers to an unbound property
+     */
+    public PageRequestDTO readPageRequest(InputStream inputStream) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            parser.nextToken();
+            return readPageRequest(parser);
+        }
+    }
+
+    /**
+     * @param parser positioned at the start of a {@code CriteriaDTO} object
+     * @return {@code CriteriaDTO}
+     * @throws IOException if the JSON is malformed or refers to an unbound property
+     */
+    public CriteriaDTO readCriteria(JsonParser parser) throws IOException {
+        final var criteriaDTO = new CriteriaDTO();
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var field = parser.getCurrentName();
+            parser.nextToken();
+            if (!readCriteriaField(parser, field, criteriaDTO)) {
+                parser.skipChildren();
+            }
+        }
+        return criteriaDTO;
+    }
+
+    /**
+     * @param parser positioned at the start of a {@code PageRequestDTO} object
+     * @return {@code PageRequestDTO}
+     * @throws IOException if the JSON is malformed or refers to an unbound property
+     */
+    public PageRequestDTO readPageRequest(JsonParser parser) throws IOException {
+        final var pageRequestDTO = new PageRequestDTO();
+        expect(parser, JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "sortFields" -> pageRequestDTO.setSortFields(readSortFields(parser));
+                case "page" -> pageRequestDTO.setPage(parser.getValueAsInt());
+                case "size" -> pageRequestDTO.setSize(parser.getValueAsInt());
+                case "cursor" -> pageRequestDTO.setCursor(parser.getValueAsString());
+                case "slice" -> pageRequestDTO.setSlice(parser.getValueAsBoolean());
+                default -> {
+                    if (!readCriteriaField(parser, field, pageRequestDTO)) {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return pageRequestDTO;
+    }
+
+    /**
+     * @return a {@code JsonDeserializer} delegating to {@link #readCriteria(JsonParser)}, e.g. to be registered on the {@code ObjectMapper} of an endpoint
+     */
+    public JsonDeserializer<CriteriaDTO> criteriaDeserializer() {
+        return new JsonDeserializer<>() {
+            @Override
+            public CriteriaDTO deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                return readCriteria(parser);
+            }
+        };
+    }
+
+    /**
+     * @return a {@code JsonDeserializer} delegating to {@link #readPageRequest(JsonParser)}, e.g. to be registered on the {@code ObjectMapper} of an endpoint
+     */
+    public JsonDeserializer<PageRequestDTO> pageRequestDeserializer() {
+        return new JsonDeserializer<>() {
+            @Override
+            public PageRequestDTO deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                return readPageRequest(parser);
+            }
+        };
+    }
+
+    /**
+     * @return false if {@code field} is not a field of {@code CriteriaDTO}
+     */
+    private boolean readCriteriaField(JsonParser parser, String field, CriteriaDTO criteriaDTO) throws IOException {
+        switch (field) {
+            case "operations" -> criteriaDTO.setOperations(readOperations(parser));
+            case "groups" -> criteriaDTO.setGroups(readGroups(parser));
+            case "extras" -> criteriaDTO.setExtras(parser.currentToken() == JsonToken.VALUE_NULL ? null : codecOf(parser).readValue(parser, EXTRAS_TYPE));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<CriteriaGroupDTO> readGroups(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_ARRAY);
+        final List<CriteriaGroupDTO> groups = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            groups.add(readGroup(parser));
+        }
+        return groups;
+    }
+
+    private CriteriaGroupDTO readGroup(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        final var group = new CriteriaGroupDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "type" -> group.setType(parser.currentToken() == JsonToken.VALUE_NULL ? null : enumOf(parser, CriteriaGroupDTO.Type.class));
+                case "operations" -> group.setOperations(readOperations(parser));
+                case "groups" -> group.setGroups(readGroups(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return group;
+    }
+
+    private List<AbstractOperation> readOperations(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_ARRAY);
+        final List<AbstractOperation> operations = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            operations.add(readOperation(parser));
+        }
+        return operations;
+    }
+
+    private AbstractOperation readOperation(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        String property = null;
+        Binding binding = null;
+        Operator operator = null;
+        Object value = null;
+        TokenBuffer pending = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "property" -> {
+                    property = parser.getValueAsString();
+                    binding = bindingOf(parser, property);
+                }
+                case "operator" -> operator = enumOf(parser, Operator.class);
+                case "value" -> {
+                    if (binding != null && operator != null) {
+                        value = readOperand(parser, binding, operator);
+                    } else {
+                        pending = new TokenBuffer(parser);
+                        pending.copyCurrentStructure(parser);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (binding == null || operator == null) {
+            throw new JsonParseException(parser, "an operation must have a property and an operator");
+        }
+        if (!binding.supports(operator)) {
+            throw new JsonParseException(parser, String.format("operator %s is not applicable to property %s", operator, property));
+        }
+        if (pending != null) {
+            try (JsonParser buffered = pending.asParser(parser.getCodec())) {
+                buffered.nextToken();
+                value = readOperand(buffered, binding, operator);
+            }
+        }
+        return switch (operator) {
+            case IN, NOT_IN -> value instanceof long[]
+                    ? new PrimitiveMultiValueOperation(property, operator, PrimitiveType.of(binding.getOperandType()), (long[]) value)
+                    : new MultiValueOperation(property, operator, (Object[]) value);
+            case BT -> rangeOperation(property, binding, (RangeDTO) value);
+            case NULL, NOT_NULL, TRUE, FALSE -> new NoValueOperation(property, operator);
+            default -> new SingleValueOperation(property, operator, value);
+        };
+    }
+
+    /**
+     * @return a {@link PrimitiveRangeValueOperation} if the operand type of {@code binding} has a {@link PrimitiveType} and both bounds are given
+     */
+    private static AbstractOperation rangeOperation(String property, Binding binding, RangeDTO range) {
+        final var type = PrimitiveType.of(binding.getOperandType());
+        if (type == null || range == null || range.getLow() == null || range.getHigh() == null) {
+            return new RangeValueOperation(property, Operator.BT, range);
+        }
+        return new PrimitiveRangeValueOperation(property, Operator.BT, type, type.unbox(range.getLow()), type.unbox(range.getHigh()));
+    }
+
+    private Binding bindingOf(JsonParser parser, String property) throws IOException {
+        final var binding = property == null ? null : schema.getBinding(property);
+        if (binding == null) {
+            throw new JsonParseException(parser, String.format("DTO property named : %s could not be found in eq map ", property));
+        }
+        return binding;
+    }
+
+    private static Object readOperand(JsonParser parser, Binding binding, Operator operator) throws IOException {
+        switch (operator) {
+            case IN, NOT_IN -> {
+                return readOperands(parser, binding);
+            }
+            case BT -> {
+                return readRange(parser, binding);
+            }
+            case NULL, NOT_NULL, TRUE, FALSE -> {
+                parser.skipChildren();
+                return null;
+            }
+            default -> {
+                return readScalar(parser, binding);
+            }
+        }
+    }
+
+    /**
+     * Reads the array into an {@code Object[]} grown by doubling, so that large lists are not collected into intermediate collections.
+     * Operands of a type having a {@link PrimitiveType} are read into a {@code long[]} unless there is a {@literal null} operand.
+     */
+    private static Object readOperands(JsonParser parser, Binding binding) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_ARRAY);
+        final var type = PrimitiveType.of(binding.getOperandType());
+        Object[] values = null;
+        int size = 0;
+        if (type != null) {
+            long[] encoded = new long[INITIAL_CAPACITY];
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                final var value = readEncoded(parser, binding, type, encoded, size);
+                if (value != null) {
+                    encoded = value;
+                    size++;
+                    continue;
+                }
+                values = new Object[Math.max(size * 2, INITIAL_CAPACITY)];
+                for (int i = 0; i < size; i++) {
+                    values[i] = type.box(encoded[i]);
+                }
+                values[size++] = null;
+                break;
+            }
+            if (values == null) {
+                return size == encoded.length ? encoded : Arrays.copyOf(encoded, size);
+            }
+        } else {
+            values = new Object[INITIAL_CAPACITY];
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = readScalar(parser, binding);
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Stores the scalar operand at {@code index} of {@code encoded}, numbers of the operand type are read without boxing
+     *
+     * @return {@code encoded} or a larger copy of it holding the operand, or {@literal null} if the operand is {@literal null}
+     */
+    private static long[] readEncoded(JsonParser parser, Binding binding, PrimitiveType type, long[] encoded, int index) throws IOException {
+        final long value;
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT && (type == PrimitiveType.LONG || type == PrimitiveType.INT)) {
+            value = type == PrimitiveType.LONG ? parser.getLongValue() : parser.getIntValue();
+        } else if (parser.currentToken() == JsonToken.VALUE_NUMBER_FLOAT && type == PrimitiveType.DOUBLE) {
+            value = type.unbox(parser.getDoubleValue());
+        } else {
+            final var scalar = readScalar(parser, binding);
+            if (scalar == null) {
+                return null;
+            }
+            value = type.unbox(scalar);
+        }
+        final long[] values = index == encoded.length ? Arrays.copyOf(encoded, index * 2) : encoded;
+        values[index] = value;
+        return values;
+    }
+
+    private static RangeDTO readRange(JsonParser parser, Binding binding) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_OBJECT);
+        final var range = new RangeDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "low" -> range.setLow(readScalar(parser, binding));
+                case "high" -> range.setHigh(readScalar(parser, binding));
+                default -> parser.skipChildren();
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Reads a scalar operand as the operand type of {@code binding}, numbers are read as the target type without an intermediate {@code Number}
+     */
+    private static Object readScalar(JsonParser parser, Binding binding) throws IOException {
+        final var operandType = binding.getOperandType();
+        try {
+            switch (parser.currentToken()) {
+                case VALUE_NULL -> {
+                    return null;
+                }
+                case VALUE_STRING -> {
+                    return binding.convert(parser.getText());
+                }
+                case VALUE_NUMBER_INT -> {
+                    if (operandType == Long.class) {
+                        return parser.getLongValue();
+                    } else if (operandType == Integer.class) {
+                        return parser.getIntValue();
+                    }
+                    return binding.convert(parser.getNumberValue());
+                }
+                case VALUE_NUMBER_FLOAT -> {
+                    if (operandType == Double.class) {
+                        return parser.getDoubleValue();
+                    } else if (operandType == BigDecimal.class) {
+                        return parser.getDecimalValue();
+                    }
+                    return binding.convert(parser.getNumberValue());
+                }
+                case VALUE_TRUE, VALUE_FALSE -> {
+                    return binding.convert(parser.getBooleanValue());
+                }
+                default -> throw new JsonParseException(parser, String.format("operand of %s must be a scalar value", binding.getDtoProperty()));
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new JsonParseException(parser, String.format("operand of %s can not be converted to %s", binding.getDtoProperty(), operandType.getSimpleName()), e);
+        }
+    }
+
+    private static SortDTO[] readSortFields(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_ARRAY);
+        final List<SortDTO> sortFields = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser, JsonToken.START_OBJECT);
+            final var sortField = new SortDTO();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final var field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "property" -> sortField.setProperty(parser.getValueAsString());
+                    case "direction" -> sortField.setDirection(enumOf(parser, SortDTO.Direction.class));
+                    default -> parser.skipChildren();
+                }
+            }
+            sortFields.add(sortField);
+        }
+        return sortFields.toArray(new SortDTO[0]);
+    }
+
+    private static <E extends Enum<E>> E enumOf(JsonParser parser, Class<E> enumType) throws IOException {
+        final var name = parser.getValueAsString();
+        try {
+            return Enum.valueOf(enumType, Objects.requireNonNull(name, () -> enumType.getSimpleName() + " can not be null"));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new JsonParseException(parser, String.format("illegal %s %s", enumType.getSimpleName(), name), e);
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken token) throws IOException {
+        if (parser.currentToken() != token) {
+            throw new JsonParseException(parser, String.format("expected %s but found %s", token, parser.currentToken()));
+        }
+    }
+
+    private static ObjectCodec codecOf(JsonParser parser) {
+        return parser.getCodec() != null ? parser.getCodec() : OBJECT_MAPPER;
+    }
+}
@@ -0,0 +1,722 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.github.ozayduman.specificationbuilder.memory;
+
+import com.github.ozayduman.specificationbuilder.CriteriaGroup;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.JoinPath;
+import com.github.ozayduman.specificationbuilder.cache.CommittedChanges;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO.Type;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.IdentifiableType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * An in-process snapshot of the entities of a read-mostly type answering {@code CriteriaDTO} queries from indexes
+ * instead of the database. Each property bound on the root entity by the schema is indexed by:
+ * <ul>
+ *     <li>a hash index mapping each value to the set of rows holding it, for {@code EQ}, {@code IN}, {@code TRUE}, {@code FALSE}
+ *     and their negations, the rows holding no value answer {@code NULL} and {@code NOT_NULL}</li>
+ *     <li>a sorted index, the rows ordered by their values, for {@code GT}, {@code GE}, {@code LT}, {@code LE} and {@code BT}</li>
+ * </ul>
+ * Row sets of few rows are kept as arrays of row numbers and turn into bitmaps as they grow, so that unique properties
+ * don't cost a bitmap per value. Criteria are answered by combining the row sets of their operations; operations that
+ * can't be answered by an index (e.g. {@code LIKE} or properties of joined entities) are evaluated by a
+ * {@link PredicateCompiler} on the rows matching the indexed operations of the top-level group.
+ * <p>The snapshot is loaded by {@link #load(Collection)} and kept up to date by {@link #put(Object)} and {@link #remove(Object)},
+ * or by the committed changes of the entities once {@link #subscribe(EntityManagerFactory)} is called. Sorted indexes are rebuilt
+ * by the first query following a change. Entities are shared with the callers, so they must not be changed outside of a transaction and
+ * their lazy associations should be initialized before they are put. If the entity has a {@code @Version} attribute,
+ * an entity older than the one held is not put.</p>
+ * <p>Sample usage:</p>
+ * <pre>
+ * {@code private static final IndexedDataset<Country> COUNTRIES = IndexedDataset.of(SCHEMA, Country_.id).subscribe(entityManagerFactory);
+ *
+ *        COUNTRIES.load(countryRepository.findAll());
+ *        Page<Country> page = COUNTRIES.findAll(pageRequestDTO);}
+ * </pre>
+ *
+ * @param <T> the root entity type supplied to this dataset.
+ */
+public final class IndexedDataset<T> {
+    private final SpecificationSchema<T> schema;
+    private final PredicateCompiler<T> compiler;
+    private final Class<?> entityType;
+    private final Function<Object, Object> idGetter;
+    private final Function<Object, Object> versionGetter;
+    private final Map<String, AttributeIndex> indexes = new LinkedHashMap<>();
+    private final Map<Object, Integer> rowsById = new HashMap<>();
+    private final Map<Attribute<?, ?>, Function<Object, Object>> associationGetters = new ConcurrentHashMap<>();
+    private final BitSet live = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CommittedChanges.Listener listener = this::committed;
+    private volatile EntityManagerFactory entityManagerFactory;
+    private Object[] entities = new Object[16];
+    private volatile boolean sorted = true;
+
+    private IndexedDataset(SpecificationSchema<T> schema, SingularAttribute<? super T, ?> idAttribute) {
+        this.schema = schema;
+        this.compiler = PredicateCompiler.of(schema);
+        this.entityType = idAttribute.getDeclaringType().getJavaType();
+        this.idGetter = PropertyAccessors.getter(idAttribute);
+        this.versionGetter = versionGetterOf(idAttribute);
+        for (Binding binding : schema.getBindings().values()) {
+            if (binding.getJoinPath().isRoot()) {
+                indexes.put(binding.getDtoProperty(), new AttributeIndex(PropertyAccessors.getter(binding.getAttribute())));
+            }
+        }
+    }
+
+    /**
+     * Creates an empty {@code IndexedDataset} indexing the properties bound on the root entity by {@code schema}
+     *
+     * @param schema      the schema binding dto properties to entity properties
+     * @param idAttribute identifier of the root entity, entities are replaced and removed by their identifiers
+     * @param <T>         the root entity type
+     * @return {@code IndexedDataset}
+     */
+    public static <T> IndexedDataset<T> of(SpecificationSchema<T> schema, SingularAttribute<? super T, ?> idAttribute) {
+        Objects.requireNonNull(schema, "schema can not be null");
+        Objects.requireNonNull(idAttribute, "an identifier attribute must be supplied");
+        return new IndexedDataset<>(schema, idAttribute);
+    }
+
+    private static Function<Object, Object> versionGetterOf(SingularAttribute<?, ?> idAttribute) {
+        if (idAttribute.getDeclaringType() instanceof IdentifiableType) {
+            for (SingularAttribute<?, ?> attribute : ((IdentifiableType<?>) idAttribute.getDeclaringType()).getSingularAttributes()) {
+                if (attribute.isVersion()) {
+                    return PropertyAccessors.getter(attribute);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keeps this dataset up to date with the entities inserted, updated or deleted by committed transactions.
+     * Inserted and updated entities are reloaded by their identifiers on a new {@code EntityManager} and the associations
+     * on the bound join paths are initialized before it is closed, so that the snapshot doesn't hold the entities of
+     * the committing session. Reloading costs a round trip to the database per changed entity, made synchronously
+     * by the thread committing the change, so subscribing suits types changed rarely and in small numbers.
+     *
+     * @param entityManagerFactory creates the {@code EntityManager}s the changed entities are reloaded on
+     * @return this {@code IndexedDataset}
+     * @see CommittedChanges
+     */
+    public IndexedDataset<T> subscribe(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory, "an entity manager factory must be supplied");
+        CommittedChanges.register(entityType, listener);
+        return this;
+    }
+
+    /**
+     * Stops listening to the committed changes
+     */
+    public void unsubscribe() {
+        CommittedChanges.unregister(entityType, listener);
+    }
+
+    /**
+     * Changes of the same entity may be dispatched out of order, the reloaded entity is the latest committed one and
+     * an entity deleted in between is not found
+     */
+    @SuppressWarnings("unchecked")
+    private void committed(Object entity, boolean deleted) {
+        final var reloaded = deleted ? null : reload(idGetter.apply(entity));
+        if (reloaded == null) {
+            remove((T) entity);
+        } else {
+            put(reloaded);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T reload(Object id) {
+        final var entityManager = entityManagerFactory.createEntityManager();
+        try {
+            final T entity = entityManager.find((Class<T>) entityType, id);
+            if (entity != null) {
+                initialize(entity, schema.getRootPath());
+            }
+            return entity;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Initializes the associations of {@code entity} on the join paths below {@code joinPath}, recursively
+     */
+    private void initialize(Object entity, JoinPath joinPath) {
+        for (JoinPath child : joinPath.getChildren().values()) {
+            final var value = associationGetters.computeIfAbsent(child.getAttribute(), PropertyAccessors::getter).apply(entity);
+            if (value == null) {
+                continue;
+            }
+            Hibernate.initialize(value);
+            if (value instanceof Collection) {
+                for (Object element : (Collection<?>) value) {
+                    initialize(element, child);
+                }
+            } else {
+                initialize(Hibernate.unproxy(value), child);
+            }
+        }
+    }
+
+    /**
+     * Replaces the snapshot by {@code entities}
+     *
+     * @param entities entities of the snapshot
+     */
+    public void load(Collection<? extends T> entities) {
+        Objects.requireNonNull(entities, "entities can not be null");
+        lock.writeLock().lock();
+        try {
+            this.entities = new Object[Math.max(16, entities.size())];
+            rowsById.clear();
+            live.clear();
+            indexes.values().forEach(AttributeIndex::clear);
+            entities.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds {@code entity} or replaces the entity having the same identifier, unless the replaced one has a newer version
+     *
+     * @param entity the inserted or updated entity
+     */
+    public void put(T entity) {
+        final var id = Objects.requireNonNull(idGetter.apply(Objects.requireNonNull(entity, "entity can not be null")),
+                "entity identifier can not be null");
+        lock.writeLock().lock();
+        try {
+            var row = rowsById.get(id);
+            if (row == null) {
+                row = live.nextClearBit(0);
+                if (row == entities.length) {
+                    entities = Arrays.copyOf(entities, row * 2);
+                }
+                rowsById.put(id, row);
+                live.set(row);
+            } else if (isNewer(entities[row], entity)) {
+                return;
+            }
+            entities[row] = entity;
+            for (AttributeIndex index : indexes.values()) {
+                index.put(row, index.getter.apply(entity));
+            }
+            sorted = indexes.isEmpty();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean isNewer(Object held, Object entity) {
+        if (versionGetter == null) {
+            return false;
+        }
+        final var heldVersion = (Comparable<Object>) versionGetter.apply(held);
+        final var version = versionGetter.apply(entity);
+        return heldVersion != null && version != null && heldVersion.compareTo(version) > 0;
+    }
+
+    /**
+     * Removes the entity having the same identifier as {@code entity}, if any
+     *
+     * @param entity the deleted entity
+     */
+    public void remove(T entity) {
+        final var id = idGetter.apply(Objects.requireNonNull(entity, "entity can not be null"));
+        lock.writeLock().lock();
+        try {
+            final var row = rowsById.remove(id);
+            if (row != null) {
+                entities[row] = null;
+                live.clear(row);
+                indexes.values().forEach(index -> index.put(row, null));
+                sorted = indexes.isEmpty();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of entities in the snapshot
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param criteriaDTO is a DTO from client-side holding criteria information
+     * @return number of the entities matching the criteria
+     */
+    public long count(CriteriaDTO criteriaDTO) {
+        final var criteria = validate(criteriaDTO);
+        lockSorted();
+        try {
+            return select(criteriaDTO, criteria).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the page requested by {@code pageRequestDTO}, entities are ordered by their sort fields or by the order they were put
+     *
+     * @param pageRequestDTO is a DTO from client-side holding criteria, paging and sorting information
+     * @return the requested {@code Page}
+     */
+    @SuppressWarnings("unchecked")
+    public Page<T> findAll(PageRequestDTO pageRequestDTO) {
+        final var criteria = validate(pageRequestDTO);
+        final var pageable = PageRequest.of(pageRequestDTO.getPage(), pageRequestDTO.pageSize());
+        final var sortFields = pageRequestDTO.getSortFields();
+        final List<T> content = new ArrayList<>();
+        final int total;
+        lockSorted();
+        try {
+            final var rows = select(pageRequestDTO, criteria);
+            total = rows.cardinality();
+            if (sortFields == null || sortFields.length == 0) {
+                var row = rows.nextSetBit(0);
+                for (long skipped = 0; row >= 0 && skipped < pageable.getOffset(); skipped++) {
+                    row = rows.nextSetBit(row + 1);
+                }
+                for (; row >= 0 && content.size() < pageable.getPageSize(); row = rows.nextSetBit(row + 1)) {
+                    content.add((T) entities[row]);
+                }
+            } else {
+                final List<T> matches = new ArrayList<>(total);
+                rows.stream().forEach(row -> matches.add((T) entities[row]));
+                matches.sort(compiler.toComparator(sortFields));
+                final var from = (int) Math.min(pageable.getOffset(), total);
+                content.addAll(matches.subList(from, Math.min(from + pageable.getPageSize(), total)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Counts the entities matching the criteria per value of a property, e.g. to show the facets of a search
+     *
+     * @param criteriaDTO is a DTO from client-side holding criteria information
+     * @param dtoProperty represents the client property name of an indexed property
+     * @return number of the matching entities keyed by the values of the property, values matched by no entity are omitted
+     */
+    public Map<Object, Integer> facets(CriteriaDTO criteriaDTO, String dtoProperty) {
+        final var index = indexes.get(dtoProperty);
+        if (index == null) {
+            throw new IllegalArgumentException(String.format("property %s is not indexed", dtoProperty));
+        }
+        final var criteria = validate(criteriaDTO);
+        final Map<Object, Integer> facets = new HashMap<>();
+        lockSorted();
+        try {
+            final var rows = select(criteriaDTO, criteria);
+            index.rowsByValue.forEach((value, rowSet) -> {
+                final int count = rowSet.countIn(rows);
+                if (count > 0) {
+                    facets.put(value, count);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return facets;
+    }
+
+    private CriteriaGroup validate(CriteriaDTO criteriaDTO) {
+        Objects.requireNonNull(criteriaDTO, "a criteria DTO must not be supplied");
+        final var criteria = CriteriaGroup.of(criteriaDTO);
+        for (AbstractOperation operation : criteria.getAllOperations()) {
+            operation.validate();
+            final var binding = schema.getBinding(operation.getProperty());
+            Objects.requireNonNull(binding, () -> String.format("DTO property named : %s could not be found in eq map ", operation.getProperty()));
+            if (!binding.supports(operation.getOperator())) {
+                throw new IllegalArgumentException(String.format("operator %s is not applicable to property %s", operation.getOperator(), operation.getProperty()));
+            }
+        }
+        return criteria;
+    }
+
+    /**
+     * Acquires the read lock once the sorted indexes are rebuilt after the last change
+     */
+    private void lockSorted() {
+        while (true) {
+            if (!sorted) {
+                lock.writeLock().lock();
+                try {
+                    indexes.values().forEach(AttributeIndex::sort);
+                    sorted = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            lock.readLock().lock();
+            if (sorted) {
+                return;
+            }
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return rows matching the criteria, to be called while holding the read lock
+     */
+    private BitSet select(CriteriaDTO criteriaDTO, CriteriaGroup criteria) {
+        if (isIndexed(criteria)) {
+            return select(criteria, false);
+        }
+        final var rows = (BitSet) live.clone();
+        for (AbstractOperation operation : criteria.getOperations()) {
+            if (isIndexed(operation)) {
+                rows.and(select(operation, false));
+            }
+        }
+        final var predicate = compiler.toPredicate(criteriaDTO);
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            @SuppressWarnings("unchecked") final T entity = (T) entities[row];
+            if (!predicate.test(entity)) {
+                rows.clear(row);
+            }
+        }
+        return rows;
+    }
+
+    private boolean isIndexed(CriteriaGroup group) {
+        return group.getOperations().stream().allMatch(this::isIndexed) && group.getGroups().stream().allMatch(this::isIndexed);
+    }
+
+    private boolean isIndexed(AbstractOperation operation) {
+        return indexes.containsKey(operation.getProperty())
+                && operation.getOperator() != Operator.LIKE && operation.getOperator() != Operator.NOT_LIKE;
+    }
+
+    /**
+     * Negations are pushed down to the operations as {@link PredicateCompiler} does, so that rows holding no value
+     * match neither an operation nor its negation
+     */
+    private BitSet select(CriteriaGroup group, boolean negated) {
+        final boolean negate = group.getType() == Type.NOT ? !negated : negated;
+        final boolean conjunctive = group.isConjunctive() != negate;
+        BitSet rows = null;
+        for (AbstractOperation operation : group.getOperations()) {
+            rows = combine(rows, select(operation, negate), conjunctive);
+        }
+        for (CriteriaGroup nested : group.getGroups()) {
+            rows = combine(rows, select(nested, negate), conjunctive);
+        }
+        return rows == null ? (BitSet) live.clone() : rows;
+    }
+
+    private static BitSet combine(BitSet rows, BitSet other, boolean conjunctive) {
+        if (rows == null) {
+            return other;
+        }
+        if (conjunctive) {
+            rows.and(other);
+        } else {
+            rows.or(other);
+        }
+        return rows;
+    }
+
+    private BitSet select(AbstractOperation operation, boolean negated) {
+        final var binding = schema.getBinding(operation.getProperty());
+        final var index = indexes.get(operation.getProperty());
+        final Comparable<?>[] operands = operation.getOperands();
+        final Object[] values = new Object[operands.length];
+        for (int i = 0; i < operands.length; i++) {
+            values[i] = binding.convert(operands[i]);
+        }
+        final var operator = negated ? PredicateCompiler.complementOf(operation.getOperator()) : operation.getOperator();
+        final BitSet rows = switch (operator) {
+            case EQ -> index.equal(values[0]);
+            case NOT_EQ -> andNot(index.nonNull, index.equal(values[0]));
+            case IN -> index.in(values);
+            case NOT_IN -> Arrays.asList(values).contains(null) ? new BitSet() : andNot(index.nonNull, index.in(values));
+            case NULL -> andNot(live, index.nonNull);
+            case NOT_NULL -> (BitSet) index.nonNull.clone();
+            case TRUE -> index.equal(Boolean.TRUE);
+            case FALSE -> index.equal(Boolean.FALSE);
+            case GT -> index.range(values[0], false, null, false);
+            case GE -> index.range(values[0], true, null, false);
+            case LT -> index.range(null, false, values[0], false);
+            case LE -> index.range(null, false, values[0], true);
+            case BT -> index.range(values[0], true, values[1], true);
+            case LIKE, NOT_LIKE -> throw new IllegalStateException(String.format("operator %s is not indexed", operator));
+        };
+        return negated && operator == Operator.BT ? andNot(index.nonNull, rows) : rows;
+    }
+
+    private static BitSet andNot(BitSet rows, BitSet excluded) {
+        final var result = (BitSet) rows.clone();
+        result.andNot(excluded);
+        return result;
+    }
+
+    /**
+     * Hash and sorted indexes of a property, {@code values} holds the indexed value of each row
+     */
+    private static final class AttributeIndex {
+        private final Function<Object, Object> getter;
+        private final Map<Object, RowSet> rowsByValue = new HashMap<>();
+        private final BitSet nonNull = new BitSet();
+        private Object[] values = new Object[16];
+        private int[] sortedRows = new int[0];
+
+        private AttributeIndex(Function<Object, Object> getter) {
+            this.getter = getter;
+        }
+
+        private void clear() {
+            rowsByValue.clear();
+            nonNull.clear();
+            values = new Object[16];
+            sortedRows = new int[0];
+        }
+
+        private void put(int row, Object value) {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, Math.max(row + 1, values.length * 2));
+            }
+            final var previous = values[row];
+            if (previous != null) {
+                final var rowSet = rowsByValue.get(previous);
+                if (rowSet.remove(row)) {
+                    rowsByValue.remove(previous);
+                }
+            }
+            values[row] = value;
+            nonNull.set(row, value != null);
+            if (value != null) {
+                rowsByValue.computeIfAbsent(value, key -> new RowSet()).add(row);
+            }
+        }
+
+        /**
+         * Orders the rows holding a value by their values
+         */
+        private void sort() {
+            final int[] rows = nonNull.stream().toArray();
+            sortRows(rows, values);
+            sortedRows = rows;
+        }
+
+        private BitSet equal(Object value) {
+            final var rows = new BitSet();
+            final var rowSet = rowsByValue.get(value);
+            if (rowSet != null) {
+                rowSet.addTo(rows);
+            }
+            return rows;
+        }
+
+        private BitSet in(Object[] values) {
+            final var rows = new BitSet();
+            for (Object value : values) {
+                final var rowSet = value == null ? null : rowsByValue.get(value);
+                if (rowSet != null) {
+                    rowSet.addTo(rows);
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * @param from lower bound or {@code null} if there is none
+         * @param to   upper bound or {@code null} if there is none
+         */
+        private BitSet range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+            final int start = from == null ? 0 : search(sortedRows, values, from, !fromInclusive);
+            final int end = to == null ? sortedRows.length : search(sortedRows, values, to, toInclusive);
+            final var rows = new BitSet();
+            for (int i = start; i < end; i++) {
+                rows.set(sortedRows[i]);
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Stable merge sort of {@code rows} by the values they hold
+     */
+    private static void sortRows(int[] rows, Object[] values) {
+        final int[] buffer = new int[rows.length];
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int low = 0; low < rows.length - width; low += 2 * width) {
+                final int middle = low + width;
+                final int high = Math.min(low + 2 * width, rows.length);
+                int left = low, right = middle, target = low;
+                while (left < middle && right < high) {
+                    buffer[target++] = PredicateCompiler.compareValues(values[rows[right]], values[rows[left]]) < 0 ? rows[right++] : rows[left++];
+                }
+                while (left < middle) {
+                    buffer[target++] = rows[left++];
+                }
+                while (right < high) {
+                    buffer[target++] = rows[right++];
+                }
+                System.arraycopy(buffer, low, rows, low, high - low);
+            }
+        }
+    }
+
+    /**
+     * @param after true to skip the rows holding {@code bound}
+     * @return position of the first row in {@code sortedRows} holding a value greater than (or equal to unless {@code after}) {@code bound}
+     */
+    private static int search(int[] sortedRows, Object[] values, Object bound, boolean after) {
+        int low = 0, high = sortedRows.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = PredicateCompiler.compareValues(values[sortedRows[middle]], bound);
+            if (comparison < 0 || after && comparison == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A set of rows kept as an array of row numbers while it is small and as a bitmap once it grows
+     */
+    private static final class RowSet {
+        private static final int ARRAY_LIMIT = 256;
+        private int[] rows = new int[2];
+        private int size;
+        private BitSet bitmap;
+
+        private void add(int row) {
+            if (bitmap != null) {
+                bitmap.set(row);
+            } else if (size < ARRAY_LIMIT) {
+                if (size == rows.length) {
+                    rows = Arrays.copyOf(rows, size * 2);
+                }
+                rows[size] = row;
+            } else {
+                bitmap = new BitSet();
+                for (int i = 0; i < size; i++) {
+                    bitmap.set(rows[i]);
+                }
+                bitmap.set(row);
+                rows = null;
+            }
+            size++;
+        }
+
+        /**
+         * @return true if this set turned empty
+         */
+        private boolean remove(int row) {
+            if (bitmap != null) {
+                bitmap.clear(row);
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (rows[i] == row) {
+                        rows[i] = rows[size - 1];
+                        break;
+                    }
+                }
+            }
+            return --size == 0;
+        }
+
+        private void addTo(BitSet target) {
+            if (bitmap != null) {
+                target.or(bitmap);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                target.set(rows[i]);
+            }
+        }
+
+        private int countIn(BitSet target) {
+            if (bitmap == null) {
+                var count = 0;
+                for (int i = 0; i < size; i++) {
+                    if (target.get(rows[i])) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            final var intersection = (BitSet) bitmap.clone();
+            intersection.and(target);
+            return intersection.cardinality();
+        }
+    }
+}
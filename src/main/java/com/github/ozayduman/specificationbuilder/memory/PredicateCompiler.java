@@ -0,0 +1,453 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.github.ozayduman.specificationbuilder.memory;
+
+import com.github.ozayduman.specificationbuilder.CriteriaGroup;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.JoinPath;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO.Type;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.SortDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+
+import javax.persistence.metamodel.PluralAttribute;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Compiles the criteria of a {@code CriteriaDTO} into a {@code Predicate} evaluated against entities held in memory
+ * (e.g. cached reference tables), so that they can be filtered by the same client criteria and the same bindings
+ * as the queries. The predicate follows the semantics of the query created by {@link SpecificationSchema#toSpecification}:
+ * <ul>
+ *     <li>comparisons with {@code null} never match, negated ones included</li>
+ *     <li>an entity lacking an inner joined entity never matches</li>
+ *     <li>an entity matches if any combination of the elements of its joined collections matches,
+ *     hence the predicates on the same join path apply to the same element</li>
+ *     <li>{@code LIKE} is a case-sensitive match of {@code %value%}, where {@code %} and {@code _} in the value are wildcards</li>
+ * </ul>
+ * Accessors of the bound properties are generated once per compiler by {@link PropertyAccessors}, and operands are converted
+ * once per compiled predicate, so evaluating the predicate for an entity allocates nothing unless the criteria reach a joined entity.
+ * <p>Sample usage:</p>
+ * <pre>
+ * {@code private static final PredicateCompiler<Country> COMPILER = PredicateCompiler.of(SCHEMA);
+ *
+ *        List<Country> countries = cachedCountries.stream()
+ *                 .filter(COMPILER.toPredicate(pageRequestDTO))
+ *                 .sorted(COMPILER.toComparator(pageRequestDTO.getSortFields()))
+ *                 .collect(toList());}
+ * </pre>
+ *
+ * @param <T> the root entity type supplied to this compiler.
+ */
+public final class PredicateCompiler<T> {
+    private final SpecificationSchema<T> schema;
+    private final Map<String, Function<Object, Object>> getters = new HashMap<>();
+    private final Function<Object, Object>[] joinGetters;
+
+    @SuppressWarnings("unchecked")
+    private PredicateCompiler(SpecificationSchema<T> schema) {
+        this.schema = schema;
+        this.joinGetters = new Function[schema.getJoinPathCount()];
+        schema.getBindings().values().forEach(binding -> getters.put(binding.getDtoProperty(), PropertyAccessors.getter(binding.getAttribute())));
+        addJoinGetters(schema.getRootPath());
+    }
+
+    private void addJoinGetters(JoinPath joinPath) {
+        for (JoinPath child : joinPath.getChildren().values()) {
+            joinGetters[child.getIndex()] = PropertyAccessors.getter(child.getAttribute());
+            addJoinGetters(child);
+        }
+    }
+
+    /**
+     * Creates a {@code PredicateCompiler} generating the accessors of the properties bound by {@code schema}
+     *
+     * @param schema the schema binding dto properties to entity properties
+     * @param <T>    the root entity type
+     * @return {@code PredicateCompiler}
+     */
+    public static <T> PredicateCompiler<T> of(SpecificationSchema<T> schema) {
+        Objects.requireNonNull(schema, "schema can not be null");
+        return new PredicateCompiler<>(schema);
+    }
+
+    /**
+     * Validates the operations of the given {@code CriteriaDTO} and compiles them into a {@code Predicate}
+     *
+     * @param criteriaDTO or {@link com.github.ozayduman.specificationbuilder.dto.PageRequestDTO} is a DTO from client-side holding criteria information
+     * @return thread-safe {@code Predicate} matching the entities the query of the criteria would return
+     */
+    public Predicate<T> toPredicate(CriteriaDTO criteriaDTO) {
+        Objects.requireNonNull(criteriaDTO, "a criteria DTO must not be supplied");
+        final var criteria = CriteriaGroup.of(criteriaDTO);
+        criteria.getAllOperations().forEach(AbstractOperation::validate);
+        final Set<JoinPath> joins = new HashSet<>();
+        final var condition = compile(criteria, false, joins);
+        final var scope = new Scope(joins, criteria.getGroups().isEmpty() ? null : leftJoinsOf(criteria), condition);
+        return scope::test;
+    }
+
+    /**
+     * @param sortFields sort fields from client-side, their properties must be bound by the schema outside of any collection
+     * @return {@code Comparator} ordering the entities as the query would, {@code null} values are the lowest
+     */
+    public Comparator<T> toComparator(SortDTO... sortFields) {
+        Comparator<T> comparator = (left, right) -> 0;
+        if (sortFields == null) {
+            return comparator;
+        }
+        for (SortDTO sortDTO : sortFields) {
+            final var binding = bindingOf(sortDTO.getProperty());
+            final var getter = pathGetter(binding);
+            final Comparator<Object> order = Comparator.nullsFirst(PredicateCompiler::compareValues);
+            comparator = comparator.thenComparing(getter::apply, sortDTO.getDirection() == SortDTO.Direction.DESC ? order.reversed() : order);
+        }
+        return comparator;
+    }
+
+    private Binding bindingOf(String dtoProperty) {
+        final var binding = schema.getBinding(dtoProperty);
+        Objects.requireNonNull(binding, () -> String.format("DTO property named : %s could not be found in eq map ", dtoProperty));
+        return binding;
+    }
+
+    /**
+     * @return function reading the property bound by {@code binding} from the root entity, or {@code null} if a joined entity is missing
+     */
+    private Function<Object, Object> pathGetter(Binding binding) {
+        final List<Function<Object, Object>> steps = new ArrayList<>();
+        for (var node = binding.getJoinPath(); !node.isRoot(); node = node.getParent()) {
+            if (node.getAttribute() instanceof PluralAttribute) {
+                throw new IllegalArgumentException(String.format("property %s is bound through a collection", binding.getDtoProperty()));
+            }
+            steps.add(0, joinGetters[node.getIndex()]);
+        }
+        steps.add(getters.get(binding.getDtoProperty()));
+        final Function<Object, Object>[] path = steps.toArray(new Function[0]);
+        return entity -> {
+            Object value = entity;
+            for (int i = 0; i < path.length && value != null; i++) {
+                value = path[i].apply(value);
+            }
+            return value;
+        };
+    }
+
+    /**
+     * Joins needed only by the operations of nested groups are {@code LEFT} joins as in the query
+     *
+     * @return flags indexed by the join paths of the schema
+     */
+    private boolean[] leftJoinsOf(CriteriaGroup criteria) {
+        final boolean[] leftJoins = new boolean[schema.getJoinPathCount()];
+        criteria.getAllOperations().forEach(operation -> markJoins(leftJoins, operation, true));
+        criteria.getOperations().forEach(operation -> markJoins(leftJoins, operation, false));
+        return leftJoins;
+    }
+
+    private void markJoins(boolean[] leftJoins, AbstractOperation operation, boolean left) {
+        final var binding = schema.getBinding(operation.getProperty());
+        if (binding != null && binding.getExistsPath() == null) {
+            for (var node = binding.getJoinPath(); !node.isRoot(); node = node.getParent()) {
+                leftJoins[node.getIndex()] = left;
+            }
+        }
+    }
+
+    /**
+     * Negations are pushed down to the operations by De Morgan's laws, so that an operation on a {@code null} value
+     * is false whether it is negated or not, as an unknown comparison is in SQL
+     *
+     * @param negated true if the group is negated by an enclosing {@code NOT} group
+     * @param joins   collects the join paths the operations are evaluated on
+     */
+    private Condition compile(CriteriaGroup group, boolean negated, Set<JoinPath> joins) {
+        final boolean negate = group.getType() == Type.NOT ? !negated : negated;
+        final List<Condition> members = new ArrayList<>();
+        final Map<JoinPath, List<Condition>> subqueries = new LinkedHashMap<>();
+        final var operations = group.isConjunctive() ? schema.orderConjuncts(group.getOperations()) : group.getOperations();
+        for (AbstractOperation operation : operations) {
+            final var binding = bindingOf(operation.getProperty());
+            if (binding.getExistsPath() == null) {
+                members.add(compile(binding, operation, negate, joins));
+            } else {
+                subqueries.computeIfAbsent(binding.getExistsPath(), existsPath -> new ArrayList<>()).add(compile(binding, operation, false, null));
+            }
+        }
+        subqueries.values().forEach(subquery -> members.add(exists(subquery, group.isConjunctive(), negate)));
+        group.getGroups().forEach(nested -> members.add(compile(nested, negate, joins)));
+        return combine(members.toArray(new Condition[0]), group.isConjunctive() != negate);
+    }
+
+    /**
+     * @return condition matching the root entities having a combination of joined entities satisfying the {@code members}
+     * combined by {@code AND} if {@code conjunctive} otherwise by {@code OR}, as the correlated {@code EXISTS} subquery does
+     */
+    private Condition exists(List<Condition> members, boolean conjunctive, boolean negated) {
+        final Set<JoinPath> joins = new HashSet<>();
+        members.forEach(member -> joins.addAll(((Leaf) member).joins));
+        final var subquery = new Scope(joins, null, combine(members.toArray(new Condition[0]), conjunctive));
+        return negated ? (root, row) -> !subquery.test(root) : (root, row) -> subquery.test(root);
+    }
+
+    private static Condition combine(Condition[] members, boolean conjunctive) {
+        if (members.length == 1) {
+            return members[0];
+        }
+        if (conjunctive) {
+            return (root, row) -> {
+                for (Condition member : members) {
+                    if (!member.test(root, row)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        return (root, row) -> {
+            for (Condition member : members) {
+                if (member.test(root, row)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private Condition compile(Binding binding, AbstractOperation operation, boolean negated, Set<JoinPath> joins) {
+        if (!binding.supports(operation.getOperator())) {
+            throw new IllegalArgumentException(String.format("operator %s is not applicable to property %s", operation.getOperator(), operation.getProperty()));
+        }
+        final Comparable<?>[] operands = operation.getOperands();
+        final Object[] values = new Object[operands.length];
+        for (int i = 0; i < operands.length; i++) {
+            values[i] = binding.convert(operands[i]);
+        }
+        final var operator = negated ? complementOf(operation.getOperator()) : operation.getOperator();
+        final var test = valueTest(operator, values);
+        final var leaf = new Leaf(binding.getJoinPath().getIndex(), getters.get(binding.getDtoProperty()),
+                negated && operator == Operator.BT ? test.negate() : test, operator == Operator.NULL);
+        for (var node = binding.getJoinPath(); !node.isRoot(); node = node.getParent()) {
+            leaf.joins.add(node);
+        }
+        if (joins != null) {
+            joins.addAll(leaf.joins);
+        }
+        return leaf;
+    }
+
+    /**
+     * @return the operator matching the non-null values {@code operator} does not match, {@code BT} is its own complement
+     */
+    static Operator complementOf(Operator operator) {
+        return switch (operator) {
+            case EQ -> Operator.NOT_EQ;
+            case NOT_EQ -> Operator.EQ;
+            case GT -> Operator.LE;
+            case GE -> Operator.LT;
+            case LT -> Operator.GE;
+            case LE -> Operator.GT;
+            case BT -> Operator.BT;
+            case IN -> Operator.NOT_IN;
+            case NOT_IN -> Operator.IN;
+            case NULL -> Operator.NOT_NULL;
+            case NOT_NULL -> Operator.NULL;
+            case TRUE -> Operator.FALSE;
+            case FALSE -> Operator.TRUE;
+            case LIKE -> Operator.NOT_LIKE;
+            case NOT_LIKE -> Operator.LIKE;
+        };
+    }
+
+    /**
+     * @return test of the non-null property values
+     */
+    private static Predicate<Object> valueTest(Operator operator, Object[] values) {
+        return switch (operator) {
+            case EQ -> value -> compareValues(value, values[0]) == 0;
+            case NOT_EQ -> value -> compareValues(value, values[0]) != 0;
+            case GT -> value -> compareValues(value, values[0]) > 0;
+            case GE -> value -> compareValues(value, values[0]) >= 0;
+            case LT -> value -> compareValues(value, values[0]) < 0;
+            case LE -> value -> compareValues(value, values[0]) <= 0;
+            case BT -> value -> compareValues(value, values[0]) >= 0 && compareValues(value, values[1]) <= 0;
+            case IN, NOT_IN -> {
+                final Set<Object> set = new HashSet<>(Arrays.asList(values));
+                // x NOT IN (..., null) is never true in SQL
+                final boolean hasNull = set.remove(null);
+                yield operator == Operator.IN ? set::contains : value -> !hasNull && !set.contains(value);
+            }
+            case NULL -> value -> false;
+            case NOT_NULL -> value -> true;
+            case TRUE -> Boolean.TRUE::equals;
+            case FALSE -> Boolean.FALSE::equals;
+            case LIKE -> {
+                final var pattern = "%" + values[0] + "%";
+                yield value -> like((String) value, pattern);
+            }
+            case NOT_LIKE -> {
+                final var pattern = "%" + values[0] + "%";
+                yield value -> !like((String) value, pattern);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static int compareValues(Object value, Object other) {
+        return ((Comparable<Object>) value).compareTo(other);
+    }
+
+    /**
+     * Matches {@code value} against a SQL {@code LIKE} pattern by backtracking to the last {@code %}, without allocating
+     */
+    static boolean like(String value, String pattern) {
+        int v = 0, p = 0, wildcard = -1, resume = 0;
+        while (v < value.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '_' || pattern.charAt(p) == value.charAt(v))) {
+                v++;
+                p++;
+            } else if (p < pattern.length() && pattern.charAt(p) == '%') {
+                wildcard = p++;
+                resume = v;
+            } else if (wildcard >= 0) {
+                p = wildcard + 1;
+                v = ++resume;
+            } else {
+                return false;
+            }
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '%') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    /**
+     * A compiled member of the criteria, {@code row} holds the joined entities indexed by their join paths
+     */
+    @FunctionalInterface
+    private interface Condition {
+        boolean test(Object root, Object[] row);
+    }
+
+    /**
+     * A compiled operation testing the bound property of the entity joined at {@code index}
+     */
+    private static final class Leaf implements Condition {
+        private final int index;
+        private final Function<Object, Object> getter;
+        private final Predicate<Object> test;
+        private final boolean matchesNull;
+        private final Set<JoinPath> joins = new HashSet<>();
+
+        private Leaf(int index, Function<Object, Object> getter, Predicate<Object> test, boolean matchesNull) {
+            this.index = index;
+            this.getter = getter;
+            this.test = test;
+            this.matchesNull = matchesNull;
+        }
+
+        @Override
+        public boolean test(Object root, Object[] row) {
+            final Object from = index == 0 ? root : row[index];
+            final Object value = from == null ? null : getter.apply(from);
+            return value == null ? matchesNull : test.test(value);
+        }
+    }
+
+    /**
+     * Evaluates a condition for each combination of the joined entities of a root entity, as the rows of a query
+     * or a correlated subquery joining {@code joins} do
+     */
+    private final class Scope {
+        private final JoinPath[] joins;
+        private final boolean[] leftJoins;
+        private final Condition condition;
+
+        private Scope(Set<JoinPath> joins, boolean[] leftJoins, Condition condition) {
+            this.joins = joins.toArray(new JoinPath[0]);
+            // parents are created before their children, so they are joined first
+            Arrays.sort(this.joins, Comparator.comparingInt(JoinPath::getIndex));
+            this.leftJoins = leftJoins;
+            this.condition = condition;
+        }
+
+        private boolean test(Object root) {
+            return joins.length == 0 ? condition.test(root, null) : join(root, new Object[joinGetters.length], 0);
+        }
+
+        private boolean join(Object root, Object[] row, int position) {
+            if (position == joins.length) {
+                return condition.test(root, row);
+            }
+            final var joinPath = joins[position];
+            final var index = joinPath.getIndex();
+            final var parent = joinPath.getParent().isRoot() ? root : row[joinPath.getParent().getIndex()];
+            Object joined = parent == null ? null : joinGetters[index].apply(parent);
+            if (joined instanceof Map) {
+                joined = ((Map<?, ?>) joined).values();
+            }
+            if (joined instanceof Collection && !((Collection<?>) joined).isEmpty()) {
+                for (Object element : (Collection<?>) joined) {
+                    row[index] = element;
+                    if (join(root, row, position + 1)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (joined instanceof Collection) {
+                joined = null;
+            }
+            if (joined == null && (leftJoins == null || !leftJoins[index])) {
+                return false;
+            }
+            row[index] = joined;
+            return join(root, row, position + 1);
+        }
+    }
+}
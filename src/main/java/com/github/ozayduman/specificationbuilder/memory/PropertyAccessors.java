@@ -0,0 +1,120 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+
+package com.github.ozayduman.specificationbuilder.memory;
+
+import javax.persistence.metamodel.Attribute;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Generates accessors reading entity properties. Getters are wrapped by {@link LambdaMetafactory}, so reading a property
+ * costs a plain interface call instead of a reflective one. Properties are read through their public getters whenever
+ * there is one, since reading the field of an uninitialized lazy proxy would return {@code null}.
+ */
+public final class PropertyAccessors {
+    private static final MethodType FUNCTION = MethodType.methodType(Object.class, Object.class);
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * @param attribute represents an entity property
+     * @return function reading {@code attribute} from an entity, primitives are boxed
+     */
+    public static Function<Object, Object> getter(Attribute<?, ?> attribute) {
+        Objects.requireNonNull(attribute, "an attribute must be supplied");
+        final Member member = attribute.getJavaMember();
+        Objects.requireNonNull(member, () -> String.format("attribute %s has no java member", attribute.getName()));
+        try {
+            final var lookup = MethodHandles.privateLookupIn(member.getDeclaringClass(), MethodHandles.lookup());
+            final Method getter = member instanceof Method ? (Method) member : getterOf(member.getDeclaringClass(), member.getName());
+            if (getter != null) {
+                return lambda(lookup, getter);
+            }
+            final MethodHandle handle = lookup.unreflectGetter((Field) member).asType(FUNCTION);
+            return entity -> invoke(handle, entity);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(String.format("attribute %s can not be read", attribute.getName()), e);
+        }
+    }
+
+    /**
+     * @return the public getter of the property named {@code name} or {@code null} if there is none
+     */
+    private static Method getterOf(Class<?> declaringClass, String name) {
+        final var suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (String prefix : new String[]{"get", "is"}) {
+            try {
+                final var method = declaringClass.getMethod(prefix + suffix);
+                if (method.getReturnType() != void.class) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // continue with the next prefix
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> lambda(MethodHandles.Lookup lookup, Method getter) throws ReflectiveOperationException {
+        final MethodHandle target = lookup.unreflect(getter);
+        final MethodType instantiated = MethodType.methodType(getter.getReturnType(), getter.getDeclaringClass()).wrap();
+        try {
+            return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                    FUNCTION, target, instantiated).getTarget().invokeExact();
+        } catch (RuntimeException | Error | ReflectiveOperationException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Object entity) {
+        try {
+            return handle.invokeExact(entity);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
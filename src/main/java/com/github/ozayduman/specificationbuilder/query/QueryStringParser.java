@@ -0,0 +1,481 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.query;
+
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.SortDTO;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Parses criteria from the (decoded) query string of {@code GET} requests, so that searches can be cached by HTTP caches, e.g.
+ * <pre>
+ * {@code q=name==Ozay;birthDate=bt=(1990-01-01,2000-01-01);phoneType=in=(HOME,BUSSINES)&sort=name,-birthDate}
+ * </pre>
+ * The syntax is RSQL-like: {@code ;} is {@code AND}, {@code ,} is {@code OR} and binds weaker than {@code AND},
+ * parentheses group and {@code !(...)} negates. A comparison is a property, an operator and its arguments, a list of
+ * arguments is enclosed in parentheses and arguments containing reserved characters are quoted by {@code '} or {@code "}.
+ * <table>
+ *     <caption>Operators</caption>
+ *     <tr><td>{@code ==} {@code !=}</td><td>{@code EQ} {@code NOT_EQ}</td></tr>
+ *     <tr><td>{@code =gt=} {@code =ge=} {@code =lt=} {@code =le=} or {@code >} {@code >=} {@code <} {@code <=}</td><td>{@code GT} {@code GE} {@code LT} {@code LE}</td></tr>
+ *     <tr><td>{@code =bt=(low,high)}</td><td>{@code BT}</td></tr>
+ *     <tr><td>{@code =in=(...)} {@code =out=(...)}</td><td>{@code IN} {@code NOT_IN}</td></tr>
+ *     <tr><td>{@code =like=} {@code =notlike=}</td><td>{@code LIKE} {@code NOT_LIKE}</td></tr>
+ *     <tr><td>{@code =null=} {@code =notnull=} {@code =true=} {@code =false=}</td><td>{@code NULL} {@code NOT_NULL} {@code TRUE} {@code FALSE}, without argument</td></tr>
+ * </table>
+ * The input is scanned in place: properties are resolved against the bindings of the schema without extracting them,
+ * integral and enum operands are parsed from the input directly, other operands are extracted once and converted to the
+ * operand type of their binding. Malformed input, unbound properties and inapplicable operators are reported by
+ * {@link IllegalArgumentException} stating the position.
+ */
+public final class QueryStringParser {
+    private static final char AND = ';';
+    private static final char OR = ',';
+    private final Binding[] table;
+    private final int mask;
+
+    private QueryStringParser(SpecificationSchema<?> schema) {
+        final var bindings = schema.getBindings().values();
+        this.table = new Binding[Integer.highestOneBit(Math.max(bindings.size(), 1) * 4)];
+        this.mask = table.length - 1;
+        for (Binding binding : bindings) {
+            int index = binding.getDtoProperty().hashCode() & mask;
+            while (table[index] != null) {
+                index = (index + 1) & mask;
+            }
+            table[index] = binding;
+        }
+    }
+
+    /**
+     * @param schema bindings of the properties that can be queried
+     * @return a new {@code QueryStringParser}
+     */
+    public static QueryStringParser of(SpecificationSchema<?> schema) {
+        Objects.requireNonNull(schema, "schema can not be null");
+        return new QueryStringParser(schema);
+    }
+
+    /**
+     * @param query criteria expression, can be {@literal null} or empty for no criteria
+     * @return {@code CriteriaDTO}
+     */
+    public CriteriaDTO parseCriteria(CharSequence query) {
+        final var criteriaDTO = new CriteriaDTO();
+        fill(criteriaDTO, query);
+        return criteriaDTO;
+    }
+
+    /**
+     * @param query criteria expression, can be {@literal null} or empty for no criteria
+     * @param sort  sort expression, see {@link #parseSort(CharSequence)}
+     * @param page  requested page
+     * @param size  page size
+     * @return {@code PageRequestDTO}
+     */
+    public PageRequestDTO parsePageRequest(CharSequence query, CharSequence sort, int page, int size) {
+        final var pageRequestDTO = new PageRequestDTO(parseSort(sort), page, size);
+        fill(pageRequestDTO, query);
+        return pageRequestDTO;
+    }
+
+    /**
+     * @param sort comma separated properties, prefixed by {@code -} for descending and optionally by {@code +} for ascending order,
+     *             e.g. {@code name,-birthDate}
+     * @return sort fields, or {@literal null} if {@code sort} is {@literal null} or empty
+     */
+    public static SortDTO[] parseSort(CharSequence sort) {
+        if (sort == null || sort.length() == 0) {
+            return null;
+        }
+        final List<SortDTO> sortFields = new ArrayList<>();
+        int start = 0;
+        while (start <= sort.length()) {
+            int end = start;
+            while (end < sort.length() && sort.charAt(end) != OR) {
+                end++;
+            }
+            var direction = SortDTO.Direction.ASC;
+            int from = start;
+            if (from < end && (sort.charAt(from) == '-' || sort.charAt(from) == '+')) {
+                direction = sort.charAt(from) == '-' ? SortDTO.Direction.DESC : SortDTO.Direction.ASC;
+                from++;
+            }
+            if (from == end) {
+                throw new IllegalArgumentException(String.format("sort property expected at %d", from));
+            }
+            sortFields.add(new SortDTO(sort.subSequence(from, end).toString(), direction));
+            start = end + 1;
+        }
+        return sortFields.toArray(new SortDTO[0]);
+    }
+
+    private void fill(CriteriaDTO criteriaDTO, CharSequence query) {
+        if (query == null || query.length() == 0) {
+            return;
+        }
+        final var cursor = new Cursor(query);
+        final Object node = cursor.parseOr();
+        if (cursor.position < query.length()) {
+            throw cursor.unexpected();
+        }
+        if (node instanceof AbstractOperation) {
+            criteriaDTO.setOperations(new ArrayList<>(List.of((AbstractOperation) node)));
+        } else if (((CriteriaGroupDTO) node).getType() == CriteriaGroupDTO.Type.AND) {
+            criteriaDTO.setOperations(((CriteriaGroupDTO) node).getOperations());
+            criteriaDTO.setGroups(((CriteriaGroupDTO) node).getGroups());
+        } else {
+            criteriaDTO.setGroups(new ArrayList<>(List.of((CriteriaGroupDTO) node)));
+        }
+    }
+
+    /**
+     * @return the binding of the property in {@code query} between {@code start} and {@code end}, found without extracting the property
+     */
+    private Binding bindingOf(CharSequence query, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + query.charAt(i);
+        }
+        for (int index = hash & mask; table[index] != null; index = (index + 1) & mask) {
+            if (regionEquals(query, start, end, table[index].getDtoProperty())) {
+                return table[index];
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionEquals(CharSequence query, int start, int end, String value) {
+        if (end - start != value.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (query.charAt(i) != value.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isReserved(char c) {
+        return c == '=' || c == '!' || c == '<' || c == '>' || c == AND || c == OR || c == '(' || c == ')'
+                || c == '\'' || c == '"' || Character.isWhitespace(c);
+    }
+
+    /**
+     * Recursive descent parser over the input, groups are represented by {@code CriteriaGroupDTO} and comparisons by {@code AbstractOperation}
+     */
+    private final class Cursor {
+        private final CharSequence query;
+        private int position;
+
+        private Cursor(CharSequence query) {
+            this.query = query;
+        }
+
+        private Object parseOr() {
+            final Object first = parseAnd();
+            if (!accept(OR)) {
+                return first;
+            }
+            final List<Object> members = new ArrayList<>();
+            members.add(first);
+            do {
+                members.add(parseAnd());
+            } while (accept(OR));
+            return groupOf(CriteriaGroupDTO.Type.OR, members);
+        }
+
+        private Object parseAnd() {
+            final Object first = parseUnary();
+            if (!accept(AND)) {
+                return first;
+            }
+            final List<Object> members = new ArrayList<>();
+            members.add(first);
+            do {
+                members.add(parseUnary());
+            } while (accept(AND));
+            return groupOf(CriteriaGroupDTO.Type.AND, members);
+        }
+
+        private Object parseUnary() {
+            if (position + 1 < query.length() && query.charAt(position) == '!' && query.charAt(position + 1) == '(') {
+                position++;
+                final Object negated = parseParenthesized();
+                return groupOf(CriteriaGroupDTO.Type.NOT, List.of(negated));
+            }
+            if (position < query.length() && query.charAt(position) == '(') {
+                return parseParenthesized();
+            }
+            return parseComparison();
+        }
+
+        private Object parseParenthesized() {
+            expect('(');
+            final Object node = parseOr();
+            expect(')');
+            return node;
+        }
+
+        private AbstractOperation parseComparison() {
+            final int start = position;
+            while (position < query.length() && !isReserved(query.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw unexpected();
+            }
+            final var binding = bindingOf(query, start, position);
+            if (binding == null) {
+                throw new IllegalArgumentException(String.format("DTO property named : %s could not be found at %d", query.subSequence(start, position), start));
+            }
+            final int operatorPosition = position;
+            final var operator = parseOperator();
+            if (!binding.supports(operator)) {
+                throw new IllegalArgumentException(String.format("operator %s is not applicable to property %s at %d", operator, binding.getDtoProperty(), operatorPosition));
+            }
+            final var property = binding.getDtoProperty();
+            switch (operator) {
+                case NULL, NOT_NULL, TRUE, FALSE -> {
+                    return new NoValueOperation(property, operator);
+                }
+                case IN, NOT_IN -> {
+                    return new MultiValueOperation(property, operator, parseArguments(binding));
+                }
+                case BT -> {
+                    final int argumentPosition = position;
+                    final Object[] range = parseArguments(binding);
+                    if (range.length != 2) {
+                        throw new IllegalArgumentException(String.format("two arguments expected at %d", argumentPosition));
+                    }
+                    return new RangeValueOperation(property, operator, new RangeDTO(range[0], range[1]));
+                }
+                default -> {
+                    return new SingleValueOperation(property, operator, parseArgument(binding));
+                }
+            }
+        }
+
+        private Operator parseOperator() {
+            if (position >= query.length()) {
+                throw unexpected();
+            }
+            final char c = query.charAt(position);
+            if (c == '<' || c == '>') {
+                position++;
+                final boolean inclusive = accept('=');
+                return c == '<' ? (inclusive ? Operator.LE : Operator.LT) : (inclusive ? Operator.GE : Operator.GT);
+            }
+            if (c == '!') {
+                position++;
+                expect('=');
+                return Operator.NOT_EQ;
+            }
+            expect('=');
+            if (accept('=')) {
+                return Operator.EQ;
+            }
+            final int start = position;
+            while (position < query.length() && Character.isLetter(query.charAt(position))) {
+                position++;
+            }
+            final int end = position;
+            expect('=');
+            final var operator = namedOperator(start, end);
+            if (operator == null) {
+                throw new IllegalArgumentException(String.format("unknown operator =%s= at %d", query.subSequence(start, end), start - 1));
+            }
+            return operator;
+        }
+
+        private Operator namedOperator(int start, int end) {
+            if (regionEquals(query, start, end, "gt")) {
+                return Operator.GT;
+            } else if (regionEquals(query, start, end, "ge")) {
+                return Operator.GE;
+            } else if (regionEquals(query, start, end, "lt")) {
+                return Operator.LT;
+            } else if (regionEquals(query, start, end, "le")) {
+                return Operator.LE;
+            } else if (regionEquals(query, start, end, "bt")) {
+                return Operator.BT;
+            } else if (regionEquals(query, start, end, "in")) {
+                return Operator.IN;
+            } else if (regionEquals(query, start, end, "out")) {
+                return Operator.NOT_IN;
+            } else if (regionEquals(query, start, end, "like")) {
+                return Operator.LIKE;
+            } else if (regionEquals(query, start, end, "notlike")) {
+                return Operator.NOT_LIKE;
+            } else if (regionEquals(query, start, end, "null")) {
+                return Operator.NULL;
+            } else if (regionEquals(query, start, end, "notnull")) {
+                return Operator.NOT_NULL;
+            } else if (regionEquals(query, start, end, "true")) {
+                return Operator.TRUE;
+            } else if (regionEquals(query, start, end, "false")) {
+                return Operator.FALSE;
+            }
+            return null;
+        }
+
+        /**
+         * @return the arguments of a parenthesized list, or the single argument as a list
+         */
+        private Object[] parseArguments(Binding binding) {
+            if (!accept('(')) {
+                return new Object[]{parseArgument(binding)};
+            }
+            Object[] values = new Object[8];
+            int size = 0;
+            do {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = parseArgument(binding);
+            } while (accept(OR));
+            expect(')');
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+
+        private Object parseArgument(Binding binding) {
+            if (position < query.length() && (query.charAt(position) == '\'' || query.charAt(position) == '"')) {
+                return binding.convert(parseQuoted());
+            }
+            final int start = position;
+            while (position < query.length() && !isReserved(query.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw unexpected();
+            }
+            return convert(binding, start, position);
+        }
+
+        /**
+         * Parses integral and enum operands in place, extracts the others
+         */
+        private Object convert(Binding binding, int start, int end) {
+            final var operandType = binding.getOperandType();
+            try {
+                if (operandType == Long.class) {
+                    return Long.parseLong(query, start, end, 10);
+                } else if (operandType == Integer.class) {
+                    return Integer.parseInt(query, start, end, 10);
+                } else if (operandType.isEnum()) {
+                    for (Object constant : operandType.getEnumConstants()) {
+                        if (regionEquals(query, start, end, ((Enum<?>) constant).name())) {
+                            return constant;
+                        }
+                    }
+                }
+                return binding.convert(query.subSequence(start, end).toString());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(String.format("argument at %d can not be converted to %s", start, operandType.getSimpleName()), e);
+            }
+        }
+
+        private String parseQuoted() {
+            final char quote = query.charAt(position++);
+            final int start = position;
+            StringBuilder unescaped = null;
+            while (position < query.length()) {
+                final char c = query.charAt(position);
+                if (c == quote) {
+                    final var value = unescaped == null ? query.subSequence(start, position).toString() : unescaped.toString();
+                    position++;
+                    return value;
+                }
+                if (c == '\\' && position + 1 < query.length()) {
+                    if (unescaped == null) {
+                        unescaped = new StringBuilder().append(query, start, position);
+                    }
+                    unescaped.append(query.charAt(++position));
+                } else if (unescaped != null) {
+                    unescaped.append(c);
+                }
+                position++;
+            }
+            throw new IllegalArgumentException(String.format("unterminated quote at %d", start - 1));
+        }
+
+        private Object groupOf(CriteriaGroupDTO.Type type, List<Object> members) {
+            final List<AbstractOperation> operations = new ArrayList<>();
+            final List<CriteriaGroupDTO> groups = new ArrayList<>();
+            for (Object member : members) {
+                if (member instanceof AbstractOperation) {
+                    operations.add((AbstractOperation) member);
+                } else {
+                    groups.add((CriteriaGroupDTO) member);
+                }
+            }
+            return new CriteriaGroupDTO(type, operations, groups);
+        }
+
+        private boolean accept(char c) {
+            if (position < query.length() && query.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!accept(c)) {
+                throw unexpected();
+            }
+        }
+
+        private IllegalArgumentException unexpected() {
+            return position < query.length()
+                    ? new IllegalArgumentException(String.format("unexpected '%s' at %d", query.charAt(position), position))
+                    : new IllegalArgumentException(String.format("unexpected end of input at %d", position));
+        }
+    }
+}
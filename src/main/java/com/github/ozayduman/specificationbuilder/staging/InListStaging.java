@@ -0,0 +1,123 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.staging;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Inserts the values of large {@code IN} lists into the {@link StagedValue} table by batched JDBC statements
+ * on the connection of the given {@code EntityManager}, and deletes them afterwards.
+ * Integral numbers are staged into {@code long_value} and strings into {@code string_value},
+ * lists of any other type are not stageable.
+ */
+public final class InListStaging {
+    private static final int BATCH_SIZE = 500;
+    private static final Set<Class<?>> INTEGRAL_TYPES = Set.of(Long.class, Integer.class, Short.class, Byte.class);
+    private static final String INSERT = String.format(
+            "insert into %s (batch_id, item_index, long_value, string_value) values (?, ?, ?, ?)", StagedValue.TABLE_NAME);
+    private static final String DELETE = String.format("delete from %s where batch_id = ?", StagedValue.TABLE_NAME);
+
+    private InListStaging() {
+    }
+
+    /**
+     * @param type type of the converted operands
+     * @return true if operands of {@code type} can be staged
+     */
+    public static boolean isStageable(Class<?> type) {
+        return type == String.class || INTEGRAL_TYPES.contains(type);
+    }
+
+    /**
+     * @param type type of the converted operands
+     * @return name of the {@link StagedValue} attribute holding operands of {@code type}
+     */
+    public static String valueAttributeOf(Class<?> type) {
+        if (!isStageable(type)) {
+            throw new IllegalArgumentException(String.format("values of type %s can not be staged", type.getName()));
+        }
+        return type == String.class ? "stringValue" : "longValue";
+    }
+
+    /**
+     * @param entityManager represents the {@code EntityManager} the queries using the staged values are executed on
+     * @param values        operands of a stageable type without {@code null}
+     * @return the batch id the {@code values} are staged under
+     */
+    public static String stage(EntityManager entityManager, Comparable<?>[] values) {
+        final var batchId = UUID.randomUUID().toString();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (int i = 0; i < values.length; i++) {
+                    final var value = values[i];
+                    statement.setString(1, batchId);
+                    statement.setInt(2, i);
+                    if (value instanceof Number) {
+                        statement.setLong(3, ((Number) value).longValue());
+                        statement.setNull(4, Types.VARCHAR);
+                    } else {
+                        statement.setNull(3, Types.BIGINT);
+                        statement.setString(4, value.toString());
+                    }
+                    statement.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                if (values.length % BATCH_SIZE != 0) {
+                    statement.executeBatch();
+                }
+            }
+        });
+        return batchId;
+    }
+
+    /**
+     * @param entityManager represents the {@code EntityManager} the values were staged on
+     * @param batchId       the batch id returned by {@link #stage(EntityManager, Comparable[])}
+     */
+    public static void release(EntityManager entityManager, String batchId) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(DELETE)) {
+                statement.setString(1, batchId);
+                statement.executeUpdate();
+            }
+        });
+    }
+}
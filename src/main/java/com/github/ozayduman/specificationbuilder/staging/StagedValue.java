@@ -0,0 +1,95 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.staging;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+
+/**
+ * Maps the staging table holding the values of large {@code IN} lists. Each list is inserted under its own
+ * {@code batchId} and deleted after the queries using it are executed, see {@link InListStaging}.
+ * <p>The entity has to be part of the persistence unit e.g. by {@code @EntityScan(basePackageClasses = StagedValue.class)}.
+ * Since rows are written while executing read-only queries, databases rejecting writes in read-only transactions
+ * should declare the table as a temporary table, for instance on Oracle or H2:</p>
+ * <pre>
+ * {@code create global temporary table spec_staged_value (batch_id varchar(36) not null, item_index integer not null,
+ *        long_value bigint, string_value varchar(255), primary key (batch_id, item_index)) on commit preserve rows}
+ * </pre>
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(StagedValue.Key.class)
+@Table(name = StagedValue.TABLE_NAME)
+public class StagedValue {
+    /**
+     * Name of the staging table
+     */
+    public static final String TABLE_NAME = "spec_staged_value";
+
+    @Id
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    @Id
+    @Column(name = "item_index")
+    private int itemIndex;
+
+    @Column(name = "long_value")
+    private Long longValue;
+
+    @Column(name = "string_value")
+    private String stringValue;
+
+    /**
+     * Represents the primary key of {@link StagedValue}
+     */
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private String batchId;
+        private int itemIndex;
+    }
+}
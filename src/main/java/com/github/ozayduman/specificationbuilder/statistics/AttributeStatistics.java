@@ -0,0 +1,155 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.statistics;
+
+import com.github.ozayduman.specificationbuilder.ConjunctOrder;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+
+import java.time.Instant;
+
+/**
+ * Sampled statistics of a bound attribute, see {@link StatisticsCollector}
+ */
+public final class AttributeStatistics {
+    private final String path;
+    private final long rowCount;
+    private final long nullCount;
+    private final long distinctCount;
+    private final int sampleSize;
+    private final Instant sampledAt;
+
+    AttributeStatistics(String path, long rowCount, long nullCount, long distinctCount, int sampleSize, Instant sampledAt) {
+        this.path = path;
+        this.rowCount = rowCount;
+        this.nullCount = nullCount;
+        this.distinctCount = distinctCount;
+        this.sampleSize = sampleSize;
+        this.sampledAt = sampledAt;
+    }
+
+    /**
+     * Estimates the number of distinct values of the whole population from a sample by the Duj1 estimator
+     * of Haas and Stokes: {@code n * d / (n - f1 + f1 * n / N)}
+     *
+     * @param sampleSize      number of sampled non null values ({@code n})
+     * @param sampledDistinct number of distinct values in the sample ({@code d})
+     * @param singletons      number of values occurring exactly once in the sample ({@code f1})
+     * @param populationSize  number of non null values ({@code N})
+     * @return estimated number of distinct values
+     */
+    static long estimateDistinct(int sampleSize, int sampledDistinct, int singletons, long populationSize) {
+        if (sampleSize == 0 || sampleSize >= populationSize) {
+            return sampledDistinct;
+        }
+        final double denominator = sampleSize - singletons + (double) singletons * sampleSize / populationSize;
+        final double estimate = sampleSize * (double) sampledDistinct / denominator;
+        return Math.max(sampledDistinct, Math.min(populationSize, Math.round(estimate)));
+    }
+
+    /**
+     * @param operator     represents {@link Operator}
+     * @param operandCount number of the operands of the conjunct
+     * @return estimated fraction of the rows matching a conjunct on this attribute
+     */
+    public double selectivity(Operator operator, int operandCount) {
+        if (rowCount == 0) {
+            return ConjunctOrder.selectivity(operator, operandCount);
+        }
+        final double nullFraction = (double) nullCount / rowCount;
+        final double valueFraction = distinctCount == 0 ? 0 : (1 - nullFraction) / distinctCount;
+        return switch (operator) {
+            case EQ -> valueFraction;
+            case NOT_EQ -> 1 - nullFraction - valueFraction;
+            case IN -> Math.min(1 - nullFraction, valueFraction * operandCount);
+            case NOT_IN -> Math.max(0, 1 - nullFraction - valueFraction * operandCount);
+            case NULL -> nullFraction;
+            case NOT_NULL -> 1 - nullFraction;
+            case TRUE, FALSE -> (1 - nullFraction) / 2;
+            default -> (1 - nullFraction) * ConjunctOrder.selectivity(operator, operandCount);
+        };
+    }
+
+    /**
+     * @return the bound attribute as a path from the root entity e.g. {@code phones.number}
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return number of rows reached through the join path of the attribute
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return number of rows whose attribute is {@code null}
+     */
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    /**
+     * @return estimated number of distinct non null values (NDV)
+     */
+    public long getDistinctCount() {
+        return distinctCount;
+    }
+
+    /**
+     * @return number of non null values sampled to estimate {@link #getDistinctCount()}
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * @return when the statistics were sampled
+     */
+    public Instant getSampledAt() {
+        return sampledAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeStatistics{" +
+                "path='" + path + '\'' +
+                ", rowCount=" + rowCount +
+                ", nullCount=" + nullCount +
+                ", distinctCount=" + distinctCount +
+                ", sampleSize=" + sampleSize +
+                ", sampledAt=" + sampledAt +
+                '}';
+    }
+}
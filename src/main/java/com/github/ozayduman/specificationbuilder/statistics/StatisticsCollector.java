@@ -0,0 +1,207 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.statistics;
+
+import com.github.ozayduman.specificationbuilder.ConjunctOrder;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.Binding;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema.JoinPath;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the row count, the null count and the number of distinct values (NDV) of every attribute bound by a schema,
+ * and orders the conjuncts of the queries by the selectivity estimated from them. Attributes that are not sampled yet
+ * fall back to {@link ConjunctOrder#byOperator()}.
+ * <p>The values of the first {@code sampleSize} rows are sampled, which is cheap but biased if the rows are stored in
+ * the order of the attribute. The statistics are replaced atomically on every refresh and can be read by
+ * {@link #getStatistics()} for inspection.</p>
+ * <p>Sample usage:</p>
+ * <pre>
+ * {@code private static final StatisticsCollector<Employee> STATISTICS = StatisticsCollector.of(Employee.class);
+ *        private static final SpecificationSchema<Employee> SCHEMA = SpecificationSchema.<Employee>builder()
+ *                 .conjunctOrder(STATISTICS)
+ *                 .bind("employeeName", Employee_.name)
+ *                 .build();
+ *
+ *        STATISTICS.scheduleRefresh(entityManagerFactory, SCHEMA, executor, Duration.ofHours(1));}
+ * </pre>
+ *
+ * @param <T> the root entity type
+ */
+public final class StatisticsCollector<T> implements ConjunctOrder {
+    /**
+     * Default maximum number of values sampled per attribute
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 10_000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsCollector.class);
+    private final Class<T> domainClass;
+    private final int sampleSize;
+    private volatile Map<String, AttributeStatistics> statistics = Map.of();
+
+    private StatisticsCollector(Class<T> domainClass, int sampleSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException(String.format("sample size %d must be positive", sampleSize));
+        }
+        this.domainClass = Objects.requireNonNull(domainClass, "a domain class must be supplied");
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * @param domainClass the root entity type
+     * @param <T>         the root entity type
+     * @return a new {@code StatisticsCollector} sampling up to {@link #DEFAULT_SAMPLE_SIZE} values per attribute
+     */
+    public static <T> StatisticsCollector<T> of(Class<T> domainClass) {
+        return new StatisticsCollector<>(domainClass, DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * @param domainClass the root entity type
+     * @param sampleSize  maximum number of values sampled per attribute
+     * @param <T>         the root entity type
+     * @return a new {@code StatisticsCollector}
+     */
+    public static <T> StatisticsCollector<T> of(Class<T> domainClass, int sampleSize) {
+        return new StatisticsCollector<>(domainClass, sampleSize);
+    }
+
+    @Override
+    public double rank(Binding binding, Operator operator, int operandCount) {
+        final var attributeStatistics = statistics.get(binding.getPath());
+        final double selectivity = attributeStatistics == null
+                ? ConjunctOrder.selectivity(operator, operandCount)
+                : attributeStatistics.selectivity(operator, operandCount);
+        return ConjunctOrder.rank(selectivity, ConjunctOrder.cost(operator, operandCount));
+    }
+
+    /**
+     * Samples the attributes bound by {@code schema} and replaces the statistics
+     *
+     * @param entityManager represents the {@code EntityManager} the sampling queries are executed on
+     * @param schema        the schema whose bound attributes are sampled
+     */
+    public void refresh(EntityManager entityManager, SpecificationSchema<T> schema) {
+        final Map<String, AttributeStatistics> sampled = new HashMap<>(statistics);
+        for (Binding binding : schema.getBindings().values()) {
+            sampled.put(binding.getPath(), sample(entityManager, binding));
+        }
+        this.statistics = Collections.unmodifiableMap(sampled);
+    }
+
+    /**
+     * Samples the attributes bound by {@code schema} immediately and then periodically, each time on a new {@code EntityManager}.
+     * A failed refresh is logged and keeps the previous statistics, the next refresh is still executed.
+     *
+     * @param entityManagerFactory creates the {@code EntityManager}s the sampling queries are executed on
+     * @param schema               the schema whose bound attributes are sampled
+     * @param executor             executes the refreshes
+     * @param period               time between the refreshes
+     * @return the future to cancel the refreshes
+     */
+    public ScheduledFuture<?> scheduleRefresh(EntityManagerFactory entityManagerFactory, SpecificationSchema<T> schema,
+                                              ScheduledExecutorService executor, Duration period) {
+        Objects.requireNonNull(entityManagerFactory, "an entity manager factory must be supplied");
+        return executor.scheduleWithFixedDelay(() -> {
+            try {
+                final var entityManager = entityManagerFactory.createEntityManager();
+                try {
+                    refresh(entityManager, schema);
+                } finally {
+                    entityManager.close();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Refreshing statistics of {} failed, the previous statistics are kept", domainClass.getName(), e);
+            }
+        }, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return statistics keyed by the paths of the sampled attributes e.g. {@code phones.number}
+     */
+    public Map<String, AttributeStatistics> getStatistics() {
+        return statistics;
+    }
+
+    private AttributeStatistics sample(EntityManager entityManager, Binding binding) {
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> countQuery = criteriaBuilder.createTupleQuery();
+        final var root = countQuery.from(domainClass);
+        countQuery.multiselect(criteriaBuilder.count(root), criteriaBuilder.count(pathOf(root, binding)));
+        final var counts = entityManager.createQuery(countQuery).getSingleResult();
+        final long rowCount = counts.get(0, Long.class);
+        final long valueCount = counts.get(1, Long.class);
+
+        final CriteriaQuery<Object> sampleQuery = criteriaBuilder.createQuery(Object.class);
+        final Path<?> sampledPath = pathOf(sampleQuery.from(domainClass), binding);
+        sampleQuery.select(sampledPath).where(criteriaBuilder.isNotNull(sampledPath));
+        final List<Object> values = entityManager.createQuery(sampleQuery).setMaxResults(sampleSize).getResultList();
+        final Map<Object, Integer> frequencies = new HashMap<>();
+        values.forEach(value -> frequencies.merge(value, 1, Integer::sum));
+        final int singletons = (int) frequencies.values().stream().filter(frequency -> frequency == 1).count();
+        final long distinctCount = AttributeStatistics.estimateDistinct(values.size(), frequencies.size(), singletons, valueCount);
+        return new AttributeStatistics(binding.getPath(), rowCount, rowCount - valueCount, distinctCount, values.size(), Instant.now());
+    }
+
+    private static Path<?> pathOf(From<?, ?> root, Binding binding) {
+        final Deque<JoinPath> joinPaths = new ArrayDeque<>();
+        for (var joinPath = binding.getJoinPath(); !joinPath.isRoot(); joinPath = joinPath.getParent()) {
+            joinPaths.push(joinPath);
+        }
+        From<?, ?> from = root;
+        for (JoinPath joinPath : joinPaths) {
+            from = from.join(joinPath.getAttribute().getName());
+        }
+        return from.get(binding.getAttribute().getName());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.support;
+
+import com.github.ozayduman.specificationbuilder.FetchPlan;
+import com.github.ozayduman.specificationbuilder.Projection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Additional query methods implemented by {@link SpecificationJpaRepository}. A repository interface extending it
+ * gets them implemented once {@code SpecificationJpaRepository} is registered as the repository base class.
+ *
+ * @param <T> the type of the entity to handle
+ */
+public interface CriteriaSpecificationExecutor<T> {
+
+    /**
+     * Returns a {@link Slice} of entities matching the given {@link Specification}. Unlike
+     * {@code JpaSpecificationExecutor#findAll(Specification, Pageable)} no count query is executed,
+     * instead one more row than the page size is fetched to find out whether there is a next slice.
+     *
+     * @param spec     can be {@literal null}.
+     * @param pageable must not be {@literal null}.
+     * @return never {@literal null}.
+     */
+    Slice<T> findSlice(Specification<T> spec, Pageable pageable);
+
+    /**
+     * Returns a {@link org.springframework.data.domain.Page} of entities matching the given {@link Specification}
+     * if {@code count} is true, otherwise a count-free {@link Slice} as {@link #findSlice(Specification, Pageable)} does.
+     *
+     * @param spec     can be {@literal null}.
+     * @param pageable must not be {@literal null}.
+     * @param count    whether the total number of elements is required, e.g. {@code !pageRequestDTO.isSlice()}
+     * @return never {@literal null}.
+     */
+    Slice<T> findAll(Specification<T> spec, Pageable pageable, boolean count);
+
+    /**
+     * Returns a {@link Page} of the rows selected by the given {@link Projection} from the entities matching
+     * the given {@link Specification}. Only the projected columns are read, and no entity is hydrated.
+     *
+     * @param spec       can be {@literal null}.
+     * @param projection must not be {@literal null}.
+     * @param pageable   must not be {@literal null}.
+     * @param <R>        the type of the projected rows
+     * @return never {@literal null}.
+     */
+    <R> Page<R> findAll(Specification<T> spec, Projection<T, R> projection, Pageable pageable);
+
+    /**
+     * Returns a {@link Page} of entities matching the given {@link Specification} whose associations declared by
+     * the given {@link FetchPlan} are loaded with the page, instead of one by one when they are accessed.
+     *
+     * @param spec      can be {@literal null}.
+     * @param fetchPlan must not be {@literal null}.
+     * @param pageable  must not be {@literal null}.
+     * @return never {@literal null}.
+     */
+    Page<T> findAll(Specification<T> spec, FetchPlan<T> fetchPlan, Pageable pageable);
+}
@@ -0,0 +1,296 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.support;
+
+import com.github.ozayduman.specificationbuilder.CriteriaSpecification;
+import com.github.ozayduman.specificationbuilder.FetchPlan;
+import com.github.ozayduman.specificationbuilder.Projection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A repository base class that binds the parameters of a {@link CriteriaSpecification} on the queries created from it,
+ * stages its large {@code IN} lists while they are executed and reads its counts through the count cache of its schema.
+ * It is required when the {@code SpecificationSchema} is {@code parameterized} or stages {@code IN} lists, and it can be enabled by
+ * <pre>
+ * {@code @EnableJpaRepositories(repositoryBaseClass = SpecificationJpaRepository.class)}
+ * </pre>
+ * Staging writes to the database, so a query staging {@code IN} lists that is not called within a read-write transaction
+ * (e.g. within the read-only transaction of {@code SimpleJpaRepository}, which databases like PostgreSQL and MySQL refuse
+ * to write in) is executed in a new read-write transaction, whose entities are detached when it is returned.
+ * That transaction is started by the {@code PlatformTransactionManager} of the repositories, which is handed over by
+ * {@link SpecificationJpaRepositoryFactoryBean}:
+ * <pre>
+ * {@code @EnableJpaRepositories(repositoryBaseClass = SpecificationJpaRepository.class,
+ *         repositoryFactoryBeanClass = SpecificationJpaRepositoryFactoryBean.class)}
+ * </pre>
+ *
+ * @param <T>  the type of the entity to handle
+ * @param <ID> the type of the entity's identifier
+ */
+public class SpecificationJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements CriteriaSpecificationExecutor<T> {
+    private final EntityManager entityManager;
+    private TransactionTemplate stagingTransaction;
+
+    /**
+     * @param entityInformation must not be {@literal null}.
+     * @param entityManager     must not be {@literal null}.
+     */
+    public SpecificationJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Sets the transaction manager starting the read-write transactions of staging queries, see
+     * {@link SpecificationJpaRepositoryFactoryBean}
+     *
+     * @param transactionManager the {@code PlatformTransactionManager} of the repositories
+     */
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        Objects.requireNonNull(transactionManager, "a transaction manager must be supplied");
+        final var template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.stagingTransaction = template;
+    }
+
+    @Override
+    public Optional<T> findOne(Specification<T> spec) {
+        return staged(spec, () -> super.findOne(spec), Optional::empty);
+    }
+
+    @Override
+    public List<T> findAll(Specification<T> spec) {
+        return staged(spec, () -> super.findAll(spec), ArrayList::new);
+    }
+
+    @Override
+    public Page<T> findAll(Specification<T> spec, Pageable pageable) {
+        return staged(spec, () -> super.findAll(spec, pageable), () -> Page.empty(pageable));
+    }
+
+    @Override
+    public List<T> findAll(Specification<T> spec, Sort sort) {
+        return staged(spec, () -> super.findAll(spec, sort), ArrayList::new);
+    }
+
+    @Override
+    public long count(Specification<T> spec) {
+        if (!(spec instanceof CriteriaSpecification)) {
+            return super.count(spec);
+        }
+        return staged(spec, () -> ((CriteriaSpecification<T>) spec).count(getDomainClass(), () -> super.count(spec)), () -> 0L);
+    }
+
+    @Override
+    public Slice<T> findAll(Specification<T> spec, Pageable pageable, boolean count) {
+        return count ? findAll(spec, pageable) : findSlice(spec, pageable);
+    }
+
+    @Override
+    public Slice<T> findSlice(Specification<T> spec, Pageable pageable) {
+        return staged(spec, () -> {
+            final TypedQuery<T> query = getQuery(spec, pageable.getSort());
+            if (pageable.isUnpaged()) {
+                return new SliceImpl<>(query.getResultList(), pageable, false);
+            }
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + 1);
+            final List<T> content = query.getResultList();
+            final var hasNext = content.size() > pageable.getPageSize();
+            return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+        }, () -> new SliceImpl<>(List.of(), pageable, false));
+    }
+
+    @Override
+    public <R> Page<R> findAll(Specification<T> spec, Projection<T, R> projection, Pageable pageable) {
+        return staged(spec, () -> {
+            final var criteriaBuilder = entityManager.getCriteriaBuilder();
+            final CriteriaQuery<R> criteriaQuery = projection.createQuery(criteriaBuilder);
+            final Root<T> root = applySpecification(spec, criteriaQuery);
+            criteriaQuery.select(projection.toSelection(root, criteriaBuilder));
+            if (pageable.getSort().isSorted()) {
+                criteriaQuery.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+            }
+            final TypedQuery<R> query = bind(spec, entityManager.createQuery(criteriaQuery));
+            if (pageable.isPaged()) {
+                query.setFirstResult((int) pageable.getOffset());
+                query.setMaxResults(pageable.getPageSize());
+            }
+            return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> countProjected(spec, projection));
+        }, () -> Page.empty(pageable));
+    }
+
+    @Override
+    public Page<T> findAll(Specification<T> spec, FetchPlan<T> fetchPlan, Pageable pageable) {
+        return staged(spec, () -> {
+            final TypedQuery<T> query = fetchPlan.applyTo(getQuery(spec, pageable), entityManager, getDomainClass());
+            final Page<T> page = pageable.isUnpaged()
+                    ? new PageImpl<>(query.getResultList())
+                    : readPage(query, getDomainClass(), pageable, spec);
+            fetchPlan.fetchCollections(entityManager, getDomainClass(), page.getContent());
+            return page;
+        }, () -> Page.empty(pageable));
+    }
+
+    /**
+     * Counts the rows of {@code projection}, which is the number of matching entities unless the projection joins a collection
+     */
+    private long countProjected(Specification<T> spec, Projection<T, ?> projection) {
+        if (!projection.isExpanding()) {
+            return count(spec);
+        }
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
+        final Root<T> root = applySpecification(spec, criteriaQuery);
+        projection.join(root);
+        criteriaQuery.select(criteriaBuilder.count(root));
+        return executeCountQuery(bind(spec, entityManager.createQuery(criteriaQuery)));
+    }
+
+    /**
+     * Creates the root of {@code criteriaQuery} and restricts it by the predicate of {@code spec}
+     */
+    private Root<T> applySpecification(Specification<T> spec, CriteriaQuery<?> criteriaQuery) {
+        final Root<T> root = criteriaQuery.from(getDomainClass());
+        if (spec != null) {
+            final Predicate predicate = spec.toPredicate(root, criteriaQuery, entityManager.getCriteriaBuilder());
+            if (predicate != null) {
+                criteriaQuery.where(predicate);
+            }
+        }
+        return root;
+    }
+
+    @Override
+    protected <S extends T> Page<S> readPage(TypedQuery<S> query, Class<S> domainClass, Pageable pageable, Specification<S> spec) {
+        if (!(spec instanceof CriteriaSpecification)) {
+            return super.readPage(query, domainClass, pageable, spec);
+        }
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+                () -> ((CriteriaSpecification<S>) spec).count(domainClass, () -> executeCountQuery(getCountQuery(spec, domainClass))));
+    }
+
+    @Override
+    protected <S extends T> TypedQuery<S> getQuery(Specification<S> spec, Class<S> domainClass, Sort sort) {
+        return bind(spec, super.getQuery(spec, domainClass, sort));
+    }
+
+    @Override
+    protected <S extends T> TypedQuery<Long> getCountQuery(Specification<S> spec, Class<S> domainClass) {
+        return bind(spec, super.getCountQuery(spec, domainClass));
+    }
+
+    /**
+     * Executes {@code execution} between {@link CriteriaSpecification#prepare} and {@link CriteriaSpecification#release},
+     * in a new read-write transaction if the specification stages and the current transaction is read-only or absent.
+     * An unsatisfiable specification is not executed but answered by {@code empty}
+     */
+    private <R> R staged(Specification<T> spec, Supplier<R> execution, Supplier<R> empty) {
+        if (!(spec instanceof CriteriaSpecification)) {
+            return execution.get();
+        }
+        final var criteriaSpecification = (CriteriaSpecification<T>) spec;
+        if (criteriaSpecification.isUnsatisfiable()) {
+            return empty.get();
+        }
+        if (criteriaSpecification.isStaging() && (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly())) {
+            return stagingTransaction().execute(status -> prepared(criteriaSpecification, execution));
+        }
+        return prepared(criteriaSpecification, execution);
+    }
+
+    private <R> R prepared(CriteriaSpecification<T> criteriaSpecification, Supplier<R> execution) {
+        criteriaSpecification.prepare(entityManager);
+        try {
+            return execution.get();
+        } finally {
+            criteriaSpecification.release(entityManager);
+        }
+    }
+
+    /**
+     * @return a template executing in a new read-write transaction of the transaction manager of the repositories
+     */
+    private TransactionTemplate stagingTransaction() {
+        if (stagingTransaction == null) {
+            throw new IllegalStateException("staging IN lists requires a read-write transaction, "
+                    + "call it within one or enable repositoryFactoryBeanClass = SpecificationJpaRepositoryFactoryBean.class");
+        }
+        return stagingTransaction;
+    }
+
+    /**
+     * Executes the count query as {@code SimpleJpaRepository} does, summing up the counts of grouped queries
+     */
+    private static long executeCountQuery(TypedQuery<Long> query) {
+        long total = 0L;
+        for (Long element : query.getResultList()) {
+            total += element == null ? 0 : element;
+        }
+        return total;
+    }
+
+    private static <Q extends TypedQuery<?>> Q bind(Specification<?> spec, Q query) {
+        return spec instanceof CriteriaSpecification ? ((CriteriaSpecification<?>) spec).bind(query) : query;
+    }
+}
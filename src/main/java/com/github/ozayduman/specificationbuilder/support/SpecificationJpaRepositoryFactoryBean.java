@@ -0,0 +1,97 @@
+/*
+ *  _____                 _  __ _                 _   _
+ * /  ___|               (_)/ _(_)               | | (_)
+ * \ `--. _ __   ___  ___ _| |_ _  ___ __ _  __ _| |_ _  ___  _ __
+ *  `--. \ '_ \ / _ \/ __| |  _| |/ __/ _` |/ _` | __| |/ _ \| '_ \
+ * /\__/ / |_) |  __/ (__| | | | | (_| (_| | (_| | |_| | (_) | | | |
+ * \____/| .__/ \___|\___|_|_| |_|\___\__,_|\__, |\__|_|\___/|_| |_|
+ *       | |                                 __/ |
+ *       |_|                                |___/
+ * ______       _ _     _
+ * | ___ \     (_) |   | |
+ * | |_/ /_   _ _| | __| | ___ _ __
+ * | ___ \ | | | | |/ _` |/ _ \ '__|
+ * | |_/ / |_| | | | (_| |  __/ |
+ * \____/ \__,_|_|_|\__,_|\___|_|
+ *
+ *  Copyright 2021 Specification Builder, https://github.com/ozayduman/specification-builder
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package com.github.ozayduman.specificationbuilder.support;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+
+/**
+ * A repository factory bean handing the {@code PlatformTransactionManager} of the repositories (the one named by
+ * {@code transactionManagerRef}) to {@link SpecificationJpaRepository}, which stages {@code IN} lists in its transactions.
+ * It is enabled together with the repository base class by
+ * <pre>
+ * {@code @EnableJpaRepositories(repositoryBaseClass = SpecificationJpaRepository.class,
+ *         repositoryFactoryBeanClass = SpecificationJpaRepositoryFactoryBean.class)}
+ * </pre>
+ *
+ * @param <R>  the type of the repository
+ * @param <T>  the type of the entity to handle
+ * @param <ID> the type of the entity's identifier
+ */
+public class SpecificationJpaRepositoryFactoryBean<R extends Repository<T, ID>, T, ID> extends JpaRepositoryFactoryBean<R, T, ID> {
+    private static final String DEFAULT_TRANSACTION_MANAGER = "transactionManager";
+    private String transactionManagerName = DEFAULT_TRANSACTION_MANAGER;
+    private BeanFactory beanFactory;
+
+    /**
+     * @param repositoryInterface must not be {@literal null}.
+     */
+    public SpecificationJpaRepositoryFactoryBean(Class<? extends R> repositoryInterface) {
+        super(repositoryInterface);
+    }
+
+    @Override
+    public void setTransactionManager(String transactionManager) {
+        super.setTransactionManager(transactionManager);
+        this.transactionManagerName = transactionManager == null ? DEFAULT_TRANSACTION_MANAGER : transactionManager;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        super.setBeanFactory(beanFactory);
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    protected RepositoryFactorySupport createRepositoryFactory(EntityManager entityManager) {
+        final RepositoryFactorySupport factory = super.createRepositoryFactory(entityManager);
+        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> {
+            final Object target;
+            try {
+                target = proxyFactory.getTargetSource().getTarget();
+            } catch (Exception e) {
+                throw new IllegalStateException("repository could not be obtained", e);
+            }
+            if (target instanceof SpecificationJpaRepository) {
+                ((SpecificationJpaRepository<?, ?>) target).setTransactionManager(
+                        beanFactory.getBean(transactionManagerName, PlatformTransactionManager.class));
+            }
+        });
+        return factory;
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO.Type;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriteriaGroupTest {
+    private final SingleValueOperation a = new SingleValueOperation("a", Operator.EQ, "1");
+    private final SingleValueOperation b = new SingleValueOperation("b", Operator.EQ, "2");
+    private final SingleValueOperation c = new SingleValueOperation("c", Operator.EQ, "3");
+
+    @Test
+    void whenGroupsNestedRedundantlyThenFlattened() {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(a));
+        criteriaDTO.setGroups(List.of(
+                new CriteriaGroupDTO(Type.AND, List.of(b), List.of(new CriteriaGroupDTO(Type.OR, List.of(), null))),
+                new CriteriaGroupDTO(Type.OR, null, List.of(new CriteriaGroupDTO(Type.AND, List.of(c), null)))));
+
+        final var criteria = CriteriaGroup.of(criteriaDTO);
+
+        assertAll(
+                () -> assertEquals(Type.AND, criteria.getType()),
+                () -> assertEquals(List.of(a, b, c), criteria.getOperations()),
+                () -> assertTrue(criteria.getGroups().isEmpty())
+        );
+    }
+
+    @Test
+    void whenOrGroupsNestedThenMergedAndPositionedAfterOperations() {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setGroups(List.of(new CriteriaGroupDTO(Type.OR, List.of(a),
+                List.of(new CriteriaGroupDTO(Type.OR, List.of(b), null), new CriteriaGroupDTO(Type.AND, List.of(b, c), null)))));
+        criteriaDTO.setOperations(List.of(c));
+
+        final var criteria = CriteriaGroup.of(criteriaDTO);
+        final var or = criteria.getGroups().get(0);
+
+        assertAll(
+                () -> assertEquals(Type.OR, or.getType()),
+                () -> assertEquals(List.of(a, b), or.getOperations()),
+                () -> assertEquals(List.of(b, c), or.getGroups().get(0).getOperations()),
+                () -> assertEquals(List.of(c, a, b, b, c), criteria.getAllOperations())
+        );
+    }
+
+    @Test
+    void whenDoubleNegationGivenThenRemoved() {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setGroups(List.of(
+                new CriteriaGroupDTO(Type.NOT, null, List.of(new CriteriaGroupDTO(Type.NOT, List.of(a, b), null))),
+                new CriteriaGroupDTO(Type.NOT, List.of(c), null)));
+
+        final var criteria = CriteriaGroup.of(criteriaDTO);
+
+        assertAll(
+                () -> assertEquals(List.of(a, b), criteria.getOperations()),
+                () -> assertEquals(Type.NOT, criteria.getGroups().get(0).getType()),
+                () -> assertEquals(List.of(c), criteria.getGroups().get(0).getOperations())
+        );
+    }
+
+    @Test
+    void whenGroupTypeMissingThenExceptionThrown() {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setGroups(List.of(new CriteriaGroupDTO(null, List.of(a), null)));
+
+        assertThrows(NullPointerException.class, () -> CriteriaGroup.of(criteriaDTO));
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO.Type;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveMultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveRangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveType;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.PhoneType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CriteriaNormalizerTest {
+    private SpecificationSchema<Object> schema;
+
+    @BeforeEach
+    void setUp() {
+        SingularAttribute<Object, String> name = attribute("name", String.class);
+        SingularAttribute<Object, Integer> age = attribute("age", Integer.class);
+        SingularAttribute<Object, Boolean> active = attribute("active", Boolean.class);
+        SingularAttribute<Object, PhoneType> type = attribute("type", PhoneType.class);
+        schema = SpecificationSchema.builder()
+                .bind(name)
+                .bind(age)
+                .bind(active)
+                .bind(type)
+                .build();
+    }
+
+    @Test
+    void whenOperationsOnSamePropertyGivenThenMerged() {
+        final var criteria = normalize(List.of(
+                new MultiValueOperation("name", Operator.IN, new Object[]{"a", "b", "c"}),
+                new SingleValueOperation("name", Operator.NOT_EQ, "c"),
+                new NoValueOperation("name", Operator.NOT_NULL),
+                new SingleValueOperation("age", Operator.GT, "18"),
+                new SingleValueOperation("age", Operator.GE, 21),
+                new SingleValueOperation("age", Operator.LE, 65),
+                new RangeValueOperation("age", Operator.BT, new RangeDTO(0, 70)),
+                new SingleValueOperation("active", Operator.EQ, "true")), null);
+
+        assertAll(
+                () -> assertFalse(criteria.isUnsatisfiable()),
+                () -> assertEquals(List.of("name IN [a, b]", "age BT [21, 65]", "active TRUE []"), describe(criteria.getOperations()))
+        );
+    }
+
+    @Test
+    void whenBoundsAreOpenThenSeparateComparisonsKept() {
+        final var criteria = normalize(List.of(
+                new SingleValueOperation("age", Operator.GT, 18),
+                new SingleValueOperation("age", Operator.LT, 65),
+                new MultiValueOperation("age", Operator.NOT_IN, new Object[]{10, 30, 40}),
+                new SingleValueOperation("name", Operator.LIKE, ""),
+                new SingleValueOperation("name", Operator.LIKE, "a"),
+                new SingleValueOperation("name", Operator.LIKE, "a")), null);
+
+        assertEquals(List.of("age GT [18]", "age LT [65]", "age NOT_IN [30, 40]", "name LIKE [a]"), describe(criteria.getOperations()));
+    }
+
+    @Test
+    void whenContradictionGivenThenUnsatisfiable() {
+        assertAll(
+                () -> assertTrue(normalize(List.of(
+                        new SingleValueOperation("age", Operator.GT, 40),
+                        new SingleValueOperation("age", Operator.LT, 30)), null).isUnsatisfiable()),
+                () -> assertTrue(normalize(List.of(
+                        new SingleValueOperation("age", Operator.GE, 40),
+                        new SingleValueOperation("age", Operator.LT, 40)), null).isUnsatisfiable()),
+                () -> assertTrue(normalize(List.of(
+                        new SingleValueOperation("name", Operator.EQ, "a"),
+                        new SingleValueOperation("name", Operator.EQ, "b")), null).isUnsatisfiable()),
+                () -> assertTrue(normalize(List.of(
+                        new NoValueOperation("name", Operator.NULL),
+                        new SingleValueOperation("name", Operator.LIKE, "a")), null).isUnsatisfiable()),
+                () -> assertTrue(normalize(List.of(
+                        new NoValueOperation("active", Operator.TRUE),
+                        new NoValueOperation("active", Operator.FALSE)), null).isUnsatisfiable()),
+                () -> assertTrue(normalize(null, List.of(new CriteriaGroupDTO(Type.OR, List.of(
+                        new MultiValueOperation("name", Operator.IN, new Object[0])), null))).isUnsatisfiable())
+        );
+    }
+
+    @Test
+    void whenBoundsOnCollatedPropertyGivenThenKeptAsIs() {
+        final var strings = normalize(List.of(
+                new SingleValueOperation("name", Operator.GE, "a"),
+                new SingleValueOperation("name", Operator.LE, "Z"),
+                new MultiValueOperation("name", Operator.IN, new Object[]{"a", "b", "z"}),
+                new SingleValueOperation("name", Operator.NOT_EQ, "b"),
+                new NoValueOperation("name", Operator.NOT_NULL)), null);
+        final var enums = normalize(List.of(
+                new SingleValueOperation("type", Operator.GT, "HOME"),
+                new SingleValueOperation("type", Operator.LT, "BUSSINES")), null);
+
+        assertAll(
+                () -> assertFalse(strings.isUnsatisfiable()),
+                () -> assertEquals(List.of("name IN [a, z]", "name GE [a]", "name LE [Z]"), describe(strings.getOperations())),
+                () -> assertFalse(enums.isUnsatisfiable()),
+                () -> assertEquals(List.of("type GT [HOME]", "type LT [BUSSINES]"), describe(enums.getOperations())),
+                () -> assertTrue(normalize(List.of(
+                        new NoValueOperation("name", Operator.NULL),
+                        new SingleValueOperation("name", Operator.EQ, "a")), null).isUnsatisfiable())
+        );
+    }
+
+    @Test
+    void whenEqualitiesOfOrGroupGivenThenFoldedIntoInList() {
+        final var criteria = normalize(List.of(new SingleValueOperation("age", Operator.EQ, 1)), List.of(
+                new CriteriaGroupDTO(Type.OR, List.of(
+                        new SingleValueOperation("name", Operator.EQ, "b"),
+                        new SingleValueOperation("age", Operator.GT, 1),
+                        new MultiValueOperation("name", Operator.IN, new Object[]{"a", "b"})),
+                        List.of(new CriteriaGroupDTO(Type.AND, List.of(
+                                new SingleValueOperation("age", Operator.GT, 40),
+                                new SingleValueOperation("age", Operator.LT, 30)), null)))));
+
+        final var or = criteria.getGroups().get(0);
+        assertAll(
+                () -> assertEquals(List.of("name IN [a, b]", "age GT [1]"), describe(or.getOperations())),
+                () -> assertTrue(or.getGroups().isEmpty())
+        );
+    }
+
+    @Test
+    void whenPrimitiveAndBoxedOperationsOnSamePropertyGivenThenMerged() {
+        final var primitiveIn = new PrimitiveMultiValueOperation("age", Operator.IN, PrimitiveType.INT, new long[]{1, 2, 3});
+        final var primitiveRange = new PrimitiveRangeValueOperation("age", Operator.BT, PrimitiveType.INT, 10, 20);
+
+        assertAll(
+                () -> assertEquals(List.of("age IN [1, 3]"), describe(normalize(List.of(
+                        primitiveIn, new SingleValueOperation("age", Operator.NOT_EQ, 2)), null).getOperations())),
+                () -> assertEquals(List.of("age IN [1, 3]"), describe(normalize(List.of(
+                        new SingleValueOperation("age", Operator.NOT_EQ, 2), primitiveIn), null).getOperations())),
+                () -> assertEquals(List.of("age IN [2, 3]"), describe(normalize(List.of(
+                        primitiveIn, new SingleValueOperation("age", Operator.GT, 1)), null).getOperations())),
+                () -> assertEquals(List.of("age BT [15, 20]"), describe(normalize(List.of(
+                        primitiveRange, new SingleValueOperation("age", Operator.GE, 15)), null).getOperations())),
+                () -> assertEquals(List.of("age BT [15, 20]"), describe(normalize(List.of(
+                        new SingleValueOperation("age", Operator.GE, 15), primitiveRange), null).getOperations())),
+                () -> assertTrue(normalize(List.of(
+                        primitiveIn, new SingleValueOperation("age", Operator.GT, 3)), null).isUnsatisfiable()),
+                () -> assertSame(primitiveIn, normalize(List.of(primitiveIn), null).getOperations().get(0))
+        );
+    }
+
+    @Test
+    void whenNotGroupOrUnboundPropertyGivenThenLeftAsIs() {
+        final var equal = new SingleValueOperation("name", Operator.EQ, "a");
+        final var other = new SingleValueOperation("name", Operator.EQ, "b");
+        final var negated = normalize(null, List.of(new CriteriaGroupDTO(Type.NOT, List.of(equal, other), null)));
+        final var unbound = normalize(List.of(equal, other, new SingleValueOperation("unknown", Operator.EQ, "a")), null);
+
+        assertAll(
+                () -> assertFalse(negated.isUnsatisfiable()),
+                () -> assertEquals(List.of(equal, other), negated.getGroups().get(0).getOperations()),
+                () -> assertFalse(unbound.isUnsatisfiable()),
+                () -> assertEquals(3, unbound.getOperations().size())
+        );
+    }
+
+    private CriteriaGroup normalize(List<AbstractOperation> operations, List<CriteriaGroupDTO> groups) {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(operations);
+        criteriaDTO.setGroups(groups);
+        return CriteriaNormalizer.normalize(CriteriaGroup.of(criteriaDTO), schema);
+    }
+
+    private static List<String> describe(List<AbstractOperation> operations) {
+        return operations.stream()
+                .map(operation -> operation.getProperty() + " " + operation.getOperator() + " " + List.of(operation.getOperands()))
+                .collect(Collectors.toList());
+    }
+
+    private static <Z> SingularAttribute<Object, Z> attribute(String name, Class<Z> javaType) {
+        SingularAttribute<Object, Z> attribute = mock(SingularAttribute.class);
+        when(attribute.getName()).thenReturn(name);
+        when(attribute.getJavaType()).thenReturn(javaType);
+        return attribute;
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.ozayduman.specificationbuilder;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InListsTest {
+
+    @Test
+    void whenValuesUnorderedAndDuplicatedThenSortedAndDeduplicated() {
+        assertArrayEquals(new Comparable<?>[]{1L, 2L, 3L, 3L}, InLists.canonicalize(new Comparable<?>[]{3L, 1L, 3L, 2L}));
+        assertArrayEquals(InLists.canonicalize(new Comparable<?>[]{1L, 2L, 3L}), InLists.canonicalize(new Comparable<?>[]{3L, 1L, 3L, 2L}));
+    }
+
+    @Test
+    void whenValuesCanonicalizedThenPaddedToBucketByRepeatingLastValue() {
+        assertAll(
+                () -> assertArrayEquals(new Comparable<?>[]{"a"}, InLists.canonicalize(new Comparable<?>[]{"a", "a"})),
+                () -> assertArrayEquals(new Comparable<?>[]{"a", "b", "c", "d", "e", "e", "e", "e"},
+                        InLists.canonicalize(new Comparable<?>[]{"e", "d", "c", "b", "a"})),
+                () -> assertEquals(0, InLists.bucketSize(0)),
+                () -> assertEquals(2, InLists.bucketSize(2)),
+                () -> assertEquals(1024, InLists.bucketSize(513)),
+                () -> assertEquals(2048, InLists.bucketSize(1025))
+        );
+    }
+
+    @Test
+    void whenValuesContainNullThenLeftAsTheyAre() {
+        final Comparable<?>[] values = {2L, null, 1L};
+        assertSame(values, InLists.canonicalize(values));
+    }
+
+    @Test
+    void whenValuesChunkedThenOnlyLastChunkPadded() {
+        final Comparable<?>[][] chunks = InLists.chunk(new Comparable<?>[]{5, 4, 3, 2, 1, 1}, 2);
+        assertAll(
+                () -> assertEquals(3, chunks.length),
+                () -> assertArrayEquals(new Comparable<?>[]{1, 2}, chunks[0]),
+                () -> assertArrayEquals(new Comparable<?>[]{3, 4}, chunks[1]),
+                () -> assertArrayEquals(new Comparable<?>[]{5}, chunks[2]),
+                () -> assertArrayEquals(new Comparable<?>[]{1, 2, 3, 3}, InLists.chunk(new Comparable<?>[]{3, 2, 1}, 5)[0]),
+                () -> assertThrows(IllegalArgumentException.class, () -> InLists.chunk(new Comparable<?>[]{1}, 0))
+        );
+    }
+}
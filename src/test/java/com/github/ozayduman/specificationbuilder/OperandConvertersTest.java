@@ -0,0 +1,94 @@
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.entity.PhoneType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperandConvertersTest {
+
+    @Test
+    void whenValueIsAlreadyOfTargetTypeThenSameInstanceReturned() {
+        final var value = "Ozay";
+        final var date = LocalDate.of(2000, 1, 1);
+        assertAll(
+                () -> assertSame(value, OperandConverters.convert(value, String.class)),
+                () -> assertSame(date, OperandConverters.convert(date, LocalDate.class)),
+                () -> assertNull(OperandConverters.convert(null, Long.class))
+        );
+    }
+
+    @Test
+    void shouldWidenNumbers() {
+        assertAll(
+                () -> assertEquals(5L, OperandConverters.convert(5, Long.class)),
+                () -> assertEquals(5L, OperandConverters.convert(5, long.class)),
+                () -> assertEquals(7, OperandConverters.convert(7L, Integer.class)),
+                () -> assertEquals(2.5d, OperandConverters.convert(2.5f, Double.class)),
+                () -> assertEquals(BigDecimal.valueOf(3L), OperandConverters.convert(3, BigDecimal.class))
+        );
+    }
+
+    @Test
+    void shouldParseStrings() {
+        assertAll(
+                () -> assertEquals(42L, OperandConverters.convert("42", Long.class)),
+                () -> assertEquals(LocalDate.of(1990, 1, 1), OperandConverters.convert("1990-01-01", LocalDate.class)),
+                () -> assertEquals(LocalDateTime.of(1990, 1, 1, 10, 15), OperandConverters.convert("1990-01-01T10:15:00", LocalDateTime.class)),
+                () -> assertEquals(Instant.parse("2021-03-04T05:06:07Z"), OperandConverters.convert("2021-03-04T05:06:07Z", Instant.class)),
+                () -> assertEquals(Boolean.TRUE, OperandConverters.convert("true", Boolean.class))
+        );
+    }
+
+    @Test
+    void shouldLookUpEnumsByNameAndOrdinal() {
+        assertAll(
+                () -> assertEquals(PhoneType.HOME, OperandConverters.convert("HOME", PhoneType.class)),
+                () -> assertEquals(PhoneType.values()[0], OperandConverters.convert(0, PhoneType.class)),
+                () -> assertEquals("HOME", OperandConverters.convert(PhoneType.HOME, String.class))
+        );
+    }
+
+    @Test
+    void whenPairIsUnknownThenJacksonUsed() {
+        assertEquals(LocalDate.of(2020, 2, 3), OperandConverters.convert(List.of(2020, 2, 3), LocalDate.class));
+    }
+
+    @Test
+    void whenInvalidValueSuppliedThenExceptionThrown() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> OperandConverters.convert("UNKNOWN", PhoneType.class)),
+                () -> assertThrows(NumberFormatException.class, () -> OperandConverters.convert("abc", Long.class))
+        );
+    }
+
+    @Test
+    void whenNumberOutOfRangeOfTargetThenExceptionThrown() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> OperandConverters.convert(3_000_000_000L, Integer.class)),
+                () -> assertThrows(IllegalArgumentException.class, () -> OperandConverters.convert(40_000, Short.class)),
+                () -> assertThrows(IllegalArgumentException.class, () -> OperandConverters.convert(-129, Byte.class)),
+                () -> assertThrows(IllegalArgumentException.class, () -> OperandConverters.convert(1e19, Long.class)),
+                () -> assertThrows(IllegalArgumentException.class, () -> OperandConverters.convert(new BigDecimal("1e19"), Long.class)),
+                () -> assertEquals(Integer.MIN_VALUE, OperandConverters.convert((long) Integer.MIN_VALUE, Integer.class)),
+                () -> assertEquals((byte) 127, OperandConverters.convert(127, Byte.class)),
+                () -> assertEquals(2, OperandConverters.convert(2.9, Integer.class))
+        );
+    }
+
+    @Test
+    void whenCustomConverterRegisteredThenItIsUsed() {
+        OperandConverters.register(StringBuilder.class, Long.class, sb -> (long) sb.length());
+        try {
+            assertEquals(3L, OperandConverters.convert(new StringBuilder("abc"), Long.class));
+        } finally {
+            OperandConverters.unregister(StringBuilder.class, Long.class);
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.github.ozayduman.specificationbuilder;
 
+import com.github.ozayduman.specificationbuilder.cache.CountCache;
 import com.github.ozayduman.specificationbuilder.dto.*;
 import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.PageRequestBuilder;
 import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.SortDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveMultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveRangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveType;
 import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
 import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
 import com.github.ozayduman.specificationbuilder.entity.*;
 import com.github.ozayduman.specificationbuilder.repository.EmployeeRepository;
 import lombok.val;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,16 +22,25 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
 import javax.persistence.criteria.*;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static com.github.ozayduman.specificationbuilder.SpecificationMappings.SpecificationBuilder;
@@ -41,6 +57,9 @@ class SpecificationBuilderIntegrationTest {
     @Autowired
     EmployeeRepository employeeRepository;
 
+    @Autowired
+    EntityManager entityManager;
+
     @Test
     void shouldBuildASpecificationWithDTO() {
         assertAll("build",
@@ -120,10 +139,10 @@ class SpecificationBuilderIntegrationTest {
                 .bind("surname", Employee_.surname)
                 .build();
         Root<Employee> rootMock = mock(Root.class);
-        Path<Object> namePathMock = mock(Path.class);
-        Path<Object> surnamePathMock = mock(Path.class);
-        when(rootMock.get(Employee_.name.getName())).thenReturn(namePathMock);
-        when(rootMock.get(Employee_.surname.getName())).thenReturn(surnamePathMock);
+        Path<String> namePathMock = mock(Path.class);
+        Path<String> surnamePathMock = mock(Path.class);
+        when(rootMock.get(Employee_.name)).thenReturn(namePathMock);
+        when(rootMock.get(Employee_.surname)).thenReturn(surnamePathMock);
         CriteriaQuery<?> criteriaQueryMock = mock(CriteriaQuery.class);
         CriteriaBuilder criteriaBuilderMock = mock(CriteriaBuilder.class);
         Predicate namePredicateMock = mock(Predicate.class);
@@ -133,8 +152,8 @@ class SpecificationBuilderIntegrationTest {
 
         final Predicate predicate = specification.toPredicate(rootMock, criteriaQueryMock, criteriaBuilderMock);
 
-        verify(rootMock, times(1)).get(Employee_.name.getName());
-        verify(rootMock, times(1)).get(Employee_.surname.getName());
+        verify(rootMock, times(1)).get(Employee_.name);
+        verify(rootMock, times(1)).get(Employee_.surname);
         verifyNoMoreInteractions(rootMock);
         verify(criteriaBuilderMock, times(1)).equal(namePathMock, valueOfName);
         verify(criteriaBuilderMock, times(1)).equal(surnamePathMock, valueOfLastName);
@@ -200,6 +219,361 @@ class SpecificationBuilderIntegrationTest {
         assertEquals("ozay.duman@gmail.com", customerFromDB.getEmail());
     }
 
+    @Test
+    void whenSchemaSuppliedThenSpecificationCreatedForEachRequest() {
+        final var schema = SpecificationSchema.<Employee>builder()
+                .bind("name", Employee_.name)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build();
+        var employee = new Employee("özay", "duman", "ozay.duman@gmail.com", LocalDate.now().minusYears(20L));
+        employee.addPhone(Phone.builder().number("7777").phoneType(PhoneType.HOME).build());
+        employeeRepository.save(employee);
+
+        final CriteriaDTO first = new CriteriaDTO();
+        first.setOperations(List.of(new SingleValueOperation("phoneNumber", Operator.EQ, "7777")));
+        final CriteriaDTO second = new CriteriaDTO();
+        second.setOperations(List.of(
+                new SingleValueOperation("name", Operator.EQ, "özay"),
+                new SingleValueOperation("phoneNumber", Operator.EQ, "0000")));
+
+        assertAll(
+                () -> assertEquals(1, employeeRepository.findAll(schema.toSpecification(first)).size()),
+                () -> assertTrue(employeeRepository.findAll(schema.toSpecification(second)).isEmpty())
+        );
+    }
+
+    @Test
+    void whenSchemaParameterizedThenQueryTextIndependentOfValues() {
+        final var schema = SpecificationSchema.<Employee>builder()
+                .parameterized()
+                .bind("id", Employee_.id)
+                .bind("name", Employee_.name)
+                .bind("birthDate", Employee_.birthDate)
+                .build();
+        final var employees = employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final var employee = employees.get(0);
+
+        final CriteriaDTO first = createParameterizedCriteria(employee.getId(), employee.getName(), employee.getBirthDate());
+        final CriteriaDTO second = createParameterizedCriteria(-1L, "none", LocalDate.now());
+        final Page<Employee> page = employeeRepository.findAll(schema.toSpecification(first), PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(renderQuery(schema.toSpecification(first)), renderQuery(schema.toSpecification(second))),
+                () -> assertTrue(renderQuery(schema.toSpecification(first)).contains(":id_0")),
+                () -> assertEquals(1, page.getTotalElements()),
+                () -> assertEquals(employee.getId(), page.getContent().get(0).getId()),
+                () -> assertTrue(employeeRepository.findAll(schema.toSpecification(second)).isEmpty())
+        );
+    }
+
+    private static CriteriaDTO createParameterizedCriteria(Long id, String name, LocalDate birthDate) {
+        final CriteriaDTO criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(
+                new MultiValueOperation("id", Operator.IN, new Object[]{id, 0L}),
+                new SingleValueOperation("name", Operator.LIKE, name),
+                new RangeValueOperation("birthDate", Operator.BT, new RangeDTO(birthDate, birthDate)),
+                new NoValueOperation("name", Operator.NOT_NULL)));
+        return criteriaDTO;
+    }
+
+    private String renderQuery(Specification<Employee> specification) {
+        final var criteriaBuilder = entityManager.getCriteriaBuilder();
+        final var query = criteriaBuilder.createQuery(Employee.class);
+        final var root = query.from(Employee.class);
+        query.where(specification.toPredicate(root, query, criteriaBuilder));
+        return entityManager.createQuery(query).unwrap(org.hibernate.query.Query.class).getQueryString();
+    }
+
+    @Test
+    void whenInListLargerThanChunkSizeThenChunksCombined() {
+        final var schema = SpecificationSchema.<Employee>builder()
+                .inListStrategy(InListStrategy.chunked(2))
+                .bind("id", Employee_.id)
+                .build();
+        final var employees = employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final Object[] ids = employees.stream().limit(5).map(Employee::getId).toArray();
+
+        final CriteriaDTO in = new CriteriaDTO();
+        in.setOperations(List.of(new MultiValueOperation("id", Operator.IN, ids)));
+        final CriteriaDTO notIn = new CriteriaDTO();
+        notIn.setOperations(List.of(new MultiValueOperation("id", Operator.NOT_IN, ids)));
+
+        assertAll(
+                () -> assertEquals(5, employeeRepository.findAll(schema.toSpecification(in)).size()),
+                () -> assertEquals(employees.size() - 5, employeeRepository.count(schema.toSpecification(notIn)))
+        );
+    }
+
+    @Test
+    void whenPrimitiveInListGivenThenSameResultAsBoxedInList() {
+        final var schema = SpecificationSchema.<Employee>builder()
+                .parameterized()
+                .inListStrategy(InListStrategy.chunked(2))
+                .bind("id", Employee_.id)
+                .bind("birthDate", Employee_.birthDate)
+                .build();
+        final var employees = employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final long[] ids = employees.stream().limit(5).mapToLong(Employee::getId).toArray();
+        final long[] unsorted = {ids[4], ids[0], ids[3], ids[0], ids[1], ids[2]};
+
+        final CriteriaDTO in = new CriteriaDTO();
+        in.setOperations(List.of(new PrimitiveMultiValueOperation("id", Operator.IN, PrimitiveType.LONG, unsorted),
+                new PrimitiveRangeValueOperation("birthDate", Operator.BT, PrimitiveType.EPOCH_DAY,
+                        LocalDate.of(1900, 1, 1).toEpochDay(), LocalDate.of(2100, 1, 1).toEpochDay())));
+        final CriteriaDTO notIn = new CriteriaDTO();
+        notIn.setOperations(List.of(new PrimitiveMultiValueOperation("id", Operator.NOT_IN, PrimitiveType.LONG, unsorted)));
+        final CriteriaDTO empty = new CriteriaDTO();
+        empty.setOperations(List.of(new PrimitiveMultiValueOperation("id", Operator.IN, PrimitiveType.LONG, new long[0])));
+
+        assertAll(
+                () -> assertEquals(5, employeeRepository.findAll(schema.toSpecification(in)).size()),
+                () -> assertEquals(employees.size() - 5, employeeRepository.count(schema.toSpecification(notIn))),
+                () -> assertTrue(schema.toSpecification(empty).isUnsatisfiable())
+        );
+    }
+
+    @Test
+    void whenInListLargerThanStagingThresholdThenValuesStaged() {
+        final var schema = SpecificationSchema.<Employee>builder()
+                .parameterized()
+                .inListStrategy(InListStrategy.staged(2, 3))
+                .bind("id", Employee_.id)
+                .bind("name", Employee_.name)
+                .build();
+        final var employees = employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final Object[] ids = employees.stream().limit(10).map(Employee::getId).toArray();
+        final CriteriaDTO criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(
+                new MultiValueOperation("id", Operator.IN, ids),
+                new MultiValueOperation("name", Operator.NOT_IN, new Object[]{"Doloritas", "April", "Ermina", "Dominik"})));
+
+        final Page<Employee> page = employeeRepository.findAll(schema.toSpecification(criteriaDTO), PageRequest.of(0, 4));
+
+        assertAll(
+                () -> assertEquals(6, page.getTotalElements()),
+                () -> assertEquals(4, page.getContent().size()),
+                () -> assertEquals(0L, entityManager.createQuery("select count(s) from StagedValue s").getSingleResult())
+        );
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void whenValuesStagedOutsideReadWriteTransactionThenStagedInNewTransaction() {
+        final var schema = SpecificationSchema.<Employee>builder()
+                .parameterized()
+                .inListStrategy(InListStrategy.staged(2, 3))
+                .bind("id", Employee_.id)
+                .build();
+        try {
+            final var employees = employeeRepository.saveAll(TestDataGenerator.createEmployees());
+            final Object[] ids = employees.stream().limit(10).map(Employee::getId).toArray();
+            final CriteriaDTO criteriaDTO = new CriteriaDTO();
+            criteriaDTO.setOperations(List.of(new MultiValueOperation("id", Operator.IN, ids)));
+
+            final Page<Employee> page = employeeRepository.findAll(schema.toSpecification(criteriaDTO), PageRequest.of(0, 4));
+            final List<Employee> composed = employeeRepository.findAll(schema.toSpecification(criteriaDTO)
+                    .and((root, query, criteriaBuilder) -> criteriaBuilder.isNotNull(root.get(Employee_.name))));
+
+            assertAll(
+                    () -> assertEquals(10, page.getTotalElements()),
+                    () -> assertEquals(4, page.getContent().size()),
+                    () -> assertEquals(10, composed.size()),
+                    () -> assertEquals(0L, entityManager.createQuery("select count(s) from StagedValue s").getSingleResult())
+            );
+        } finally {
+            employeeRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void whenCursorSuppliedThenNextKeysetPageRead() {
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final var schema = SpecificationSchema.<Employee>builder()
+                .bind("employeeBirthDate", Employee_.birthDate)
+                .build();
+        final PageRequestDTO pageRequestDTO = new PageRequestDTO();
+        pageRequestDTO.setOperations(List.of(
+                new SingleValueOperation("employeeBirthDate", Operator.GT, LocalDate.of(1990, Month.JANUARY, 1))));
+        pageRequestDTO.setSize(4);
+        pageRequestDTO.setSortFields(new SortDTO[]{
+                new SortDTO("employeeBirthDate", SortDTO.Direction.DESC),
+                new SortDTO("employeeName", SortDTO.Direction.ASC)
+        });
+        final var expected = employeeRepository.findAll(schema.toSpecification(pageRequestDTO),
+                Sort.by(Sort.Order.desc("birthDate"), Sort.Order.asc("name"), Sort.Order.asc("id")));
+
+        final List<Employee> actual = new ArrayList<>();
+        SliceResultDTO sliceResultDTO;
+        do {
+            final var keyset = PageRequestBuilder.of(pageRequestDTO)
+                    .bindSort("employeeBirthDate", Employee_.birthDate)
+                    .bindSort("employeeName", Employee_.name)
+                    .buildKeyset(Employee_.id);
+            final var slice = employeeRepository.findSlice(keyset.toSpecification(schema.toSpecification(pageRequestDTO)), keyset.toPageable());
+            sliceResultDTO = SliceResultDTO.from(slice, e -> e, keyset);
+            actual.addAll((List<Employee>) sliceResultDTO.getContent());
+            pageRequestDTO.setCursor(sliceResultDTO.getNextCursor());
+        } while (sliceResultDTO.getNextCursor() != null);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void whenSortedByDateThenCursorRoundTripsMilliseconds() {
+        final var employees = TestDataGenerator.createEmployees();
+        for (int i = 0; i < employees.size(); i++) {
+            employees.get(i).setHiredAt(new Date(1_600_000_000_123L + i / 3 * 1_001L));
+        }
+        employeeRepository.saveAll(employees);
+        final PageRequestDTO pageRequestDTO = new PageRequestDTO();
+        pageRequestDTO.setSize(4);
+        pageRequestDTO.setSortFields(new SortDTO[]{new SortDTO("hiredAt", SortDTO.Direction.DESC)});
+        final var expected = employeeRepository.findAll(Sort.by(Sort.Order.desc("hiredAt"), Sort.Order.asc("id")));
+
+        final List<Employee> actual = new ArrayList<>();
+        SliceResultDTO sliceResultDTO;
+        do {
+            final var keyset = PageRequestBuilder.of(pageRequestDTO)
+                    .bindSort("hiredAt", Employee_.hiredAt)
+                    .buildKeyset(Employee_.id);
+            final var slice = employeeRepository.findSlice(keyset.toSpecification(null), keyset.toPageable());
+            sliceResultDTO = SliceResultDTO.from(slice, e -> e, keyset);
+            actual.addAll((List<Employee>) sliceResultDTO.getContent());
+            pageRequestDTO.setCursor(sliceResultDTO.getNextCursor());
+        } while (sliceResultDTO.getNextCursor() != null);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void whenCursorDoesNotBelongToSortKeysThenExceptionThrown() {
+        final PageRequestDTO pageRequestDTO = new PageRequestDTO();
+        pageRequestDTO.setCursor("WyJuYW1lOkFTQyIsIkEiXQ");
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> PageRequestBuilder.of(pageRequestDTO).buildKeyset(Employee_.id)),
+                () -> {
+                    pageRequestDTO.setCursor("not a cursor");
+                    assertThrows(IllegalArgumentException.class, () -> PageRequestBuilder.of(pageRequestDTO).buildKeyset(Employee_.id));
+                }
+        );
+    }
+
+    @Test
+    void whenSortKeyIsNullableOrNotOfRootThenKeysetRejected() {
+        final PageRequestDTO pageRequestDTO = new PageRequestDTO();
+        pageRequestDTO.setSortFields(new SortDTO[]{new SortDTO("sortKey", SortDTO.Direction.ASC)});
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> PageRequestBuilder.of(pageRequestDTO)
+                        .bindSort("sortKey", Employee_.email)
+                        .buildKeyset(Employee_.id)),
+                () -> assertThrows(IllegalArgumentException.class, () -> PageRequestBuilder.of(pageRequestDTO)
+                        .bindSort("sortKey", Phone_.id)
+                        .buildKeyset(Employee_.id)),
+                () -> assertDoesNotThrow(() -> PageRequestBuilder.of(pageRequestDTO)
+                        .bindSort("sortKey", Employee_.birthDate)
+                        .buildKeyset(Employee_.id))
+        );
+    }
+
+    @Test
+    void whenSliceRequestedThenCountNotExecuted() {
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final PageRequestDTO pageRequestDTO = new PageRequestDTO();
+        pageRequestDTO.setSize(30);
+        pageRequestDTO.setSlice(true);
+        final var specification = SpecificationBuilder.<Employee>of(pageRequestDTO).build();
+        final var pageRequest = PageRequestBuilder.of(pageRequestDTO).build();
+
+        final var first = SliceResultDTO.from(employeeRepository.findAll(specification, pageRequest, !pageRequestDTO.isSlice()), e -> e);
+        final var second = SliceResultDTO.from(employeeRepository.findAll(specification, pageRequest.next(), !pageRequestDTO.isSlice()), e -> e);
+        final var page = SliceResultDTO.from(employeeRepository.findAll(specification, pageRequest, true), e -> e);
+
+        assertAll(
+                () -> assertFalse(first instanceof PageResultDTO),
+                () -> assertTrue(first.isHasNext()),
+                () -> assertEquals(30, first.getContent().size()),
+                () -> assertFalse(second.isHasNext()),
+                () -> assertEquals(6, second.getContent().size()),
+                () -> assertEquals(36, ((PageResultDTO) page).getTotalElements())
+        );
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void whenCountCachedThenCountExecutedOnceUntilEntityChanged() {
+        final var counts = new AtomicInteger();
+        final var schema = countingSchema(counts);
+        try {
+            employeeRepository.saveAll(TestDataGenerator.createEmployees());
+            final CriteriaDTO criteriaDTO = bornAfter2000();
+
+            final var first = employeeRepository.findAll(schema.toSpecification(criteriaDTO), PageRequest.of(0, 5));
+            final var second = employeeRepository.findAll(schema.toSpecification(criteriaDTO), PageRequest.of(1, 5));
+            final var countsBeforeChange = counts.get();
+            employeeRepository.save(new Employee("özay", "duman", "ozay.duman@gmail.com", LocalDate.of(2010, Month.MAY, 1)));
+            final var afterChange = employeeRepository.findAll(schema.toSpecification(criteriaDTO), PageRequest.of(0, 5));
+
+            assertAll(
+                    () -> assertEquals(1, countsBeforeChange),
+                    () -> assertEquals(first.getTotalElements(), second.getTotalElements()),
+                    () -> assertEquals(2, counts.get()),
+                    () -> assertEquals(first.getTotalElements() + 1, afterChange.getTotalElements()),
+                    () -> assertArrayEquals(new Class<?>[]{Employee.class, Phone.class}, schema.getEntityTypes(Employee.class))
+            );
+        } finally {
+            employeeRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void whenTransactionFlushedChangesThenCountCacheNeitherReadNorPopulated() {
+        final var counts = new AtomicInteger();
+        final var schema = countingSchema(counts);
+        final CriteriaDTO criteriaDTO = bornAfter2000();
+
+        final var beforeChange = employeeRepository.count(schema.toSpecification(criteriaDTO));
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        entityManager.flush();
+        final var first = employeeRepository.count(schema.toSpecification(criteriaDTO));
+        final var second = employeeRepository.count(schema.toSpecification(criteriaDTO));
+
+        assertAll(
+                () -> assertEquals(0, beforeChange),
+                () -> assertTrue(first > 0),
+                () -> assertEquals(first, second),
+                () -> assertEquals(3, counts.get())
+        );
+    }
+
+    private static SpecificationSchema<Employee> countingSchema(AtomicInteger counts) {
+        final var countCache = CountCache.of(Duration.ofMinutes(1), 100);
+        return SpecificationSchema.<Employee>builder()
+                .countCache((key, entityTypes, counter) -> countCache.count(key, entityTypes, () -> {
+                    counts.incrementAndGet();
+                    return counter.getAsLong();
+                }))
+                .bind("employeeBirthDate", Employee_.birthDate)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build();
+    }
+
+    private static CriteriaDTO bornAfter2000() {
+        final CriteriaDTO criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(
+                new SingleValueOperation("employeeBirthDate", Operator.GT, LocalDate.of(2000, Month.JANUARY, 1))));
+        return criteriaDTO;
+    }
+
+    @Test
+    void whenOperatorNotApplicableToPropertyThenExceptionThrown() {
+        final CriteriaDTO criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(new NoValueOperation("birthDate", Operator.TRUE)));
+        final Specification<Employee> specification = SpecificationBuilder.<Employee>of(criteriaDTO)
+                .bind(Employee_.birthDate)
+                .build();
+        assertThrows(RuntimeException.class, () -> employeeRepository.findAll(specification));
+    }
+
     @Test
     void whenSortDTOSuppliedThenResultSortedByGivenSortInfo() {
         final var employees = TestDataGenerator.createEmployees();
@@ -319,4 +693,186 @@ class SpecificationBuilderIntegrationTest {
         assertFalse(hasNamesContainingValue);
     }
 
+    @Test
+    void whenProjectionGivenThenOnlyProjectedColumnsSelectedReusingJoins() {
+        final var schema = SpecificationSchema.<Employee>builder()
+                .bind("name", Employee_.name)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build();
+        var employee = new Employee("özay", "duman", "ozay.duman@gmail.com", LocalDate.now().minusYears(20L));
+        employee.addPhone(Phone.builder().number("7777").phoneType(PhoneType.HOME).build());
+        employee.addPhone(Phone.builder().number("8888").phoneType(PhoneType.BUSSINES).build());
+        employeeRepository.save(employee);
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final CriteriaDTO criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(new SingleValueOperation("phoneNumber", Operator.EQ, "7777")));
+
+        final Page<EmployeePhone> rows = employeeRepository.findAll(schema.toSpecification(criteriaDTO),
+                schema.projection().select("id", Employee_.id).select("name").select("phoneNumber").into(EmployeePhone.class),
+                PageRequest.of(0, 10, Sort.by("name")));
+        final Page<Tuple> tuples = employeeRepository.findAll(schema.toSpecification(new CriteriaDTO()),
+                schema.projection().select("name").select("phoneNumber").toTuple(),
+                PageRequest.of(0, 100));
+
+        assertAll(
+                () -> assertEquals(List.of(new EmployeePhone(employee.getId(), "özay", "7777")), rows.getContent()),
+                () -> assertEquals(1, rows.getTotalElements()),
+                () -> assertEquals(38, tuples.getTotalElements()),
+                () -> assertTrue(tuples.getContent().stream().anyMatch(tuple -> tuple.get("phoneNumber") == null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> schema.projection().select("name").into(EmployeePhone.class))
+        );
+    }
+
+
+    @Test
+    void whenFetchPlanGivenThenAssociationsLoadedWithPage() {
+        for (int i = 0; i < 3; i++) {
+            final var employee = Employee.of("özay" + i, "duman", "o.d@test.com",
+                    LocalDate.of(1990, Month.JANUARY, 1), SocialSecurity.of(A, "AAA" + i));
+            employee.addPhone(Phone.builder().number("5555" + i).phoneType(PhoneType.HOME).build());
+            employee.addPhone(Phone.builder().number("6666" + i).phoneType(PhoneType.BUSSINES).build());
+            employeeRepository.save(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        final var fetchPlan = FetchPlan.<Employee>builder()
+                .fetch(Employee_.socialSecurity)
+                .fetch(Employee_.phones)
+                .build();
+        final var specification = SpecificationSchema.<Employee>builder()
+                .bind("surname", Employee_.surname)
+                .build()
+                .toSpecification(new CriteriaDTO());
+
+        final Page<Employee> page = employeeRepository.findAll(specification, fetchPlan, PageRequest.of(0, 2, Sort.by("name")));
+
+        assertAll(
+                () -> assertEquals(3, page.getTotalElements()),
+                () -> assertEquals(2, page.getContent().size()),
+                () -> assertTrue(page.getContent().stream().allMatch(employee -> Hibernate.isInitialized(employee.getSocialSecurity()))),
+                () -> assertTrue(page.getContent().stream().allMatch(employee -> Hibernate.isInitialized(employee.getPhones()))),
+                () -> assertEquals(2, page.getContent().get(0).getPhones().size()),
+                () -> assertThrows(IllegalArgumentException.class, () -> FetchPlan.<Employee>builder().fetch(Employee_.name))
+        );
+    }
+
+    @Test
+    void whenMoreEntitiesThanChunkSizeThenCollectionsFetchedForAll() {
+        for (int i = 0; i <= InListStrategy.DEFAULT_CHUNK_SIZE; i++) {
+            final var employee = new Employee("özay" + i, "duman", "o.d@test.com", LocalDate.of(1990, Month.JANUARY, 1));
+            employee.addPhone(Phone.builder().number("5555" + i).phoneType(PhoneType.HOME).build());
+            employeeRepository.save(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        final var fetchPlan = FetchPlan.<Employee>builder()
+                .fetch(Employee_.phones)
+                .build();
+        final List<Employee> employees = employeeRepository.findAll();
+
+        fetchPlan.fetchCollections(entityManager, Employee.class, employees);
+
+        assertAll(
+                () -> assertEquals(InListStrategy.DEFAULT_CHUNK_SIZE + 1, employees.size()),
+                () -> assertTrue(employees.stream().allMatch(employee -> Hibernate.isInitialized(employee.getPhones()))),
+                () -> assertTrue(employees.stream().allMatch(employee -> employee.getPhones().size() == 1))
+        );
+    }
+
+
+    @Test
+    void whenCollectionStrategyIsExistsThenRootRowsNotMultiplied() {
+        final var schema = SpecificationSchema.<Employee>builder()
+                .collectionStrategy(CollectionStrategy.EXISTS)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .bindJoin("phoneType", Employee_.phones, Phone_.phoneType)
+                .bindJoin("joinedPhoneNumber", Employee_.phones, Phone_.number)
+                .collectionStrategy("joinedPhoneNumber", CollectionStrategy.JOIN)
+                .build();
+        var employee = new Employee("özay", "duman", "ozay.duman@gmail.com", LocalDate.now().minusYears(20L));
+        employee.addPhone(Phone.builder().number("5555").phoneType(PhoneType.HOME).build());
+        employee.addPhone(Phone.builder().number("6666").phoneType(PhoneType.BUSSINES).build());
+        employeeRepository.save(employee);
+
+        final CriteriaDTO exists = new CriteriaDTO();
+        exists.setOperations(List.of(new MultiValueOperation("phoneNumber", Operator.IN, new Object[]{"5555", "6666"})));
+        final CriteriaDTO joined = new CriteriaDTO();
+        joined.setOperations(List.of(new MultiValueOperation("joinedPhoneNumber", Operator.IN, new Object[]{"5555", "6666"})));
+        final CriteriaDTO sameElement = new CriteriaDTO();
+        sameElement.setOperations(List.of(
+                new SingleValueOperation("phoneNumber", Operator.EQ, "5555"),
+                new SingleValueOperation("phoneType", Operator.EQ, PhoneType.BUSSINES.name())));
+
+        assertAll(
+                () -> assertEquals(1, employeeRepository.findAll(schema.toSpecification(exists)).size()),
+                () -> assertEquals(1, employeeRepository.count(schema.toSpecification(exists))),
+                () -> assertEquals(2, employeeRepository.findAll(schema.toSpecification(joined)).size()),
+                () -> assertTrue(employeeRepository.findAll(schema.toSpecification(sameElement)).isEmpty())
+        );
+    }
+
+
+    @Test
+    void whenOrGroupGivenThenUnionReadInSingleQueryWithLeftJoins() {
+        final var schema = SpecificationSchema.<Employee>builder()
+                .bind("name", Employee_.name)
+                .bind("surname", Employee_.surname)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build();
+        var employee = new Employee("özay", "duman", "ozay.duman@gmail.com", LocalDate.now().minusYears(20L));
+        employee.addPhone(Phone.builder().number("7777").phoneType(PhoneType.HOME).build());
+        employeeRepository.save(employee);
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final CriteriaDTO criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setGroups(List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.OR, List.of(
+                new SingleValueOperation("phoneNumber", Operator.EQ, "7777"),
+                new SingleValueOperation("name", Operator.EQ, "April")), null)));
+        final CriteriaDTO negated = new CriteriaDTO();
+        negated.setOperations(List.of(new SingleValueOperation("surname", Operator.EQ, "duman")));
+        negated.setGroups(List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.NOT, List.of(
+                new SingleValueOperation("name", Operator.EQ, "özay")), null)));
+
+        final var employees = employeeRepository.findAll(schema.toSpecification(criteriaDTO));
+
+        assertAll(
+                () -> assertEquals(List.of("April", "özay"), employees.stream().map(Employee::getName).sorted().collect(Collectors.toList())),
+                () -> assertEquals(2, employeeRepository.count(schema.toSpecification(criteriaDTO))),
+                () -> assertTrue(employeeRepository.findAll(schema.toSpecification(negated)).isEmpty())
+        );
+    }
+
+    @Test
+    void whenCriteriaContradictThenNoQueryExecuted() {
+        final var counts = new AtomicInteger();
+        final var schema = SpecificationSchema.<Employee>builder()
+                .countCache((key, entityTypes, counter) -> {
+                    counts.incrementAndGet();
+                    return counter.getAsLong();
+                })
+                .bind("name", Employee_.name)
+                .bind("birthDate", Employee_.birthDate)
+                .build();
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final CriteriaDTO contradiction = new CriteriaDTO();
+        contradiction.setOperations(List.of(
+                new SingleValueOperation("birthDate", Operator.GT, LocalDate.of(2010, Month.JANUARY, 1)),
+                new SingleValueOperation("birthDate", Operator.LT, "2000-01-01")));
+        final CriteriaDTO all = new CriteriaDTO();
+        all.setOperations(List.of(new NoValueOperation("name", Operator.NOT_NULL)));
+
+        final var page = employeeRepository.findAll(schema.toSpecification(contradiction), PageRequest.of(0, 5));
+
+        assertAll(
+                () -> assertTrue(page.isEmpty()),
+                () -> assertEquals(0, page.getTotalElements()),
+                () -> assertEquals(0, counts.get()),
+                () -> assertEquals(0, employeeRepository.count(schema.toSpecification(contradiction))),
+                () -> assertTrue(schema.toSpecification(contradiction).and(schema.toSpecification(all)).isUnsatisfiable()),
+                () -> assertEquals(employeeRepository.count(), employeeRepository.findAll(schema.toSpecification(contradiction)
+                        .or(schema.toSpecification(all))).size())
+        );
+    }
+
+    public record EmployeePhone(Long id, String name, String phoneNumber) {
+    }
 }
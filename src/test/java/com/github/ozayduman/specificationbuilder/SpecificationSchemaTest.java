@@ -0,0 +1,105 @@
+package com.github.ozayduman.specificationbuilder;
+
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpecificationSchemaTest {
+
+    @Test
+    void whenBindingsShareJoinPrefixThenJoinPathIsShared() {
+        PluralAttribute<Object, ?, Object> phones = mock(PluralAttribute.class);
+        EntityType<Object> phone = mock(EntityType.class);
+        when(phone.getJavaType()).thenReturn(Object.class);
+        when(phones.getElementType()).thenReturn(phone);
+        SingularAttribute<Object, String> number = attribute("number", String.class);
+        SingularAttribute<Object, Integer> type = attribute("type", Integer.class);
+        SingularAttribute<Object, String> name = attribute("name", String.class);
+
+        final SpecificationSchema<Object> schema = SpecificationSchema.builder()
+                .bind(name)
+                .bindJoin("phoneNumber", phones, number)
+                .bindJoin("phoneType", phones, type)
+                .build();
+
+        final var phoneNumber = schema.getBinding("phoneNumber");
+        final var phoneType = schema.getBinding("phoneType");
+        assertAll(
+                () -> assertEquals(2, schema.getJoinPathCount()),
+                () -> assertTrue(schema.getBinding("name").getJoinPath().isRoot()),
+                () -> assertSame(phoneNumber.getJoinPath(), phoneType.getJoinPath()),
+                () -> assertSame(phones, phoneNumber.getJoinPath().getAttribute()),
+                () -> assertSame(schema.getRootPath(), phoneNumber.getJoinPath().getParent()),
+                () -> assertNull(schema.getBinding("surname"))
+        );
+    }
+
+    @Test
+    void shouldCompileOperatorsByPropertyType() {
+        SingularAttribute<Object, String> name = attribute("name", String.class);
+        SingularAttribute<Object, Boolean> active = attribute("active", Boolean.class);
+        SingularAttribute<Object, Integer> age = attribute("age", Integer.class);
+
+        final SpecificationSchema<Object> schema = SpecificationSchema.builder()
+                .bind(name)
+                .bind(active)
+                .bind(age)
+                .build();
+
+        assertAll(
+                () -> assertTrue(schema.getBinding("name").supports(Operator.LIKE)),
+                () -> assertFalse(schema.getBinding("name").supports(Operator.TRUE)),
+                () -> assertTrue(schema.getBinding("active").supports(Operator.FALSE)),
+                () -> assertFalse(schema.getBinding("age").supports(Operator.NOT_LIKE)),
+                () -> assertTrue(schema.getBinding("age").supports(Operator.BT))
+        );
+    }
+
+    @Test
+    void shouldBeImmutable() {
+        SingularAttribute<Object, String> name = attribute("name", String.class);
+        final SpecificationSchema<Object> schema = SpecificationSchema.builder()
+                .bind(name)
+                .build();
+        assertThrows(UnsupportedOperationException.class, () -> schema.getBindings().clear());
+    }
+
+    @Test
+    void whenConjunctOrderGivenThenSelectiveAndCheapConjunctsOrderedFirst() {
+        SingularAttribute<Object, String> name = attribute("name", String.class);
+        SingularAttribute<Object, String> surname = attribute("surname", String.class);
+        final SpecificationSchema<Object> schema = SpecificationSchema.builder()
+                .conjunctOrder(ConjunctOrder.byOperator())
+                .bind(name)
+                .bind(surname)
+                .build();
+        final AbstractOperation like = new SingleValueOperation("name", Operator.LIKE, "a");
+        final AbstractOperation notIn = new MultiValueOperation("surname", Operator.NOT_IN, new Object[]{"a", "b"});
+        final AbstractOperation in = new MultiValueOperation("surname", Operator.IN, new Object[]{"a", "b"});
+        final AbstractOperation eq = new SingleValueOperation("name", Operator.EQ, "a");
+        final AbstractOperation unbound = new SingleValueOperation("unknown", Operator.EQ, "a");
+
+        assertAll(
+                () -> assertEquals(List.of(unbound, eq, in, like, notIn), schema.orderConjuncts(List.of(like, notIn, in, unbound, eq))),
+                () -> assertEquals(Double.POSITIVE_INFINITY, ConjunctOrder.rank(1, 1))
+        );
+    }
+
+    private static <Z> SingularAttribute<Object, Z> attribute(String name, Class<Z> javaType) {
+        SingularAttribute<Object, Z> attribute = mock(SingularAttribute.class);
+        when(attribute.getName()).thenReturn(name);
+        when(attribute.getJavaType()).thenReturn(javaType);
+        return attribute;
+    }
+}
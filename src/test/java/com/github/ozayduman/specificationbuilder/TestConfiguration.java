@@ -1,5 +1,7 @@
 package com.github.ozayduman.specificationbuilder;
 
+import com.github.ozayduman.specificationbuilder.support.SpecificationJpaRepository;
+import com.github.ozayduman.specificationbuilder.support.SpecificationJpaRepositoryFactoryBean;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -7,7 +9,9 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.test.context.TestPropertySource;
 
 @Configuration
-@EntityScan(basePackages = {"com.github.ozayduman.specificationbuilder.entity"})
+@EntityScan(basePackages = {"com.github.ozayduman.specificationbuilder.entity", "com.github.ozayduman.specificationbuilder.staging"})
 @TestPropertySource("classpath:application.properties")
-@EnableJpaRepositories(basePackages = {"com.github.ozayduman.specificationbuilder.repository"})
+@EnableJpaRepositories(basePackages = {"com.github.ozayduman.specificationbuilder.repository"},
+        repositoryBaseClass = SpecificationJpaRepository.class,
+        repositoryFactoryBeanClass = SpecificationJpaRepositoryFactoryBean.class)
 public class TestConfiguration {}
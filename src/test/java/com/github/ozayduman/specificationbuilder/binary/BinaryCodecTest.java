@@ -0,0 +1,160 @@
+package com.github.ozayduman.specificationbuilder.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.TestConfiguration;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.PageResultDTO;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveMultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveRangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveType;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.Employee;
+import com.github.ozayduman.specificationbuilder.entity.Employee_;
+import com.github.ozayduman.specificationbuilder.entity.PhoneType;
+import com.github.ozayduman.specificationbuilder.entity.Phone_;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = {TestConfiguration.class})
+class BinaryCodecTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private BinaryCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = BinaryCodec.of(SpecificationSchema.<Employee>builder()
+                .bind("id", Employee_.id)
+                .bind("name", Employee_.name)
+                .bind("birthDate", Employee_.birthDate)
+                .bindJoin("phoneType", Employee_.phones, Phone_.phoneType)
+                .build());
+    }
+
+    @Test
+    void whenPageRequestEncodedThenDecodedWithOperandsOfBoundTypes() {
+        final var pageRequestDTO = new PageRequestDTO(new PageRequestDTO.SortDTO[]{
+                new PageRequestDTO.SortDTO("name", PageRequestDTO.SortDTO.Direction.DESC)}, 2, 10);
+        pageRequestDTO.setExtras(Map.of("source", "test"));
+        pageRequestDTO.setOperations(List.of(
+                new MultiValueOperation("id", Operator.IN, new Object[]{1, "2", null, 300_000}),
+                new RangeValueOperation("birthDate", Operator.BT, new RangeDTO("2000-01-01", LocalDate.of(2009, 12, 31))),
+                new SingleValueOperation("phoneType", Operator.EQ, "HOME")));
+        pageRequestDTO.setGroups(List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.OR, List.of(
+                new SingleValueOperation("name", Operator.LIKE, "ö"),
+                new NoValueOperation("name", Operator.NULL)), null)));
+
+        final var decoded = (PageRequestDTO) codec.decode(codec.encode(pageRequestDTO));
+
+        final var operations = decoded.getOperations();
+        final var range = ((PrimitiveRangeValueOperation) operations.get(1)).getValue();
+        final var group = decoded.getGroups().get(0);
+        assertAll(
+                () -> assertEquals(2, decoded.getPage()),
+                () -> assertEquals(10, decoded.getSize()),
+                () -> assertEquals(PageRequestDTO.SortDTO.Direction.DESC, decoded.getSortFields()[0].getDirection()),
+                () -> assertEquals("test", decoded.getExtras().get("source")),
+                () -> assertArrayEquals(new Long[]{1L, 2L, null, 300_000L}, ((MultiValueOperation) operations.get(0)).getValue()),
+                () -> assertEquals(LocalDate.of(2000, 1, 1), range.getLow()),
+                () -> assertEquals(LocalDate.of(2009, 12, 31), range.getHigh()),
+                () -> assertEquals(PhoneType.HOME, ((SingleValueOperation) operations.get(2)).getValue()),
+                () -> assertEquals(CriteriaGroupDTO.Type.OR, group.getType()),
+                () -> assertEquals("ö", ((SingleValueOperation) group.getOperations().get(0)).getValue()),
+                () -> assertEquals(Operator.NULL, group.getOperations().get(1).getOperator()),
+                () -> assertNull(decoded.getCursor())
+        );
+    }
+
+    @Test
+    void whenDecodedCriteriaWrittenAsJsonThenSameCriteriaRead() throws IOException {
+        final var json = "{\"page\": 1, \"size\": 20, \"operations\": [{\"property\": \"id\", \"operator\": \"NOT_IN\", \"value\": [3, 4]},"
+                + " {\"property\": \"birthDate\", \"operator\": \"GE\", \"value\": \"2000-01-01\"}],"
+                + " \"groups\": [{\"type\": \"NOT\", \"operations\": [{\"property\": \"name\", \"operator\": \"EQ\", \"value\": \"Alice\"}]}]}";
+        final var bytes = codec.encode(objectMapper.readValue(json, PageRequestDTO.class));
+
+        final var roundTripped = objectMapper.readValue(objectMapper.writeValueAsString(codec.decode(bytes)), PageRequestDTO.class);
+
+        assertAll(
+                () -> assertArrayEquals(bytes, codec.encode(roundTripped)),
+                () -> assertTrue(bytes.length < json.length() / 4)
+        );
+    }
+
+    @Test
+    void whenLargeInListEncodedThenIdsTakeFewBytes() {
+        final Object[] ids = new Object[50_000];
+        Arrays.setAll(ids, i -> (long) i);
+        final var pageRequestDTO = new PageRequestDTO();
+        pageRequestDTO.setOperations(List.of(new MultiValueOperation("id", Operator.IN, ids)));
+
+        final var bytes = codec.encode(pageRequestDTO);
+        final var decoded = codec.decode(bytes);
+        final var operation = (PrimitiveMultiValueOperation) decoded.getOperations().get(0);
+
+        assertAll(
+                () -> assertTrue(bytes.length < 4 * ids.length),
+                () -> assertEquals(PrimitiveType.LONG, operation.getType()),
+                () -> assertArrayEquals(ids, operation.getValue()),
+                () -> assertArrayEquals(bytes, codec.encode(decoded))
+        );
+    }
+
+    @Test
+    void whenPageResultEncodedThenDecodedWithTaggedContent() {
+        final var page = new PageResultDTO();
+        page.setContent(List.of(new Object[]{1L, "özay", LocalDate.of(2000, 1, 1), new BigDecimal("12.50"), PhoneType.HOME},
+                Map.of("id", 2, "active", true)));
+        page.setCurrentPage(1);
+        page.setSize(2);
+        page.setHasNext(true);
+        page.setTotalElements(12_345_678_901L);
+        page.setTotalPages(7);
+
+        final var decoded = (PageResultDTO) BinaryCodec.decodeResult(BinaryCodec.encodeResult(page, ContentCodec.tagged()), ContentCodec.tagged());
+
+        assertAll(
+                () -> assertEquals(12_345_678_901L, decoded.getTotalElements()),
+                () -> assertEquals(7, decoded.getTotalPages()),
+                () -> assertTrue(decoded.isHasNext()),
+                () -> assertArrayEquals(new Object[]{1L, "özay", LocalDate.of(2000, 1, 1), new BigDecimal("12.50"), "HOME"},
+                        (Object[]) decoded.getContent().get(0)),
+                () -> assertEquals(Map.of("id", 2, "active", true), decoded.getContent().get(1))
+        );
+    }
+
+    @Test
+    void whenSchemaOrInputDiffersThenExceptionThrown() {
+        final var otherCodec = BinaryCodec.of(SpecificationSchema.<Employee>builder().bind("id", Employee_.id).build());
+        final var pageRequestDTO = new PageRequestDTO();
+        pageRequestDTO.setOperations(List.of(new SingleValueOperation("name", Operator.EQ, "özay")));
+        final var bytes = codec.encode(pageRequestDTO);
+
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> otherCodec.decode(bytes)),
+                () -> assertThrows(NullPointerException.class, () -> otherCodec.encode(pageRequestDTO)),
+                () -> assertThrows(IllegalArgumentException.class, () -> codec.decode(Arrays.copyOf(bytes, bytes.length - 2)))
+        );
+    }
+}
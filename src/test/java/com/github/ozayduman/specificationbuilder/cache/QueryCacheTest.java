@@ -0,0 +1,91 @@
+package com.github.ozayduman.specificationbuilder.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCacheTest {
+
+    private static final Class<?>[] ENTITY_TYPES = {CachedEntity.class};
+
+    @Test
+    void whenKeyCachedThenValueNotLoadedAgain() {
+        final QueryCache<String, Integer> cache = new QueryCache<>(Duration.ofMinutes(1), 10);
+        final var loads = new AtomicInteger();
+
+        cache.get("key", ENTITY_TYPES, loads::incrementAndGet);
+        final var value = cache.get("key", ENTITY_TYPES, loads::incrementAndGet);
+
+        assertAll(
+                () -> assertEquals(1, value),
+                () -> assertEquals(1, loads.get())
+        );
+    }
+
+    @Test
+    void whenEntityTypeChangedThenValueLoadedAgain() {
+        final QueryCache<String, Integer> cache = new QueryCache<>(Duration.ofMinutes(1), 10);
+        final var loads = new AtomicInteger();
+
+        cache.get("key", ENTITY_TYPES, loads::incrementAndGet);
+        EntityGenerations.increment(CachedSubEntity.class);
+
+        assertEquals(2, cache.get("key", ENTITY_TYPES, loads::incrementAndGet));
+    }
+
+    @Test
+    void whenExpiredOrEvictedThenValueLoadedAgain() throws InterruptedException {
+        final QueryCache<String, Integer> expiring = new QueryCache<>(Duration.ofMillis(1), 10);
+        final QueryCache<String, Integer> bounded = new QueryCache<>(Duration.ofMinutes(1), 2);
+        final var loads = new AtomicInteger();
+
+        expiring.get("key", ENTITY_TYPES, loads::incrementAndGet);
+        Thread.sleep(5);
+        bounded.get("first", ENTITY_TYPES, () -> 1);
+        bounded.get("second", ENTITY_TYPES, () -> 2);
+        bounded.get("first", ENTITY_TYPES, () -> -1);
+        bounded.get("third", ENTITY_TYPES, () -> 3);
+
+        assertAll(
+                () -> assertEquals(2, expiring.get("key", ENTITY_TYPES, loads::incrementAndGet)),
+                () -> assertEquals(2, bounded.size()),
+                () -> assertEquals(1, bounded.get("first", ENTITY_TYPES, () -> -1)),
+                () -> assertEquals(-2, bounded.get("second", ENTITY_TYPES, () -> -2))
+        );
+    }
+
+    @Test
+    void whenWeightExceededThenLeastRecentlyUsedEvicted() {
+        final QueryCache<String, String> weighted = new QueryCache<>(Duration.ofMinutes(1), 5, String::length);
+
+        weighted.get("first", ENTITY_TYPES, () -> "aa");
+        weighted.get("second", ENTITY_TYPES, () -> "bb");
+        weighted.get("first", ENTITY_TYPES, () -> "-");
+        weighted.get("third", ENTITY_TYPES, () -> "cc");
+        weighted.get("huge", ENTITY_TYPES, () -> "dddddd");
+
+        assertAll(
+                () -> assertEquals(2, weighted.size()),
+                () -> assertEquals("aa", weighted.get("first", ENTITY_TYPES, () -> "-")),
+                () -> assertEquals("cc", weighted.get("third", ENTITY_TYPES, () -> "-")),
+                () -> assertEquals("-", weighted.get("second", ENTITY_TYPES, () -> "-"))
+        );
+    }
+
+    @Test
+    void whenTimeToLiveOrSizeInvalidThenExceptionThrown() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new QueryCache<>(Duration.ZERO, 1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new QueryCache<>(Duration.ofSeconds(1), 0))
+        );
+    }
+
+    static class CachedEntity {
+    }
+
+    static class CachedSubEntity extends CachedEntity {
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.ozayduman.specificationbuilder.cache;
+
+import com.github.ozayduman.specificationbuilder.CriteriaSpecification;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.TestConfiguration;
+import com.github.ozayduman.specificationbuilder.TestDataGenerator;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageResultDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.Employee;
+import com.github.ozayduman.specificationbuilder.entity.Employee_;
+import com.github.ozayduman.specificationbuilder.entity.Phone;
+import com.github.ozayduman.specificationbuilder.entity.Phone_;
+import com.github.ozayduman.specificationbuilder.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = {TestConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ResultCacheTest {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    private SpecificationSchema<Employee> schema;
+
+    private final ResultCache cache = ResultCache.of(Duration.ofMinutes(1), 1000);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        schema = SpecificationSchema.<Employee>builder()
+                .bind("name", Employee_.name)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void whenSameCriteriaAndPageRequestedThenCachedPageReturned() {
+        final var pageRequest = PageRequest.of(0, 10, Sort.by("name"));
+
+        final var first = find(schema.toSpecification(criteria("April")), pageRequest);
+        final var second = find(schema.toSpecification(criteria("April")), pageRequest);
+        find(schema.toSpecification(criteria("April")), PageRequest.of(1, 10, Sort.by("name")));
+
+        assertAll(
+                () -> assertSame(first, second),
+                () -> assertEquals(1, first.getTotalElements()),
+                () -> assertEquals(2, loads.get()),
+                () -> assertEquals(2, cache.size())
+        );
+    }
+
+    @Test
+    void whenJoinedEntityChangedThenPageReadAgain() {
+        final var pageRequest = PageRequest.of(0, 10);
+        final var first = find(schema.toSpecification(criteria("April")), pageRequest);
+
+        EntityGenerations.increment(Phone.class);
+        final var second = find(schema.toSpecification(criteria("April")), pageRequest);
+        employeeRepository.save(TestDataGenerator.create("April", "May", "april@may.com", "2000/01/1"));
+        final var third = find(schema.toSpecification(criteria("April")), pageRequest);
+
+        assertAll(
+                () -> assertNotSame(first, second),
+                () -> assertEquals(3, loads.get()),
+                () -> assertEquals(2, third.getTotalElements())
+        );
+    }
+
+    @Test
+    @Transactional
+    void whenTransactionFlushedChangesThenPageNeitherReadNorCached() {
+        final var pageRequest = PageRequest.of(0, 10);
+        employeeRepository.saveAndFlush(TestDataGenerator.create("April", "May", "april@may.com", "2000/01/1"));
+
+        final var first = find(schema.toSpecification(criteria("April")), pageRequest);
+        final var second = find(schema.toSpecification(criteria("April")), pageRequest);
+
+        assertAll(
+                () -> assertEquals(2, first.getTotalElements()),
+                () -> assertNotSame(first, second),
+                () -> assertEquals(2, loads.get()),
+                () -> assertEquals(0, cache.size())
+        );
+    }
+
+    @Test
+    void whenSpecificationCanNotBeKeyedThenPageNotCached() {
+        final CriteriaSpecification<Employee> specification = schema.toSpecification(criteria("April"))
+                .and((root, query, criteriaBuilder) -> criteriaBuilder.isNotNull(root.get(Employee_.email)));
+
+        find(specification, PageRequest.of(0, 10));
+        find(specification, PageRequest.of(0, 10));
+
+        assertAll(
+                () -> assertEquals(2, loads.get()),
+                () -> assertEquals(0, cache.size())
+        );
+    }
+
+    private PageResultDTO find(CriteriaSpecification<Employee> specification, PageRequest pageRequest) {
+        return cache.get(specification, Employee.class, pageRequest, () -> {
+            loads.incrementAndGet();
+            return PageResultDTO.from(employeeRepository.findAll(specification, pageRequest), Employee::getName);
+        });
+    }
+
+    private static CriteriaDTO criteria(String name) {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(new SingleValueOperation("name", Operator.EQ, name)));
+        return criteriaDTO;
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.ozayduman.specificationbuilder.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO.Type;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriteriaGroupDTOTest {
+
+    @Test
+    void whenGroupsSerializedThenDeserializedWithPolymorphicOperations() throws Exception {
+        final var json = "{\"operations\":[{\"property\":\"name\",\"operator\":\"EQ\",\"value\":\"ozay\"}],"
+                + "\"groups\":[{\"type\":\"OR\",\"operations\":[{\"property\":\"status\",\"operator\":\"EQ\",\"value\":\"A\"}],"
+                + "\"groups\":[{\"type\":\"NOT\",\"operations\":[{\"property\":\"owner\",\"operator\":\"IN\",\"value\":[\"me\",\"you\"]}]}]}]}";
+
+        final var criteriaDTO = new ObjectMapper().readValue(json, CriteriaDTO.class);
+        final var or = criteriaDTO.getGroups().get(0);
+        final var not = or.getGroups().get(0);
+
+        assertAll(
+                () -> assertTrue(criteriaDTO.getOperations().get(0) instanceof SingleValueOperation),
+                () -> assertEquals(Type.OR, or.getType()),
+                () -> assertEquals("A", ((SingleValueOperation) or.getOperations().get(0)).getValue()),
+                () -> assertEquals(Type.NOT, not.getType()),
+                () -> assertTrue(not.getOperations().get(0) instanceof MultiValueOperation)
+        );
+    }
+}
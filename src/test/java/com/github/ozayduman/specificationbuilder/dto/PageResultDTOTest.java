@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
 
@@ -41,6 +43,20 @@ class PageResultDTOTest {
 
     }
 
+    @Test
+    void shouldMapEntityToDTOfromSlice() {
+        final var slice = new SliceImpl<>(List.of(Entity.of("e1"), Entity.of("e2")), PageRequest.of(1, 2), true);
+        final SliceResultDTO sliceResultDTO = SliceResultDTO.from(slice, (Entity e) -> DTO.of(e.entityProperty));
+
+        assertAll(
+                () -> assertFalse(sliceResultDTO instanceof PageResultDTO),
+                () -> assertEquals(1, sliceResultDTO.getCurrentPage()),
+                () -> assertEquals(2, sliceResultDTO.getSize()),
+                () -> assertTrue(sliceResultDTO.isHasNext()),
+                () -> assertEquals(List.of(DTO.of("e1"), DTO.of("e2")), sliceResultDTO.getContent())
+        );
+    }
+
     @AllArgsConstructor
     static class Entity {
         String entityProperty;
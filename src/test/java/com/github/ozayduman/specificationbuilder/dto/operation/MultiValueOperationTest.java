@@ -51,4 +51,13 @@ class MultiValueOperationTest {
         assertEquals(IN, operation.getOperator());
         assertTrue(Arrays.equals(new Integer[]{1,2,3,4,5}, ((MultiValueOperation) operation).getValue()));
     }
+
+    @Test
+    void whenValueDeserializedFromJsonThenOperandsReturned() throws JsonProcessingException {
+        final var objectMapper = TestUtil.createObjectMapper();
+        var json = "{\"property\": \"customerId\",\"operator\": \"IN\",\"value\": [1,2,3]}";
+        final var operation = objectMapper.readValue(json, AbstractOperation.class);
+        assertArrayEquals(new Comparable[]{1, 2, 3}, operation.getOperands());
+        assertFalse(objectMapper.writeValueAsString(operation).contains("operands"));
+    }
 }
@@ -0,0 +1,51 @@
+package com.github.ozayduman.specificationbuilder.dto.operation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static com.github.ozayduman.specificationbuilder.dto.Operator.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveMultiValueOperationTest {
+
+    @Test
+    void whenNotAllowedOperatorSuppliedThenIllegalArgumentExcThrown() {
+        final var operation = new PrimitiveMultiValueOperation("id", EQ, PrimitiveType.LONG, new long[]{1});
+        assertThrows(IllegalArgumentException.class, () -> operation.validate());
+    }
+
+    @Test
+    void whenDistinctThenSortedInTheOrderOfBoxedOperands() {
+        final double[] doubles = {2.5, -1.0, 0.0, -3.5, 2.5, -1.0};
+        final long[] encoded = new long[doubles.length];
+        for (int i = 0; i < doubles.length; i++) {
+            encoded[i] = PrimitiveType.DOUBLE.unbox(doubles[i]);
+        }
+        final var operation = new PrimitiveMultiValueOperation("salary", IN, PrimitiveType.DOUBLE, encoded);
+        final var distinct = operation.distinct();
+
+        assertAll(
+                () -> assertArrayEquals(new Comparable[]{-3.5, -1.0, 0.0, 2.5}, distinct.getOperands()),
+                () -> assertEquals(4, distinct.getOperandCount()),
+                () -> assertSame(distinct, distinct.distinct()),
+                () -> assertEquals(6, operation.getOperandCount())
+        );
+    }
+
+    @Test
+    void shouldSerializeAsMultiValueOperation() throws JsonProcessingException {
+        final var objectMapper = new ObjectMapper();
+        final var operation = new PrimitiveMultiValueOperation("customerId", NOT_IN, PrimitiveType.LONG, new long[]{1, 2});
+
+        final var json = objectMapper.writeValueAsString(operation);
+        final var deserialized = objectMapper.readValue(json, AbstractOperation.class);
+
+        assertAll(
+                () -> assertTrue(deserialized instanceof MultiValueOperation),
+                () -> assertEquals(NOT_IN, deserialized.getOperator()),
+                () -> assertFalse(json.contains("encoded")),
+                () -> assertArrayEquals(new Comparable[]{1, 2}, deserialized.getOperands())
+        );
+    }
+}
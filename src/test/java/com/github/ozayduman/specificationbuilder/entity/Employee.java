@@ -5,6 +5,7 @@ import lombok.*;
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 @Entity
@@ -18,13 +19,18 @@ public class Employee {
     private Long id;
 
     @NonNull
+    @Column(nullable = false)
     private String name;
     @NonNull
     private String surname;
     @NonNull
     private String email;
     @NonNull
+    @Column(nullable = false)
     private LocalDate birthDate;
+    @Column(nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date hiredAt = new Date();
 
     @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private SocialSecurity socialSecurity;
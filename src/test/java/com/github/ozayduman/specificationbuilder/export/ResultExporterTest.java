@@ -0,0 +1,99 @@
+package com.github.ozayduman.specificationbuilder.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.ozayduman.specificationbuilder.SpecificationMappings.SpecificationBuilder;
+import com.github.ozayduman.specificationbuilder.TestConfiguration;
+import com.github.ozayduman.specificationbuilder.TestDataGenerator;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.Employee;
+import com.github.ozayduman.specificationbuilder.entity.Employee_;
+import com.github.ozayduman.specificationbuilder.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = {TestConfiguration.class})
+class ResultExporterTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void whenExportedAsNdjsonThenEachRowWrittenAsLine() throws Exception {
+        final var outputStream = new ByteArrayOutputStream();
+        final var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        final long count = ResultExporter.of(entityManager, Employee.class)
+                .fetchSize(10)
+                .clearInterval(7)
+                .export(null, Sort.by("id"), employee -> Map.of("name", employee.getName()),
+                        RowWriters.ndjson(outputStream, objectMapper));
+
+        final var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertAll(
+                () -> assertEquals(employeeRepository.count(), count),
+                () -> assertEquals(count, lines.length),
+                () -> assertEquals(employeeRepository.findAll(Sort.by("id")).get(0).getName(),
+                        objectMapper.readTree(lines[0]).get("name").asText())
+        );
+    }
+
+    @Test
+    void whenFetchSizeOrClearIntervalNotPositiveThenExceptionThrown() {
+        final var exporter = ResultExporter.of(entityManager, Employee.class);
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> exporter.fetchSize(0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> exporter.fetchSize(-1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> exporter.clearInterval(0))
+        );
+    }
+
+    @Test
+    void whenExportedAsCsvThenHeaderWrittenAndFieldsQuoted() {
+        final var outputStream = new ByteArrayOutputStream();
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(new SingleValueOperation("name", Operator.EQ, "April")));
+        final var specification = SpecificationBuilder.<Employee>of(criteriaDTO)
+                .bind("name", Employee_.name)
+                .build();
+
+        final long count = ResultExporter.of(entityManager, Employee.class)
+                .export(specification, Sort.unsorted(),
+                        employee -> new Object[]{employee.getName(), "a \"quoted\", value", null},
+                        RowWriters.csv(outputStream, "name", "note", "empty"));
+
+        final var expected = new StringBuilder("name,note,empty\r\n");
+        for (int i = 0; i < count; i++) {
+            expected.append("April,\"a \"\"quoted\"\", value\",\r\n");
+        }
+        assertAll(
+                () -> assertTrue(count > 0),
+                () -> assertEquals(expected.toString(), outputStream.toString(StandardCharsets.UTF_8))
+        );
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.ozayduman.specificationbuilder.jpql;
+
+import com.github.ozayduman.specificationbuilder.CollectionStrategy;
+import com.github.ozayduman.specificationbuilder.InListStrategy;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.TestConfiguration;
+import com.github.ozayduman.specificationbuilder.TestDataGenerator;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.*;
+import com.github.ozayduman.specificationbuilder.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = {TestConfiguration.class})
+class JpqlQueryRendererTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    private JpqlQueryRenderer<Employee> renderer;
+
+    @BeforeEach
+    void setUp() {
+        renderer = JpqlQueryRenderer.of(Employee.class, SpecificationSchema.<Employee>builder()
+                .bind("name", Employee_.name)
+                .bind("birthDate", Employee_.birthDate)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build());
+    }
+
+    @Test
+    void whenShapeIsSameThenSameQueryTextRendered() {
+        final var first = renderer.render(criteria("Ozay", "5555"), Sort.by("name"));
+        final var second = renderer.render(criteria("Alice", "6666"), Sort.by("name"));
+
+        assertAll(
+                () -> assertEquals("select e from Employee e join e.phones j1 where e.name = :p0 and j1.number in :p1 order by e.name asc",
+                        first.getQuery()),
+                () -> assertEquals("select count(e) from Employee e join e.phones j1 where e.name = :p0 and j1.number in :p1",
+                        first.getCountQuery()),
+                () -> assertSame(first.getQuery(), second.getQuery()),
+                () -> assertEquals("Alice", second.getParameters().get("p0")),
+                () -> assertEquals(List.of("6666"), second.getParameters().get("p1")),
+                () -> assertEquals(1, renderer.getCachedShapeCount())
+        );
+    }
+
+    @Test
+    void whenQueryExecutedThenValuesBound() {
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(
+                new RangeValueOperation("birthDate", Operator.BT, new RangeDTO("2000-01-01", "2009-12-31")),
+                new SingleValueOperation("name", Operator.LIKE, "a")));
+
+        final var page = renderer.findAll(entityManager, criteriaDTO, PageRequest.of(0, 5, Sort.by("birthDate")));
+
+        assertTrue(page.getTotalElements() > 0);
+        assertTrue(page.getContent().stream().allMatch(employee -> employee.getName().contains("a")
+                && !employee.getBirthDate().isBefore(LocalDate.of(2000, 1, 1))
+                && !employee.getBirthDate().isAfter(LocalDate.of(2009, 12, 31))));
+    }
+
+    @Test
+    void whenInListLargerThanChunkSizeThenChunksCombined() {
+        final var chunkedRenderer = JpqlQueryRenderer.of(Employee.class, SpecificationSchema.<Employee>builder()
+                .inListStrategy(InListStrategy.chunked(2))
+                .bind("name", Employee_.name)
+                .build());
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(new MultiValueOperation("name", Operator.IN, new Object[]{"e", "d", "c", "b", "a"})));
+
+        final var rendered = chunkedRenderer.render(criteriaDTO, Sort.unsorted());
+
+        assertAll(
+                () -> assertEquals("select e from Employee e where (e.name in :p0 or e.name in :p1 or e.name in :p2)", rendered.getQuery()),
+                () -> assertEquals(List.of("a", "b"), rendered.getParameters().get("p0")),
+                () -> assertEquals(List.of("c", "d"), rendered.getParameters().get("p1")),
+                () -> assertEquals(List.of("e"), rendered.getParameters().get("p2"))
+        );
+    }
+
+    @Test
+    void whenSortPropertyIsNotAnIdentifierThenExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> renderer.render(new CriteriaDTO(), Sort.by("name; delete")));
+    }
+
+    @Test
+    void whenSortPropertyBoundThroughJoinThenJoinAliasSorted() {
+        final var joinedRenderer = JpqlQueryRenderer.of(Employee.class, SpecificationSchema.<Employee>builder()
+                .bind("name", Employee_.name)
+                .bindJoin("explanation", Employee_.socialSecurity, SocialSecurity_.explanation)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build());
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(new SingleValueOperation("name", Operator.EQ, "Ozay")));
+
+        final var rendered = joinedRenderer.render(criteriaDTO, Sort.by("explanation", "name"));
+
+        assertAll(
+                () -> assertEquals("select e from Employee e left join e.socialSecurity j1 where e.name = :p0 order by j1.explanation asc, e.name asc",
+                        rendered.getQuery()),
+                () -> assertThrows(IllegalArgumentException.class, () -> joinedRenderer.render(criteriaDTO, Sort.by("phoneNumber"))),
+                () -> assertThrows(IllegalArgumentException.class, () -> joinedRenderer.render(criteriaDTO, Sort.by("number")))
+        );
+    }
+
+    @Test
+    void whenCriteriaContradictThenNothingMatchingRendered() {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(
+                new SingleValueOperation("birthDate", Operator.GT, "2010-01-01"),
+                new SingleValueOperation("birthDate", Operator.LT, "2000-01-01")));
+
+        final var rendered = renderer.render(criteriaDTO, Sort.unsorted());
+
+        assertAll(
+                () -> assertTrue(rendered.isUnsatisfiable()),
+                () -> assertEquals("select e from Employee e where 1 = 0", rendered.getQuery()),
+                () -> assertTrue(renderer.findAll(entityManager, criteriaDTO, PageRequest.of(0, 5)).isEmpty())
+        );
+    }
+
+    private static CriteriaDTO criteria(String name, String phoneNumber) {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(
+                new SingleValueOperation("name", Operator.EQ, name),
+                new MultiValueOperation("phoneNumber", Operator.IN, new Object[]{phoneNumber})));
+        return criteriaDTO;
+    }
+
+    @Test
+    void whenCollectionStrategyIsExistsThenPredicatesOnSameCollectionRenderedInOneSubquery() {
+        final var existsRenderer = JpqlQueryRenderer.of(Employee.class, SpecificationSchema.<Employee>builder()
+                .collectionStrategy(CollectionStrategy.EXISTS)
+                .bind("name", Employee_.name)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .bindJoin("phoneType", Employee_.phones, Phone_.phoneType)
+                .build());
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(
+                new SingleValueOperation("phoneNumber", Operator.EQ, "5555"),
+                new SingleValueOperation("name", Operator.EQ, "özay"),
+                new SingleValueOperation("phoneType", Operator.EQ, PhoneType.HOME.name())));
+        final var employee = new Employee("özay", "duman", "ozay.duman@gmail.com", LocalDate.now().minusYears(20L));
+        employee.addPhone(Phone.builder().number("5555").phoneType(PhoneType.HOME).build());
+        employee.addPhone(Phone.builder().number("6666").phoneType(PhoneType.HOME).build());
+        employeeRepository.save(employee);
+
+        final var rendered = existsRenderer.render(criteriaDTO, Sort.unsorted());
+
+        assertAll(
+                () -> assertEquals("select e from Employee e where exists (select s1 from e.phones s1 where s1.number = :p0 and s1.phoneType = :p2)"
+                        + " and e.name = :p1", rendered.getQuery()),
+                () -> assertEquals(1, existsRenderer.findAll(entityManager, criteriaDTO, PageRequest.of(0, 10)).getTotalElements())
+        );
+    }
+
+    @Test
+    void whenGroupsGivenThenRenderedNestedWithLeftJoinsForGroupOnlyPaths() {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(new SingleValueOperation("name", Operator.EQ, "özay")));
+        criteriaDTO.setGroups(List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.OR,
+                List.of(new SingleValueOperation("phoneNumber", Operator.EQ, "5555")),
+                List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.NOT,
+                        List.of(new SingleValueOperation("name", Operator.EQ, "Alice")), null)))));
+
+        final var rendered = renderer.render(criteriaDTO, Sort.unsorted());
+
+        assertAll(
+                () -> assertEquals("select e from Employee e left join e.phones j1 where e.name = :p0 and (j1.number = :p1 or not (e.name = :p2))",
+                        rendered.getQuery()),
+                () -> assertEquals("Alice", rendered.getParameters().get("p2"))
+        );
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.ozayduman.specificationbuilder.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.TestConfiguration;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveMultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.PrimitiveRangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.Employee;
+import com.github.ozayduman.specificationbuilder.entity.Employee_;
+import com.github.ozayduman.specificationbuilder.entity.PhoneType;
+import com.github.ozayduman.specificationbuilder.entity.Phone_;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = {TestConfiguration.class})
+class CriteriaReaderTest {
+    private CriteriaReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = CriteriaReader.of(SpecificationSchema.<Employee>builder()
+                .bind("id", Employee_.id)
+                .bind("name", Employee_.name)
+                .bind("birthDate", Employee_.birthDate)
+                .bindJoin("phoneType", Employee_.phones, Phone_.phoneType)
+                .build());
+    }
+
+    @Test
+    void whenPageRequestReadThenOperandsParsedIntoBoundTypes() throws IOException {
+        final var pageRequestDTO = reader.readPageRequest(json("{\"page\": 2, \"size\": 10, \"sortFields\": [{\"property\": \"name\", \"direction\": \"DESC\"}],"
+                + " \"operations\": [{\"property\": \"id\", \"operator\": \"IN\", \"value\": [1, \"2\", 3]},"
+                + " {\"value\": {\"low\": \"2000-01-01\", \"high\": \"2009-12-31\"}, \"operator\": \"BT\", \"property\": \"birthDate\"},"
+                + " {\"property\": \"phoneType\", \"operator\": \"EQ\", \"value\": \"HOME\"}],"
+                + " \"groups\": [{\"type\": \"OR\", \"operations\": [{\"property\": \"name\", \"operator\": \"LIKE\", \"value\": \"a\"},"
+                + " {\"property\": \"name\", \"operator\": \"NULL\"}]}], \"extras\": {\"source\": \"test\"}}"));
+
+        final var operations = pageRequestDTO.getOperations();
+        final var range = ((PrimitiveRangeValueOperation) operations.get(1)).getValue();
+        final var group = pageRequestDTO.getGroups().get(0);
+        assertAll(
+                () -> assertEquals(2, pageRequestDTO.getPage()),
+                () -> assertEquals(10, pageRequestDTO.getSize()),
+                () -> assertEquals(PageRequestDTO.SortDTO.Direction.DESC, pageRequestDTO.getSortFields()[0].getDirection()),
+                () -> assertArrayEquals(new long[]{1L, 2L, 3L}, ((PrimitiveMultiValueOperation) operations.get(0)).getEncoded()),
+                () -> assertEquals(LocalDate.of(2000, 1, 1), range.getLow()),
+                () -> assertEquals(LocalDate.of(2009, 12, 31), range.getHigh()),
+                () -> assertEquals(PhoneType.HOME, ((SingleValueOperation) operations.get(2)).getValue()),
+                () -> assertEquals(CriteriaGroupDTO.Type.OR, group.getType()),
+                () -> assertEquals(Operator.NULL, group.getOperations().get(1).getOperator()),
+                () -> assertEquals("test", pageRequestDTO.getExtras().get("source"))
+        );
+    }
+
+    @Test
+    void whenLargeInListReadThenAllValuesKept() throws IOException {
+        final var ids = IntStream.range(0, 50_000).mapToObj(Integer::toString).collect(Collectors.joining(","));
+
+        final var criteriaDTO = reader.readCriteria(json("{\"operations\": [{\"property\": \"id\", \"operator\": \"NOT_IN\", \"value\": [" + ids + "]}]}"));
+
+        final var values = ((PrimitiveMultiValueOperation) criteriaDTO.getOperations().get(0)).getEncoded();
+        assertAll(
+                () -> assertEquals(50_000, values.length),
+                () -> assertEquals(49_999L, values[49_999])
+        );
+    }
+
+    @Test
+    void whenInListHasNullThenOperandsBoxed() throws IOException {
+        final var criteriaDTO = reader.readCriteria(json("{\"operations\": [{\"property\": \"birthDate\", \"operator\": \"IN\","
+                + " \"value\": [\"2000-01-01\", null, \"2001-01-01\"]}]}"));
+
+        assertArrayEquals(new Object[]{LocalDate.of(2000, 1, 1), null, LocalDate.of(2001, 1, 1)},
+                ((MultiValueOperation) criteriaDTO.getOperations().get(0)).getValue());
+    }
+
+    @Test
+    void whenPropertyUnboundOrOperandInvalidThenExceptionThrown() {
+        assertAll(
+                () -> assertThrows(JsonParseException.class, () -> reader.readCriteria(
+                        json("{\"operations\": [{\"property\": \"salary\", \"operator\": \"EQ\", \"value\": 1}]}"))),
+                () -> assertThrows(JsonParseException.class, () -> reader.readCriteria(
+                        json("{\"operations\": [{\"property\": \"birthDate\", \"operator\": \"LIKE\", \"value\": \"2000\"}]}"))),
+                () -> assertThrows(JsonParseException.class, () -> reader.readCriteria(
+                        json("{\"operations\": [{\"property\": \"id\", \"operator\": \"EQ\", \"value\": \"one\"}]}"))),
+                () -> assertThrows(JsonParseException.class, () -> reader.readCriteria(
+                        json("{\"operations\": [{\"property\": \"id\", \"operator\": \"EQUALS\", \"value\": 1}]}")))
+        );
+    }
+
+    @Test
+    void whenRegisteredAsDeserializerThenUsedByObjectMapper() throws IOException {
+        final var objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addDeserializer(CriteriaDTO.class, reader.criteriaDeserializer()));
+
+        final var criteriaDTO = objectMapper.readValue("{\"operations\": [{\"property\": \"id\", \"operator\": \"GE\", \"value\": 5}]}", CriteriaDTO.class);
+
+        assertEquals(5L, ((SingleValueOperation) criteriaDTO.getOperations().get(0)).getValue());
+    }
+
+    private static ByteArrayInputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
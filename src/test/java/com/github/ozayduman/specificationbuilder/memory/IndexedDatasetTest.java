@@ -0,0 +1,204 @@
+package com.github.ozayduman.specificationbuilder.memory;
+
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.TestConfiguration;
+import com.github.ozayduman.specificationbuilder.TestDataGenerator;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.SortDTO;
+import com.github.ozayduman.specificationbuilder.dto.RangeDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.AbstractOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.*;
+import com.github.ozayduman.specificationbuilder.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = {TestConfiguration.class})
+class IndexedDatasetTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    private SpecificationSchema<Employee> schema;
+
+    private IndexedDataset<Employee> dataset;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        schema = SpecificationSchema.<Employee>builder()
+                .bind("name", Employee_.name)
+                .bind("surname", Employee_.surname)
+                .bind("birthDate", Employee_.birthDate)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build();
+        dataset = IndexedDataset.of(schema, Employee_.id);
+        dataset.load(employeeRepository.findAll());
+    }
+
+    @Test
+    void whenCriteriaIndexedThenSameEntitiesMatchedAsQuery() {
+        final var groups = criteria(new NoValueOperation("name", Operator.NOT_NULL));
+        groups.setGroups(List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.OR,
+                List.of(new MultiValueOperation("surname", Operator.IN, new Object[]{"Cargill", "Lutas", "Nobody"})),
+                List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.NOT,
+                        List.of(new RangeValueOperation("birthDate", Operator.BT, new RangeDTO("1990-01-01", "2005-01-01"))), null)))));
+
+        assertAll(
+                () -> assertMatchesQuery(criteria(new SingleValueOperation("name", Operator.EQ, "April"))),
+                () -> assertMatchesQuery(criteria(new SingleValueOperation("name", Operator.NOT_EQ, "April"),
+                        new SingleValueOperation("birthDate", Operator.GE, "2004-11-15"))),
+                () -> assertMatchesQuery(criteria(new SingleValueOperation("birthDate", Operator.LT, "1991-06-11"))),
+                () -> assertMatchesQuery(criteria(new MultiValueOperation("surname", Operator.NOT_IN, new Object[]{"Cargill"}))),
+                () -> assertMatchesQuery(criteria(new NoValueOperation("surname", Operator.NULL))),
+                () -> assertMatchesQuery(groups)
+        );
+    }
+
+    @Test
+    void whenOperationNotIndexedThenEvaluatedOnIndexedMatches() {
+        final var employee = employeeRepository.findAll().get(0);
+        employee.addPhone(Phone.builder().number("5555").phoneType(PhoneType.HOME).build());
+        entityManager.flush();
+        dataset.put(employee);
+
+        assertAll(
+                () -> assertMatchesQuery(criteria(new SingleValueOperation("name", Operator.LIKE, "a"),
+                        new SingleValueOperation("birthDate", Operator.GT, "1995-01-01"))),
+                () -> assertMatchesQuery(criteria(new SingleValueOperation("phoneNumber", Operator.EQ, "5555"))),
+                () -> assertEquals(1, dataset.count(criteria(new SingleValueOperation("phoneNumber", Operator.EQ, "5555"))))
+        );
+    }
+
+    @Test
+    void whenPageRequestedThenSortedAndPagedAsQuery() {
+        final var pageRequestDTO = new PageRequestDTO(new SortDTO[]{new SortDTO("birthDate", SortDTO.Direction.DESC)}, 1, 5);
+        pageRequestDTO.setOperations(List.of(new SingleValueOperation("birthDate", Operator.GT, "1990-01-01")));
+
+        final var page = dataset.findAll(pageRequestDTO);
+
+        final var expected = employeeRepository.findAll(schema.toSpecification(pageRequestDTO),
+                PageRequest.of(1, 5, Sort.by(Sort.Order.desc("birthDate"))));
+        assertAll(
+                () -> assertEquals(expected.getTotalElements(), page.getTotalElements()),
+                () -> assertEquals(expected.getContent().stream().map(Employee::getId).collect(toList()),
+                        page.getContent().stream().map(Employee::getId).collect(toList()))
+        );
+    }
+
+    @Test
+    void whenEntitiesChangedThenIndexesUpdated() {
+        final var april = criteria(new SingleValueOperation("name", Operator.EQ, "April"));
+        final var employee = employeeRepository.findAll(schema.toSpecification(april)).get(0);
+        final var size = dataset.size();
+
+        employee.setName("May");
+        dataset.put(employee);
+        final var renamed = dataset.count(april);
+        final var born = dataset.count(criteria(new SingleValueOperation("birthDate", Operator.EQ, employee.getBirthDate())));
+        dataset.remove(employee);
+
+        assertAll(
+                () -> assertEquals(0, renamed),
+                () -> assertEquals(1, born),
+                () -> assertEquals(size - 1, dataset.size()),
+                () -> assertEquals(0, dataset.count(criteria(new SingleValueOperation("name", Operator.EQ, "May"))))
+        );
+    }
+
+    @Test
+    void whenFacetsRequestedThenMatchesCountedPerValue() {
+        final var facets = dataset.facets(criteria(new SingleValueOperation("birthDate", Operator.LT, "1992-01-01")), "birthDate");
+
+        assertAll(
+                () -> assertEquals(dataset.count(criteria(new SingleValueOperation("birthDate", Operator.LT, "1992-01-01"))),
+                        facets.values().stream().mapToInt(Integer::intValue).sum()),
+                () -> assertTrue(facets.keySet().stream().allMatch(date -> ((LocalDate) date).getYear() < 1992)),
+                () -> assertThrows(IllegalArgumentException.class, () -> dataset.facets(new CriteriaDTO(), "phoneNumber"))
+        );
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void whenSubscribedThenCommittedChangesApplied() {
+        dataset.load(entityManager.createQuery("select distinct e from Employee e left join fetch e.phones", Employee.class).getResultList());
+        dataset.subscribe(entityManagerFactory);
+        try {
+            final var employee = TestDataGenerator.create("Zelda", "Zimmer", "zz@mail.com", "1970/01/1");
+            employee.addPhone(Phone.builder().number("5551234").phoneType(PhoneType.HOME).build());
+            final var saved = employeeRepository.save(employee);
+            final var inserted = dataset.count(criteria(new SingleValueOperation("name", Operator.EQ, "Zelda")));
+            final var byPhone = dataset.findAll(pageRequest(new SingleValueOperation("phoneNumber", Operator.EQ, "5551234")));
+            saved.setName("Zora");
+            employeeRepository.save(saved);
+            final var renamed = dataset.findAll(pageRequest(new SingleValueOperation("phoneNumber", Operator.EQ, "5551234")));
+            employeeRepository.delete(saved);
+
+            assertAll(
+                    () -> assertEquals(1, inserted),
+                    () -> assertEquals(1, byPhone.getTotalElements()),
+                    () -> assertNotSame(saved, byPhone.getContent().get(0)),
+                    () -> assertEquals("Zora", renamed.getContent().get(0).getName()),
+                    () -> assertEquals(0, dataset.count(criteria(new SingleValueOperation("name", Operator.EQ, "Zelda")))),
+                    () -> assertEquals(0, dataset.count(criteria(new SingleValueOperation("name", Operator.EQ, "Zora"))))
+            );
+        } finally {
+            dataset.unsubscribe();
+            employeeRepository.deleteAll();
+        }
+    }
+
+    private void assertMatchesQuery(CriteriaDTO criteriaDTO) {
+        final Set<Long> expected = employeeRepository.findAll(schema.toSpecification(criteriaDTO)).stream()
+                .map(Employee::getId).collect(toSet());
+        final var pageRequestDTO = new PageRequestDTO(null, 0, 1000);
+        pageRequestDTO.setOperations(criteriaDTO.getOperations());
+        pageRequestDTO.setGroups(criteriaDTO.getGroups());
+        assertAll(
+                () -> assertEquals(expected.size(), dataset.count(criteriaDTO)),
+                () -> assertEquals(expected, dataset.findAll(pageRequestDTO).stream().map(Employee::getId).collect(toSet()))
+        );
+    }
+
+    private static PageRequestDTO pageRequest(AbstractOperation... operations) {
+        final var pageRequestDTO = new PageRequestDTO(null, 0, 10);
+        pageRequestDTO.setOperations(List.of(operations));
+        return pageRequestDTO;
+    }
+
+    private static CriteriaDTO criteria(AbstractOperation... operations) {
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(operations));
+        return criteriaDTO;
+    }
+}
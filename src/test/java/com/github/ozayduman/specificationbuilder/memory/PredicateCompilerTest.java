@@ -0,0 +1,148 @@
+package com.github.ozayduman.specificationbuilder.memory;
+
+import com.github.ozayduman.specificationbuilder.CollectionStrategy;
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.TestConfiguration;
+import com.github.ozayduman.specificationbuilder.TestDataGenerator;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.SortDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.*;
+import com.github.ozayduman.specificationbuilder.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = {TestConfiguration.class})
+class PredicateCompilerTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    private SpecificationSchema<Employee> schema;
+
+    @BeforeEach
+    void setUp() {
+        final List<Employee> employees = new ArrayList<>(TestDataGenerator.createEmployees());
+        employees.get(0).addPhone(Phone.builder().number("5555").phoneType(PhoneType.HOME).build());
+        employees.get(0).addPhone(Phone.builder().number("6666").phoneType(PhoneType.BUSSINES).build());
+        employees.get(1).addPhone(Phone.builder().number("5555").phoneType(PhoneType.BUSSINES).build());
+        employeeRepository.saveAll(employees);
+        entityManager.flush();
+        entityManager.clear();
+        schema = SpecificationSchema.<Employee>builder()
+                .bind("name", Employee_.name)
+                .bind("surname", Employee_.surname)
+                .bind("birthDate", Employee_.birthDate)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .bindJoin("phoneType", Employee_.phones, Phone_.phoneType)
+                .build();
+    }
+
+    @Test
+    void whenCriteriaCompiledThenSameEntitiesMatchedAsQuery() {
+        final var conjunction = new CriteriaDTO();
+        conjunction.setOperations(List.of(
+                new SingleValueOperation("name", Operator.LIKE, "a"),
+                new SingleValueOperation("birthDate", Operator.GT, "1995-01-01"),
+                new MultiValueOperation("surname", Operator.NOT_IN, new Object[]{"Cargill", "Lutas"})));
+        final var groups = new CriteriaDTO();
+        groups.setOperations(List.of(new NoValueOperation("name", Operator.NOT_NULL)));
+        groups.setGroups(List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.OR,
+                List.of(new SingleValueOperation("phoneNumber", Operator.EQ, "6666")),
+                List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.NOT,
+                        List.of(new SingleValueOperation("birthDate", Operator.LT, "2005-01-01")), null)))));
+        final var samePhone = new CriteriaDTO();
+        samePhone.setOperations(List.of(
+                new SingleValueOperation("phoneNumber", Operator.EQ, "5555"),
+                new SingleValueOperation("phoneType", Operator.EQ, "BUSSINES")));
+
+        assertAll(
+                () -> assertMatchesQuery(schema, conjunction),
+                () -> assertMatchesQuery(schema, groups),
+                () -> assertMatchesQuery(schema, samePhone),
+                () -> assertEquals(1, ids(schema, samePhone).size())
+        );
+    }
+
+    @Test
+    void whenCollectionStrategyIsExistsThenNegatedSubqueryMatchesEntitiesWithoutElements() {
+        final var existsSchema = SpecificationSchema.<Employee>builder()
+                .collectionStrategy(CollectionStrategy.EXISTS)
+                .bind("name", Employee_.name)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .bindJoin("phoneType", Employee_.phones, Phone_.phoneType)
+                .build();
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setGroups(List.of(new CriteriaGroupDTO(CriteriaGroupDTO.Type.NOT, List.of(
+                new SingleValueOperation("phoneNumber", Operator.EQ, "5555"),
+                new SingleValueOperation("phoneType", Operator.EQ, "HOME")), null)));
+
+        assertAll(
+                () -> assertMatchesQuery(existsSchema, criteriaDTO),
+                () -> assertEquals(employeeRepository.count() - 1, ids(existsSchema, criteriaDTO).size())
+        );
+    }
+
+    @Test
+    void whenSortFieldsGivenThenOrderedAsQuery() {
+        final var comparator = PredicateCompiler.of(schema)
+                .toComparator(new SortDTO("birthDate", SortDTO.Direction.DESC), new SortDTO("name"));
+
+        final var sorted = employeeRepository.findAll().stream().sorted(comparator).map(Employee::getId).collect(toList());
+
+        assertEquals(employeeRepository.findAll(Sort.by(Sort.Order.desc("birthDate"), Sort.Order.asc("name")))
+                .stream().map(Employee::getId).collect(toList()), sorted);
+    }
+
+    @Test
+    void whenPropertyBoundThroughCollectionThenSortRejected() {
+        final var compiler = PredicateCompiler.of(schema);
+        assertThrows(IllegalArgumentException.class, () -> compiler.toComparator(new SortDTO("phoneNumber")));
+    }
+
+    @Test
+    void shouldMatchLikePatterns() {
+        assertAll(
+                () -> assertTrue(PredicateCompiler.like("Margy", "%arg%")),
+                () -> assertTrue(PredicateCompiler.like("Margy", "%a_g%")),
+                () -> assertTrue(PredicateCompiler.like("Margy", "%%")),
+                () -> assertTrue(PredicateCompiler.like("aab", "%ab%")),
+                () -> assertFalse(PredicateCompiler.like("Margy", "%ary%")),
+                () -> assertFalse(PredicateCompiler.like("Margy", "%margy%"))
+        );
+    }
+
+    private void assertMatchesQuery(SpecificationSchema<Employee> schema, CriteriaDTO criteriaDTO) {
+        final Set<Long> expected = employeeRepository.findAll(schema.toSpecification(criteriaDTO)).stream()
+                .map(Employee::getId).collect(toSet());
+        assertEquals(expected, ids(schema, criteriaDTO));
+    }
+
+    private Set<Long> ids(SpecificationSchema<Employee> schema, CriteriaDTO criteriaDTO) {
+        return employeeRepository.findAll().stream()
+                .filter(PredicateCompiler.of(schema).toPredicate(criteriaDTO))
+                .map(Employee::getId)
+                .collect(toSet());
+    }
+}
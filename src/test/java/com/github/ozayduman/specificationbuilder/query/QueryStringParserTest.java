@@ -0,0 +1,113 @@
+package com.github.ozayduman.specificationbuilder.query;
+
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.TestConfiguration;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaGroupDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.PageRequestDTO.SortDTO;
+import com.github.ozayduman.specificationbuilder.dto.operation.MultiValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.RangeValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.Employee;
+import com.github.ozayduman.specificationbuilder.entity.Employee_;
+import com.github.ozayduman.specificationbuilder.entity.PhoneType;
+import com.github.ozayduman.specificationbuilder.entity.Phone_;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ContextConfiguration(classes = {TestConfiguration.class})
+class QueryStringParserTest {
+    private QueryStringParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = QueryStringParser.of(SpecificationSchema.<Employee>builder()
+                .bind("id", Employee_.id)
+                .bind("name", Employee_.name)
+                .bind("birthDate", Employee_.birthDate)
+                .bindJoin("phoneType", Employee_.phones, Phone_.phoneType)
+                .build());
+    }
+
+    @Test
+    void whenPageRequestParsedThenOperandsConvertedToBoundTypes() {
+        final var pageRequestDTO = parser.parsePageRequest("name==Ozay;birthDate=bt=(1990-01-01,2000-01-01);phoneType=in=(HOME,BUSSINES);id>=3",
+                "name,-birthDate", 1, 10);
+
+        final var operations = pageRequestDTO.getOperations();
+        final var range = ((RangeValueOperation) operations.get(1)).getValue();
+        assertAll(
+                () -> assertEquals(4, operations.size()),
+                () -> assertEquals("Ozay", ((SingleValueOperation) operations.get(0)).getValue()),
+                () -> assertEquals(LocalDate.of(1990, 1, 1), range.getLow()),
+                () -> assertEquals(LocalDate.of(2000, 1, 1), range.getHigh()),
+                () -> assertArrayEquals(new Object[]{PhoneType.HOME, PhoneType.BUSSINES}, ((MultiValueOperation) operations.get(2)).getValue()),
+                () -> assertEquals(Operator.GE, operations.get(3).getOperator()),
+                () -> assertEquals(3L, ((SingleValueOperation) operations.get(3)).getValue()),
+                () -> assertTrue(pageRequestDTO.getGroups().isEmpty()),
+                () -> assertArrayEquals(new SortDTO[]{new SortDTO("name", SortDTO.Direction.ASC), new SortDTO("birthDate", SortDTO.Direction.DESC)},
+                        pageRequestDTO.getSortFields()),
+                () -> assertEquals(1, pageRequestDTO.getPage()),
+                () -> assertEquals(10, pageRequestDTO.getSize())
+        );
+    }
+
+    @Test
+    void whenOrAndNotCombinedThenAndBindsStrongerThanOr() {
+        final var criteriaDTO = parser.parseCriteria("name=like='O\\'z';id=out=(1,2),!(name=null=;id<5)");
+
+        final var or = criteriaDTO.getGroups().get(0);
+        final var and = or.getGroups().get(0);
+        final var not = or.getGroups().get(1);
+        assertAll(
+                () -> assertNull(criteriaDTO.getOperations()),
+                () -> assertEquals(CriteriaGroupDTO.Type.OR, or.getType()),
+                () -> assertTrue(or.getOperations().isEmpty()),
+                () -> assertEquals(CriteriaGroupDTO.Type.AND, and.getType()),
+                () -> assertEquals("O'z", ((SingleValueOperation) and.getOperations().get(0)).getValue()),
+                () -> assertEquals(Operator.NOT_IN, and.getOperations().get(1).getOperator()),
+                () -> assertEquals(CriteriaGroupDTO.Type.NOT, not.getType()),
+                () -> assertEquals(CriteriaGroupDTO.Type.AND, not.getGroups().get(0).getType()),
+                () -> assertTrue(not.getGroups().get(0).getOperations().get(0) instanceof NoValueOperation),
+                () -> assertEquals(Operator.LT, not.getGroups().get(0).getOperations().get(1).getOperator())
+        );
+    }
+
+    @Test
+    void whenQueryMalformedThenPositionReported() {
+        assertAll(
+                () -> assertEquals("DTO property named : surname could not be found at 8",
+                        assertThrows(IllegalArgumentException.class, () -> parser.parseCriteria("name==a;surname==b")).getMessage()),
+                () -> assertEquals("operator LIKE is not applicable to property id at 2",
+                        assertThrows(IllegalArgumentException.class, () -> parser.parseCriteria("id=like=1")).getMessage()),
+                () -> assertEquals("unknown operator =eq= at 4",
+                        assertThrows(IllegalArgumentException.class, () -> parser.parseCriteria("name=eq=a")).getMessage()),
+                () -> assertEquals("two arguments expected at 13",
+                        assertThrows(IllegalArgumentException.class, () -> parser.parseCriteria("birthDate=bt=(1990-01-01)")).getMessage()),
+                () -> assertEquals("argument at 4 can not be converted to Long",
+                        assertThrows(IllegalArgumentException.class, () -> parser.parseCriteria("id==a")).getMessage()),
+                () -> assertEquals("unexpected ')' at 9",
+                        assertThrows(IllegalArgumentException.class, () -> parser.parseCriteria("(name==a))")).getMessage()),
+                () -> assertEquals("unterminated quote at 6",
+                        assertThrows(IllegalArgumentException.class, () -> parser.parseCriteria("name=='a")).getMessage())
+        );
+    }
+
+    @Test
+    void whenQueryEmptyThenNoCriteria() {
+        final var pageRequestDTO = parser.parsePageRequest("", null, 0, 20);
+        assertAll(
+                () -> assertNull(pageRequestDTO.getOperations()),
+                () -> assertNull(pageRequestDTO.getGroups()),
+                () -> assertNull(pageRequestDTO.getSortFields())
+        );
+    }
+}
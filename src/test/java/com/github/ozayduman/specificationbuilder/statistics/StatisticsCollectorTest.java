@@ -0,0 +1,113 @@
+package com.github.ozayduman.specificationbuilder.statistics;
+
+import com.github.ozayduman.specificationbuilder.SpecificationSchema;
+import com.github.ozayduman.specificationbuilder.TestConfiguration;
+import com.github.ozayduman.specificationbuilder.TestDataGenerator;
+import com.github.ozayduman.specificationbuilder.dto.CriteriaDTO;
+import com.github.ozayduman.specificationbuilder.dto.Operator;
+import com.github.ozayduman.specificationbuilder.dto.operation.NoValueOperation;
+import com.github.ozayduman.specificationbuilder.dto.operation.SingleValueOperation;
+import com.github.ozayduman.specificationbuilder.entity.Employee;
+import com.github.ozayduman.specificationbuilder.entity.Employee_;
+import com.github.ozayduman.specificationbuilder.entity.Phone_;
+import com.github.ozayduman.specificationbuilder.jpql.JpqlQueryRenderer;
+import com.github.ozayduman.specificationbuilder.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ContextConfiguration(classes = {TestConfiguration.class})
+class StatisticsCollectorTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    private StatisticsCollector<Employee> collector;
+    private SpecificationSchema<Employee> schema;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.saveAll(TestDataGenerator.createEmployees());
+        collector = StatisticsCollector.of(Employee.class, 10);
+        schema = SpecificationSchema.<Employee>builder()
+                .conjunctOrder(collector)
+                .bind("surname", Employee_.surname)
+                .bind("birthDate", Employee_.birthDate)
+                .bind("email", Employee_.email)
+                .bindJoin("phoneNumber", Employee_.phones, Phone_.number)
+                .build();
+    }
+
+    @Test
+    void whenRefreshedThenStatisticsSampledPerBoundAttribute() {
+        collector.refresh(entityManager, schema);
+
+        final var surname = collector.getStatistics().get("surname");
+        final var email = collector.getStatistics().get("email");
+        assertAll(
+                () -> assertEquals(36, surname.getRowCount()),
+                () -> assertEquals(0, surname.getNullCount()),
+                () -> assertEquals(10, surname.getSampleSize()),
+                () -> assertTrue(surname.getDistinctCount() > 10),
+                () -> assertEquals(36, email.getRowCount()),
+                () -> assertEquals(0, collector.getStatistics().get("phones.number").getRowCount())
+        );
+    }
+
+    @Test
+    void whenStatisticsSampledThenSelectiveConjunctsOrderedFirst() {
+        collector.refresh(entityManager, schema);
+        final var criteriaDTO = new CriteriaDTO();
+        criteriaDTO.setOperations(List.of(
+                new SingleValueOperation("surname", Operator.LIKE, "a"),
+                new NoValueOperation("birthDate", Operator.NOT_NULL),
+                new SingleValueOperation("email", Operator.EQ, "x@y.z")));
+
+        final var rendered = JpqlQueryRenderer.of(Employee.class, schema).render(criteriaDTO, Sort.unsorted());
+
+        assertEquals("select e from Employee e where e.email = :p1 and e.surname like :p0 and e.birthDate is not null",
+                rendered.getQuery());
+    }
+
+    @Test
+    void whenRefreshFailsThenLaterRefreshesStillExecuted() throws InterruptedException {
+        final var attempts = new CountDownLatch(3);
+        final var entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.createEntityManager()).thenAnswer(invocation -> {
+            attempts.countDown();
+            throw new PersistenceException("connection refused");
+        });
+        final var executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final var refreshes = collector.scheduleRefresh(entityManagerFactory, schema, executor, Duration.ofMillis(1));
+
+            assertAll(
+                    () -> assertTrue(attempts.await(5, TimeUnit.SECONDS)),
+                    () -> assertFalse(refreshes.isDone()),
+                    () -> assertTrue(collector.getStatistics().isEmpty())
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}